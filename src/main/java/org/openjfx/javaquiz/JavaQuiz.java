@@ -1,16 +1,20 @@
 package org.openjfx.javaquiz;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import org.openjfx.javaquiz.service.ServiceContainer;
+import org.openjfx.javaquiz.util.Constants;
 import org.openjfx.javaquiz.util.LoggerUtil;
+import org.openjfx.javaquiz.util.SceneRouter;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.util.logging.Logger;
 
 /**
@@ -26,6 +30,7 @@ public class JavaQuiz extends Application {
     
     private static final Logger LOGGER = LoggerUtil.getLogger(JavaQuiz.class);
     private static Scene scene;
+    private static ServiceContainer services;
     
     /**
      * Método principal que inicia la aplicación JavaFX.
@@ -37,6 +42,11 @@ public class JavaQuiz extends Application {
     @Override
     public void start(Stage stage) throws IOException {
         LOGGER.info("Iniciando aplicación JavaQuiz");
+        long startNanos = System.nanoTime();
+        
+        // Los almacenes se abren cuando una pantalla los pide, no antes de la primera
+        services = new ServiceContainer(Paths.get(Constants.DATA_DIR));
+        SceneRouter.setControllerFactory(services.controllerFactory());
         
         try {
             // Cargar el FXML inicial
@@ -59,6 +69,12 @@ public class JavaQuiz extends Application {
             stage.setScene(scene);
             stage.setResizable(false);  // Opcional: evita redimensionar
             stage.show();
+            SceneRouter.logFirstFrame(scene, "la aplicación (" + (System.nanoTime() - startNanos) / 1_000_000
+                + " ms desde start, " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms desde el arranque de la JVM)");
+            
+            // Todas las pantallas se muestran en esta ventana; el menú se prepara mientras tanto
+            SceneRouter.init(stage);
+            SceneRouter.preload(Constants.FXML_MENU);
             
             LOGGER.info("Aplicación iniciada correctamente");
             
@@ -68,6 +84,17 @@ public class JavaQuiz extends Application {
         }
     }
     
+    /**
+     * Detiene las tareas en segundo plano y cierra el diario de respuestas y los
+     * almacenes al salir, vaciando lo pendiente.
+     */
+    @Override
+    public void stop() {
+        if (services != null) {
+            services.close();
+        }
+    }
+    
     /**
      * Cambia la vista raíz de la escena actual.
      * Útil para navegación entre pantallas.
@@ -81,26 +108,17 @@ public class JavaQuiz extends Application {
     }
     
     /**
-     * Carga un archivo FXML desde la carpeta de recursos.
+     * Carga un archivo FXML desde la carpeta de recursos (vista compilada o
+     * FXMLLoader, según {@link SceneRouter}).
      * 
      * @param fxml Nombre del archivo FXML (sin extensión)
      * @return El Parent cargado desde el FXML
      * @throws IOException Si el archivo no se encuentra o hay error al cargarlo
      */
     private static Parent loadFXML(String fxml) throws IOException {
-        String fxmlPath = "/org/openjfx/javaquiz/fxml/" + fxml + ".fxml";
+        String fxmlPath = Constants.FXML_PATH + fxml + ".fxml";
         LOGGER.fine("Cargando FXML: " + fxmlPath);
-        
-        URL fxmlUrl = JavaQuiz.class.getResource(fxmlPath);
-        
-        if (fxmlUrl == null) {
-            String errorMsg = "No se encontró el archivo FXML: " + fxmlPath;
-            LOGGER.severe(errorMsg);
-            throw new IOException(errorMsg);
-        }
-        
-        FXMLLoader fxmlLoader = new FXMLLoader(fxmlUrl);
-        return fxmlLoader.load();
+        return SceneRouter.load(fxmlPath).getRoot();
     }
     
     /**
@@ -152,4 +170,13 @@ public class JavaQuiz extends Application {
     public static Scene getScene() {
         return scene;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Obtiene los servicios compartidos de la aplicación.
+     * 
+     * @return El contenedor, o null antes de {@link #start(Stage)}
+     */
+    public static ServiceContainer getServices() {
+        return services;
+    }
+}
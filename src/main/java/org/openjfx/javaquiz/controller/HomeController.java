@@ -2,17 +2,13 @@ package org.openjfx.javaquiz.controller;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.stage.Stage;
-import javafx.stage.StageStyle;
-import org.openjfx.javaquiz.JavaQuiz;
+import org.openjfx.javaquiz.util.Constants;
 import org.openjfx.javaquiz.util.LoggerUtil;
 import org.openjfx.javaquiz.util.AnimationUtil;
+import org.openjfx.javaquiz.util.SceneRouter;
 import org.openjfx.javaquiz.util.WindowDraggableUtil;
 
 import java.util.logging.Logger;
@@ -92,7 +88,7 @@ public class HomeController {
     
     /**
      * Maneja el evento del botón "COMENZAR QUIZ".
-     * Cierra la ventana actual y abre el menú de selección de temas.
+     * Reemplaza la pantalla actual por el menú de selección de temas.
      * 
      * @param event El evento de acción del botón
      */
@@ -106,35 +102,9 @@ public class HomeController {
             // Fade out antes de cerrar
             AnimationUtil.fadeOutWithCallback(rootPane, () -> {
                 try {
-                    // Cerrar ventana actual
-                    Stage currentStage = (Stage) playquizbtn.getScene().getWindow();
-                    currentStage.close();
-                    LOGGER.info("Ventana Home cerrada");
-                    
-                    // Cargar el menú
-                    String fxmlPath = "/org/openjfx/javaquiz/fxml/menu.fxml";
-                    FXMLLoader fxmlLoader = new FXMLLoader(JavaQuiz.class.getResource(fxmlPath));
-                    
-                    if (fxmlLoader.getLocation() == null) {
-                        throw new IllegalArgumentException("No se encontró el archivo FXML: " + fxmlPath);
-                    }
-                    
-                    Scene scene = new Scene(fxmlLoader.load());
-                    
-                    // Cargar CSS
-                    String cssPath = JavaQuiz.class.getResource("/org/openjfx/javaquiz/css/JavaQuiz.css").toExternalForm();
-                    scene.getStylesheets().add(cssPath);
-                    LOGGER.info("CSS cargado en la escena del menú");
-                    
-                    // Crear nueva ventana con estilo transparente
-                    Stage stage = new Stage();
-                    stage.initStyle(StageStyle.TRANSPARENT);
-                    scene.setFill(Color.TRANSPARENT);
-                    stage.setScene(scene);
-                    stage.setTitle("JavaQuiz - Menú");
-                    stage.show();
-                    
-                    LOGGER.info("Ventana del menú mostrada correctamente");
+                    // Mostrar el menú (ya precargado) en la misma ventana
+                    SceneRouter.show(Constants.FXML_MENU, "JavaQuiz - Menú");
+                    LOGGER.info("Menú mostrado correctamente");
                     
                 } catch (Exception e) {
                     LOGGER.severe("Error al navegar al menú: " + e.getMessage());
@@ -1,34 +1,55 @@
 package org.openjfx.javaquiz.controller;
 
+import org.openjfx.javaquiz.model.Blueprint;
+import org.openjfx.javaquiz.model.DuplicatePair;
+import org.openjfx.javaquiz.model.Question;
 import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.service.DuplicateDetector;
+import org.openjfx.javaquiz.service.SearchService;
+import org.openjfx.javaquiz.service.SessionResumeService;
 import org.openjfx.javaquiz.service.TopicService;
+import org.openjfx.javaquiz.service.ServiceContainer;
+import org.openjfx.javaquiz.exception.InvalidQuizDataException;
 import org.openjfx.javaquiz.exception.QuizLoadException;
-import org.openjfx.javaquiz.JavaQuiz;
+import org.openjfx.javaquiz.util.CompactBitmap;
+import org.openjfx.javaquiz.util.Constants;
 import org.openjfx.javaquiz.util.LoggerUtil;
+import org.openjfx.javaquiz.util.SceneRouter;
 import org.openjfx.javaquiz.util.WindowDraggableUtil;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.stage.Stage;
-import javafx.stage.StageStyle;
 
 /**
  * Controlador para la selección de temas del quiz.
@@ -38,9 +59,17 @@ import javafx.stage.StageStyle;
  * @version 2.0
  * @since 2025-01-24
  */
-public class MenuController {
+public class MenuController implements SceneRouter.Reusable {
 
     @FXML private Button iniciarBtn;
+    @FXML private Button practicaBtn;
+    @FXML private Button nivelacionBtn;
+    @FXML private Button repasarBtn;
+    @FXML private Button examenBtn;
+    @FXML private Button buscarBtn;
+    @FXML private TextField buscarField;
+    @FXML private Label busquedaLabel;
+    @FXML private Button reanudarBtn;
     @FXML private Button agregarTema;
     @FXML private Button removerTema;
     @FXML private Label temasCountLabel;
@@ -48,15 +77,25 @@ public class MenuController {
     @FXML private ListView<String> topicsSelectedListView;
     @FXML private AnchorPane rootPane;
     
+    private final ServiceContainer services;
     private TopicService topicService;
+    private int resumeLookups;
+    private int reviewLookups;
+    private boolean shown;
+    private SessionState resumableSession;
+    private SearchService searchService;
+    private List<QuizData> searchCorpus;
+    private CompactBitmap searchHits = new CompactBitmap();
+    private List<String> availableTopics = List.of();
     private List<QuizData> selectedQuizData;
     private Set<String> selectedTopicNames;
     private ObservableList<String> selectedTopicsObservable;
     
     private static final Logger LOGGER = LoggerUtil.getLogger(MenuController.class);
     
-    public MenuController() {
-        this.topicService = new TopicService();
+    public MenuController(ServiceContainer services) {
+        this.services = services;
+        this.topicService = services.getTopicService();
         this.selectedQuizData = new ArrayList<>();
         this.selectedTopicNames = new HashSet<>();
         this.selectedTopicsObservable = FXCollections.observableArrayList();
@@ -71,7 +110,7 @@ public class MenuController {
         
         // Configurar ListView de temas disponibles
         topicsListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
-        List<String> availableTopics = topicService.getAvailableTopics();
+        availableTopics = topicService.getAvailableTopics();
         topicsListView.setItems(FXCollections.observableArrayList(availableTopics));
         
         // Configurar ListView de temas seleccionados
@@ -93,7 +132,16 @@ public class MenuController {
         });
         
         // Configurar eventos de botones
-        iniciarBtn.setOnAction(event -> startQuiz());
+        iniciarBtn.setOnAction(event -> startQuiz(QuizMode.NORMAL));
+        if (practicaBtn != null) {
+            practicaBtn.setOnAction(event -> startQuiz(QuizMode.PRACTICE));
+        }
+        if (nivelacionBtn != null) {
+            nivelacionBtn.setOnAction(event -> startQuiz(QuizMode.ADAPTIVE));
+        }
+        if (examenBtn != null) {
+            examenBtn.setOnAction(event -> startQuiz(QuizMode.EXAM));
+        }
         agregarTema.setOnAction(event -> {
             try {
                 addTopics();
@@ -115,9 +163,30 @@ public class MenuController {
         // Actualizar contador inicial
         updateCountLabel();
         
+        // Reanudar, repaso y búsqueda abren almacenes: se preparan en onShow(),
+        // no al precargar el menú desde la pantalla de inicio
+        
         LOGGER.info("MenuController inicializado correctamente");
     }
     
+    /**
+     * El menú se conserva entre visitas: al volver se refrescan los botones
+     * que dependen de sesiones guardadas y se precarga la vista del quiz.
+     * La primera vez se arranca además la búsqueda sobre todos los bancos y
+     * se pone al día el análisis de ítems que usan práctica, nivelación y examen.
+     */
+    @Override
+    public void onShow() {
+        if (!shown) {
+            shown = true;
+            setupSearch();
+            services.refreshItemAnalysis();
+        }
+        setupResumeButton();
+        setupReviewButton();
+        SceneRouter.preload(Constants.FXML_QUIZ);
+    }
+    
     /**
      * Aplica clip para esquinas redondeadas.
      */
@@ -244,41 +313,262 @@ public class MenuController {
     
     /**
      * Inicia el quiz.
+     *
+     * @param mode Tipo de sesión
      */
-    private void startQuiz() {
-        if (selectedQuizData.isEmpty()) {
+    private void startQuiz(QuizMode mode) {
+        if (mode != QuizMode.REVIEW && mode != QuizMode.SEARCH && selectedQuizData.isEmpty()) {
             showWarning("Por favor, agrega al menos un tema antes de iniciar.");
             return;
         }
-        
+        if (mode == QuizMode.REVIEW) {
+            // Todos los bancos: los mismos que ya carga en segundo plano la búsqueda
+            repasarBtn.setDisable(true);
+            services.getAllTopics().whenCompleteAsync((corpus, error) -> {
+                repasarBtn.setDisable(false);
+                if (error != null) {
+                    LOGGER.severe("Error cargando los bancos para el repaso: " + error.getMessage());
+                    showError("No se pudo iniciar el repaso: " + error.getMessage());
+                } else {
+                    launchQuiz(mode, corpus);
+                }
+            }, Platform::runLater);
+            return;
+        }
+        launchQuiz(mode, selectedQuizData);
+    }
+    
+    /**
+     * Carga la vista del quiz y empieza la sesión.
+     *
+     * @param mode Tipo de sesión
+     * @param corpus Todos los bancos (solo REVIEW)
+     */
+    private void launchQuiz(QuizMode mode, List<QuizData> corpus) {
         try {
-            FXMLLoader loader = new FXMLLoader(
-                JavaQuiz.class.getResource("/org/openjfx/javaquiz/fxml/quiz.fxml")
-            );
-            Scene scene = new Scene(loader.load());
+            SceneRouter.View<QuizController> view = SceneRouter.load(Constants.FXML_QUIZ);
+            QuizController qc = view.getController();
+            switch (mode) {
+                case PRACTICE -> qc.setPracticeData(selectedQuizData);
+                case ADAPTIVE -> qc.setAdaptiveData(selectedQuizData);
+                case REVIEW -> qc.setReviewData(corpus);
+                case EXAM -> qc.setExamData(selectedQuizData, examBlueprint());
+                case SEARCH -> qc.setSearchData(searchCorpus, searchService.sample(
+                    searchHits, Constants.SEARCH_SESSION_LIMIT, ThreadLocalRandom.current()));
+                default -> qc.setQuizData(selectedQuizData);
+            }
             
-            // Cargar CSS
-            String cssPath = JavaQuiz.class.getResource("/org/openjfx/javaquiz/css/JavaQuiz.css").toExternalForm();
-            scene.getStylesheets().add(cssPath);
+            SceneRouter.show(view, "JavaQuiz - Quiz en progreso");
             
-            QuizController qc = loader.getController();
-            qc.setQuizData(selectedQuizData);
+            LOGGER.info("Quiz (" + mode + ") iniciado con " + selectedTopicNames.size() + " tema(s)");
             
-            Stage stage = new Stage();
-            stage.initStyle(StageStyle.TRANSPARENT);
-            scene.setFill(Color.TRANSPARENT);
-            stage.setScene(scene);
-            stage.setTitle("JavaQuiz - Quiz en progreso");
-            stage.show();
+        } catch (Exception e) {
+            LOGGER.severe("Error iniciando quiz: " + e.getMessage());
+            showError("No se pudo iniciar el quiz: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Examen con los temas seleccionados en partes iguales, un tope de
+     * preguntas con código y sin las preguntas respondidas en la última semana.
+     */
+    private Blueprint examBlueprint() {
+        Blueprint blueprint = new Blueprint(Constants.EXAM_LENGTH)
+            .maxWithCode(Constants.EXAM_MAX_WITH_CODE)
+            .excludeSeenWithinDays(Constants.EXAM_EXCLUDE_SEEN_DAYS);
+        Set<String> topics = new LinkedHashSet<>();
+        for (QuizData data : selectedQuizData) {
+            for (Question q : data.getQuestions()) {
+                topics.add(String.valueOf(q.getTopic()));
+            }
+        }
+        for (String topic : topics) {
+            blueprint.topic(topic, 1.0 / topics.size());
+        }
+        return blueprint;
+    }
+    
+    /**
+     * Espera el índice de búsqueda compartido (construido en segundo plano o
+     * leído de la caché) y filtra en vivo la lista de temas con lo que se escribe.
+     */
+    private void setupSearch() {
+        if (buscarField == null) {
+            return;
+        }
+        buscarField.setDisable(true);
+        buscarField.setPromptText("Indexando preguntas…");
+        if (buscarBtn != null) {
+            buscarBtn.setDisable(true);
+            buscarBtn.setOnAction(event -> startQuiz(QuizMode.SEARCH));
+        }
+        services.getAllTopics().thenAcceptAsync(MenuController::writeDuplicateReport, services.getExecutor());
+        services.getAllTopics().thenCombine(services.getSearchService(), (corpus, search) -> {
+            Platform.runLater(() -> {
+                searchCorpus = corpus;
+                searchService = search;
+                buscarField.setDisable(false);
+                buscarField.setPromptText("Buscar: HashMap, volatile, stream*…");
+                buscarField.textProperty().addListener((obs, old, text) -> filterBySearch(text));
+            });
+            return search;
+        }).exceptionally(e -> {
+            LOGGER.warning("No se pudo preparar la búsqueda: " + e.getMessage());
+            return null;
+        });
+    }
+    
+    /**
+     * Deja en el directorio de datos un reporte CSV de preguntas casi
+     * duplicadas entre todos los bancos, para sus autores.
+     */
+    private static void writeDuplicateReport(List<QuizData> corpus) {
+        List<Question> all = new ArrayList<>();
+        corpus.forEach(data -> all.addAll(data.getQuestions()));
+        List<DuplicatePair> pairs = new DuplicateDetector(all).findDuplicates(Constants.DUPLICATE_THRESHOLD);
+        if (pairs.isEmpty()) {
+            return;
+        }
+        Path report = Paths.get(Constants.DATA_DIR, "duplicados.csv");
+        try (Writer out = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            DuplicateDetector.writeReport(pairs, out);
+            LOGGER.info("Reporte de " + pairs.size() + " duplicado(s): " + report);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudo escribir el reporte de duplicados: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Muestra solo los temas con preguntas que cumplen la búsqueda.
+     *
+     * @param query Texto de búsqueda (vacío = todos los temas)
+     */
+    private void filterBySearch(String query) {
+        if (query == null || query.isBlank()) {
+            searchHits = new CompactBitmap();
+            topicsListView.setItems(FXCollections.observableArrayList(unselected(availableTopics)));
+            setSearchStatus(null);
+            return;
+        }
+        searchHits = searchService.search(query);
+        Map<String, Integer> counts = searchService.countBySource(searchHits);
+        topicsListView.setItems(FXCollections.observableArrayList(unselected(counts.keySet())));
+        setSearchStatus(searchHits.cardinality() + " pregunta(s) en " + counts.size() + " tema(s)");
+    }
+    
+    private List<String> unselected(Collection<String> topics) {
+        return topics.stream().filter(t -> !selectedTopicNames.contains(t)).collect(Collectors.toList());
+    }
+    
+    private void setSearchStatus(String status) {
+        if (busquedaLabel != null) {
+            busquedaLabel.setText(status != null ? status : "");
+        }
+        if (buscarBtn != null) {
+            buscarBtn.setDisable(searchHits.isEmpty());
+        }
+    }
+    
+    /**
+     * Muestra el botón de reanudar si hay una sesión interrumpida. Los
+     * snapshots se leen en segundo plano; el botón aparece al terminar.
+     */
+    private void setupResumeButton() {
+        if (reanudarBtn == null) {
+            return;
+        }
+        // La sesión ofrecida en la visita anterior pudo terminarse desde entonces
+        showResumeButton(Optional.empty());
+        int lookup = ++resumeLookups;
+        CompletableFuture.supplyAsync(() -> services.getSessionResumeService().findResumable(),
+                                      services.getExecutor())
+            .thenAcceptAsync(pending -> {
+                // Una visita posterior al menú ya lanzó otra búsqueda
+                if (lookup == resumeLookups) {
+                    showResumeButton(pending);
+                }
+            }, Platform::runLater)
+            .exceptionally(e -> {
+                LOGGER.warning("No se pudo buscar una sesión para reanudar: " + e.getMessage());
+                return null;
+            });
+    }
+    
+    private void showResumeButton(Optional<SessionState> pending) {
+        resumableSession = pending.orElse(null);
+        boolean visible = resumableSession != null;
+        reanudarBtn.setVisible(visible);
+        reanudarBtn.setManaged(visible);
+        if (visible) {
+            reanudarBtn.setText("⏯ Reanudar (" + resumableSession.getAnsweredCount() + "/" 
+                + resumableSession.getQuestionCount() + ")");
+            reanudarBtn.setOnAction(event -> resumeQuiz());
+            LOGGER.info("Sesión reanudable encontrada: " + resumableSession.getSessionId());
+        }
+    }
+    
+    /**
+     * Muestra el botón de repaso con el número de tarjetas que vencen hoy.
+     * El repaso no depende de los temas seleccionados: usa todos los bancos.
+     * Las tarjetas se leen en segundo plano, como en {@link #setupResumeButton()}.
+     */
+    private void setupReviewButton() {
+        if (repasarBtn == null) {
+            return;
+        }
+        showReviewButton(0);
+        int lookup = ++reviewLookups;
+        CompletableFuture.supplyAsync(() -> services.getReviewScheduler().dueCount(), services.getExecutor())
+            .thenAcceptAsync(due -> {
+                if (lookup == reviewLookups) {
+                    showReviewButton(due);
+                }
+            }, Platform::runLater)
+            .exceptionally(e -> {
+                LOGGER.warning("No se pudieron contar las tarjetas de repaso: " + e.getMessage());
+                return null;
+            });
+    }
+    
+    private void showReviewButton(int due) {
+        boolean visible = due > 0;
+        repasarBtn.setVisible(visible);
+        repasarBtn.setManaged(visible);
+        if (visible) {
+            repasarBtn.setText("📅 Repasar hoy (" + Math.min(due, Constants.REVIEW_SESSION_LIMIT) + ")");
+            repasarBtn.setOnAction(event -> startQuiz(QuizMode.REVIEW));
+            LOGGER.info("Tarjetas de repaso vencidas: " + due);
+        }
+    }
+    
+    /**
+     * Reanuda la última sesión interrumpida.
+     */
+    private void resumeQuiz() {
+        if (resumableSession == null) {
+            return;
+        }
+        
+        SessionResumeService resumeService = services.getSessionResumeService();
+        try {
+            List<QuizData> banks = resumeService.loadBanks(resumableSession);
             
-            LOGGER.info("Quiz iniciado con " + selectedTopicNames.size() + " tema(s)");
+            SceneRouter.View<QuizController> view = SceneRouter.load(Constants.FXML_QUIZ);
+            QuizController qc = view.getController();
+            qc.resumeSession(banks, resumableSession);
+            resumeService.claim(resumableSession);
             
-            Stage current = (Stage) iniciarBtn.getScene().getWindow();
-            current.close();
+            SceneRouter.show(view, "JavaQuiz - Quiz en progreso");
             
+        } catch (InvalidQuizDataException e) {
+            // Los bancos cambiaron o ya no existen: la sesión no se puede reconstruir
+            LOGGER.warning("Sesión no reanudable: " + e.getMessage());
+            showError("No se pudo reanudar el quiz: " + e.getMessage());
+            resumeService.discard(resumableSession);
+            setupResumeButton();
         } catch (Exception e) {
-            LOGGER.severe("Error iniciando quiz: " + e.getMessage());
-            showError("No se pudo iniciar el quiz: " + e.getMessage());
+            LOGGER.severe("Error reanudando quiz: " + e.getMessage());
+            showError("No se pudo reanudar el quiz: " + e.getMessage());
         }
     }
     
@@ -1,28 +1,46 @@
 package org.openjfx.javaquiz.controller;
 
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.Blueprint;
 import org.openjfx.javaquiz.model.Question;
 import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.SessionSnapshotStore;
+import org.openjfx.javaquiz.service.AdaptiveTestService;
+import org.openjfx.javaquiz.service.BlueprintService;
+import org.openjfx.javaquiz.service.HistoryService;
+import org.openjfx.javaquiz.service.IrtCalibration;
+import org.openjfx.javaquiz.service.MasteryService;
+import org.openjfx.javaquiz.service.PracticeSampler;
 import org.openjfx.javaquiz.service.QuizService;
+import org.openjfx.javaquiz.service.ReviewScheduler;
+import org.openjfx.javaquiz.service.ScoreRankService;
 import org.openjfx.javaquiz.service.TimerService;
+import org.openjfx.javaquiz.service.ServiceContainer;
+import org.openjfx.javaquiz.util.AllocationMeter;
 import org.openjfx.javaquiz.util.CodeDisplay;
+import org.openjfx.javaquiz.util.CodePanel;
+import org.openjfx.javaquiz.util.Constants;
+import org.openjfx.javaquiz.util.LanguageRegistry;
+import org.openjfx.javaquiz.util.LatencyHistogram;
 import org.openjfx.javaquiz.util.NavigationUtil;
 import org.openjfx.javaquiz.util.LoggerUtil;
+import org.openjfx.javaquiz.util.SceneRouter;
 import org.openjfx.javaquiz.util.WindowDraggableUtil;
-import org.openjfx.javaquiz.JavaQuiz;
 import org.openjfx.javaquiz.exception.InvalidQuizDataException;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javafx.animation.PauseTransition;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
+import javafx.css.PseudoClass;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -31,10 +49,7 @@ import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.stage.Stage;
-import javafx.stage.StageStyle;
 import javafx.util.Duration;
-import org.fxmisc.richtext.CodeArea;
 
 /**
  * Controlador para la pantalla del quiz.
@@ -58,27 +73,72 @@ public class QuizController {
     @FXML private Label question, position;
     @FXML private Button opt1, opt2, opt3, opt4;
     @FXML private Button btnAtras, btnSiguiente, closeBtn, menuBtn, codeBtn, shuffleBtn;
+    /** Área de código reutilizada entre preguntas (se crea al primer "Ver Código") */
+    private CodePanel codePanel;
 
     // ========== SERVICIOS ==========
+    private final ServiceContainer services;
     private QuizService quizService;
     private TimerService timerService;
+    private SessionSnapshotStore snapshotStore;
+    private HistoryService historyService;
+    private ScoreRankService scoreRankService;
+    private MasteryService masteryService;
+    private ReviewScheduler reviewScheduler;
     
     // ========== LOGGER ==========
     private static final Logger logger = LoggerUtil.getLogger(QuizController.class);
     
+    // ========== PREPARACIÓN DE LA SIGUIENTE PREGUNTA ==========
+    /** Un frame a 60 Hz */
+    private static final long FRAME_NANOS = 16_666_667L;
+    /** Pregunta cuyas opciones ya están mezcladas en {@link #optionTexts} */
+    private Question preparedQuestion;
+    private PauseTransition answerPause;
+    private boolean resultShown;
+    private final String[] optionTexts = new String[4];
+    private int optionCount;
+    private Button[] optionButtons;
+    private final LatencyHistogram swapLatency = new LatencyHistogram();
+    /** Asignación por cambio de pregunta y por tick; solo se mide con el log en FINE */
+    private final AllocationMeter swapAllocation = new AllocationMeter();
+    private final AllocationMeter tickAllocation = new AllocationMeter();
+    /** Un único listener de fin de layout para medir los cambios de pregunta */
+    private final Runnable swapLaidOut = this::swapLaidOut;
+    private long swapStartNanos;
+    /** Textos del contador por segundo restante, creados una vez */
+    private final String[] timerTexts = new String[Constants.TIMER_SECONDS + 1];
+    
     // ========== DATOS PARA RESULT ==========
     private List<QuizData> selectedQuizData;
     private String currentTopic;
+    private QuizMode mode = QuizMode.NORMAL;
+    private Blueprint blueprint;      // EXAM: para armar otro examen igual
+    private int[] searchIds;          // SEARCH: las mismas preguntas encontradas
     
-    // ========== CONSTANTES CSS ==========
-    private static final String CSS_OPTION_CORRECT = "option-correct";
-    private static final String CSS_OPTION_WRONG = "option-wrong";
-    private static final String CSS_OPTION_SELECTED = "option-selected";
-    private static final String CSS_OPTION_BUTTON = "option-button";
+    // ========== ESTADOS CSS ==========
+    // Cambiar una pseudo-clase no re-parsea CSS ni crea listas de clases
+    private static final PseudoClass PC_CORRECT = PseudoClass.getPseudoClass("correct");
+    private static final PseudoClass PC_WRONG = PseudoClass.getPseudoClass("wrong");
+    private static final PseudoClass PC_WARNING = PseudoClass.getPseudoClass("warning");
+    private static final PseudoClass PC_CRITICAL = PseudoClass.getPseudoClass("critical");
 
     // ========== CONSTRUCTOR ==========
-    public QuizController() {
+    public QuizController(ServiceContainer services) {
+        this.services = services;
         this.quizService = new QuizService();
+        this.quizService.setAnswerJournal(services.getAnswerJournal());
+        this.masteryService = services.getMasteryService();
+        this.quizService.setMasteryService(masteryService);
+        this.reviewScheduler = services.getReviewScheduler();
+        this.quizService.setReviewScheduler(reviewScheduler);
+        this.quizService.setRotationService(services.getRotationService());
+        if (Boolean.parseBoolean(System.getProperty(Constants.DEDUP_PROPERTY, "true"))) {
+            this.quizService.setDuplicateThreshold(Constants.DUPLICATE_THRESHOLD);
+        }
+        this.snapshotStore = services.getSessionSnapshotStore();
+        this.historyService = services.getHistoryService();
+        this.scoreRankService = services.getScoreRankService();
         this.timerService = new TimerService();
         
         // Configurar callback cuando se acabe el tiempo
@@ -96,6 +156,7 @@ public class QuizController {
     @FXML
     private void initialize() {
         logger.info("Inicializando QuizController");
+        optionButtons = new Button[] {opt1, opt2, opt3, opt4};
         applyRoundedCorners();
     }
     
@@ -118,6 +179,7 @@ public class QuizController {
      * Inicializa con un solo QuizData
      */
     public void setData(QuizData data, String title) throws InvalidQuizDataException {
+        this.mode = QuizMode.NORMAL;
         this.currentTopic = title;
         this.selectedQuizData = List.of(data);
         quizService.initialize(data.getQuestions());
@@ -128,6 +190,7 @@ public class QuizController {
      * Inicializa con múltiples QuizData
      */
     public void setQuizData(List<QuizData> quizDataList) throws InvalidQuizDataException {
+        this.mode = QuizMode.NORMAL;
         this.selectedQuizData = quizDataList;
         this.currentTopic = quizDataList.size() == 1 
             ? quizDataList.get(0).getQuestions().get(0).getTopic() 
@@ -136,44 +199,217 @@ public class QuizController {
         startQuiz();
     }
 
+    /**
+     * Inicia una sesión de práctica: las preguntas se sortean una a una,
+     * con más probabilidad para las que más se fallan en el historial y para
+     * los tópicos que se están fallando en esta sesión.
+     */
+    public void setPracticeData(List<QuizData> quizDataList) throws InvalidQuizDataException {
+        this.mode = QuizMode.PRACTICE;
+        this.selectedQuizData = quizDataList;
+        this.currentTopic = quizDataList.size() == 1 
+            ? quizDataList.get(0).getQuestions().get(0).getTopic() 
+            : "Múltiples temas";
+        quizService.initializePractice(quizDataList, Constants.PRACTICE_LENGTH, practiceWeights());
+        startQuiz();
+    }
+
+    /**
+     * Inicia un test adaptativo: cada pregunta es la que mejor mide la
+     * habilidad estimada hasta el momento, y el test termina en cuanto la
+     * estimación es suficientemente precisa.
+     */
+    public void setAdaptiveData(List<QuizData> quizDataList) throws InvalidQuizDataException {
+        this.mode = QuizMode.ADAPTIVE;
+        this.selectedQuizData = quizDataList;
+        this.currentTopic = "Nivelación";
+        // Sin historial no hay estadísticas y cada pregunta queda con parámetros neutros
+        quizService.initializeAdaptive(quizDataList,
+            IrtCalibration.fromAnalysis(services.getItemAnalysisService(), IrtCalibration.Model.THREE_PL),
+            Constants.CAT_TARGET_STANDARD_ERROR, Constants.CAT_MAX_ITEMS);
+        startQuiz();
+    }
+
+    /**
+     * Inicia una sesión de repaso con las preguntas que toca repasar hoy,
+     * tomadas de la cabeza de la cola de repaso espaciado.
+     */
+    public void setReviewData(List<QuizData> quizDataList) throws InvalidQuizDataException {
+        this.mode = QuizMode.REVIEW;
+        this.selectedQuizData = quizDataList;
+        this.currentTopic = "Repaso";
+        quizService.initializeReview(quizDataList, reviewScheduler, Constants.REVIEW_SESSION_LIMIT);
+        startQuiz();
+    }
+
+    /**
+     * Inicia un examen armado según un blueprint sobre los bancos dados.
+     */
+    public void setExamData(List<QuizData> quizDataList, Blueprint blueprint) throws InvalidQuizDataException {
+        this.mode = QuizMode.EXAM;
+        this.blueprint = blueprint;
+        this.selectedQuizData = quizDataList;
+        this.currentTopic = "Examen";
+        BlueprintService blueprints = new BlueprintService(
+            quizDataList, services.getItemAnalysisService(), historyService);
+        int[] exam = blueprints.compose(blueprint, ThreadLocalRandom.current());
+        if (exam.length == 0) {
+            throw new InvalidQuizDataException("Examen", "Ninguna pregunta cumple la especificación");
+        }
+        quizService.initializeExam(quizDataList, exam);
+        startQuiz();
+    }
+
+    /**
+     * Inicia un quiz con las preguntas encontradas por la búsqueda del menú.
+     */
+    public void setSearchData(List<QuizData> quizDataList, int[] questionIds) throws InvalidQuizDataException {
+        this.mode = QuizMode.SEARCH;
+        this.searchIds = questionIds;
+        this.selectedQuizData = quizDataList;
+        this.currentTopic = "Búsqueda";
+        quizService.initializeExam(quizDataList, questionIds);
+        startQuiz();
+    }
+
+    /**
+     * Inicia una sesión del modo dado.
+     *
+     * @param mode Tipo de sesión
+     * @param quizDataList Bancos de la sesión (en REVIEW y SEARCH, todos)
+     * @param blueprint Especificación del examen (solo EXAM)
+     * @param questionIds Preguntas encontradas (solo SEARCH)
+     */
+    public void start(QuizMode mode, List<QuizData> quizDataList, Blueprint blueprint, int[] questionIds)
+            throws InvalidQuizDataException {
+        switch (mode) {
+            case PRACTICE -> setPracticeData(quizDataList);
+            case ADAPTIVE -> setAdaptiveData(quizDataList);
+            case REVIEW -> setReviewData(quizDataList);
+            case EXAM -> setExamData(quizDataList, blueprint);
+            case SEARCH -> setSearchData(quizDataList, questionIds);
+            default -> setQuizData(quizDataList);
+        }
+    }
+
+    /**
+     * Pesos base de práctica a partir del análisis de ítems del historial.
+     * Sin historial, todas las preguntas pesan lo mismo.
+     */
+    private ToDoubleFunction<Question> practiceWeights() {
+        // El análisis compartido se actualiza en segundo plano: aquí solo se lee
+        return PracticeSampler.errorRateWeights(services.getItemAnalysisService());
+    }
+
+    /**
+     * Reanuda una sesión interrumpida exactamente donde quedó:
+     * mismo orden, respuestas, estadísticas y tiempo restante.
+     */
+    public void resumeSession(List<QuizData> quizDataList, SessionState state) throws InvalidQuizDataException {
+        this.selectedQuizData = quizDataList;
+        this.currentTopic = quizDataList.size() == 1 
+            ? quizDataList.get(0).getQuestions().get(0).getTopic() 
+            : "Múltiples temas";
+        this.mode = QuizMode.NORMAL;
+        quizService.resume(quizDataList, state);
+        resultShown = false;
+        
+        if (quizService.isFinished()) {
+            showResult();
+            return;
+        }
+        setupTimerBindings();
+        updateUI();
+        if (state.getRemainingSeconds() > 0) {
+            timerService.start(state.getRemainingSeconds());
+        } else {
+            timerService.start();
+        }
+        logger.info("Quiz reanudado correctamente");
+    }
+
     /**
      * Inicia el quiz
      */
     private void startQuiz() throws InvalidQuizDataException {
+        resultShown = false;
         setupTimerBindings();
         updateUI();
         timerService.start();
+        saveSnapshot();
+        // Los resultados se parsean mientras se juega: mostrarlos es solo cambiar la raíz
+        SceneRouter.preload(Constants.FXML_RESULT);
         logger.info("Quiz iniciado correctamente");
     }
+    
+    /**
+     * Guarda el estado de la sesión en segundo plano para poder reanudarla.
+     */
+    private void saveSnapshot() {
+        if (snapshotStore == null || quizService.getSources().isEmpty() || quizService.isPractice()) {
+            return;
+        }
+        SessionState state = quizService.captureState();
+        state.setRemainingSeconds(timerService.getTimeSeconds());
+        snapshotStore.saveAsync(state);
+    }
 
     /**
      * Configura los bindings del timer con la UI
      */
     private void setupTimerBindings() {
-        // Binding automático: cuando cambie el tiempo, actualiza el label
-        timerService.timeSecondsProperty().addListener((obs, oldVal, newVal) -> {
-            timerLabel.setText("⏱ Tiempo: " + newVal);
+        // Listeners de invalidación: leen el valor primitivo, sin boxing por tick
+        timerService.timeSecondsProperty().addListener(obs -> {
+            long start = allocationStart();
+            timerLabel.setText(timerText(timerService.getTimeSeconds()));
+            allocationEnd(tickAllocation, start);
         });
         
-        // Binding automático: cuando cambie el progreso, actualiza la barra
-        timerService.progressProperty().addListener((obs, oldVal, newVal) -> {
-            timeBar.setProgress(newVal.doubleValue());
-            // Color dinámico según el tiempo restante
-            updateTimerColor(newVal.doubleValue());
+        // Cuando cambie el progreso, actualiza la barra y su color
+        timerService.progressProperty().addListener(obs -> {
+            long start = allocationStart();
+            double progress = timerService.getProgress();
+            timeBar.setProgress(progress);
+            updateTimerColor(progress);
+            allocationEnd(tickAllocation, start);
         });
     }
+
+    /**
+     * Contador de bytes del hilo al empezar un tramo medido. Leerlo es una
+     * llamada a ThreadMXBean: solo se hace con el log en FINE.
+     *
+     * @return Contador actual, o -1 si no se mide
+     */
+    private long allocationStart() {
+        return logger.isLoggable(Level.FINE) ? AllocationMeter.currentThreadBytes() : -1;
+    }
+
+    private static void allocationEnd(AllocationMeter meter, long start) {
+        if (start >= 0) {
+            meter.recordSince(start);
+        }
+    }
+    
+    private String timerText(int seconds) {
+        if (seconds < 0 || seconds >= timerTexts.length) {
+            return "⏱ Tiempo: " + seconds;
+        }
+        String text = timerTexts[seconds];
+        if (text == null) {
+            text = "⏱ Tiempo: " + seconds;
+            timerTexts[seconds] = text;
+        }
+        return text;
+    }
     
     /**
-     * Actualiza el color del timer según el progreso.
+     * Actualiza el color del timer según el progreso: azul, naranja
+     * ({@code :warning}) o rojo ({@code :critical}), definidos en JavaQuiz.css.
      */
     private void updateTimerColor(double progress) {
-        if (progress > 0.5) {
-            timeBar.setStyle("-fx-accent: #5B4FFF;"); // Azul
-        } else if (progress > 0.25) {
-            timeBar.setStyle("-fx-accent: #F59E0B;"); // Naranja
-        } else {
-            timeBar.setStyle("-fx-accent: #EF4444;"); // Rojo
-        }
+        timeBar.pseudoClassStateChanged(PC_WARNING, progress <= 0.5 && progress > 0.25);
+        timeBar.pseudoClassStateChanged(PC_CRITICAL, progress <= 0.25);
     }
 
     // ========== EVENTOS DE RESPUESTA ==========
@@ -189,11 +425,14 @@ public class QuizController {
         Button clicked = (Button) event.getSource();
         String selectedAnswer = clicked.getText();
         
-        logger.info("Opción seleccionada: " + selectedAnswer);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Opción seleccionada: " + selectedAnswer);
+        }
         
         // Validar respuesta
         boolean isCorrect = quizService.checkAnswer(selectedAnswer);
         quizService.registerAnswer(isCorrect);
+        saveSnapshot();
         
         // Aplicar estilos CSS según resultado
         applyAnswerStyle(clicked, isCorrect);
@@ -202,41 +441,17 @@ public class QuizController {
             highlightCorrectAnswer();
         }
         
-        // Pausa antes de continuar
-        PauseTransition pause = new PauseTransition(Duration.seconds(1.0));
-        pause.setOnFinished(e -> {
-            quizService.goNext();
-            
-            if (quizService.isFinished()) {
-                logger.info("Quiz terminado, mostrando resultados");
-                showResult();
-            } else {
-                try {
-                    updateUI();
-                    timerService.restart();
-                } catch (InvalidQuizDataException ex) {
-                    logger.log(Level.SEVERE, "Error al actualizar UI: " + ex.getMessage(), ex);
-                }
-            }
-        });
-        pause.play();
+        // Pausa antes de continuar; se aprovecha para preparar la siguiente
+        prepareNext();
+        playAnswerPause();
     }
     
     /**
      * Aplica el estilo visual a la opción según si es correcta o incorrecta.
      */
     private void applyAnswerStyle(Button button, boolean isCorrect) {
-        // Limpiar clases anteriores
-        button.getStyleClass().removeAll(CSS_OPTION_BUTTON, CSS_OPTION_SELECTED);
-        
-        // Agregar clase según resultado
-        if (isCorrect) {
-            button.getStyleClass().add(CSS_OPTION_CORRECT);
-            logger.info("Respuesta correcta aplicada");
-        } else {
-            button.getStyleClass().add(CSS_OPTION_WRONG);
-            logger.info("Respuesta incorrecta aplicada");
-        }
+        button.pseudoClassStateChanged(isCorrect ? PC_CORRECT : PC_WRONG, true);
+        logger.fine(isCorrect ? "Respuesta correcta aplicada" : "Respuesta incorrecta aplicada");
     }
 
     /**
@@ -247,13 +462,13 @@ public class QuizController {
         if (q == null) return;
         
         String correctAnswer = q.getA();
-        Button[] options = {opt1, opt2, opt3, opt4};
         
-        for (Button option : options) {
+        for (Button option : optionButtons) {
             if (option.getText().equals(correctAnswer)) {
-                option.getStyleClass().removeAll(CSS_OPTION_BUTTON);
-                option.getStyleClass().add(CSS_OPTION_CORRECT);
-                logger.info("Respuesta correcta resaltada: " + correctAnswer);
+                option.pseudoClassStateChanged(PC_CORRECT, true);
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.fine("Respuesta correcta resaltada: " + correctAnswer);
+                }
                 break;
             }
         }
@@ -271,27 +486,55 @@ public class QuizController {
         
         // Registrar timeout (cuenta como respuesta incorrecta)
         quizService.registerTimeout();
+        saveSnapshot();
         
         // Resaltar la respuesta correcta antes de avanzar
         highlightCorrectAnswer();
         
         // Pausa breve para mostrar la respuesta correcta
-        PauseTransition pause = new PauseTransition(Duration.seconds(1.0));
-        pause.setOnFinished(e -> {
-            quizService.goNext();
-            
-            if (quizService.isFinished()) {
-                showResult();
-            } else {
-                try {
-                    updateUI();
-                    timerService.restart();
-                } catch (InvalidQuizDataException ex) {
-                    logger.log(Level.SEVERE, "Error al actualizar UI después de timeout", ex);
-                }
+        prepareNext();
+        playAnswerPause();
+    }
+
+    /**
+     * Inicia la pausa tras responder o agotar el tiempo; al terminar avanza.
+     * Es una sola transición reutilizada, que se detiene al navegar, ir al
+     * menú o terminar, para que no avance sobre otra pantalla.
+     */
+    private void playAnswerPause() {
+        if (answerPause == null) {
+            answerPause = new PauseTransition(Duration.seconds(1.0));
+            answerPause.setOnFinished(e -> advanceAfterPause());
+        }
+        answerPause.playFromStart();
+    }
+
+    private void stopAnswerPause() {
+        if (answerPause != null) {
+            answerPause.stop();
+        }
+    }
+
+    private void advanceAfterPause() {
+        long swapStart = System.nanoTime();
+        long swapBytes = allocationStart();
+        quizService.goNext();
+        
+        if (quizService.isFinished()) {
+            logger.info("Quiz terminado, mostrando resultados");
+            showResult();
+        } else {
+            try {
+                updateUI();
+                timerService.restart();
+                saveSnapshot();
+                recordSwap(swapStart);
+                // Todo el cambio, incluido el snapshot que se envía a guardar
+                allocationEnd(swapAllocation, swapBytes);
+            } catch (InvalidQuizDataException ex) {
+                logger.log(Level.SEVERE, "Error al actualizar UI: " + ex.getMessage(), ex);
             }
-        });
-        pause.play();
+        }
     }
 
     // ========== NAVEGACIÓN ==========
@@ -299,6 +542,7 @@ public class QuizController {
     @FXML
     private void goNextQuestion() {
         logger.info("Avanzando a siguiente pregunta. Índice actual: " + quizService.getCurrentIndex());
+        stopAnswerPause();
         
         if (quizService.getCurrentIndex() >= quizService.getTotalQuestions() - 1) {
             logger.warning("No hay más preguntas disponibles");
@@ -320,6 +564,7 @@ public class QuizController {
             } else {
                 updateUI();
                 timerService.restart();
+                saveSnapshot();
             }
         } catch (Exception e) {
             logger.severe("Error al avanzar a siguiente pregunta: " + e.getMessage());
@@ -334,14 +579,17 @@ public class QuizController {
         }
         
         logger.info("Retrocediendo a pregunta anterior");
+        stopAnswerPause();
         quizService.goPrevious();
         updateUI();
         timerService.restart();
+        saveSnapshot();
     }
 
     @FXML
     private void finishQuiz(ActionEvent event) {
         logger.info("Finalizando quiz manualmente");
+        stopAnswerPause();
         timerService.stop();
         showResult();
     }
@@ -350,8 +598,10 @@ public class QuizController {
     private void goToMenu(ActionEvent event) {
         try {
             logger.info("Regresando al menú");
+            stopAnswerPause();
             timerService.stop();
-            NavigationUtil.loadSceneTransparent("/org/openjfx/javaquiz/fxml/menu.fxml", menuBtn);
+            saveSnapshot();
+            SceneRouter.show(Constants.FXML_MENU, "JavaQuiz - Menú");
         } catch (IOException ex) {
             logger.severe("Error al cargar el menú: " + ex.getMessage());
         }
@@ -360,7 +610,9 @@ public class QuizController {
     @FXML
     private void closeApp() {
         logger.info("Cerrando aplicación");
+        stopAnswerPause();
         timerService.stop();
+        saveSnapshot();
         NavigationUtil.closeWindow(closeBtn);
     }
 
@@ -369,9 +621,11 @@ public class QuizController {
     @FXML
     private void shuffleQuestions() throws InvalidQuizDataException {
         logger.info("Mezclando preguntas");
+        stopAnswerPause();
         quizService.shuffle();
         updateUI();
         timerService.restart();
+        saveSnapshot();
     }
 
     @FXML
@@ -387,14 +641,10 @@ public class QuizController {
             codeBtn.setText("Ver Código");
             logger.info("Código ocultado");
         } else {
-            CodeArea codeArea = CodeDisplay.createCodeArea(q.getCode());
-            codePane.getChildren().clear();
-            codePane.getChildren().add(codeArea);
-            
-            AnchorPane.setTopAnchor(codeArea, 0.0);
-            AnchorPane.setLeftAnchor(codeArea, 0.0);
-            AnchorPane.setRightAnchor(codeArea, 0.0);
-            AnchorPane.setBottomAnchor(codeArea, 0.0);
+            if (codePanel == null) {
+                codePanel = new CodePanel(codePane);
+            }
+            codePanel.show(q.getCode(), LanguageRegistry.languageOf(q), services.getExecutor());
             
             scrollPaneId.setVvalue(0.0);
             scrollPaneId.setVisible(true);
@@ -410,7 +660,9 @@ public class QuizController {
      * Actualiza toda la interfaz con la pregunta actual
      */
     private void updateUI() throws InvalidQuizDataException {
-        logger.info("Actualizando UI para pregunta índice: " + quizService.getCurrentIndex());
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Actualizando UI para pregunta índice: " + quizService.getCurrentIndex());
+        }
         
         Question q = quizService.getCurrentQuestion();
         if (q == null) {
@@ -427,51 +679,122 @@ public class QuizController {
         question.setText(q.getQ());
         position.setText(q.getPosition() + ".");
         
-        // Mezclar y mostrar opciones
-        List<String> options = new ArrayList<>(q.getX());
-        options.add(q.getA());
-        Collections.shuffle(options);
-        
-        opt1.setText(options.get(0));
-        opt2.setText(options.get(1));
-        opt3.setText(options.get(2));
-        opt4.setText(options.get(3));
+        // Mezclar y mostrar opciones (ya mezcladas si se preparó en la pausa)
+        if (preparedQuestion != q) {
+            shuffleOptions(q);
+        }
+        preparedQuestion = null;
         
         // Resetear estilos y habilitar botones
         resetButtonStyles();
         
+        for (int i = 0; i < optionButtons.length; i++) {
+            optionButtons[i].setText(optionTexts[i]);
+            boolean used = i < optionCount;
+            optionButtons[i].setVisible(used);
+            optionButtons[i].setDisable(!used);
+        }
+        
         // Mostrar/ocultar botón de código
         boolean hasCode = q.getCode() != null && !q.getCode().isEmpty();
         codeBtn.setVisible(hasCode);
+        if (hasCode) {
+            // Deja los estilos en caché antes de que se pulse "Ver Código"
+            CodeDisplay.highlight(q.getCode(), LanguageRegistry.languageOf(q), services.getExecutor());
+        }
         
         if (scrollPaneId != null) {
             scrollPaneId.setVisible(false);
             scrollPaneId.setManaged(false);
         }
         
-        logger.info("UI actualizada correctamente");
+        quizService.markQuestionShown();
+        logger.fine("UI actualizada correctamente");
+    }
+
+    /**
+     * Prepara la siguiente pregunta durante la pausa tras responder: la
+     * resuelve (en práctica y adaptativo la elige ya), mezcla sus opciones
+     * y calcula en segundo plano los estilos de su código. Al terminar la
+     * pausa {@link #updateUI()} solo asigna textos.
+     */
+    private void prepareNext() {
+        preparedQuestion = null;
+        Question next = quizService.peekNext();
+        if (next == null || next.getX() == null || next.getA() == null) {
+            return;
+        }
+        shuffleOptions(next);
+        preparedQuestion = next;
+        if (next.getCode() != null && !next.getCode().isEmpty()) {
+            CodeDisplay.highlight(next.getCode(), LanguageRegistry.languageOf(next), services.getExecutor());
+        }
+    }
+    
+    /**
+     * Deja en {@link #optionTexts} la respuesta y los distractores en orden
+     * aleatorio, sin crear listas. Si hay más distractores que botones se
+     * eligen al azar (selección secuencial); si hay menos, sobran botones y
+     * {@link #optionCount} indica cuántos se usan.
+     */
+    private void shuffleOptions(Question q) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> distractors = q.getX();
+        int available = distractors.size();
+        int needed = Math.min(available, optionTexts.length - 1);
+        optionCount = needed + 1;
+        optionTexts[0] = q.getA();
+        for (int i = 0, filled = 1; filled < optionCount; i++) {
+            // Cada distractor entra con probabilidad faltantes / restantes
+            if (random.nextInt(available - i) < optionCount - filled) {
+                optionTexts[filled++] = distractors.get(i);
+            }
+        }
+        for (int i = optionCount; i < optionTexts.length; i++) {
+            optionTexts[i] = "";
+        }
+        for (int i = optionCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String swap = optionTexts[i];
+            optionTexts[i] = optionTexts[j];
+            optionTexts[j] = swap;
+        }
+    }
+    
+    /**
+     * Registra cuánto tardó el cambio de pregunta, desde el fin de la pausa
+     * hasta que la escena terminó su layout en ese mismo pulso. Avisa si
+     * pasa de un frame.
+     */
+    private void recordSwap(long startNanos) {
+        Scene scene = rootPane.getScene();
+        if (scene == null) {
+            return;
+        }
+        swapStartNanos = startNanos;
+        scene.removePostLayoutPulseListener(swapLaidOut);
+        scene.addPostLayoutPulseListener(swapLaidOut);
+    }
+
+    private void swapLaidOut() {
+        Scene scene = rootPane.getScene();
+        if (scene != null) {
+            scene.removePostLayoutPulseListener(swapLaidOut);
+        }
+        long nanos = System.nanoTime() - swapStartNanos;
+        swapLatency.recordNanos(nanos);
+        if (nanos > FRAME_NANOS) {
+            logger.warning("Cambio de pregunta lento: " + nanos / 1_000 + " µs");
+        }
     }
 
     /**
      * Resetea los estilos de los botones a su estado inicial
      */
     private void resetButtonStyles() {
-        Button[] options = {opt1, opt2, opt3, opt4};
-        
-        for (Button option : options) {
-            // Limpiar todas las clases de estado
-            option.getStyleClass().removeAll(
-                CSS_OPTION_CORRECT, 
-                CSS_OPTION_WRONG, 
-                CSS_OPTION_SELECTED
-            );
-            
-            // Asegurar que tiene la clase base
-            if (!option.getStyleClass().contains(CSS_OPTION_BUTTON)) {
-                option.getStyleClass().add(CSS_OPTION_BUTTON);
-            }
-            
-            // Habilitar botón
+        for (Button option : optionButtons) {
+            option.pseudoClassStateChanged(PC_CORRECT, false);
+            option.pseudoClassStateChanged(PC_WRONG, false);
             option.setDisable(false);
         }
     }
@@ -479,16 +802,41 @@ public class QuizController {
     // ========== MOSTRAR RESULTADO ==========
     
     private void showResult() {
+        // Una sesión se registra en el historial y los sketches una sola vez
+        if (resultShown) {
+            logger.warning("Resultados ya mostrados para esta sesión, ignorando");
+            return;
+        }
+        resultShown = true;
+        stopAnswerPause();
         timerService.stop();
+        if (swapLatency.getCount() > 0) {
+            logger.info(String.format("Cambio de pregunta: p50 %d µs, p99 %d µs, máx %d µs (%d cambios)",
+                swapLatency.percentileMicros(0.5), swapLatency.percentileMicros(0.99),
+                swapLatency.getMaxMicros(), swapLatency.getCount()));
+        }
+        if (swapAllocation.getCount() > 0) {
+            logger.info(String.format("Asignación: %d bytes por cambio de pregunta (máx %d), %d bytes por tick",
+                swapAllocation.getMeanBytes(), swapAllocation.getMaxBytes(), tickAllocation.getMeanBytes()));
+        }
+        quizService.finish();
+        if (snapshotStore != null) {
+            snapshotStore.deleteAsync(quizService.getSessionId());
+        }
+        AttemptRecord attempt = historyService.recordAttempt(quizService);
+        services.refreshItemAnalysis();
+        AdaptiveTestService cat = quizService.getAdaptiveTest();
+        if (cat != null) {
+            logger.info(String.format("Test adaptativo terminado: θ=%.2f, EE=%.2f, %d pregunta(s)",
+                                      cat.getTheta(), cat.getStandardError(), cat.getAdministered()));
+        }
+        Map<String, Double> percentileRanks = scoreRankService.rankAndRecord(attempt);
         
         try {
             logger.info("Cargando pantalla de resultados");
             
-            String fxmlPath = "/org/openjfx/javaquiz/fxml/result.fxml";
-            FXMLLoader loader = new FXMLLoader(JavaQuiz.class.getResource(fxmlPath));
-            Parent root = loader.load();
-
-            ResultController rc = loader.getController();
+            SceneRouter.View<ResultController> view = SceneRouter.load(Constants.FXML_RESULT);
+            ResultController rc = view.getController();
             rc.setResult(
                 quizService.getCorrectAnswers(), 
                 quizService.getWrongAnswers(), 
@@ -496,24 +844,17 @@ public class QuizController {
                 currentTopic, 
                 selectedQuizData
             );
+            rc.setSession(mode, blueprint, searchIds);
+            rc.setLatency(quizService.getLatencyTracker());
+            rc.setMastery(masteryService.estimates(quizService.getStatsByTopic().keySet()));
+            rc.setAttempt(attempt, HistoryService.questionIds(quizService));
+            rc.setPercentileRanks(percentileRanks);
+            if (cat != null) {
+                rc.setAbility(cat.getTheta(), cat.getStandardError());
+            }
             rc.setStats(quizService.getStatsByTopic());
 
-            Scene scene = new Scene(root);
-            
-            // Cargar CSS
-            String cssPath = JavaQuiz.class.getResource("/org/openjfx/javaquiz/css/JavaQuiz.css").toExternalForm();
-            scene.getStylesheets().add(cssPath);
-            
-            Stage stage = new Stage();
-            stage.initStyle(StageStyle.TRANSPARENT);
-            scene.setFill(Color.TRANSPARENT);
-            stage.setScene(scene);
-            stage.setTitle("JavaQuiz - Resultados");
-            stage.show();
-
-            // Cerrar ventana del quiz
-            Stage current = (Stage) question.getScene().getWindow();
-            current.close();
+            SceneRouter.show(view, "JavaQuiz - Resultados");
             
             logger.info("Resultados mostrados correctamente");
             
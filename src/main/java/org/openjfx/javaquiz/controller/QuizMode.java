@@ -0,0 +1,31 @@
+package org.openjfx.javaquiz.controller;
+
+/**
+ * Tipos de sesión que se pueden iniciar desde el menú.
+ *
+ * El quiz recuerda con qué modo empezó para que "Nuevo intento" en la
+ * pantalla de resultados repita el mismo tipo de sesión.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * quizController.start(QuizMode.EXAM, banks, blueprint, null);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public enum QuizMode {
+    /** Todas las preguntas en orden */
+    NORMAL,
+    /** Preguntas sorteadas según los puntos débiles */
+    PRACTICE,
+    /** Test adaptativo de nivelación */
+    ADAPTIVE,
+    /** Preguntas vencidas del repaso espaciado, de todos los bancos */
+    REVIEW,
+    /** Examen repartido en partes iguales entre los temas seleccionados */
+    EXAM,
+    /** Preguntas encontradas por la búsqueda, de todos los bancos */
+    SEARCH
+}
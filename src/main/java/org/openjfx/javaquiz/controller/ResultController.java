@@ -1,13 +1,22 @@
 package org.openjfx.javaquiz.controller;
 
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.Blueprint;
+import org.openjfx.javaquiz.model.MasteryEstimate;
 import org.openjfx.javaquiz.model.TopicStats;
 import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.service.ExportService;
+import org.openjfx.javaquiz.service.LatencyTracker;
 import org.openjfx.javaquiz.service.ResultService;
+import org.openjfx.javaquiz.service.ServiceContainer;
+import org.openjfx.javaquiz.util.LatencyHistogram;
+import org.openjfx.javaquiz.util.Constants;
 import org.openjfx.javaquiz.util.LoggerUtil;
+import org.openjfx.javaquiz.util.SceneRouter;
 import org.openjfx.javaquiz.util.WindowDraggableUtil;
-import org.openjfx.javaquiz.JavaQuiz;
 import org.openjfx.javaquiz.exception.InvalidQuizDataException;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
@@ -15,24 +24,22 @@ import java.util.logging.Logger;
 
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.XYChart;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.Tooltip;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeTableCell;
 import javafx.scene.control.TreeTableColumn;
 import javafx.scene.control.TreeTableView;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.stage.Stage;
-import javafx.stage.StageStyle;
+import javafx.stage.FileChooser;
 
 /**
  * Controlador para mostrar los resultados del quiz.
@@ -46,24 +53,41 @@ public class ResultController {
 
     // ========== COMPONENTES UI ==========
     @FXML private AnchorPane rootPane;
-    @FXML private Label remark, marks, correcttext, wrongtext, markstext;
+    @FXML private Label remark, marks, correcttext, wrongtext, markstext, timingText, percentileText;
     @FXML private ProgressIndicator correct_progress, wrong_progress;
     @FXML private TreeTableView<TopicStats> tableViewId;
     @FXML private TreeTableColumn<TopicStats, String> topicColumn;
     @FXML private TreeTableColumn<TopicStats, Integer> wrongColumn;
     @FXML private TreeTableColumn<TopicStats, Integer> correctColumn;
+    @FXML private TreeTableColumn<TopicStats, String> medianColumn;
+    @FXML private TreeTableColumn<TopicStats, String> p90Column;
+    @FXML private TreeTableColumn<TopicStats, String> masteryColumn;
     @FXML private BarChart<String, Number> barChart;
+    @FXML private Button exportSessionBtn, exportHistoryBtn;
+    @FXML private Label exportStatus;
 
     // ========== DATOS ==========
     private String currentTopic;
     private List<QuizData> selectedQuizData;
+    private QuizMode mode = QuizMode.NORMAL;
+    private Blueprint blueprint;
+    private int[] questionIds;
     private ResultService resultService;
+    private LatencyTracker latencyTracker;
+    private Map<String, MasteryEstimate> mastery = Map.of();
+    private AttemptRecord attempt;
+    private int[] attemptQuestionIds;
+    private ExportService exportService;
+    private final boolean historyAvailable;
+    private Task<Long> runningExport;
     
     // ========== LOGGER ==========
     private static final Logger logger = LoggerUtil.getLogger(ResultController.class);
 
-    public ResultController() {
+    public ResultController(ServiceContainer services) {
         this.resultService = new ResultService();
+        this.exportService = services.getExportService();
+        this.historyAvailable = services.getHistoryStore() != null;
     }
     
     // ========== INICIALIZACIÓN ==========
@@ -72,6 +96,9 @@ public class ResultController {
     private void initialize() {
         logger.info("Inicializando ResultController");
         applyRoundedCorners();
+        if (exportHistoryBtn != null) {
+            exportHistoryBtn.setDisable(!historyAvailable);
+        }
     }
     
     /**
@@ -91,6 +118,20 @@ public class ResultController {
 
     // ========== CONFIGURACIÓN DE RESULTADOS ==========
     
+    /**
+     * Modo de la sesión terminada y sus parámetros, para que "Nuevo intento"
+     * repita el mismo tipo de sesión.
+     *
+     * @param mode Tipo de sesión
+     * @param blueprint Especificación del examen (solo EXAM)
+     * @param questionIds Preguntas encontradas (solo SEARCH)
+     */
+    public void setSession(QuizMode mode, Blueprint blueprint, int[] questionIds) {
+        this.mode = mode;
+        this.blueprint = blueprint;
+        this.questionIds = questionIds;
+    }
+
     /**
      * Configura los resultados generales del quiz
      */
@@ -142,6 +183,80 @@ public class ResultController {
         populateBarChart(statsByTopic);
     }
 
+    /**
+     * Configura los tiempos de respuesta de la sesión.
+     * Llamar antes de {@link #setStats(Map)} para incluirlos en la tabla.
+     */
+    public void setLatency(LatencyTracker tracker) {
+        this.latencyTracker = tracker;
+        if (tracker == null || timingText == null) {
+            return;
+        }
+        
+        LatencyHistogram overall = tracker.getOverall();
+        if (overall.getCount() == 0) {
+            timingText.setText("⏱ Sin tiempos registrados");
+            return;
+        }
+        
+        timingText.setText(String.format("⏱ Tiempo por pregunta  ·  mediana %s  ·  p90 %s  ·  p99 %s",
+            resultService.formatLatency(overall.percentileMicros(0.50)),
+            resultService.formatLatency(overall.percentileMicros(0.90)),
+            resultService.formatLatency(overall.percentileMicros(0.99))));
+        logger.info("Tiempos: " + timingText.getText());
+    }
+
+    /**
+     * Configura el dominio estimado de cada tópico (todas las sesiones).
+     * Llamar antes de {@link #setStats(Map)} para incluirlo en la tabla y el gráfico.
+     */
+    public void setMastery(Map<String, MasteryEstimate> mastery) {
+        this.mastery = mastery != null ? mastery : Map.of();
+    }
+
+    /**
+     * Muestra cuántos intentos anteriores superó este, por tópico y conjunto.
+     */
+    public void setPercentileRanks(Map<String, Double> ranks) {
+        if (percentileText == null || ranks == null || ranks.isEmpty()) {
+            return;
+        }
+        StringBuilder text = new StringBuilder("🏆 ");
+        for (Map.Entry<String, Double> entry : ranks.entrySet()) {
+            if (text.length() > 3) {
+                text.append("\n");
+            }
+            text.append(resultService.formatPercentileRank(entry.getKey(), entry.getValue()));
+        }
+        percentileText.setText(text.toString());
+    }
+
+    /**
+     * Muestra la habilidad estimada de un test adaptativo.
+     */
+    public void setAbility(double theta, double standardError) {
+        if (percentileText == null) {
+            return;
+        }
+        String previous = percentileText.getText();
+        String ability = "📐 " + resultService.formatAbility(theta, standardError);
+        percentileText.setText(previous == null || previous.isEmpty() ? ability : previous + "\n" + ability);
+    }
+
+    /**
+     * Configura el intento terminado, necesario para exportar la sesión.
+     *
+     * @param attempt Intento guardado
+     * @param questionIds Id de banco de cada pregunta del intento
+     */
+    public void setAttempt(AttemptRecord attempt, int[] questionIds) {
+        this.attempt = attempt;
+        this.attemptQuestionIds = questionIds;
+        if (exportSessionBtn != null) {
+            exportSessionBtn.setDisable(attempt == null);
+        }
+    }
+
     // ========== CONFIGURACIÓN DE TABLA ==========
     
     /**
@@ -162,6 +277,22 @@ public class ResultController {
         );
         wrongColumn.setCellFactory(col -> createStyledCell("wrong-cell"));
         
+        if (medianColumn != null) {
+            medianColumn.setCellValueFactory(param -> 
+                new ReadOnlyStringWrapper(resultService.formatLatency(param.getValue().getValue().getMedianMicros()))
+            );
+        }
+        if (p90Column != null) {
+            p90Column.setCellValueFactory(param -> 
+                new ReadOnlyStringWrapper(resultService.formatLatency(param.getValue().getValue().getP90Micros()))
+            );
+        }
+        if (masteryColumn != null) {
+            masteryColumn.setCellValueFactory(param -> 
+                new ReadOnlyStringWrapper(resultService.formatMastery(param.getValue().getValue().getMastery()))
+            );
+        }
+        
         logger.info("Columnas de tabla configuradas");
     }
     
@@ -192,9 +323,18 @@ public class ResultController {
     private void populateTable(Map<String, int[]> statsByTopic) {
         TreeItem<TopicStats> root = new TreeItem<>(new TopicStats("Root", 0, 0));
         
+        Map<String, LatencyHistogram> timings = latencyTracker != null 
+            ? latencyTracker.getTopicHistograms() 
+            : Map.of();
+        
         statsByTopic.forEach((topic, stats) -> {
+            LatencyHistogram h = timings.get(topic);
+            boolean timed = h != null && h.getCount() > 0;
             TreeItem<TopicStats> item = new TreeItem<>(
-                new TopicStats(topic, stats[0], stats[1])
+                new TopicStats(topic, stats[0], stats[1],
+                    timed ? h.percentileMicros(0.50) : -1,
+                    timed ? h.percentileMicros(0.90) : -1,
+                    mastery.get(topic))
             );
             root.getChildren().add(item);
             logger.fine(String.format("Tema agregado: %s (Correctas: %d, Incorrectas: %d)", 
@@ -233,8 +373,18 @@ public class ResultController {
                 ? topic.substring(0, 12) + "..." 
                 : topic;
             
-            correctSeries.getData().add(new XYChart.Data<>(shortTopic, stats[0]));
+            // Dominio acumulado con su intervalo bajo el nombre del tema
+            MasteryEstimate estimate = mastery.get(topic);
+            if (estimate != null && estimate.getResponses() > 0) {
+                shortTopic += "\n" + resultService.formatMastery(estimate);
+            }
+            
+            XYChart.Data<String, Number> correctData = new XYChart.Data<>(shortTopic, stats[0]);
+            correctSeries.getData().add(correctData);
             wrongSeries.getData().add(new XYChart.Data<>(shortTopic, stats[1]));
+            if (estimate != null && estimate.getResponses() > 0) {
+                installMasteryTooltip(correctData, estimate);
+            }
         }
         
         barChart.getData().clear();
@@ -243,40 +393,120 @@ public class ResultController {
         logger.info("Gráfico de barras poblado con " + statsByTopic.size() + " temas");
     }
 
+    private void installMasteryTooltip(XYChart.Data<String, Number> data, MasteryEstimate estimate) {
+        Tooltip tooltip = new Tooltip(String.format(
+            "Dominio estimado: %s\nIntervalo 95%% tras %d respuestas", 
+            resultService.formatMastery(estimate), estimate.getResponses()));
+        data.nodeProperty().addListener((obs, old, node) -> {
+            if (node != null) {
+                Tooltip.install(node, tooltip);
+            }
+        });
+    }
+
+    // ========== EXPORTACIÓN ==========
+    
+    /**
+     * Exporta la sesión actual (una fila por pregunta).
+     * Si ya hay una exportación en curso, la cancela.
+     */
+    @FXML
+    private void exportSession(ActionEvent event) {
+        if (cancelRunningExport() || attempt == null) {
+            return;
+        }
+        File file = chooseExportFile("sesion-" + attempt.getSessionId());
+        if (file == null) {
+            return;
+        }
+        long[] latencies = new long[attempt.getQuestionCount()];
+        if (latencyTracker != null) {
+            for (int q = 0; q < latencies.length; q++) {
+                latencies[q] = latencyTracker.getQuestionHistogram(attemptQuestionIds[q]).getMeanMicros();
+            }
+        }
+        runExport(exportSessionBtn, exportService.sessionTask(
+            attempt, latencies, file.toPath(), ExportService.Format.fromFileName(file.toPath())));
+    }
+    
+    /**
+     * Exporta el historial completo (un registro por intento).
+     * Si ya hay una exportación en curso, la cancela.
+     */
+    @FXML
+    private void exportHistory(ActionEvent event) {
+        if (cancelRunningExport()) {
+            return;
+        }
+        File file = chooseExportFile("historial");
+        if (file == null) {
+            return;
+        }
+        runExport(exportHistoryBtn, exportService.historyTask(
+            file.toPath(), ExportService.Format.fromFileName(file.toPath())));
+    }
+    
+    private File chooseExportFile(String baseName) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Exportar resultados");
+        chooser.setInitialFileName(baseName + ".csv");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV", "*.csv"),
+            new FileChooser.ExtensionFilter("CSV comprimido", "*.csv.gz"),
+            new FileChooser.ExtensionFilter("JSON Lines", "*.jsonl"),
+            new FileChooser.ExtensionFilter("JSON Lines comprimido", "*.jsonl.gz")
+        );
+        return chooser.showSaveDialog(rootPane.getScene().getWindow());
+    }
+    
+    private void runExport(Button button, Task<Long> task) {
+        String label = button.getText();
+        runningExport = task;
+        button.setText("✕ Cancelar");
+        exportStatus.setText("Exportando...");
+        
+        task.setOnSucceeded(e -> {
+            exportStatus.setText("✓ " + task.getValue() + " registros exportados");
+            finishExport(button, label);
+        });
+        task.setOnCancelled(e -> {
+            exportStatus.setText("Exportación cancelada");
+            finishExport(button, label);
+        });
+        task.setOnFailed(e -> {
+            logger.warning("Error al exportar: " + task.getException().getMessage());
+            exportStatus.setText("No se pudo exportar: " + task.getException().getMessage());
+            finishExport(button, label);
+        });
+        ExportService.start(task);
+    }
+    
+    private void finishExport(Button button, String label) {
+        button.setText(label);
+        runningExport = null;
+    }
+    
+    private boolean cancelRunningExport() {
+        if (runningExport == null) {
+            return false;
+        }
+        runningExport.cancel();
+        return true;
+    }
+
     // ========== NAVEGACIÓN ==========
     
     /**
-     * Reinicia el quiz con los mismos temas
+     * Reinicia el quiz con los mismos temas y el mismo modo
      */
     @FXML
     private void restartQuiz(ActionEvent event) {
-        logger.info("Reiniciando quiz con los mismos temas");
+        logger.info("Reiniciando quiz (" + mode + ") con los mismos temas");
         
         try {
-            FXMLLoader loader = new FXMLLoader(
-                JavaQuiz.class.getResource("/org/openjfx/javaquiz/fxml/quiz.fxml")
-            );
-            Parent root = loader.load();
-
-            QuizController qc = loader.getController();
-            qc.setQuizData(selectedQuizData);
-            
-            Scene scene = new Scene(root);
-            
-            // Cargar CSS
-            String cssPath = JavaQuiz.class.getResource("/org/openjfx/javaquiz/css/JavaQuiz.css").toExternalForm();
-            scene.getStylesheets().add(cssPath);
-            
-            Stage stage = new Stage();
-            stage.initStyle(StageStyle.TRANSPARENT);
-            scene.setFill(Color.TRANSPARENT);
-            stage.setScene(scene);
-            stage.setTitle("JavaQuiz - Nuevo intento");
-            stage.show();
-
-            // Cerrar ventana actual
-            Stage current = (Stage) remark.getScene().getWindow();
-            current.close();
+            SceneRouter.View<QuizController> view = SceneRouter.load(Constants.FXML_QUIZ);
+            view.getController().start(mode, selectedQuizData, blueprint, questionIds);
+            SceneRouter.show(view, "JavaQuiz - Nuevo intento");
             
             logger.info("Quiz reiniciado correctamente");
             
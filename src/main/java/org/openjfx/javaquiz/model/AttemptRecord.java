@@ -0,0 +1,90 @@
+package org.openjfx.javaquiz.model;
+
+/**
+ * Intento terminado de un quiz, tal como se guarda en el historial.
+ *
+ * Contiene:
+ * - Momento de finalización e identificador de sesión
+ * - Resultados por tópico (correctas/incorrectas)
+ * - Resultado de cada pregunta, identificada por tópico y posición en su banco
+ *
+ * Los arreglos son paralelos: {@code topics[i]} tiene {@code correct[i]} aciertos
+ * y {@code wrong[i]} fallos; la pregunta {@code j} pertenece al tópico
+ * {@code topics[questionTopic[j]]} y tiene posición {@code questionPosition[j]}.
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class AttemptRecord {
+
+    private final long timestamp;
+    private final long sessionId;
+    private final String[] topics;
+    private final int[] correct;
+    private final int[] wrong;
+    private final int[] questionTopic;
+    private final int[] questionPosition;
+    private final byte[] outcomes;
+
+    public AttemptRecord(long timestamp, long sessionId, String[] topics, int[] correct, int[] wrong,
+                         int[] questionTopic, int[] questionPosition, byte[] outcomes) {
+        if (correct.length != topics.length || wrong.length != topics.length) {
+            throw new IllegalArgumentException("Los resultados por tópico no coinciden con los tópicos");
+        }
+        if (questionPosition.length != questionTopic.length || outcomes.length != questionTopic.length) {
+            throw new IllegalArgumentException("Los resultados por pregunta no coinciden");
+        }
+        this.timestamp = timestamp;
+        this.sessionId = sessionId;
+        this.topics = topics;
+        this.correct = correct;
+        this.wrong = wrong;
+        this.questionTopic = questionTopic;
+        this.questionPosition = questionPosition;
+        this.outcomes = outcomes;
+    }
+
+    /**
+     * Indica si el intento incluye el tópico dado.
+     *
+     * @param topic Nombre del tópico
+     * @return true si aparece en los resultados por tópico
+     */
+    public boolean hasTopic(String topic) {
+        for (String t : topics) {
+            if (t.equals(topic)) return true;
+        }
+        return false;
+    }
+
+    public int getTotalCorrect() {
+        int total = 0;
+        for (int c : correct) total += c;
+        return total;
+    }
+
+    public int getTotalWrong() {
+        int total = 0;
+        for (int w : wrong) total += w;
+        return total;
+    }
+
+    public int getQuestionCount() { return outcomes.length; }
+
+    public long getTimestamp() { return timestamp; }
+
+    public long getSessionId() { return sessionId; }
+
+    public String[] getTopics() { return topics; }
+
+    public int[] getCorrect() { return correct; }
+
+    public int[] getWrong() { return wrong; }
+
+    public int[] getQuestionTopic() { return questionTopic; }
+
+    public int[] getQuestionPosition() { return questionPosition; }
+
+    public byte[] getOutcomes() { return outcomes; }
+}
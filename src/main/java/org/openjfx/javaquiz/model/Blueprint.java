@@ -0,0 +1,127 @@
+package org.openjfx.javaquiz.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Especificación de un examen: cuántas preguntas y con qué composición.
+ *
+ * - Cuota por tópico como proporción del total (el resto sale de los demás tópicos)
+ * - Máximo de preguntas con código
+ * - Exclusión de las preguntas vistas en los últimos días
+ * - Clases de longitud y bandas de dificultad permitidas (todas por defecto)
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * Blueprint blueprint = new Blueprint(40)
+ *     .topic("OOP", 0.3)
+ *     .topic("Streams", 0.2)
+ *     .maxWithCode(5)
+ *     .excludeSeenWithinDays(7);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class Blueprint {
+
+    /** Longitud del enunciado (más el código, si tiene) */
+    public enum LengthClass { SHORT, MEDIUM, LONG }
+
+    /** Dificultad observada en el historial; UNKNOWN si hay pocas respuestas */
+    public enum DifficultyBand { EASY, MEDIUM, HARD, UNKNOWN }
+
+    private final int size;
+    private final Map<String, Double> topicShares = new LinkedHashMap<>();
+    private int maxWithCode = Integer.MAX_VALUE;
+    private int excludeSeenDays;
+    private final Set<LengthClass> lengths = EnumSet.allOf(LengthClass.class);
+    private final Set<DifficultyBand> bands = EnumSet.allOf(DifficultyBand.class);
+
+    /**
+     * @param size Número de preguntas del examen
+     */
+    public Blueprint(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("El examen debe tener al menos una pregunta: " + size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Fija la proporción del examen que sale de un tópico.
+     *
+     * @param topic Tópico
+     * @param share Proporción entre 0 y 1 (la suma de todas no puede pasar de 1)
+     * @return Esta especificación
+     */
+    public Blueprint topic(String topic, double share) {
+        double others = topicShares.entrySet().stream()
+            .filter(e -> !e.getKey().equals(topic))
+            .mapToDouble(Map.Entry::getValue)
+            .sum();
+        if (!(share > 0 && share <= 1) || others + share > 1 + 1e-9) {
+            throw new IllegalArgumentException("Proporción inválida para '" + topic + "': " + share);
+        }
+        topicShares.put(topic, share);
+        return this;
+    }
+
+    /**
+     * @param max Máximo de preguntas con código
+     * @return Esta especificación
+     */
+    public Blueprint maxWithCode(int max) {
+        this.maxWithCode = Math.max(0, max);
+        return this;
+    }
+
+    /**
+     * @param days Días hacia atrás cuyas preguntas no se repiten (0 = ninguna exclusión)
+     * @return Esta especificación
+     */
+    public Blueprint excludeSeenWithinDays(int days) {
+        this.excludeSeenDays = Math.max(0, days);
+        return this;
+    }
+
+    /**
+     * Restringe las clases de longitud permitidas.
+     *
+     * @param allowed Clases permitidas
+     * @return Esta especificación
+     */
+    public Blueprint lengths(LengthClass... allowed) {
+        lengths.clear();
+        Collections.addAll(lengths, allowed);
+        return this;
+    }
+
+    /**
+     * Restringe las bandas de dificultad permitidas.
+     *
+     * @param allowed Bandas permitidas
+     * @return Esta especificación
+     */
+    public Blueprint difficulties(DifficultyBand... allowed) {
+        bands.clear();
+        Collections.addAll(bands, allowed);
+        return this;
+    }
+
+    public int getSize() { return size; }
+
+    public Map<String, Double> getTopicShares() { return Collections.unmodifiableMap(topicShares); }
+
+    public int getMaxWithCode() { return maxWithCode; }
+
+    public int getExcludeSeenDays() { return excludeSeenDays; }
+
+    public Set<LengthClass> getLengths() { return Collections.unmodifiableSet(lengths); }
+
+    public Set<DifficultyBand> getDifficulties() { return Collections.unmodifiableSet(bands); }
+}
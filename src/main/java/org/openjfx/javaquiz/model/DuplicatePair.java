@@ -0,0 +1,44 @@
+package org.openjfx.javaquiz.model;
+
+/**
+ * Par de preguntas casi iguales encontrado por la detección de duplicados.
+ *
+ * Los ids son posiciones en la lista analizada ({@code firstId < secondId});
+ * la similitud es la de Jaccard estimada con MinHash, entre 0 y 1.
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class DuplicatePair {
+
+    private final int firstId;
+    private final int secondId;
+    private final Question first;
+    private final Question second;
+    private final double similarity;
+
+    public DuplicatePair(int firstId, int secondId, Question first, Question second, double similarity) {
+        this.firstId = firstId;
+        this.secondId = secondId;
+        this.first = first;
+        this.second = second;
+        this.similarity = similarity;
+    }
+
+    public int getFirstId() { return firstId; }
+
+    public int getSecondId() { return secondId; }
+
+    public Question getFirst() { return first; }
+
+    public Question getSecond() { return second; }
+
+    public double getSimilarity() { return similarity; }
+
+    @Override
+    public String toString() {
+        return String.format("%s#%d ~ %s#%d (%.2f)", first.getTopic(), first.getPosition(),
+                             second.getTopic(), second.getPosition(), similarity);
+    }
+}
@@ -0,0 +1,65 @@
+package org.openjfx.javaquiz.model;
+
+/**
+ * Parámetros de una pregunta en el modelo logístico de teoría de respuesta
+ * al ítem (TRI):
+ *
+ * <pre>
+ * P(θ) = c + (1 - c) / (1 + exp(-a (θ - b)))
+ * </pre>
+ *
+ * - {@code a}: discriminación (pendiente en la escala logística)
+ * - {@code b}: dificultad (habilidad con la que P está a mitad de camino)
+ * - {@code c}: probabilidad de acertar al azar (0 en el modelo de dos parámetros)
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ItemParameters {
+
+    private final double discrimination;
+    private final double difficulty;
+    private final double guessing;
+
+    public ItemParameters(double discrimination, double difficulty, double guessing) {
+        if (!(discrimination > 0)) {
+            throw new IllegalArgumentException("La discriminación debe ser positiva: " + discrimination);
+        }
+        if (!(guessing >= 0 && guessing < 1)) {
+            throw new IllegalArgumentException("El azar debe estar en [0, 1): " + guessing);
+        }
+        this.discrimination = discrimination;
+        this.difficulty = difficulty;
+        this.guessing = guessing;
+    }
+
+    /**
+     * Probabilidad de acertar con la habilidad dada.
+     *
+     * @param theta Habilidad
+     * @return Probabilidad entre c y 1
+     */
+    public double probability(double theta) {
+        return guessing + (1 - guessing) / (1 + Math.exp(-discrimination * (theta - difficulty)));
+    }
+
+    /**
+     * Información de Fisher de la pregunta con la habilidad dada:
+     * {@code a² (Q / P) ((P - c) / (1 - c))²}.
+     *
+     * @param theta Habilidad
+     * @return Información (mayor = la pregunta mide mejor en esa habilidad)
+     */
+    public double information(double theta) {
+        double p = probability(theta);
+        double ratio = (p - guessing) / (1 - guessing);
+        return discrimination * discrimination * (1 - p) / p * ratio * ratio;
+    }
+
+    public double getDiscrimination() { return discrimination; }
+
+    public double getDifficulty() { return difficulty; }
+
+    public double getGuessing() { return guessing; }
+}
@@ -0,0 +1,55 @@
+package org.openjfx.javaquiz.model;
+
+/**
+ * Estadísticas de análisis de ítems de una pregunta sobre todo el historial.
+ *
+ * - {@code difficulty}: proporción de respuestas correctas (índice de dificultad p)
+ * - {@code discrimination}: correlación punto-biserial entre acertar la pregunta
+ *   y el puntaje del resto del intento (NaN si no hay variación)
+ * - {@code wrongRate} / {@code timeoutRate}: proporción de respuestas
+ *   incorrectas y de tiempos agotados
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ItemStats {
+
+    private final String topic;
+    private final int position;
+    private final long responses;
+    private final double difficulty;
+    private final double discrimination;
+    private final double wrongRate;
+    private final double timeoutRate;
+
+    public ItemStats(String topic, int position, long responses, double difficulty,
+                     double discrimination, double wrongRate, double timeoutRate) {
+        this.topic = topic;
+        this.position = position;
+        this.responses = responses;
+        this.difficulty = difficulty;
+        this.discrimination = discrimination;
+        this.wrongRate = wrongRate;
+        this.timeoutRate = timeoutRate;
+    }
+
+    public String getTopic() { return topic; }
+
+    public int getPosition() { return position; }
+
+    public long getResponses() { return responses; }
+
+    public double getDifficulty() { return difficulty; }
+
+    public double getDiscrimination() { return discrimination; }
+
+    public double getWrongRate() { return wrongRate; }
+
+    public double getTimeoutRate() { return timeoutRate; }
+
+    @Override
+    public String toString() {
+        return String.format("%s#%d (n=%d, p=%.2f, rpb=%.2f)", topic, position, responses, difficulty, discrimination);
+    }
+}
@@ -0,0 +1,46 @@
+package org.openjfx.javaquiz.model;
+
+/**
+ * Estimación del dominio de un tópico con su intervalo de credibilidad.
+ *
+ * Se obtiene de la posterior Beta(1 + correctas, 1 + incorrectas): la media
+ * es el dominio estimado y {@code lower}/{@code upper} delimitan el intervalo
+ * central del 95%.
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class MasteryEstimate {
+
+    private final String topic;
+    private final int correct;
+    private final int wrong;
+    private final double mean;
+    private final double lower;
+    private final double upper;
+
+    public MasteryEstimate(String topic, int correct, int wrong, double mean, double lower, double upper) {
+        this.topic = topic;
+        this.correct = correct;
+        this.wrong = wrong;
+        this.mean = mean;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    public String getTopic() { return topic; }
+
+    public int getCorrect() { return correct; }
+
+    public int getWrong() { return wrong; }
+
+    /** Respuestas acumuladas en todas las sesiones */
+    public int getResponses() { return correct + wrong; }
+
+    public double getMean() { return mean; }
+
+    public double getLower() { return lower; }
+
+    public double getUpper() { return upper; }
+}
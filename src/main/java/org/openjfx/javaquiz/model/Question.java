@@ -12,6 +12,7 @@ public class Question {
     private int position;
     private String topic;
     private String code; // Nuevo campo
+    private String language; // Lenguaje del código; null: se deduce del tópico
     
     // Constructor existente (sin argumentos)
     public Question() {
@@ -29,6 +30,8 @@ public class Question {
     // Getters y setters
     public String getCode() { return code; }
     public void setCode(String code) { this.code = code; }
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
     // Getters y setters
     public String getQ() { return Q; }
 
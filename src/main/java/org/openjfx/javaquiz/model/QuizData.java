@@ -9,6 +9,7 @@ public class QuizData {
     
     private String name;
     private List<Question> questions;
+    private String source; // archivo JSON de origen (sin extensión)
 
     public String getName() {
         return name;
@@ -25,4 +26,12 @@ public class QuizData {
     public void setQuestions(List<Question> questions) {
         this.questions = questions;
     }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
 }
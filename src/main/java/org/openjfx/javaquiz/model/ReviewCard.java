@@ -0,0 +1,48 @@
+package org.openjfx.javaquiz.model;
+
+/**
+ * Estado de repaso espaciado (SM-2) de una pregunta para un usuario.
+ *
+ * La pregunta se identifica por tópico y posición en su banco. El estado
+ * guarda el día en que vuelve a tocar repasarla, el intervalo actual, el
+ * factor de facilidad y cuántos repasos seguidos se acertaron.
+ *
+ * Los días son días epoch ({@link java.time.LocalDate#toEpochDay()}).
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ReviewCard {
+
+    /** Factor de facilidad inicial de SM-2 */
+    public static final double INITIAL_EASE = 2.5;
+
+    private final String topic;
+    private final int position;
+    private final int dueDay;
+    private final int intervalDays;
+    private final double ease;
+    private final int repetitions;
+
+    public ReviewCard(String topic, int position, int dueDay, int intervalDays, double ease, int repetitions) {
+        this.topic = topic;
+        this.position = position;
+        this.dueDay = dueDay;
+        this.intervalDays = intervalDays;
+        this.ease = ease;
+        this.repetitions = repetitions;
+    }
+
+    public String getTopic() { return topic; }
+
+    public int getPosition() { return position; }
+
+    public int getDueDay() { return dueDay; }
+
+    public int getIntervalDays() { return intervalDays; }
+
+    public double getEase() { return ease; }
+
+    public int getRepetitions() { return repetitions; }
+}
@@ -0,0 +1,156 @@
+package org.openjfx.javaquiz.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estado mínimo de una sesión de quiz, independiente de los objetos {@link Question}.
+ *
+ * Guarda solo lo necesario para reconstruir la sesión:
+ * - Identificador de sesión y nombres de los bancos (archivos JSON) de origen
+ * - Orden de las preguntas (permutación de índices del banco combinado)
+ * - Posición actual
+ * - Resultado por pregunta (sin responder, correcta, incorrecta, timeout)
+ * - Contadores globales
+ * - Segundos restantes del temporizador y momento del guardado (solo snapshots)
+ *
+ * Los índices de pregunta se refieren al orden en que se combinaron los bancos
+ * en {@code QuizService.initializeMultiple}, no al orden mezclado.
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class SessionState {
+
+    public static final byte OUTCOME_NONE = 0;
+    public static final byte OUTCOME_CORRECT = 1;
+    public static final byte OUTCOME_WRONG = 2;
+    public static final byte OUTCOME_TIMEOUT = 3;
+
+    private final long sessionId;
+    private final List<String> sources;
+    private int[] order;
+    private final byte[] outcomes;
+    private int cursor;
+    private int correct;
+    private int wrong;
+    private boolean finished;
+    private int remainingSeconds = -1;
+    private long savedAtMillis;
+
+    public SessionState(long sessionId, List<String> sources, int questionCount) {
+        this.sessionId = sessionId;
+        this.sources = new ArrayList<>(sources);
+        this.order = identity(questionCount);
+        this.outcomes = new byte[questionCount];
+    }
+
+    /**
+     * Registra el resultado de una pregunta.
+     *
+     * @param question Índice de la pregunta en el banco combinado
+     * @param slot Posición de la pregunta en el orden actual
+     * @param outcome Uno de los valores OUTCOME_*
+     */
+    public void applyAnswer(int question, int slot, byte outcome) {
+        if (question < 0 || question >= outcomes.length) return;
+        outcomes[question] = outcome;
+        if (outcome == OUTCOME_CORRECT) {
+            correct++;
+        } else {
+            wrong++;
+        }
+        cursor = slot;
+    }
+
+    /**
+     * Limpia resultados y contadores manteniendo el orden actual.
+     */
+    public void reset() {
+        Arrays.fill(outcomes, OUTCOME_NONE);
+        cursor = 0;
+        correct = 0;
+        wrong = 0;
+    }
+
+    /**
+     * Crea una copia independiente del estado.
+     *
+     * @return Copia profunda
+     */
+    public SessionState copy() {
+        SessionState copy = new SessionState(sessionId, sources, outcomes.length);
+        copy.order = order.clone();
+        System.arraycopy(outcomes, 0, copy.outcomes, 0, outcomes.length);
+        copy.cursor = cursor;
+        copy.correct = correct;
+        copy.wrong = wrong;
+        copy.finished = finished;
+        copy.remainingSeconds = remainingSeconds;
+        copy.savedAtMillis = savedAtMillis;
+        return copy;
+    }
+
+    private static int[] identity(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    public long getSessionId() { return sessionId; }
+
+    public List<String> getSources() { return sources; }
+
+    public int getQuestionCount() { return outcomes.length; }
+
+    public int[] getOrder() { return order; }
+
+    public void setOrder(int[] order) {
+        if (order.length != outcomes.length) {
+            throw new IllegalArgumentException("El orden no coincide con el número de preguntas");
+        }
+        this.order = order;
+    }
+
+    public byte[] getOutcomes() { return outcomes; }
+
+    public int getCursor() { return cursor; }
+    public void setCursor(int cursor) { this.cursor = cursor; }
+
+    public int getCorrect() { return correct; }
+    public void setCorrect(int correct) { this.correct = correct; }
+
+    public int getWrong() { return wrong; }
+    public void setWrong(int wrong) { this.wrong = wrong; }
+
+    public boolean isFinished() { return finished; }
+    public void setFinished(boolean finished) { this.finished = finished; }
+
+    /**
+     * Segundos restantes del temporizador al guardar.
+     *
+     * @return Segundos restantes, o -1 si no se conocen (estado reconstruido del diario)
+     */
+    public int getRemainingSeconds() { return remainingSeconds; }
+    public void setRemainingSeconds(int remainingSeconds) { this.remainingSeconds = remainingSeconds; }
+
+    public long getSavedAtMillis() { return savedAtMillis; }
+    public void setSavedAtMillis(long savedAtMillis) { this.savedAtMillis = savedAtMillis; }
+
+    /**
+     * Número de preguntas con resultado registrado.
+     *
+     * @return Preguntas respondidas (incluye timeouts)
+     */
+    public int getAnsweredCount() {
+        int answered = 0;
+        for (byte outcome : outcomes) {
+            if (outcome != OUTCOME_NONE) answered++;
+        }
+        return answered;
+    }
+}
@@ -9,11 +9,26 @@ public class TopicStats {
         private final String topic;
         private final int correct;
         private final int wrong;
+        private final long medianMicros; // -1 si no hay tiempos
+        private final long p90Micros;
+        private final MasteryEstimate mastery; // null si no hay estimación
 
     public TopicStats(String topic, int correct, int wrong) {
+        this(topic, correct, wrong, -1, -1, null);
+    }
+
+    public TopicStats(String topic, int correct, int wrong, long medianMicros, long p90Micros) {
+        this(topic, correct, wrong, medianMicros, p90Micros, null);
+    }
+
+    public TopicStats(String topic, int correct, int wrong, long medianMicros, long p90Micros,
+                      MasteryEstimate mastery) {
         this.topic = topic;
         this.correct = correct;
         this.wrong = wrong;
+        this.medianMicros = medianMicros;
+        this.p90Micros = p90Micros;
+        this.mastery = mastery;
     }
 
     public String getTopic() { return topic; }
@@ -21,6 +36,12 @@ public class TopicStats {
     public int getCorrect() { return correct; }
 
     public int getWrong() { return wrong; }
+
+    public long getMedianMicros() { return medianMicros; }
+
+    public long getP90Micros() { return p90Micros; }
+
+    public MasteryEstimate getMastery() { return mastery; }
         
         
 }
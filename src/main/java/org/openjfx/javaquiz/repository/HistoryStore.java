@@ -0,0 +1,683 @@
+package org.openjfx.javaquiz.repository;
+
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.util.BinaryCodec;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Historial local de intentos terminados con formato columnar compacto.
+ *
+ * Organización en disco:
+ * - {@code history.dict}: diccionario de nombres de tópico (id = orden de alta)
+ * - {@code history.col}: bloques columnares de hasta {@code blockSize} intentos
+ * - {@code history.tail}: intentos recientes aún no agrupados en un bloque
+ *
+ * Dentro de cada bloque los datos se guardan por columnas (marcas de tiempo,
+ * sesiones, resultados por tópico, preguntas, resultados por pregunta) con
+ * deltas y varints, y los resultados por pregunta empaquetados a 2 bits.
+ * La cabecera de cada bloque guarda el rango de tiempo y un bitmap de los
+ * tópicos presentes: ese índice disperso se mantiene en memoria y permite
+ * que una consulta como "últimos 30 días, tópico X" lea solo los bloques que
+ * pueden contener resultados.
+ *
+ * Las escrituras se hacen en un hilo propio ({@link #appendAsync(AttemptRecord)});
+ * las consultas pueden hacerse desde cualquier hilo.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * HistoryStore store = HistoryStore.open(dir, 4096);
+ * store.appendAsync(record);
+ *
+ * long from = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+ * store.scan(from, Long.MAX_VALUE, "Collections", r -&gt; ...);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class HistoryStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(HistoryStore.class);
+
+    private static final int BLOCK_MAGIC = 0x4A514842; // "JQHB"
+    private static final int FRAME_OVERHEAD = 4 + 4 + 4;
+    private static final int HEADER_PROBE_BYTES = 512;
+
+    private static final String DICT_FILE = "history.dict";
+    private static final String DATA_FILE = "history.col";
+    private static final String TAIL_FILE = "history.tail";
+
+    private final int blockSize;
+    private final List<String> dictionary = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> dictionaryIds = new ConcurrentHashMap<>();
+    private final FileChannel dictChannel;
+    private final FileChannel dataChannel;
+    private final FileChannel tailChannel;
+    private final ExecutorService writer;
+
+    private volatile View view;
+    private long nextSeq;
+
+    /**
+     * Vista inmutable de los bloques y la cola; se reemplaza atómicamente.
+     */
+    private record View(List<BlockIndex> blocks, List<AttemptRecord> tail, long tailFirstSeq) {
+    }
+
+    /**
+     * Entrada del índice disperso: una por bloque.
+     */
+    private record BlockIndex(long offset, int frameLength, long firstSeq, int count,
+                              long minTs, long maxTs, long[] topicBits) {
+        boolean overlaps(long from, long to) {
+            return maxTs >= from && minTs <= to;
+        }
+
+        boolean hasTopic(int id) {
+            int word = id >>> 6;
+            return word < topicBits.length && (topicBits[word] & (1L << id)) != 0;
+        }
+    }
+
+    private HistoryStore(Path dir, int blockSize) throws IOException {
+        this.blockSize = blockSize;
+        Files.createDirectories(dir);
+        this.dictChannel = open(dir.resolve(DICT_FILE));
+        this.dataChannel = open(dir.resolve(DATA_FILE));
+        this.tailChannel = open(dir.resolve(TAIL_FILE));
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "history-writer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        loadDictionary();
+        List<BlockIndex> blocks = loadBlocks();
+        nextSeq = blocks.isEmpty() ? 0 : last(blocks).firstSeq + last(blocks).count;
+        List<AttemptRecord> tail = loadTail();
+        this.view = new View(List.copyOf(blocks), List.copyOf(tail), nextSeq);
+        nextSeq += tail.size();
+    }
+
+    /**
+     * Abre (o crea) el historial.
+     *
+     * @param dir Directorio del historial
+     * @param blockSize Intentos por bloque columnar
+     * @return Historial listo para usar
+     * @throws IOException Si no se pueden abrir los archivos
+     */
+    public static HistoryStore open(Path dir, int blockSize) throws IOException {
+        HistoryStore store = new HistoryStore(dir, blockSize);
+        LOGGER.info("Historial abierto: " + store.size() + " intento(s) en "
+                + store.view.blocks.size() + " bloque(s)");
+        return store;
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Programa el guardado de un intento en el hilo del historial.
+     *
+     * @param record Intento terminado
+     * @return Future que se completa cuando el intento está en disco
+     */
+    public Future<?> appendAsync(AttemptRecord record) {
+        return writer.submit(() -> {
+            try {
+                append(record);
+            } catch (IOException e) {
+                LOGGER.severe("No se pudo guardar el intento " + record.getSessionId() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private void append(AttemptRecord record) throws IOException {
+        for (String topic : record.getTopics()) {
+            idOf(topic);
+        }
+        View current = view;
+        byte[] frame = encodeBlock(List.of(record), nextSeq);
+        writeFully(tailChannel, frame, tailChannel.size());
+        tailChannel.force(false);
+        nextSeq++;
+
+        List<AttemptRecord> tail = new ArrayList<>(current.tail.size() + 1);
+        tail.addAll(current.tail);
+        tail.add(record);
+        view = new View(current.blocks, List.copyOf(tail), current.tailFirstSeq);
+
+        if (tail.size() >= blockSize) {
+            compactTail();
+        }
+    }
+
+    private void compactTail() throws IOException {
+        View current = view;
+        byte[] frame = encodeBlock(current.tail, current.tailFirstSeq);
+        long offset = dataChannel.size();
+        writeFully(dataChannel, frame, offset);
+        dataChannel.force(false);
+
+        BlockIndex block = parseHeader(ByteBuffer.wrap(frame, 8, frame.length - FRAME_OVERHEAD), offset, frame.length);
+        List<BlockIndex> blocks = new ArrayList<>(current.blocks);
+        blocks.add(block);
+        view = new View(List.copyOf(blocks), List.of(), nextSeq);
+
+        // Si se corta aquí, al abrir se descartan de la cola los intentos ya en bloques.
+        tailChannel.truncate(0);
+        tailChannel.force(false);
+        LOGGER.info("Historial: bloque de " + block.count + " intento(s) escrito (" + frame.length + " bytes)");
+    }
+
+    private int idOf(String topic) throws IOException {
+        Integer id = dictionaryIds.get(topic);
+        if (id != null) return id;
+
+        byte[] bytes = topic.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(2 + bytes.length);
+        entry.putShort((short) bytes.length).put(bytes).flip();
+        writeFully(dictChannel, entry.array(), dictChannel.size());
+        dictChannel.force(false);
+
+        int newId = dictionary.size();
+        dictionary.add(topic);
+        dictionaryIds.put(topic, newId);
+        return newId;
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Recorre los intentos de un rango de tiempo, opcionalmente filtrando por tópico.
+     *
+     * Solo se leen los bloques cuyo rango de tiempo y bitmap de tópicos
+     * coinciden con la consulta. Los intentos se entregan en orden de guardado.
+     *
+     * @param fromMillis Inicio del rango (inclusive)
+     * @param toMillis Fin del rango (inclusive)
+     * @param topic Tópico a filtrar, o null para todos
+     * @param consumer Receptor de cada intento
+     * @throws IOException Si falla la lectura
+     */
+    public void scan(long fromMillis, long toMillis, String topic, Consumer<AttemptRecord> consumer)
+            throws IOException {
+        int topicId = -1;
+        if (topic != null) {
+            Integer id = dictionaryIds.get(topic);
+            if (id == null) return;
+            topicId = id;
+        }
+
+        View current = view;
+        for (BlockIndex block : current.blocks) {
+            if (!block.overlaps(fromMillis, toMillis)) continue;
+            if (topicId >= 0 && !block.hasTopic(topicId)) continue;
+            for (AttemptRecord r : decodeBlock(readBody(block))) {
+                if (matches(r, fromMillis, toMillis, topic)) consumer.accept(r);
+            }
+        }
+        for (AttemptRecord r : current.tail) {
+            if (matches(r, fromMillis, toMillis, topic)) consumer.accept(r);
+        }
+    }
+
+    /**
+     * Devuelve los intentos de un rango de tiempo en una lista.
+     *
+     * @param fromMillis Inicio del rango (inclusive)
+     * @param toMillis Fin del rango (inclusive)
+     * @param topic Tópico a filtrar, o null para todos
+     * @return Intentos encontrados
+     * @throws IOException Si falla la lectura
+     */
+    public List<AttemptRecord> query(long fromMillis, long toMillis, String topic) throws IOException {
+        List<AttemptRecord> result = new ArrayList<>();
+        scan(fromMillis, toMillis, topic, result::add);
+        return result;
+    }
+
+    /**
+     * Segmentos (bloques y cola) que contienen intentos desde una secuencia dada.
+     *
+     * Cada segmento se puede leer de forma independiente, lo que permite
+     * procesar el historial en paralelo. Los intentos se numeran desde 0 en
+     * orden de guardado.
+     *
+     * @param fromSeq Primera secuencia de interés
+     * @return Segmentos en orden de secuencia
+     */
+    public List<Segment> segmentsFrom(long fromSeq) {
+        View current = view;
+        List<Segment> segments = new ArrayList<>();
+        for (BlockIndex block : current.blocks) {
+            if (block.firstSeq + block.count > fromSeq) {
+                segments.add(new Segment(block.firstSeq, block.count, block, null));
+            }
+        }
+        if (!current.tail.isEmpty() && current.tailFirstSeq + current.tail.size() > fromSeq) {
+            segments.add(new Segment(current.tailFirstSeq, current.tail.size(), null, current.tail));
+        }
+        return segments;
+    }
+
+    /**
+     * Porción del historial que se lee de una vez: un bloque o la cola.
+     */
+    public final class Segment {
+        private final long firstSeq;
+        private final int count;
+        private final BlockIndex block;
+        private final List<AttemptRecord> rows;
+
+        private Segment(long firstSeq, int count, BlockIndex block, List<AttemptRecord> rows) {
+            this.firstSeq = firstSeq;
+            this.count = count;
+            this.block = block;
+            this.rows = rows;
+        }
+
+        public long getFirstSeq() { return firstSeq; }
+
+        public int getCount() { return count; }
+
+        /**
+         * Lee los intentos del segmento.
+         *
+         * @return Intentos en orden de secuencia
+         * @throws IOException Si falla la lectura del bloque
+         */
+        public List<AttemptRecord> read() throws IOException {
+            return rows != null ? rows : decodeBlock(readBody(block));
+        }
+    }
+
+    /**
+     * Número total de intentos guardados.
+     *
+     * @return Intentos en bloques más intentos en la cola
+     */
+    public long size() {
+        View current = view;
+        long total = current.tail.size();
+        for (BlockIndex block : current.blocks) {
+            total += block.count;
+        }
+        return total;
+    }
+
+    /**
+     * Bytes ocupados en disco por los datos del historial.
+     *
+     * @return Tamaño de bloques + cola + diccionario
+     * @throws IOException Si no se puede consultar el tamaño
+     */
+    public long sizeOnDisk() throws IOException {
+        return dataChannel.size() + tailChannel.size() + dictChannel.size();
+    }
+
+    /**
+     * Espera a que se escriban los intentos pendientes.
+     *
+     * @throws IOException Si la espera se interrumpe
+     */
+    public void flush() throws IOException {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (Exception e) {
+            throw new IOException("Error esperando al historial", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warning("Intentos pendientes al cerrar el historial");
+            }
+            dictChannel.close();
+            dataChannel.close();
+            tailChannel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.warning("Error cerrando el historial: " + e.getMessage());
+        }
+    }
+
+    private static boolean matches(AttemptRecord r, long from, long to, String topic) {
+        return r.getTimestamp() >= from && r.getTimestamp() <= to && (topic == null || r.hasTopic(topic));
+    }
+
+    // ========== CODIFICACIÓN COLUMNAR ==========
+
+    private byte[] encodeBlock(List<AttemptRecord> rows, long firstSeq) throws IOException {
+        long minTs = Long.MAX_VALUE;
+        long maxTs = Long.MIN_VALUE;
+        long[] topicBits = new long[(dictionary.size() + 63) >>> 6];
+        for (AttemptRecord r : rows) {
+            minTs = Math.min(minTs, r.getTimestamp());
+            maxTs = Math.max(maxTs, r.getTimestamp());
+            for (String topic : r.getTopics()) {
+                int id = dictionaryIds.get(topic);
+                topicBits[id >>> 6] |= 1L << id;
+            }
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64 + rows.size() * 48);
+        DataOutputStream out = new DataOutputStream(body);
+        BinaryCodec.writeVarLong(out, firstSeq);
+        BinaryCodec.writeVarInt(out, rows.size());
+        out.writeLong(minTs);
+        out.writeLong(maxTs);
+        BinaryCodec.writeVarInt(out, topicBits.length);
+        for (long word : topicBits) {
+            out.writeLong(word);
+        }
+
+        // Columna 1: marcas de tiempo (delta)
+        ColumnWriter ts = new ColumnWriter();
+        long prevTs = 0;
+        for (AttemptRecord r : rows) {
+            BinaryCodec.writeVarLong(ts.out, BinaryCodec.zigZag(r.getTimestamp() - prevTs));
+            prevTs = r.getTimestamp();
+        }
+        ts.writeTo(out);
+
+        // Columna 2: ids de sesión (delta)
+        ColumnWriter sessions = new ColumnWriter();
+        long prevSession = 0;
+        for (AttemptRecord r : rows) {
+            BinaryCodec.writeVarLong(sessions.out, BinaryCodec.zigZag(r.getSessionId() - prevSession));
+            prevSession = r.getSessionId();
+        }
+        sessions.writeTo(out);
+
+        // Columna 3: resultados por tópico
+        ColumnWriter topics = new ColumnWriter();
+        for (AttemptRecord r : rows) {
+            BinaryCodec.writeVarInt(topics.out, r.getTopics().length);
+            for (int i = 0; i < r.getTopics().length; i++) {
+                BinaryCodec.writeVarInt(topics.out, dictionaryIds.get(r.getTopics()[i]));
+                BinaryCodec.writeVarInt(topics.out, r.getCorrect()[i]);
+                BinaryCodec.writeVarInt(topics.out, r.getWrong()[i]);
+            }
+        }
+        topics.writeTo(out);
+
+        // Columna 4: preguntas (tópico local + posición delta)
+        ColumnWriter questions = new ColumnWriter();
+        int totalQuestions = 0;
+        for (AttemptRecord r : rows) {
+            BinaryCodec.writeVarInt(questions.out, r.getQuestionCount());
+            int prevPos = 0;
+            for (int j = 0; j < r.getQuestionCount(); j++) {
+                BinaryCodec.writeVarInt(questions.out, r.getQuestionTopic()[j]);
+                BinaryCodec.writeVarInt(questions.out, BinaryCodec.zigZag(r.getQuestionPosition()[j] - prevPos));
+                prevPos = r.getQuestionPosition()[j];
+            }
+            totalQuestions += r.getQuestionCount();
+        }
+        questions.writeTo(out);
+
+        // Columna 5: resultados por pregunta, 2 bits cada uno
+        byte[] packed = new byte[(totalQuestions + 3) >>> 2];
+        int k = 0;
+        for (AttemptRecord r : rows) {
+            for (byte outcome : r.getOutcomes()) {
+                packed[k >>> 2] |= (byte) ((outcome & 0x3) << ((k & 3) * 2));
+                k++;
+            }
+        }
+        BinaryCodec.writeVarInt(out, packed.length);
+        out.write(packed);
+        out.flush();
+
+        byte[] bodyBytes = body.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bodyBytes);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_OVERHEAD + bodyBytes.length);
+        frame.putInt(BLOCK_MAGIC).putInt(bodyBytes.length).put(bodyBytes).putInt((int) crc.getValue());
+        return frame.array();
+    }
+
+    private List<AttemptRecord> decodeBlock(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        BinaryCodec.readVarLong(in);
+        int count = BinaryCodec.readVarInt(in);
+        in.readLong();
+        in.readLong();
+        int words = BinaryCodec.readVarInt(in);
+        in.skipNBytes(8L * words);
+
+        DataInputStream ts = column(in);
+        DataInputStream sessions = column(in);
+        DataInputStream topics = column(in);
+        DataInputStream questions = column(in);
+        byte[] packed = new byte[BinaryCodec.readVarInt(in)];
+        in.readFully(packed);
+
+        List<AttemptRecord> rows = new ArrayList<>(count);
+        long prevTs = 0;
+        long prevSession = 0;
+        int k = 0;
+        for (int row = 0; row < count; row++) {
+            long timestamp = prevTs + BinaryCodec.unZigZag(BinaryCodec.readVarLong(ts));
+            long sessionId = prevSession + BinaryCodec.unZigZag(BinaryCodec.readVarLong(sessions));
+            prevTs = timestamp;
+            prevSession = sessionId;
+
+            int topicCount = BinaryCodec.readVarInt(topics);
+            String[] names = new String[topicCount];
+            int[] correct = new int[topicCount];
+            int[] wrong = new int[topicCount];
+            for (int i = 0; i < topicCount; i++) {
+                names[i] = dictionary.get(BinaryCodec.readVarInt(topics));
+                correct[i] = BinaryCodec.readVarInt(topics);
+                wrong[i] = BinaryCodec.readVarInt(topics);
+            }
+
+            int questionCount = BinaryCodec.readVarInt(questions);
+            int[] questionTopic = new int[questionCount];
+            int[] questionPosition = new int[questionCount];
+            byte[] outcomes = new byte[questionCount];
+            int prevPos = 0;
+            for (int j = 0; j < questionCount; j++) {
+                questionTopic[j] = BinaryCodec.readVarInt(questions);
+                prevPos += BinaryCodec.unZigZag(BinaryCodec.readVarInt(questions));
+                questionPosition[j] = prevPos;
+                outcomes[j] = (byte) ((packed[k >>> 2] >>> ((k & 3) * 2)) & 0x3);
+                k++;
+            }
+            rows.add(new AttemptRecord(timestamp, sessionId, names, correct, wrong,
+                                       questionTopic, questionPosition, outcomes));
+        }
+        return rows;
+    }
+
+    private static DataInputStream column(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[BinaryCodec.readVarInt(in)];
+        in.readFully(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private static BlockIndex parseHeader(ByteBuffer body, long offset, int frameLength) {
+        long firstSeq = BinaryCodec.getVarLong(body);
+        int count = BinaryCodec.getVarInt(body);
+        long minTs = body.getLong();
+        long maxTs = body.getLong();
+        long[] topicBits = new long[BinaryCodec.getVarInt(body)];
+        for (int i = 0; i < topicBits.length; i++) {
+            topicBits[i] = body.getLong();
+        }
+        return new BlockIndex(offset, frameLength, firstSeq, count, minTs, maxTs, topicBits);
+    }
+
+    /**
+     * Buffer para una columna: se escribe con su longitud delante para poder saltarla.
+     */
+    private static final class ColumnWriter {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        void writeTo(DataOutputStream target) throws IOException {
+            out.flush();
+            BinaryCodec.writeVarInt(target, bytes.size());
+            bytes.writeTo(target);
+        }
+    }
+
+    // ========== CARGA ==========
+
+    private void loadDictionary() throws IOException {
+        long size = dictChannel.size();
+        ByteBuffer data = ByteBuffer.allocate((int) size);
+        BinaryCodec.readFully(dictChannel, data, 0);
+        data.flip();
+        while (data.remaining() >= 2) {
+            int length = data.getShort() & 0xFFFF;
+            if (data.remaining() < length) {
+                data.position(data.position() - 2);
+                break;
+            }
+            byte[] bytes = new byte[length];
+            data.get(bytes);
+            String topic = new String(bytes, StandardCharsets.UTF_8);
+            dictionaryIds.put(topic, dictionary.size());
+            dictionary.add(topic);
+        }
+        if (data.position() < size) {
+            LOGGER.warning("Diccionario del historial truncado a " + data.position() + " bytes");
+            dictChannel.truncate(data.position());
+        }
+    }
+
+    private List<BlockIndex> loadBlocks() throws IOException {
+        List<BlockIndex> blocks = new ArrayList<>();
+        long size = dataChannel.size();
+        long offset = 0;
+        ByteBuffer head = ByteBuffer.allocate(8);
+        while (offset + FRAME_OVERHEAD <= size) {
+            head.clear();
+            BinaryCodec.readFully(dataChannel, head, offset);
+            head.flip();
+            if (head.getInt() != BLOCK_MAGIC) break;
+            int bodyLength = head.getInt();
+            int frameLength = FRAME_OVERHEAD + bodyLength;
+            if (bodyLength < 0 || offset + frameLength > size) break;
+
+            boolean lastBlock = offset + frameLength == size;
+            int probe = lastBlock ? bodyLength + 4 : Math.min(bodyLength, HEADER_PROBE_BYTES);
+            ByteBuffer body = ByteBuffer.allocate(probe);
+            BinaryCodec.readFully(dataChannel, body, offset + 8);
+            body.flip();
+            if (lastBlock && !crcMatches(body, bodyLength)) break;
+
+            BlockIndex block;
+            try {
+                block = parseHeader(body, offset, frameLength);
+            } catch (RuntimeException e) {
+                // Bitmap de tópicos mayor que la sonda: leer la cabecera completa
+                ByteBuffer full = ByteBuffer.allocate(bodyLength);
+                BinaryCodec.readFully(dataChannel, full, offset + 8);
+                full.flip();
+                block = parseHeader(full, offset, frameLength);
+            }
+            blocks.add(block);
+            offset += frameLength;
+        }
+        if (offset < size) {
+            LOGGER.warning("Bloque final del historial incompleto, se descartan " + (size - offset) + " bytes");
+            dataChannel.truncate(offset);
+        }
+        return blocks;
+    }
+
+    private List<AttemptRecord> loadTail() throws IOException {
+        List<AttemptRecord> tail = new ArrayList<>();
+        long size = tailChannel.size();
+        ByteBuffer data = ByteBuffer.allocate((int) size);
+        BinaryCodec.readFully(tailChannel, data, 0);
+        data.flip();
+
+        int valid = 0;
+        while (data.remaining() >= FRAME_OVERHEAD) {
+            int start = data.position();
+            if (data.getInt() != BLOCK_MAGIC) break;
+            int bodyLength = data.getInt();
+            if (bodyLength < 0 || data.remaining() < bodyLength + 4) break;
+            ByteBuffer body = data.slice(data.position(), bodyLength + 4);
+            if (!crcMatches(body, bodyLength)) break;
+
+            byte[] bytes = new byte[bodyLength];
+            body.get(0, bytes);
+            long seq = parseHeader(ByteBuffer.wrap(bytes), 0, 0).firstSeq;
+            if (seq >= nextSeq) {
+                tail.addAll(decodeBlock(bytes));
+            }
+            data.position(start + FRAME_OVERHEAD + bodyLength);
+            valid = data.position();
+        }
+        if (valid < size) {
+            LOGGER.warning("Cola del historial incompleta, se descartan " + (size - valid) + " bytes");
+            tailChannel.truncate(valid);
+        }
+        return tail;
+    }
+
+    private byte[] readBody(BlockIndex block) throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(block.frameLength - FRAME_OVERHEAD);
+        BinaryCodec.readFully(dataChannel, body, block.offset + 8);
+        if (body.hasRemaining()) {
+            throw new IOException("Fin de archivo inesperado en el historial");
+        }
+        return body.array();
+    }
+
+    private static boolean crcMatches(ByteBuffer bodyAndCrc, int bodyLength) {
+        CRC32 crc = new CRC32();
+        crc.update(bodyAndCrc.duplicate().limit(bodyLength));
+        return (int) crc.getValue() == bodyAndCrc.getInt(bodyLength);
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static <T> T last(List<T> list) {
+        return list.get(list.size() - 1);
+    }
+}
@@ -0,0 +1,275 @@
+package org.openjfx.javaquiz.repository;
+
+import org.openjfx.javaquiz.util.BinaryCodec;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Contadores acumulados de aciertos y fallos por usuario y tópico.
+ *
+ * Los tópicos se identifican con un id denso (diccionario compartido por
+ * todos los usuarios) y cada usuario guarda dos arreglos indexados por ese id,
+ * así que registrar una respuesta es O(1) y no crea objetos.
+ *
+ * Formato de archivo (solo se escriben los pares con respuestas):
+ * <pre>
+ * [int magic][byte versión][varint tópicos]{[utf tópico]}
+ * [varint usuarios]{[utf usuario][varint n]{[varint tópico][varint correctas][varint incorrectas]}}
+ * [int crc32]
+ * </pre>
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * MasteryStore store = MasteryStore.open(file);
+ * store.record("angel", "Collections", true);
+ * int[] counts = store.counts("angel", "Collections");   // {correctas, incorrectas}
+ * store.saveAsync();
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class MasteryStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(MasteryStore.class);
+
+    private static final int MAGIC = 0x4A514D53; // "JQMS"
+    private static final byte VERSION = 1;
+
+    private final Path file;
+    private final Map<String, Integer> topicIds = new HashMap<>();
+    private final List<String> topics = new ArrayList<>();
+    private final Map<String, UserCounts> users = new HashMap<>();
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    private final ExecutorService writer;
+
+    /**
+     * Contadores de un usuario, indexados por id de tópico.
+     */
+    private static final class UserCounts {
+        int[] correct = new int[0];
+        int[] wrong = new int[0];
+
+        void ensure(int topicId) {
+            if (topicId >= correct.length) {
+                int size = Math.max(topicId + 1, correct.length * 2);
+                correct = Arrays.copyOf(correct, size);
+                wrong = Arrays.copyOf(wrong, size);
+            }
+        }
+    }
+
+    private MasteryStore(Path file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "mastery-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Abre el almacén. Si el archivo no existe o está corrupto se empieza vacío.
+     *
+     * @param file Archivo de contadores
+     * @return Almacén listo para usar
+     * @throws IOException Si no se puede crear el directorio
+     */
+    public static MasteryStore open(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MasteryStore store = new MasteryStore(file);
+        if (Files.exists(file)) {
+            try {
+                store.read(Files.readAllBytes(file));
+            } catch (IOException e) {
+                store.topics.clear();
+                store.topicIds.clear();
+                store.users.clear();
+                LOGGER.warning("Contadores de dominio ignorados (" + e.getMessage() + "), se empieza de cero");
+            }
+        }
+        LOGGER.info("Dominio cargado: " + store.users.size() + " usuario(s), " + store.topics.size() + " tópico(s)");
+        return store;
+    }
+
+    /**
+     * Registra una respuesta.
+     *
+     * @param user Usuario
+     * @param topic Tópico de la pregunta
+     * @param correct true si fue correcta
+     */
+    public synchronized void record(String user, String topic, boolean correct) {
+        int id = topicIds.computeIfAbsent(topic, t -> {
+            topics.add(t);
+            return topics.size() - 1;
+        });
+        UserCounts counts = users.computeIfAbsent(user, u -> new UserCounts());
+        counts.ensure(id);
+        if (correct) {
+            counts.correct[id]++;
+        } else {
+            counts.wrong[id]++;
+        }
+    }
+
+    /**
+     * Contadores acumulados de un usuario en un tópico.
+     *
+     * @param user Usuario
+     * @param topic Tópico
+     * @return {correctas, incorrectas} (ceros si no hay respuestas)
+     */
+    public synchronized int[] counts(String user, String topic) {
+        Integer id = topicIds.get(topic);
+        UserCounts counts = users.get(user);
+        if (id == null || counts == null || id >= counts.correct.length) {
+            return new int[2];
+        }
+        return new int[] {counts.correct[id], counts.wrong[id]};
+    }
+
+    /**
+     * Programa el guardado del estado actual (no bloquea).
+     */
+    public void saveAsync() {
+        if (savePending.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                savePending.set(false);
+                write();
+            });
+        }
+    }
+
+    /**
+     * Espera a que terminen las escrituras pendientes y detiene el hilo.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.SECONDS)) {
+                LOGGER.warning("Escritura de contadores de dominio pendiente al cerrar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== CODIFICACIÓN ==========
+
+    private synchronized byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + users.size() * topics.size() * 3);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        BinaryCodec.writeVarInt(out, topics.size());
+        for (String topic : topics) {
+            out.writeUTF(topic);
+        }
+        BinaryCodec.writeVarInt(out, users.size());
+        for (Map.Entry<String, UserCounts> entry : users.entrySet()) {
+            UserCounts counts = entry.getValue();
+            int used = 0;
+            for (int id = 0; id < counts.correct.length; id++) {
+                if (counts.correct[id] + counts.wrong[id] > 0) used++;
+            }
+            out.writeUTF(entry.getKey());
+            BinaryCodec.writeVarInt(out, used);
+            for (int id = 0; id < counts.correct.length; id++) {
+                if (counts.correct[id] + counts.wrong[id] == 0) continue;
+                BinaryCodec.writeVarInt(out, id);
+                BinaryCodec.writeVarInt(out, counts.correct[id]);
+                BinaryCodec.writeVarInt(out, counts.wrong[id]);
+            }
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void read(byte[] data) throws IOException {
+        if (data.length < 9) {
+            throw new IOException("Archivo demasiado corto");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+            throw new IOException("Checksum inválido");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Cabecera inválida");
+        }
+        if (in.readByte() != VERSION) {
+            throw new IOException("Versión no soportada");
+        }
+        int topicCount = BinaryCodec.readVarInt(in);
+        for (int i = 0; i < topicCount; i++) {
+            String topic = in.readUTF();
+            topicIds.put(topic, i);
+            topics.add(topic);
+        }
+        int userCount = BinaryCodec.readVarInt(in);
+        for (int u = 0; u < userCount; u++) {
+            UserCounts counts = new UserCounts();
+            users.put(in.readUTF(), counts);
+            int used = BinaryCodec.readVarInt(in);
+            for (int i = 0; i < used; i++) {
+                int id = BinaryCodec.readVarInt(in);
+                if (id >= topicCount) {
+                    throw new IOException("Tópico inexistente: " + id);
+                }
+                counts.ensure(id);
+                counts.correct[id] = BinaryCodec.readVarInt(in);
+                counts.wrong[id] = BinaryCodec.readVarInt(in);
+            }
+        }
+    }
+
+    private void write() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            byte[] data = encode();
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudieron guardar los contadores de dominio: " + e.getMessage());
+        }
+    }
+}
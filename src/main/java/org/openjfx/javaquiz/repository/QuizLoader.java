@@ -56,6 +56,7 @@ public class QuizLoader {
             
             // VALIDACIÓN 3: Los datos deben ser válidos
             validateQuizData(data, fileName);
+            data.setSource(fileName);
             
             LOGGER.info("Quiz cargado exitosamente: " + fileName + 
                        " (" + data.getQuestions().size() + " preguntas)");
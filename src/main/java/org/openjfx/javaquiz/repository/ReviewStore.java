@@ -0,0 +1,429 @@
+package org.openjfx.javaquiz.repository;
+
+import org.openjfx.javaquiz.model.ReviewCard;
+import org.openjfx.javaquiz.util.BinaryCodec;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Tarjetas de repaso espaciado por usuario, ordenadas por fecha de repaso.
+ *
+ * Cada usuario tiene un mazo guardado como arreglos paralelos (tópico,
+ * posición, día, intervalo, facilidad, repeticiones) más un montículo binario
+ * indexado por día de repaso. Actualizar una tarjeta reordena solo su camino
+ * en el montículo: O(log n) aunque el mazo tenga cientos de miles de tarjetas.
+ *
+ * El archivo guarda las tarjetas en el orden del montículo, de modo que al
+ * cargarlo el montículo ya está armado y no hay que reordenar nada.
+ *
+ * Formato de archivo:
+ * <pre>
+ * [int magic][byte versión][varint tópicos]{[utf tópico]}
+ * [varint usuarios]{[utf usuario][varint n]{[varint tópico][varint posición]
+ *   [varint día][varint intervalo][varint facilidad ‰][varint repeticiones]}}
+ * [int crc32]
+ * </pre>
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * ReviewStore store = ReviewStore.open(file);
+ * store.put("angel", card);
+ * List&lt;ReviewCard&gt; today = store.due("angel", LocalDate.now().toEpochDay(), 50);
+ * store.saveAsync();
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ReviewStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(ReviewStore.class);
+
+    private static final int MAGIC = 0x4A515256; // "JQRV"
+    private static final byte VERSION = 1;
+
+    private final Path file;
+    private final Map<String, Integer> topicIds = new HashMap<>();
+    private final List<String> topics = new ArrayList<>();
+    private final Map<String, Deck> decks = new HashMap<>();
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    private final ExecutorService writer;
+
+    /**
+     * Mazo de un usuario: tarjetas en arreglos paralelos y montículo mínimo
+     * por día de repaso ({@code heap[i]} es un índice de tarjeta y
+     * {@code slot[tarjeta]} su posición en el montículo).
+     */
+    private static final class Deck {
+        int size;
+        int[] topic = new int[16];
+        int[] position = new int[16];
+        int[] due = new int[16];
+        int[] interval = new int[16];
+        int[] easePermille = new int[16];
+        int[] repetitions = new int[16];
+        int[] heap = new int[16];
+        int[] slot = new int[16];
+        final Map<Long, Integer> index = new HashMap<>();
+
+        static long key(int topic, int position) {
+            return ((long) topic << 32) | (position & 0xFFFFFFFFL);
+        }
+
+        /** Agrega una tarjeta al final del montículo sin reordenar */
+        int append(int topicId, int pos) {
+            if (size == topic.length) {
+                int capacity = size * 2;
+                topic = Arrays.copyOf(topic, capacity);
+                position = Arrays.copyOf(position, capacity);
+                due = Arrays.copyOf(due, capacity);
+                interval = Arrays.copyOf(interval, capacity);
+                easePermille = Arrays.copyOf(easePermille, capacity);
+                repetitions = Arrays.copyOf(repetitions, capacity);
+                heap = Arrays.copyOf(heap, capacity);
+                slot = Arrays.copyOf(slot, capacity);
+            }
+            int card = size++;
+            topic[card] = topicId;
+            position[card] = pos;
+            heap[card] = card;
+            slot[card] = card;
+            index.put(key(topicId, pos), card);
+            return card;
+        }
+
+        boolean before(int a, int b) {
+            return due[a] < due[b] || (due[a] == due[b] && a < b);
+        }
+
+        void siftUp(int i) {
+            int card = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(card, heap[parent])) break;
+                heap[i] = heap[parent];
+                slot[heap[i]] = i;
+                i = parent;
+            }
+            heap[i] = card;
+            slot[card] = i;
+        }
+
+        void siftDown(int i) {
+            int card = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+                if (!before(heap[child], card)) break;
+                heap[i] = heap[child];
+                slot[heap[i]] = i;
+                i = child;
+            }
+            heap[i] = card;
+            slot[card] = i;
+        }
+    }
+
+    private ReviewStore(Path file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "review-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Abre el almacén. Si el archivo no existe o está corrupto se empieza vacío.
+     *
+     * @param file Archivo de tarjetas
+     * @return Almacén listo para usar
+     * @throws IOException Si no se puede crear el directorio
+     */
+    public static ReviewStore open(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        ReviewStore store = new ReviewStore(file);
+        if (Files.exists(file)) {
+            long start = System.nanoTime();
+            try {
+                store.read(Files.readAllBytes(file));
+            } catch (IOException e) {
+                store.topics.clear();
+                store.topicIds.clear();
+                store.decks.clear();
+                LOGGER.warning("Tarjetas de repaso ignoradas (" + e.getMessage() + "), se empieza de cero");
+            }
+            LOGGER.info(String.format("Repaso cargado: %d usuario(s) en %d ms",
+                                      store.decks.size(), (System.nanoTime() - start) / 1_000_000));
+        }
+        return store;
+    }
+
+    /**
+     * Tarjeta de una pregunta.
+     *
+     * @param user Usuario
+     * @param topic Tópico de la pregunta
+     * @param position Posición de la pregunta en su banco
+     * @return Tarjeta, o null si nunca se repasó
+     */
+    public synchronized ReviewCard get(String user, String topic, int position) {
+        Deck deck = decks.get(user);
+        Integer topicId = topicIds.get(topic);
+        if (deck == null || topicId == null) {
+            return null;
+        }
+        Integer card = deck.index.get(Deck.key(topicId, position));
+        return card == null ? null : toCard(deck, card);
+    }
+
+    /**
+     * Crea o actualiza una tarjeta y la reubica en la cola: O(log n).
+     *
+     * @param user Usuario
+     * @param card Nuevo estado de la tarjeta
+     */
+    public synchronized void put(String user, ReviewCard card) {
+        int topicId = topicIds.computeIfAbsent(card.getTopic(), t -> {
+            topics.add(t);
+            return topics.size() - 1;
+        });
+        Deck deck = decks.computeIfAbsent(user, u -> new Deck());
+        Integer existing = deck.index.get(Deck.key(topicId, card.getPosition()));
+        int c = existing != null ? existing : deck.append(topicId, card.getPosition());
+        int previousDue = existing != null ? deck.due[c] : Integer.MAX_VALUE;
+        deck.due[c] = card.getDueDay();
+        deck.interval[c] = card.getIntervalDays();
+        deck.easePermille[c] = (int) Math.round(card.getEase() * 1000);
+        deck.repetitions[c] = card.getRepetitions();
+        if (card.getDueDay() < previousDue) {
+            deck.siftUp(deck.slot[c]);
+        } else {
+            deck.siftDown(deck.slot[c]);
+        }
+    }
+
+    /**
+     * Tarjetas vencidas en el día dado, de la más atrasada a la más reciente.
+     * Recorre solo la cabeza del montículo: O(k log k) para k tarjetas.
+     *
+     * @param user Usuario
+     * @param day Día epoch de referencia
+     * @param limit Máximo de tarjetas
+     * @return Tarjetas con día de repaso menor o igual a {@code day}
+     */
+    public synchronized List<ReviewCard> due(String user, long day, int limit) {
+        List<ReviewCard> result = new ArrayList<>();
+        Deck deck = decks.get(user);
+        if (deck == null || deck.size == 0 || limit <= 0) {
+            return result;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+            (a, b) -> deck.before(deck.heap[a], deck.heap[b]) ? -1 : 1);
+        frontier.add(0);
+        while (!frontier.isEmpty() && result.size() < limit) {
+            int i = frontier.poll();
+            int card = deck.heap[i];
+            if (deck.due[card] > day) break;
+            result.add(toCard(deck, card));
+            if (2 * i + 1 < deck.size) frontier.add(2 * i + 1);
+            if (2 * i + 2 < deck.size) frontier.add(2 * i + 2);
+        }
+        return result;
+    }
+
+    /**
+     * Número de tarjetas vencidas en el día dado (recorre solo las vencidas).
+     *
+     * @param user Usuario
+     * @param day Día epoch de referencia
+     * @return Tarjetas pendientes
+     */
+    public synchronized int dueCount(String user, long day) {
+        Deck deck = decks.get(user);
+        if (deck == null || deck.size == 0) {
+            return 0;
+        }
+        int count = 0;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int i = stack[--top];
+            if (deck.due[deck.heap[i]] > day) continue;
+            count++;
+            if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            if (2 * i + 1 < deck.size) stack[top++] = 2 * i + 1;
+            if (2 * i + 2 < deck.size) stack[top++] = 2 * i + 2;
+        }
+        return count;
+    }
+
+    /**
+     * Número de tarjetas de un usuario.
+     *
+     * @param user Usuario
+     * @return Tarjetas en el mazo
+     */
+    public synchronized int size(String user) {
+        Deck deck = decks.get(user);
+        return deck == null ? 0 : deck.size;
+    }
+
+    /**
+     * Programa el guardado del estado actual (no bloquea).
+     */
+    public void saveAsync() {
+        if (savePending.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                savePending.set(false);
+                write();
+            });
+        }
+    }
+
+    /**
+     * Espera a que terminen las escrituras pendientes y detiene el hilo.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.SECONDS)) {
+                LOGGER.warning("Escritura de tarjetas de repaso pendiente al cerrar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ReviewCard toCard(Deck deck, int card) {
+        return new ReviewCard(topics.get(deck.topic[card]), deck.position[card], deck.due[card],
+                              deck.interval[card], deck.easePermille[card] / 1000.0, deck.repetitions[card]);
+    }
+
+    // ========== CODIFICACIÓN ==========
+
+    private synchronized byte[] encode() throws IOException {
+        int cards = 0;
+        for (Deck deck : decks.values()) cards += deck.size;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + cards * 10);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        BinaryCodec.writeVarInt(out, topics.size());
+        for (String topic : topics) {
+            out.writeUTF(topic);
+        }
+        BinaryCodec.writeVarInt(out, decks.size());
+        for (Map.Entry<String, Deck> entry : decks.entrySet()) {
+            Deck deck = entry.getValue();
+            out.writeUTF(entry.getKey());
+            BinaryCodec.writeVarInt(out, deck.size);
+            for (int i = 0; i < deck.size; i++) {
+                int card = deck.heap[i];
+                BinaryCodec.writeVarInt(out, deck.topic[card]);
+                BinaryCodec.writeVarInt(out, deck.position[card]);
+                BinaryCodec.writeVarInt(out, deck.due[card]);
+                BinaryCodec.writeVarInt(out, deck.interval[card]);
+                BinaryCodec.writeVarInt(out, deck.easePermille[card]);
+                BinaryCodec.writeVarInt(out, deck.repetitions[card]);
+            }
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void read(byte[] data) throws IOException {
+        if (data.length < 9) {
+            throw new IOException("Archivo demasiado corto");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+            throw new IOException("Checksum inválido");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Cabecera inválida");
+        }
+        if (in.readByte() != VERSION) {
+            throw new IOException("Versión no soportada");
+        }
+        int topicCount = BinaryCodec.readVarInt(in);
+        for (int i = 0; i < topicCount; i++) {
+            String topic = in.readUTF();
+            topicIds.put(topic, i);
+            topics.add(topic);
+        }
+        int userCount = BinaryCodec.readVarInt(in);
+        for (int u = 0; u < userCount; u++) {
+            Deck deck = new Deck();
+            decks.put(in.readUTF(), deck);
+            int size = BinaryCodec.readVarInt(in);
+            for (int i = 0; i < size; i++) {
+                int topicId = BinaryCodec.readVarInt(in);
+                if (topicId >= topicCount) {
+                    throw new IOException("Tópico inexistente: " + topicId);
+                }
+                int card = deck.append(topicId, BinaryCodec.readVarInt(in));
+                deck.due[card] = BinaryCodec.readVarInt(in);
+                deck.interval[card] = BinaryCodec.readVarInt(in);
+                deck.easePermille[card] = BinaryCodec.readVarInt(in);
+                deck.repetitions[card] = BinaryCodec.readVarInt(in);
+                if (card > 0 && deck.before(card, deck.heap[(card - 1) >>> 1])) {
+                    throw new IOException("Orden de repaso inválido en la tarjeta " + card);
+                }
+            }
+        }
+    }
+
+    private void write() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            byte[] data = encode();
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudieron guardar las tarjetas de repaso: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.openjfx.javaquiz.repository;
+
+import org.openjfx.javaquiz.util.BinaryCodec;
+import org.openjfx.javaquiz.util.LoggerUtil;
+import org.openjfx.javaquiz.util.QuantileSketch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Almacén de sketches de cuantiles de puntajes, uno por tópico o conjunto de tópicos.
+ *
+ * Los sketches viven en memoria y se persisten juntos en un único archivo.
+ * {@link #saveAsync()} deja el guardado pendiente y un hilo dedicado escribe
+ * el estado más reciente (varias llamadas seguidas producen una sola escritura).
+ *
+ * Formato de archivo:
+ * <pre>
+ * [int magic][byte versión][varint n]{[utf clave][sketch]}*n[int crc32]
+ * </pre>
+ *
+ * Como los sketches son combinables, {@link #mergeFile(Path)} incorpora los
+ * sketches de otro equipo sin perder precisión.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * ScoreSketchStore store = ScoreSketchStore.open(file);
+ * double beaten = store.rank("Collections", 0.8);
+ * store.update("Collections", 0.8);
+ * store.saveAsync();
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ScoreSketchStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(ScoreSketchStore.class);
+
+    private static final int MAGIC = 0x4A51534B; // "JQSK"
+    private static final byte VERSION = 1;
+
+    private final Path file;
+    private final Map<String, QuantileSketch> sketches;
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    private final ExecutorService writer;
+
+    private ScoreSketchStore(Path file, Map<String, QuantileSketch> sketches) {
+        this.file = file;
+        this.sketches = sketches;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "score-sketch-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Abre el almacén. Si el archivo no existe o está corrupto se empieza vacío.
+     *
+     * @param file Archivo de sketches
+     * @return Almacén listo para usar
+     * @throws IOException Si no se puede crear el directorio
+     */
+    public static ScoreSketchStore open(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Map<String, QuantileSketch> sketches = new HashMap<>();
+        if (Files.exists(file)) {
+            try {
+                sketches = read(Files.readAllBytes(file));
+            } catch (IOException e) {
+                LOGGER.warning("Sketches de puntaje ignorados (" + e.getMessage() + "), se empieza de cero");
+            }
+        }
+        LOGGER.info("Sketches de puntaje cargados: " + sketches.size());
+        return new ScoreSketchStore(file, sketches);
+    }
+
+    /**
+     * Fracción de puntajes registrados estrictamente menores que el dado.
+     *
+     * @param key Tópico o conjunto de tópicos
+     * @param score Puntaje entre 0.0 y 1.0
+     * @return Rango percentil, o NaN si no hay puntajes para la clave
+     */
+    public synchronized double rank(String key, double score) {
+        QuantileSketch sketch = sketches.get(key);
+        return sketch == null || sketch.getCount() == 0 ? Double.NaN : sketch.rank(score);
+    }
+
+    /**
+     * Número de puntajes registrados para una clave.
+     *
+     * @param key Tópico o conjunto de tópicos
+     * @return Puntajes registrados (0 si no hay)
+     */
+    public synchronized long count(String key) {
+        QuantileSketch sketch = sketches.get(key);
+        return sketch == null ? 0 : sketch.getCount();
+    }
+
+    /**
+     * Registra un puntaje.
+     *
+     * @param key Tópico o conjunto de tópicos
+     * @param score Puntaje entre 0.0 y 1.0
+     */
+    public synchronized void update(String key, double score) {
+        sketches.computeIfAbsent(key, k -> new QuantileSketch(QuantileSketch.DEFAULT_K)).update(score);
+    }
+
+    /**
+     * Combina los sketches de otro archivo (por ejemplo, exportado en otro equipo).
+     *
+     * @param other Archivo con el mismo formato
+     * @throws IOException Si el archivo no se puede leer o es inválido
+     */
+    public void mergeFile(Path other) throws IOException {
+        Map<String, QuantileSketch> incoming = read(Files.readAllBytes(other));
+        synchronized (this) {
+            incoming.forEach((key, sketch) -> sketches.merge(key, sketch, (mine, theirs) -> {
+                mine.merge(theirs);
+                return mine;
+            }));
+        }
+        LOGGER.info("Combinados " + incoming.size() + " sketch(es) de " + other.getFileName());
+    }
+
+    /**
+     * Programa el guardado del estado actual (no bloquea).
+     */
+    public void saveAsync() {
+        if (savePending.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                savePending.set(false);
+                write();
+            });
+        }
+    }
+
+    /**
+     * Espera a que terminen las escrituras pendientes y detiene el hilo.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.SECONDS)) {
+                LOGGER.warning("Escritura de sketches pendiente al cerrar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== CODIFICACIÓN ==========
+
+    static byte[] encode(Map<String, QuantileSketch> sketches) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024 + sketches.size() * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        BinaryCodec.writeVarInt(out, sketches.size());
+        for (Map.Entry<String, QuantileSketch> entry : sketches.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static Map<String, QuantileSketch> read(byte[] data) throws IOException {
+        if (data.length < 9) {
+            throw new IOException("Archivo demasiado corto");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+            throw new IOException("Checksum inválido");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Cabecera inválida");
+        }
+        if (in.readByte() != VERSION) {
+            throw new IOException("Versión no soportada");
+        }
+        int count = BinaryCodec.readVarInt(in);
+        Map<String, QuantileSketch> sketches = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            sketches.put(key, QuantileSketch.readFrom(in));
+        }
+        return sketches;
+    }
+
+    private void write() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            byte[] data;
+            synchronized (this) {
+                data = encode(sketches);
+            }
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudieron guardar los sketches de puntaje: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.openjfx.javaquiz.repository;
+
+import org.openjfx.javaquiz.util.InvertedIndex;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Caché en disco del índice de búsqueda de preguntas.
+ *
+ * El índice se guarda junto con la huella de los bancos con los que se
+ * construyó; si los bancos cambian, la huella no coincide y el índice se
+ * reconstruye. Cualquier error de lectura se trata como caché vacía.
+ *
+ * Formato de archivo:
+ * <pre>
+ * [int magic][byte versión][long huella][índice][int crc32]
+ * </pre>
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * SearchIndexStore store = new SearchIndexStore(file);
+ * InvertedIndex index = store.load(fingerprint);
+ * if (index == null) {
+ *     index = build();
+ *     store.save(fingerprint, index);
+ * }
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class SearchIndexStore {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(SearchIndexStore.class);
+
+    private static final int MAGIC = 0x4A514958; // "JQIX"
+    private static final byte VERSION = 1;
+
+    private final Path file;
+
+    /**
+     * @param file Archivo del índice
+     */
+    public SearchIndexStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Lee el índice guardado si corresponde a los mismos bancos.
+     *
+     * @param fingerprint Huella de los bancos actuales
+     * @return Índice guardado, o null si no hay, está corrupto o es de otros bancos
+     */
+    public InvertedIndex load(long fingerprint) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            byte[] data = Files.readAllBytes(file);
+            if (data.length < 17) {
+                throw new IOException("Archivo demasiado corto");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length - 4);
+            if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+                throw new IOException("Checksum inválido");
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Cabecera inválida");
+            }
+            if (in.readLong() != fingerprint) {
+                LOGGER.info("Índice de búsqueda desactualizado: se reconstruye");
+                return null;
+            }
+            return InvertedIndex.readFrom(in);
+        } catch (IOException e) {
+            LOGGER.warning("Índice de búsqueda ignorado (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    /**
+     * Guarda el índice de forma atómica. Los errores solo se registran.
+     *
+     * @param fingerprint Huella de los bancos indexados
+     * @param index Índice a guardar
+     */
+    public void save(long fingerprint, InvertedIndex index) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(fingerprint);
+            index.writeTo(out);
+            out.flush();
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray(), 0, bytes.size());
+            out.writeInt((int) crc.getValue());
+            out.flush();
+
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudo guardar el índice de búsqueda: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package org.openjfx.javaquiz.repository;
+
+import org.openjfx.javaquiz.util.BinaryCodec;
+import org.openjfx.javaquiz.util.CompactBitmap;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Preguntas ya vistas por cada usuario, por tópico.
+ *
+ * Cada par usuario/tópico guarda las posiciones vistas en un
+ * {@link CompactBitmap}: un banco de cientos de preguntas ocupa unos pocos
+ * bytes por usuario, así que el archivo sigue siendo pequeño con miles de
+ * usuarios en un servidor compartido.
+ *
+ * Formato de archivo:
+ * <pre>
+ * [int magic][byte versión][varint tópicos]{[utf tópico]}
+ * [varint usuarios]{[utf usuario][varint n]{[varint tópico][bitmap]}}
+ * [int crc32]
+ * </pre>
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * SeenStore store = SeenStore.open(file);
+ * store.markSeen("angel", "Collections", 12);
+ * CompactBitmap seen = store.seen("angel", "Collections");
+ * store.saveAsync();
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class SeenStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(SeenStore.class);
+
+    private static final int MAGIC = 0x4A51534E; // "JQSN"
+    private static final byte VERSION = 1;
+
+    private final Path file;
+    private final Map<String, Integer> topicIds = new HashMap<>();
+    private final List<String> topics = new ArrayList<>();
+    private final Map<String, CompactBitmap[]> users = new HashMap<>();
+    private final AtomicBoolean savePending = new AtomicBoolean();
+    private final ExecutorService writer;
+
+    private SeenStore(Path file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "seen-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Abre el almacén. Si el archivo no existe o está corrupto se empieza vacío.
+     *
+     * @param file Archivo de preguntas vistas
+     * @return Almacén listo para usar
+     * @throws IOException Si no se puede crear el directorio
+     */
+    public static SeenStore open(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        SeenStore store = new SeenStore(file);
+        if (Files.exists(file)) {
+            try {
+                store.read(Files.readAllBytes(file));
+            } catch (IOException e) {
+                store.topics.clear();
+                store.topicIds.clear();
+                store.users.clear();
+                LOGGER.warning("Preguntas vistas ignoradas (" + e.getMessage() + "), se empieza de cero");
+            }
+        }
+        LOGGER.info("Preguntas vistas cargadas: " + store.users.size() + " usuario(s)");
+        return store;
+    }
+
+    /**
+     * Marca una pregunta como vista.
+     *
+     * @param user Usuario
+     * @param topic Tópico de la pregunta
+     * @param position Posición de la pregunta en su banco
+     */
+    public synchronized void markSeen(String user, String topic, int position) {
+        if (position < 0) return;
+        bitmap(user, topic).add(position);
+    }
+
+    /**
+     * Preguntas vistas de un tópico.
+     *
+     * @param user Usuario
+     * @param topic Tópico
+     * @return Copia del conjunto de posiciones vistas (vacío si no hay)
+     */
+    public synchronized CompactBitmap seen(String user, String topic) {
+        Integer id = topicIds.get(topic);
+        CompactBitmap[] bitmaps = users.get(user);
+        if (id == null || bitmaps == null || id >= bitmaps.length || bitmaps[id] == null) {
+            return new CompactBitmap();
+        }
+        return bitmaps[id].copy();
+    }
+
+    /**
+     * Agrega posiciones vistas en otro lugar (por ejemplo, otro equipo).
+     *
+     * @param user Usuario
+     * @param topic Tópico
+     * @param other Posiciones a agregar
+     */
+    public synchronized void merge(String user, String topic, CompactBitmap other) {
+        bitmap(user, topic).or(other);
+    }
+
+    /**
+     * Olvida las preguntas vistas de un tópico (empieza un nuevo ciclo).
+     *
+     * @param user Usuario
+     * @param topic Tópico
+     */
+    public synchronized void reset(String user, String topic) {
+        Integer id = topicIds.get(topic);
+        CompactBitmap[] bitmaps = users.get(user);
+        if (id != null && bitmaps != null && id < bitmaps.length) {
+            bitmaps[id] = null;
+        }
+    }
+
+    /**
+     * Programa el guardado del estado actual (no bloquea).
+     */
+    public void saveAsync() {
+        if (savePending.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                savePending.set(false);
+                write();
+            });
+        }
+    }
+
+    /**
+     * Espera a que terminen las escrituras pendientes y detiene el hilo.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.SECONDS)) {
+                LOGGER.warning("Escritura de preguntas vistas pendiente al cerrar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompactBitmap bitmap(String user, String topic) {
+        int id = topicIds.computeIfAbsent(topic, t -> {
+            topics.add(t);
+            return topics.size() - 1;
+        });
+        CompactBitmap[] bitmaps = users.computeIfAbsent(user, u -> new CompactBitmap[0]);
+        if (id >= bitmaps.length) {
+            bitmaps = Arrays.copyOf(bitmaps, Math.max(id + 1, bitmaps.length * 2));
+            users.put(user, bitmaps);
+        }
+        if (bitmaps[id] == null) {
+            bitmaps[id] = new CompactBitmap();
+        }
+        return bitmaps[id];
+    }
+
+    // ========== CODIFICACIÓN ==========
+
+    private synchronized byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + users.size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        BinaryCodec.writeVarInt(out, topics.size());
+        for (String topic : topics) {
+            out.writeUTF(topic);
+        }
+        BinaryCodec.writeVarInt(out, users.size());
+        for (Map.Entry<String, CompactBitmap[]> entry : users.entrySet()) {
+            CompactBitmap[] bitmaps = entry.getValue();
+            int used = 0;
+            for (CompactBitmap bitmap : bitmaps) {
+                if (bitmap != null && !bitmap.isEmpty()) used++;
+            }
+            out.writeUTF(entry.getKey());
+            BinaryCodec.writeVarInt(out, used);
+            for (int id = 0; id < bitmaps.length; id++) {
+                if (bitmaps[id] == null || bitmaps[id].isEmpty()) continue;
+                BinaryCodec.writeVarInt(out, id);
+                bitmaps[id].writeTo(out);
+            }
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void read(byte[] data) throws IOException {
+        if (data.length < 9) {
+            throw new IOException("Archivo demasiado corto");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+            throw new IOException("Checksum inválido");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Cabecera inválida");
+        }
+        if (in.readByte() != VERSION) {
+            throw new IOException("Versión no soportada");
+        }
+        int topicCount = BinaryCodec.readVarInt(in);
+        for (int i = 0; i < topicCount; i++) {
+            String topic = in.readUTF();
+            topicIds.put(topic, i);
+            topics.add(topic);
+        }
+        int userCount = BinaryCodec.readVarInt(in);
+        for (int u = 0; u < userCount; u++) {
+            String user = in.readUTF();
+            CompactBitmap[] bitmaps = new CompactBitmap[topicCount];
+            int used = BinaryCodec.readVarInt(in);
+            for (int i = 0; i < used; i++) {
+                int id = BinaryCodec.readVarInt(in);
+                if (id >= topicCount) {
+                    throw new IOException("Tópico inexistente: " + id);
+                }
+                bitmaps[id] = CompactBitmap.readFrom(in);
+            }
+            users.put(user, bitmaps);
+        }
+    }
+
+    private void write() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            byte[] data = encode();
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudieron guardar las preguntas vistas: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package org.openjfx.javaquiz.repository;
+
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.util.BinaryCodec;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Almacén de snapshots binarios de sesiones en curso, uno por sesión.
+ *
+ * Las escrituras se hacen en un hilo dedicado: {@link #saveAsync(SessionState)}
+ * solo deja el estado pendiente y retorna. Si llegan varios estados de la misma
+ * sesión antes de que el hilo los escriba, solo se escribe el último.
+ *
+ * Formato de archivo ({@code <sessionId>.snap}):
+ * <pre>
+ * [int magic][byte versión][varlong guardado][varint segundos+1][SessionState][int crc32]
+ * </pre>
+ *
+ * Cada archivo se escribe en un temporal y se renombra atómicamente, de modo
+ * que un corte nunca deja un snapshot a medias.
+ *
+ * Solo se conserva la sesión más reciente, que es la que el menú ofrece
+ * reanudar: el primer guardado de una sesión nueva borra los snapshots de
+ * las anteriores, y al abrir el almacén se borran (en el hilo escritor)
+ * todos menos el válido más nuevo.
+ * Así el directorio no crece con sesiones abandonadas.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * SessionSnapshotStore store = new SessionSnapshotStore(dir);
+ * store.saveAsync(quizService.captureState());
+ * List&lt;SessionState&gt; pending = store.loadAll();
+ * store.deleteAsync(sessionId);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class SessionSnapshotStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(SessionSnapshotStore.class);
+
+    private static final int MAGIC = 0x4A515353; // "JQSS"
+    private static final byte VERSION = 1;
+    private static final String EXTENSION = ".snap";
+
+    private final Path dir;
+    private final Map<Long, SessionState> pending = new ConcurrentHashMap<>();
+    private final ExecutorService writer;
+    private volatile long lastSavedId = -1;
+
+    /**
+     * Crea el almacén sobre un directorio (se crea si no existe).
+     *
+     * @param dir Directorio de snapshots
+     * @throws IOException Si no se puede crear el directorio
+     */
+    public SessionSnapshotStore(Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "session-snapshot-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.execute(() -> prune(-1));
+    }
+
+    /**
+     * Programa la escritura del estado de una sesión (no bloquea).
+     *
+     * @param state Estado capturado; no debe modificarse después
+     */
+    public void saveAsync(SessionState state) {
+        long id = state.getSessionId();
+        if (id != lastSavedId) {
+            // Sesión nueva: reemplaza a las que quedaron sin terminar
+            lastSavedId = id;
+            writer.execute(() -> prune(id));
+        }
+        if (pending.put(id, state) == null) {
+            writer.execute(() -> {
+                SessionState latest = pending.remove(id);
+                if (latest != null) {
+                    write(latest);
+                }
+            });
+        }
+    }
+
+    /**
+     * Programa el borrado del snapshot de una sesión (por ejemplo al terminarla).
+     *
+     * @param sessionId Identificador de la sesión
+     */
+    public void deleteAsync(long sessionId) {
+        pending.remove(sessionId);
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(fileFor(sessionId));
+            } catch (IOException e) {
+                LOGGER.warning("No se pudo borrar el snapshot " + sessionId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Lee todos los snapshots válidos, del más reciente al más antiguo.
+     *
+     * Los archivos corruptos se ignoran (y se registran como warning). Lee
+     * del disco: no llamar desde el hilo de JavaFX.
+     *
+     * @return Estados guardados
+     */
+    public List<SessionState> loadAll() {
+        List<SessionState> states = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+            for (Path file : files) {
+                try {
+                    states.add(read(Files.readAllBytes(file)));
+                } catch (NoSuchFileException e) {
+                    // Borrado por el escritor mientras se listaba
+                } catch (IOException e) {
+                    LOGGER.warning("Snapshot ignorado " + file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warning("No se pudieron listar los snapshots: " + e.getMessage());
+        }
+        states.sort(Comparator.comparingLong(SessionState::getSavedAtMillis).reversed());
+        return states;
+    }
+
+    /**
+     * Espera a que terminen las escrituras pendientes y detiene el hilo.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.SECONDS)) {
+                LOGGER.warning("Escrituras de snapshot pendientes al cerrar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== CODIFICACIÓN ==========
+
+    static byte[] encode(SessionState state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + state.getQuestionCount() * 2);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        BinaryCodec.writeVarLong(out, state.getSavedAtMillis());
+        BinaryCodec.writeVarInt(out, state.getRemainingSeconds() + 1);
+        SessionStateCodec.write(out, state);
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static SessionState read(byte[] data) throws IOException {
+        if (data.length < 9) {
+            throw new IOException("Archivo demasiado corto");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+            throw new IOException("Checksum inválido");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Cabecera inválida");
+        }
+        if (in.readByte() != VERSION) {
+            throw new IOException("Versión no soportada");
+        }
+        long savedAt = BinaryCodec.readVarLong(in);
+        int remaining = BinaryCodec.readVarInt(in) - 1;
+        SessionState state = SessionStateCodec.read(in);
+        state.setSavedAtMillis(savedAt);
+        state.setRemainingSeconds(remaining);
+        return state;
+    }
+
+    private void write(SessionState state) {
+        Path target = fileFor(state.getSessionId());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            state.setSavedAtMillis(System.currentTimeMillis());
+            byte[] data = encode(state);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudo guardar el snapshot " + state.getSessionId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Borra los snapshots de otras sesiones. Solo en el hilo escritor.
+     *
+     * @param keepId Sesión a conservar, o -1 para conservar la guardada más recientemente
+     */
+    private void prune(long keepId) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            LOGGER.warning("No se pudieron listar los snapshots: " + e.getMessage());
+            return;
+        }
+        Path keep = keepId >= 0 ? fileFor(keepId) : newest(files);
+        for (Path file : files) {
+            if (file.equals(keep)) continue;
+            try {
+                Files.deleteIfExists(file);
+                LOGGER.fine("Snapshot reemplazado: " + file.getFileName());
+            } catch (IOException e) {
+                LOGGER.warning("No se pudo borrar el snapshot " + file.getFileName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /** El snapshot válido guardado más recientemente (los corruptos no cuentan) */
+    private static Path newest(List<Path> files) {
+        Path newest = null;
+        long newestSavedAt = Long.MIN_VALUE;
+        for (Path file : files) {
+            try {
+                long savedAt = read(Files.readAllBytes(file)).getSavedAtMillis();
+                if (savedAt > newestSavedAt) {
+                    newestSavedAt = savedAt;
+                    newest = file;
+                }
+            } catch (IOException e) {
+                // Se borra con el resto
+            }
+        }
+        return newest;
+    }
+
+    private Path fileFor(long sessionId) {
+        return dir.resolve(sessionId + EXTENSION);
+    }
+}
@@ -0,0 +1,93 @@
+package org.openjfx.javaquiz.repository;
+
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.util.BinaryCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificación binaria compacta de {@link SessionState}.
+ *
+ * Formato:
+ * - sessionId (varlong), bancos de origen (varint + UTF)
+ * - número de preguntas, flags, cursor y contadores (varint)
+ * - permutación de preguntas (varint por entrada)
+ * - resultados empaquetados a 2 bits por pregunta
+ *
+ * Una sesión de 1000 preguntas ocupa ~2 KB.
+ */
+class SessionStateCodec {
+
+    private static final int FLAG_FINISHED = 1;
+
+    private SessionStateCodec() {
+    }
+
+    static void write(DataOutput out, SessionState state) throws IOException {
+        BinaryCodec.writeVarLong(out, state.getSessionId());
+        BinaryCodec.writeVarInt(out, state.getSources().size());
+        for (String source : state.getSources()) {
+            out.writeUTF(source);
+        }
+
+        int n = state.getQuestionCount();
+        BinaryCodec.writeVarInt(out, n);
+        out.writeByte(state.isFinished() ? FLAG_FINISHED : 0);
+        BinaryCodec.writeVarInt(out, state.getCursor());
+        BinaryCodec.writeVarInt(out, state.getCorrect());
+        BinaryCodec.writeVarInt(out, state.getWrong());
+
+        int[] order = state.getOrder();
+        for (int i = 0; i < n; i++) {
+            BinaryCodec.writeVarInt(out, order[i]);
+        }
+
+        byte[] outcomes = state.getOutcomes();
+        for (int i = 0; i < n; i += 4) {
+            int packed = 0;
+            for (int j = 0; j < 4 && i + j < n; j++) {
+                packed |= (outcomes[i + j] & 0x3) << (j * 2);
+            }
+            out.writeByte(packed);
+        }
+    }
+
+    static SessionState read(DataInput in) throws IOException {
+        long sessionId = BinaryCodec.readVarLong(in);
+        int sourceCount = BinaryCodec.readVarInt(in);
+        List<String> sources = new ArrayList<>(sourceCount);
+        for (int i = 0; i < sourceCount; i++) {
+            sources.add(in.readUTF());
+        }
+
+        int n = BinaryCodec.readVarInt(in);
+        SessionState state = new SessionState(sessionId, sources, n);
+        int flags = in.readUnsignedByte();
+        state.setFinished((flags & FLAG_FINISHED) != 0);
+        state.setCursor(BinaryCodec.readVarInt(in));
+        state.setCorrect(BinaryCodec.readVarInt(in));
+        state.setWrong(BinaryCodec.readVarInt(in));
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = BinaryCodec.readVarInt(in);
+            if (order[i] < 0 || order[i] >= n) {
+                throw new IOException("Permutación inválida en sesión " + sessionId);
+            }
+        }
+        state.setOrder(order);
+
+        byte[] outcomes = state.getOutcomes();
+        for (int i = 0; i < n; i += 4) {
+            int packed = in.readUnsignedByte();
+            for (int j = 0; j < 4 && i + j < n; j++) {
+                outcomes[i + j] = (byte) ((packed >>> (j * 2)) & 0x3);
+            }
+        }
+        return state;
+    }
+}
@@ -0,0 +1,307 @@
+package org.openjfx.javaquiz.service;
+
+import org.apache.commons.math3.optim.MaxEval;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.apache.commons.math3.optim.univariate.BrentOptimizer;
+import org.apache.commons.math3.optim.univariate.SearchInterval;
+import org.apache.commons.math3.optim.univariate.UnivariateObjectiveFunction;
+import org.openjfx.javaquiz.model.ItemParameters;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Test adaptativo computarizado (CAT) basado en teoría de respuesta al ítem.
+ *
+ * Tras cada respuesta se reestima la habilidad θ del examinado (máximo a
+ * posteriori con una previa normal estándar, optimizada con
+ * {@link BrentOptimizer}) y se elige la pregunta restante con mayor
+ * información de Fisher en esa habilidad. La sesión termina cuando el error
+ * estándar de θ baja del objetivo o se alcanza el máximo de preguntas.
+ *
+ * Para que elegir sea sub-lineal, las preguntas se agrupan por dificultad en
+ * cubetas de ancho fijo y, dentro de cada cubeta, se ordenan por información
+ * máxima descendente. Una pregunta a distancia {@code d} de θ no puede
+ * informar más que su máximo ni más que una de dos parámetros con la misma
+ * {@code a} a esa distancia, así que la búsqueda avanza desde la cubeta de θ
+ * hacia afuera, salta las preguntas y cubetas cuya cota no supera a la mejor
+ * encontrada y se detiene cuando ya ninguna cubeta puede superarla.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * AdaptiveTestService cat = new AdaptiveTestService(bank, params, 0.3, 30);
+ * int id;
+ * while ((id = cat.next()) &gt;= 0) {
+ *     cat.recordOutcome(id, ask(bank.get(id)));
+ * }
+ * double ability = cat.getTheta();
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class AdaptiveTestService implements QuestionSelector {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(AdaptiveTestService.class);
+
+    /** Rango de habilidad considerado */
+    static final double THETA_MIN = -4.0;
+    static final double THETA_MAX = 4.0;
+
+    /** Ancho de cada cubeta de dificultad */
+    private static final double BUCKET_WIDTH = 0.1;
+
+    /** x donde x² σ(x) (1 - σ(x)) es máximo, y ese máximo redondeado hacia arriba */
+    private static final double PEAK_X = 2.4;
+    private static final double DISTANCE_BOUND = 0.44;
+
+    private final ItemParameters[] params;
+    private final double[] peak;
+    private final int[][] buckets;
+    private final double[] bucketMaxDiscrimination;
+    private final double maxDiscrimination;
+    private final boolean[] used;
+    private final double targetStandardError;
+    private final int maxItems;
+
+    private final List<ItemParameters> answeredItems = new ArrayList<>();
+    private final List<Boolean> answeredCorrect = new ArrayList<>();
+    private final BrentOptimizer optimizer = new BrentOptimizer(1e-8, 1e-10);
+    private double theta;
+    private double standardError = 1.0;
+    private int administered;
+    private int evaluated;
+
+    /**
+     * @param bank Preguntas disponibles (índice = id de pregunta)
+     * @param parameters Parámetros TRI de cada pregunta
+     * @param targetStandardError Error estándar de θ con el que termina la sesión
+     * @param maxItems Máximo de preguntas de la sesión
+     */
+    public AdaptiveTestService(List<Question> bank, Function<Question, ItemParameters> parameters,
+                               double targetStandardError, int maxItems) {
+        this.params = new ItemParameters[bank.size()];
+        this.peak = new double[bank.size()];
+        this.used = new boolean[bank.size()];
+        this.targetStandardError = targetStandardError;
+        this.maxItems = Math.min(maxItems, bank.size());
+
+        int bucketCount = (int) Math.ceil((THETA_MAX - THETA_MIN) / BUCKET_WIDTH);
+        int[] sizes = new int[bucketCount];
+        for (int id = 0; id < bank.size(); id++) {
+            params[id] = parameters.apply(bank.get(id));
+            peak[id] = maxInformation(params[id]);
+            sizes[bucketOf(params[id].getDifficulty())]++;
+        }
+        this.buckets = new int[bucketCount][];
+        for (int k = 0; k < bucketCount; k++) {
+            buckets[k] = new int[sizes[k]];
+        }
+        int[] fill = new int[bucketCount];
+        for (int id = 0; id < bank.size(); id++) {
+            int k = bucketOf(params[id].getDifficulty());
+            buckets[k][fill[k]++] = id;
+        }
+        this.bucketMaxDiscrimination = new double[bucketCount];
+        double globalMax = 0;
+        for (int k = 0; k < bucketCount; k++) {
+            buckets[k] = sortByPeak(buckets[k]);
+            for (int id : buckets[k]) {
+                bucketMaxDiscrimination[k] = Math.max(bucketMaxDiscrimination[k], params[id].getDiscrimination());
+            }
+            globalMax = Math.max(globalMax, bucketMaxDiscrimination[k]);
+        }
+        this.maxDiscrimination = globalMax;
+    }
+
+    /**
+     * Elige la pregunta con mayor información en la habilidad actual, o
+     * termina si ya se alcanzó el error estándar objetivo.
+     *
+     * @return Id de la pregunta, o -1 si la sesión terminó
+     */
+    @Override
+    public int next() {
+        if (isFinished()) {
+            return -1;
+        }
+        int id = selectNext();
+        if (id >= 0) {
+            used[id] = true;
+            administered++;
+        }
+        return id;
+    }
+
+    /**
+     * Registra la respuesta y reestima la habilidad.
+     *
+     * @param questionId Id de la pregunta respondida
+     * @param correct true si fue correcta
+     */
+    @Override
+    public void recordOutcome(int questionId, boolean correct) {
+        if (questionId < 0 || questionId >= params.length) return;
+        answeredItems.add(params[questionId]);
+        answeredCorrect.add(correct);
+        estimateAbility();
+        LOGGER.fine(String.format("CAT: %d respuesta(s), θ=%.2f, EE=%.3f",
+                                  answeredItems.size(), theta, standardError));
+    }
+
+    /**
+     * Indica si ya no se deben hacer más preguntas.
+     *
+     * @return true si se alcanzó el error objetivo, el máximo o se agotó el banco
+     */
+    public boolean isFinished() {
+        return administered >= maxItems
+            || (!answeredItems.isEmpty() && standardError <= targetStandardError);
+    }
+
+    /** Habilidad estimada (0 antes de la primera respuesta) */
+    public double getTheta() { return theta; }
+
+    /** Error estándar de la habilidad estimada */
+    public double getStandardError() { return standardError; }
+
+    /** Preguntas entregadas hasta ahora */
+    public int getAdministered() { return administered; }
+
+    /** Preguntas evaluadas en la última selección (para medir la poda) */
+    int getLastEvaluated() { return evaluated; }
+
+    // ========== SELECCIÓN ==========
+
+    /**
+     * Recorre las cubetas desde la de θ hacia afuera, en orden de distancia
+     * mínima, y dentro de cada una por información máxima descendente.
+     */
+    int selectNext() {
+        evaluated = 0;
+        int best = -1;
+        double bestInfo = -1;
+        int center = bucketOf(theta);
+        int left = center;
+        int right = center + 1;
+        while (left >= 0 || right < buckets.length) {
+            double leftDistance = left >= 0 ? distanceTo(left) : Double.POSITIVE_INFINITY;
+            double rightDistance = right < buckets.length ? distanceTo(right) : Double.POSITIVE_INFINITY;
+            int k;
+            double distance;
+            if (leftDistance <= rightDistance) {
+                k = left--;
+                distance = leftDistance;
+            } else {
+                k = right++;
+                distance = rightDistance;
+            }
+            if (distanceBound(maxDiscrimination, distance) <= bestInfo) {
+                break;
+            }
+            if (distanceBound(bucketMaxDiscrimination[k], distance) <= bestInfo) {
+                continue;
+            }
+            for (int id : buckets[k]) {
+                if (peak[id] <= bestInfo) {
+                    break;
+                }
+                if (used[id] || informationAt(params[id].getDiscrimination(), distance) <= bestInfo) {
+                    continue;
+                }
+                evaluated++;
+                double info = params[id].information(theta);
+                if (info > bestInfo) {
+                    bestInfo = info;
+                    best = id;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Distancia mínima de θ a las dificultades que puede contener la cubeta */
+    private double distanceTo(int k) {
+        double low = k == 0 ? Double.NEGATIVE_INFINITY : THETA_MIN + k * BUCKET_WIDTH;
+        double high = k == buckets.length - 1 ? Double.POSITIVE_INFINITY : THETA_MIN + (k + 1) * BUCKET_WIDTH;
+        if (theta < low) return low - theta;
+        if (theta > high) return theta - high;
+        return 0;
+    }
+
+    private int bucketOf(double difficulty) {
+        int k = (int) Math.floor((difficulty - THETA_MIN) / BUCKET_WIDTH);
+        return Math.max(0, Math.min(k, (int) Math.ceil((THETA_MAX - THETA_MIN) / BUCKET_WIDTH) - 1));
+    }
+
+    private int[] sortByPeak(int[] ids) {
+        return Arrays.stream(ids).boxed()
+            .sorted((x, y) -> Double.compare(peak[y], peak[x]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    /**
+     * Información de un ítem de dos parámetros a distancia {@code d} de su
+     * dificultad: cota superior para cualquier ítem con la misma {@code a}
+     * (el azar solo resta información) y a distancia al menos {@code d}.
+     */
+    private static double informationAt(double a, double d) {
+        double p = 1 / (1 + Math.exp(-a * d));
+        return a * a * p * (1 - p);
+    }
+
+    /**
+     * Cota de {@link #informationAt} para cualquier discriminación hasta
+     * {@code maxA}: crece con {@code a} hasta {@code a·d = 2.4} y luego decrece.
+     */
+    private static double distanceBound(double maxA, double d) {
+        if (maxA * d <= PEAK_X) {
+            return informationAt(maxA, d);
+        }
+        return DISTANCE_BOUND / (d * d);
+    }
+
+    /**
+     * Información máxima de un ítem de tres parámetros (Lord, 1980):
+     * {@code a² / (8 (1-c)²) · (1 - 20c - 8c² + (1 + 8c)^1.5)}.
+     */
+    static double maxInformation(ItemParameters item) {
+        double a = item.getDiscrimination();
+        double c = item.getGuessing();
+        double scale = a * a / (8 * (1 - c) * (1 - c));
+        return scale * (1 - 20 * c - 8 * c * c + Math.pow(1 + 8 * c, 1.5)) * (1 + 1e-9);
+    }
+
+    // ========== ESTIMACIÓN ==========
+
+    /**
+     * Máximo a posteriori de θ con previa N(0, 1); el error estándar sale de
+     * la información total (preguntas + previa) en el máximo.
+     */
+    private void estimateAbility() {
+        UnivariateObjectiveFunction logPosterior = new UnivariateObjectiveFunction(t -> {
+            double sum = -0.5 * t * t;
+            for (int i = 0; i < answeredItems.size(); i++) {
+                double p = answeredItems.get(i).probability(t);
+                sum += answeredCorrect.get(i) ? Math.log(p) : Math.log1p(-p);
+            }
+            return sum;
+        });
+        double start = Math.max(THETA_MIN + 1e-6, Math.min(THETA_MAX - 1e-6, theta));
+        theta = optimizer.optimize(new MaxEval(200), logPosterior, GoalType.MAXIMIZE,
+                                   new SearchInterval(THETA_MIN, THETA_MAX, start)).getPoint();
+
+        double information = 1.0;
+        for (ItemParameters item : answeredItems) {
+            information += item.information(theta);
+        }
+        standardError = 1.0 / Math.sqrt(information);
+    }
+}
@@ -0,0 +1,296 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.Blueprint;
+import org.openjfx.javaquiz.model.Blueprint.DifficultyBand;
+import org.openjfx.javaquiz.model.Blueprint.LengthClass;
+import org.openjfx.javaquiz.model.ItemStats;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.util.CompactBitmap;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Arma exámenes a partir de un {@link Blueprint} sobre todo el corpus.
+ *
+ * Al cargar los bancos se construye un índice de bitmaps por atributo de
+ * pregunta (id = posición en la concatenación de los bancos, igual que en
+ * {@link QuizService}):
+ * - Tópico
+ * - Tiene código
+ * - Clase de longitud del enunciado
+ * - Banda de dificultad según el análisis de ítems
+ *
+ * Cada estrato del examen (un tópico, dividido en con y sin código) es una
+ * intersección de bitmaps, y se muestrea eligiendo rangos al azar (algoritmo
+ * de Floyd) y resolviéndolos con {@link CompactBitmap#select(int)}: nunca se
+ * arma la lista de candidatos, así que el costo depende del tamaño del examen
+ * y no del corpus.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * BlueprintService blueprints = new BlueprintService(allBanks, analysis, history);
+ * int[] exam = blueprints.compose(new Blueprint(40).topic("OOP", 0.3).maxWithCode(5),
+ *                                 ThreadLocalRandom.current());
+ * quizService.initializeExam(allBanks, exam);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class BlueprintService {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(BlueprintService.class);
+
+    /** Caracteres a partir de los cuales una pregunta es mediana o larga */
+    static final int MEDIUM_LENGTH = 120;
+    static final int LONG_LENGTH = 400;
+
+    /** Proporción de aciertos a partir de la cual una pregunta es fácil o mediana */
+    static final double EASY_DIFFICULTY = 0.75;
+    static final double MEDIUM_DIFFICULTY = 0.4;
+
+    private final int size;
+    private final HistoryService history;
+    private final Map<String, CompactBitmap> byTopic = new LinkedHashMap<>();
+    private final Map<LengthClass, CompactBitmap> byLength = new EnumMap<>(LengthClass.class);
+    private final Map<DifficultyBand, CompactBitmap> byDifficulty = new EnumMap<>(DifficultyBand.class);
+    private final CompactBitmap withCode = new CompactBitmap();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Construye los índices del corpus.
+     *
+     * @param corpus Bancos cargados, en el orden en que se combinarán
+     * @param analysis Análisis de ítems para las bandas de dificultad (puede ser null)
+     * @param history Historial para excluir preguntas recientes (puede ser null)
+     */
+    public BlueprintService(List<QuizData> corpus, ItemAnalysisService analysis, HistoryService history) {
+        this.history = history;
+        for (LengthClass length : LengthClass.values()) {
+            byLength.put(length, new CompactBitmap());
+        }
+        for (DifficultyBand band : DifficultyBand.values()) {
+            byDifficulty.put(band, new CompactBitmap());
+        }
+
+        int id = 0;
+        for (QuizData data : corpus) {
+            for (Question q : data.getQuestions()) {
+                String topic = String.valueOf(q.getTopic());
+                byTopic.computeIfAbsent(topic, t -> new CompactBitmap()).add(id);
+                if (hasCode(q)) {
+                    withCode.add(id);
+                }
+                byLength.get(lengthClass(q)).add(id);
+                byDifficulty.get(difficultyBand(analysis, q)).add(id);
+                ids.putIfAbsent(topic + "#" + q.getPosition(), id);
+                id++;
+            }
+        }
+        this.size = id;
+        LOGGER.info("Índice de blueprints: " + size + " pregunta(s), " + byTopic.size() + " tópico(s)");
+    }
+
+    /**
+     * Arma un examen según la especificación.
+     *
+     * Las cuotas por tópico se redondean al entero más cercano; lo que falta
+     * hasta el total sale de los tópicos no listados, o de cualquiera si no
+     * alcanza. Si el corpus no tiene suficientes candidatas el examen sale
+     * más corto y se registra una advertencia.
+     *
+     * @param blueprint Especificación
+     * @param random Generador para el muestreo
+     * @return Ids de las preguntas elegidas, en orden aleatorio
+     */
+    public int[] compose(Blueprint blueprint, RandomGenerator random) {
+        CompactBitmap base = eligible(blueprint);
+        int[] picked = new int[blueprint.getSize()];
+        int[] count = {0};
+        int[] codeBudget = {blueprint.getMaxWithCode()};
+
+        CompactBitmap listed = new CompactBitmap();
+        for (Map.Entry<String, Double> entry : blueprint.getTopicShares().entrySet()) {
+            CompactBitmap topic = byTopic.getOrDefault(entry.getKey(), new CompactBitmap());
+            listed.or(topic);
+            int quota = Math.min((int) Math.round(blueprint.getSize() * entry.getValue()),
+                                 blueprint.getSize() - count[0]);
+            int drawn = drawStratum(base.and(topic), quota, codeBudget, picked, count, random);
+            if (drawn < quota) {
+                LOGGER.warning("Tópico '" + entry.getKey() + "': " + drawn + " de " + quota + " pregunta(s)");
+            }
+        }
+
+        CompactBitmap others = base.andNot(listed);
+        drawStratum(others, blueprint.getSize() - count[0], codeBudget, picked, count, random);
+        if (count[0] < blueprint.getSize()) {
+            CompactBitmap chosen = new CompactBitmap();
+            for (int i = 0; i < count[0]; i++) {
+                chosen.add(picked[i]);
+            }
+            drawStratum(base.and(listed).andNot(chosen), blueprint.getSize() - count[0],
+                        codeBudget, picked, count, random);
+        }
+        if (count[0] < blueprint.getSize()) {
+            LOGGER.warning("Examen incompleto: " + count[0] + " de " + blueprint.getSize() + " pregunta(s)");
+        }
+
+        int[] exam = Arrays.copyOf(picked, count[0]);
+        for (int i = exam.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = exam[i];
+            exam[i] = exam[j];
+            exam[j] = tmp;
+        }
+        return exam;
+    }
+
+    /**
+     * Preguntas que cumplen los filtros de longitud, dificultad y recencia.
+     */
+    CompactBitmap eligible(Blueprint blueprint) {
+        CompactBitmap lengths = new CompactBitmap();
+        for (LengthClass length : blueprint.getLengths()) {
+            lengths.or(byLength.get(length));
+        }
+        CompactBitmap bands = new CompactBitmap();
+        for (DifficultyBand band : blueprint.getDifficulties()) {
+            bands.or(byDifficulty.get(band));
+        }
+        CompactBitmap base = lengths.and(bands);
+        if (blueprint.getExcludeSeenDays() > 0) {
+            base = base.andNot(recentlySeen(blueprint.getExcludeSeenDays()));
+        }
+        return base;
+    }
+
+    /**
+     * Preguntas del corpus respondidas en los últimos días (las que solo
+     * se mostraron sin responder no cuentan).
+     *
+     * @param days Días hacia atrás
+     * @return Ids vistos (vacío si no hay historial o no se puede leer)
+     */
+    public CompactBitmap recentlySeen(int days) {
+        CompactBitmap seen = new CompactBitmap();
+        if (history == null) {
+            return seen;
+        }
+        try {
+            for (AttemptRecord attempt : history.lastDays(days, null)) {
+                int[] topics = attempt.getQuestionTopic();
+                int[] positions = attempt.getQuestionPosition();
+                byte[] outcomes = attempt.getOutcomes();
+                for (int i = 0; i < topics.length; i++) {
+                    if (outcomes[i] == SessionState.OUTCOME_NONE) continue;
+                    Integer id = ids.get(attempt.getTopics()[topics[i]] + "#" + positions[i]);
+                    if (id != null) {
+                        seen.add(id);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warning("No se pudo leer el historial reciente: " + e.getMessage());
+        }
+        return seen;
+    }
+
+    /**
+     * Número de preguntas indexadas.
+     *
+     * @return Tamaño del corpus
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Muestrea hasta {@code quota} preguntas de un estrato respetando el
+     * presupuesto de preguntas con código.
+     *
+     * Primero se decide cuántas con código saldrían en una muestra uniforme
+     * del estrato; si superan el presupuesto, el resto se completa con
+     * preguntas sin código.
+     *
+     * @return Preguntas agregadas
+     */
+    private int drawStratum(CompactBitmap candidates, int quota, int[] codeBudget,
+                            int[] picked, int[] count, RandomGenerator random) {
+        if (quota <= 0 || candidates.isEmpty()) {
+            return 0;
+        }
+        CompactBitmap code = candidates.and(withCode);
+        CompactBitmap plain = candidates.andNot(withCode);
+        int codeSize = code.cardinality();
+        int plainSize = plain.cardinality();
+        int take = Math.min(quota, codeSize + plainSize);
+
+        int codeDrawn = 0;
+        for (int rank : floyd(codeSize + plainSize, take, random)) {
+            if (rank < codeSize) codeDrawn++;
+        }
+        int codeTake = Math.min(codeDrawn, Math.min(codeBudget[0], codeSize));
+        int plainTake = Math.min(take - codeTake, plainSize);
+        codeTake = Math.min(take - plainTake, Math.min(codeBudget[0], codeSize));
+
+        for (int rank : floyd(codeSize, codeTake, random)) {
+            picked[count[0]++] = code.select(rank);
+        }
+        for (int rank : floyd(plainSize, plainTake, random)) {
+            picked[count[0]++] = plain.select(rank);
+        }
+        codeBudget[0] -= codeTake;
+        return codeTake + plainTake;
+    }
+
+    /**
+     * Algoritmo de Floyd: {@code k} rangos distintos de {@code [0, n)} en O(k).
+     */
+    static Set<Integer> floyd(int n, int k, RandomGenerator random) {
+        Set<Integer> chosen = new HashSet<>(k * 2);
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            chosen.add(chosen.contains(t) ? j : t);
+        }
+        return chosen;
+    }
+
+    static boolean hasCode(Question q) {
+        return q.getCode() != null && !q.getCode().isBlank();
+    }
+
+    static LengthClass lengthClass(Question q) {
+        int length = (q.getQ() != null ? q.getQ().length() : 0) + (hasCode(q) ? q.getCode().length() : 0);
+        if (length >= LONG_LENGTH) return LengthClass.LONG;
+        if (length >= MEDIUM_LENGTH) return LengthClass.MEDIUM;
+        return LengthClass.SHORT;
+    }
+
+    private static DifficultyBand difficultyBand(ItemAnalysisService analysis, Question q) {
+        if (analysis == null) {
+            return DifficultyBand.UNKNOWN;
+        }
+        ItemStats stats = analysis.getItem(String.valueOf(q.getTopic()), q.getPosition()).orElse(null);
+        if (stats == null || stats.getResponses() < IrtCalibration.MIN_RESPONSES) {
+            return DifficultyBand.UNKNOWN;
+        }
+        if (stats.getDifficulty() >= EASY_DIFFICULTY) return DifficultyBand.EASY;
+        if (stats.getDifficulty() >= MEDIUM_DIFFICULTY) return DifficultyBand.MEDIUM;
+        return DifficultyBand.HARD;
+    }
+}
@@ -0,0 +1,186 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.DuplicatePair;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.util.LoggerUtil;
+import org.openjfx.javaquiz.util.MinHash;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Detección de preguntas casi duplicadas con MinHash y LSH.
+ *
+ * Cada pregunta (enunciado, respuesta, opciones y código) recibe una firma
+ * MinHash, calculada en paralelo. Las firmas se cortan en {@value #BANDS}
+ * bandas de {@value #ROWS} filas; dos preguntas son candidatas si coinciden
+ * en alguna banda completa, lo que ocurre casi siempre con similitud alta y
+ * casi nunca con similitud baja. Cada banda se resuelve ordenando sus claves,
+ * así que el costo es O(n log n) en lugar de comparar todos los pares; los
+ * candidatos se confirman con la similitud estimada de la firma completa.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * DuplicateDetector detector = new DuplicateDetector(allQuestions);
+ * List&lt;DuplicatePair&gt; pairs = detector.findDuplicates(Constants.DUPLICATE_THRESHOLD);
+ * List&lt;Question&gt; unique = detector.withoutDuplicates(Constants.DUPLICATE_THRESHOLD);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class DuplicateDetector {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(DuplicateDetector.class);
+
+    /** Bandas y filas por banda de LSH (umbral de candidatos ≈ (1/32)^(1/4) ≈ 0.42) */
+    static final int BANDS = 32;
+    static final int ROWS = 4;
+
+    private static final MinHash MIN_HASH = new MinHash(BANDS * ROWS, 0x4A51445550L);
+
+    private final List<Question> questions;
+    private final int[][] signatures;
+
+    /**
+     * Calcula las firmas de las preguntas en paralelo.
+     *
+     * @param questions Preguntas a analizar (índice = id)
+     */
+    public DuplicateDetector(List<Question> questions) {
+        this.questions = List.copyOf(questions);
+        this.signatures = new int[questions.size()][];
+        IntStream.range(0, questions.size()).parallel().forEach(id -> {
+            long[] shingles = shingles(this.questions.get(id));
+            // Sin palabras no hay nada que comparar: la pregunta no tiene firma
+            signatures[id] = shingles.length > 0 ? MIN_HASH.signature(shingles) : null;
+        });
+    }
+
+    /**
+     * Pares de preguntas casi iguales.
+     *
+     * @param threshold Similitud mínima estimada, entre 0 y 1
+     * @return Pares ordenados por similitud descendente
+     */
+    public List<DuplicatePair> findDuplicates(double threshold) {
+        long start = System.nanoTime();
+        Set<Long> seen = new HashSet<>();
+        List<DuplicatePair> pairs = new ArrayList<>();
+        long[] keys = new long[signatures.length];
+        for (int band = 0; band < BANDS; band++) {
+            int n = 0;
+            for (int id = 0; id < signatures.length; id++) {
+                if (signatures[id] == null) continue;
+                keys[n++] = ((long) bandHash(signatures[id], band) << 32) | id;
+            }
+            Arrays.sort(keys, 0, n);
+            for (int from = 0; from < n; ) {
+                int to = from + 1;
+                while (to < n && (keys[to] >>> 32) == (keys[from] >>> 32)) to++;
+                for (int i = from; i < to; i++) {
+                    for (int j = i + 1; j < to; j++) {
+                        int a = (int) keys[i];
+                        int b = (int) keys[j];
+                        if (!seen.add(((long) a << 32) | b)) continue;
+                        double similarity = MinHash.similarity(signatures[a], signatures[b]);
+                        if (similarity >= threshold) {
+                            pairs.add(new DuplicatePair(a, b, questions.get(a), questions.get(b), similarity));
+                        }
+                    }
+                }
+                from = to;
+            }
+        }
+        pairs.sort(Comparator.comparingDouble(DuplicatePair::getSimilarity).reversed()
+            .thenComparingInt(DuplicatePair::getFirstId));
+        LOGGER.info(pairs.size() + " par(es) duplicado(s) entre " + questions.size() + " pregunta(s), "
+            + seen.size() + " candidato(s) en " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return pairs;
+    }
+
+    /**
+     * Las preguntas sin duplicados: de cada grupo de preguntas casi iguales
+     * queda solo la primera (la de menor id).
+     *
+     * @param threshold Similitud mínima estimada
+     * @return Preguntas restantes, en su orden original
+     */
+    public List<Question> withoutDuplicates(double threshold) {
+        int[] parent = new int[questions.size()];
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+        for (DuplicatePair pair : findDuplicates(threshold)) {
+            int a = root(parent, pair.getFirstId());
+            int b = root(parent, pair.getSecondId());
+            if (a != b) parent[Math.max(a, b)] = Math.min(a, b);
+        }
+        List<Question> unique = new ArrayList<>();
+        for (int id = 0; id < parent.length; id++) {
+            if (root(parent, id) == id) unique.add(questions.get(id));
+        }
+        if (unique.size() < questions.size()) {
+            LOGGER.info("Se descartan " + (questions.size() - unique.size()) + " pregunta(s) duplicada(s)");
+        }
+        return unique;
+    }
+
+    /**
+     * Escribe un reporte CSV de duplicados para los autores de los bancos.
+     *
+     * @param pairs Pares encontrados
+     * @param out Destino
+     * @throws IOException Si falla la escritura
+     */
+    public static void writeReport(List<DuplicatePair> pairs, Writer out) throws IOException {
+        out.write("similitud,tema_a,posicion_a,tema_b,posicion_b,pregunta_a,pregunta_b\n");
+        for (DuplicatePair pair : pairs) {
+            out.write(String.format(Locale.ROOT, "%.3f,", pair.getSimilarity()));
+            ExportService.writeCsvField(out, String.valueOf(pair.getFirst().getTopic()));
+            out.write("," + pair.getFirst().getPosition() + ",");
+            ExportService.writeCsvField(out, String.valueOf(pair.getSecond().getTopic()));
+            out.write("," + pair.getSecond().getPosition() + ",");
+            ExportService.writeCsvField(out, String.valueOf(pair.getFirst().getQ()));
+            out.write(',');
+            ExportService.writeCsvField(out, String.valueOf(pair.getSecond().getQ()));
+            out.write('\n');
+        }
+    }
+
+    private static long[] shingles(Question q) {
+        List<String> texts = new ArrayList<>();
+        texts.add(q.getQ());
+        texts.add(q.getA());
+        if (q.getX() != null) {
+            // Las opciones se ordenan: reordenarlas no cambia la pregunta
+            q.getX().stream().filter(x -> x != null).sorted().forEach(texts::add);
+        }
+        texts.add(q.getCode());
+        return MinHash.shingles(texts.toArray(new String[0]));
+    }
+
+    private static int bandHash(int[] signature, int band) {
+        int h = band;
+        for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+            h = h * 0x9E3779B1 + signature[r];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int root(int[] parent, int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+}
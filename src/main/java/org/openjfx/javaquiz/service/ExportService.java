@@ -0,0 +1,380 @@
+package org.openjfx.javaquiz.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import javafx.concurrent.Task;
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.HistoryStore;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servicio para exportar resultados a CSV o JSON Lines.
+ *
+ * Responsabilidades:
+ * - Exportar una sesión terminada (una fila por pregunta)
+ * - Exportar el historial completo (una fila por intento y tópico en CSV,
+ *   un objeto por intento en JSON Lines)
+ * - Escribir en streaming: las filas se escriben a medida que se leen del
+ *   historial, sin cargar el conjunto completo en memoria
+ *
+ * El archivo se escribe primero en un temporal junto al destino y se mueve
+ * al final, así una exportación cancelada o fallida no deja archivos a medias.
+ * Si el nombre termina en {@code .gz} la salida se comprime con gzip.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * ExportService export = new ExportService(services.getHistoryStore());
+ * Path target = Paths.get("historial.csv.gz");
+ *
+ * Task&lt;Long&gt; task = export.historyTask(target, ExportService.Format.fromFileName(target));
+ * task.setOnSucceeded(e -&gt; ...);
+ * ExportService.start(task);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ExportService {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(ExportService.class);
+
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final String SESSION_CSV_HEADER = "session_id,question,topic,position,outcome,latency_ms";
+    private static final String HISTORY_CSV_HEADER = "timestamp,session_id,topic,questions,correct,wrong";
+
+    /**
+     * Formatos de exportación.
+     */
+    public enum Format {
+        CSV,
+        JSONL;
+
+        /**
+         * Deduce el formato por la extensión ({@code .jsonl} o {@code .jsonl.gz} → JSONL).
+         *
+         * @param file Archivo destino
+         * @return Formato correspondiente (CSV por defecto)
+         */
+        public static Format fromFileName(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".gz")) {
+                name = name.substring(0, name.length() - 3);
+            }
+            return name.endsWith(".jsonl") || name.endsWith(".json") ? JSONL : CSV;
+        }
+    }
+
+    private final HistoryStore historyStore;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * @param historyStore Historial a exportar (puede ser null: solo sesiones)
+     */
+    public ExportService(HistoryStore historyStore) {
+        this.historyStore = historyStore;
+    }
+
+    // ========== TAREAS EN SEGUNDO PLANO ==========
+
+    /**
+     * Crea una tarea cancelable que exporta una sesión.
+     *
+     * @param attempt Sesión terminada
+     * @param latencyMicros Latencia por pregunta (índice = pregunta), o null
+     * @param target Archivo destino
+     * @param format Formato de salida
+     * @return Tarea cuyo valor es el número de filas escritas
+     */
+    public Task<Long> sessionTask(AttemptRecord attempt, long[] latencyMicros, Path target, Format format) {
+        return new Task<>() {
+            @Override
+            protected Long call() throws IOException {
+                return exportSession(attempt, latencyMicros, target, format, this::isCancelled);
+            }
+        };
+    }
+
+    /**
+     * Crea una tarea cancelable que exporta todo el historial.
+     *
+     * @param target Archivo destino
+     * @param format Formato de salida
+     * @return Tarea cuyo valor es el número de intentos escritos
+     */
+    public Task<Long> historyTask(Path target, Format format) {
+        return new Task<>() {
+            @Override
+            protected Long call() throws IOException {
+                return exportHistory(0, Long.MAX_VALUE, target, format, this::isCancelled);
+            }
+        };
+    }
+
+    /**
+     * Ejecuta una tarea de exportación en un hilo daemon propio.
+     *
+     * @param task Tarea creada con {@link #sessionTask} o {@link #historyTask}
+     */
+    public static void start(Task<?> task) {
+        Thread thread = new Thread(task, "export-worker");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // ========== EXPORTACIÓN ==========
+
+    /**
+     * Exporta una sesión: una fila por pregunta, en el orden original de los bancos.
+     *
+     * @param attempt Sesión terminada
+     * @param latencyMicros Latencia por pregunta, o null si no se midió
+     * @param target Archivo destino ({@code .gz} para comprimir)
+     * @param format Formato de salida
+     * @param cancelled Se consulta periódicamente; si devuelve true se aborta
+     * @return Número de filas escritas
+     * @throws IOException Si falla la escritura
+     * @throws CancellationException Si se canceló (no queda archivo destino)
+     */
+    public long exportSession(AttemptRecord attempt, long[] latencyMicros, Path target, Format format,
+                              BooleanSupplier cancelled) throws IOException {
+        return writeAtomically(target, cancelled, out -> {
+            if (format == Format.JSONL) {
+                try (JsonGenerator gen = jsonGenerator(out)) {
+                    for (int q = 0; q < attempt.getQuestionCount(); q++) {
+                        checkCancelled(q, cancelled);
+                        gen.writeStartObject();
+                        gen.writeNumberField("sessionId", attempt.getSessionId());
+                        gen.writeNumberField("question", q + 1);
+                        gen.writeStringField("topic", attempt.getTopics()[attempt.getQuestionTopic()[q]]);
+                        gen.writeNumberField("position", attempt.getQuestionPosition()[q]);
+                        gen.writeStringField("outcome", outcomeName(attempt.getOutcomes()[q]));
+                        if (latencyMicros != null && latencyMicros[q] > 0) {
+                            gen.writeNumberField("latencyMs", latencyMicros[q] / 1_000);
+                        }
+                        gen.writeEndObject();
+                    }
+                    gen.writeRaw('\n');
+                }
+            } else {
+                out.write(SESSION_CSV_HEADER);
+                out.write('\n');
+                for (int q = 0; q < attempt.getQuestionCount(); q++) {
+                    checkCancelled(q, cancelled);
+                    out.write(Long.toString(attempt.getSessionId()));
+                    out.write(',');
+                    out.write(Integer.toString(q + 1));
+                    out.write(',');
+                    writeCsvField(out, attempt.getTopics()[attempt.getQuestionTopic()[q]]);
+                    out.write(',');
+                    out.write(Integer.toString(attempt.getQuestionPosition()[q]));
+                    out.write(',');
+                    out.write(outcomeName(attempt.getOutcomes()[q]));
+                    out.write(',');
+                    if (latencyMicros != null && latencyMicros[q] > 0) {
+                        out.write(Long.toString(latencyMicros[q] / 1_000));
+                    }
+                    out.write('\n');
+                }
+            }
+            return attempt.getQuestionCount();
+        });
+    }
+
+    /**
+     * Exporta los intentos del historial en un rango de tiempo.
+     *
+     * @param fromMillis Inicio del rango (inclusive)
+     * @param toMillis Fin del rango (inclusive)
+     * @param target Archivo destino ({@code .gz} para comprimir)
+     * @param format Formato de salida
+     * @param cancelled Se consulta periódicamente; si devuelve true se aborta
+     * @return Número de intentos escritos
+     * @throws IOException Si falla la lectura o la escritura
+     * @throws CancellationException Si se canceló (no queda archivo destino)
+     */
+    public long exportHistory(long fromMillis, long toMillis, Path target, Format format,
+                              BooleanSupplier cancelled) throws IOException {
+        if (historyStore == null) {
+            throw new IOException("No hay historial disponible");
+        }
+        return writeAtomically(target, cancelled, out -> {
+            long[] rows = {0};
+            try {
+                if (format == Format.JSONL) {
+                    try (JsonGenerator gen = jsonGenerator(out)) {
+                        historyStore.scan(fromMillis, toMillis, null, attempt -> {
+                            checkCancelled(rows[0]++, cancelled);
+                            writeAttemptJson(gen, attempt);
+                        });
+                        gen.writeRaw('\n');
+                    }
+                } else {
+                    out.write(HISTORY_CSV_HEADER);
+                    out.write('\n');
+                    historyStore.scan(fromMillis, toMillis, null, attempt -> {
+                        checkCancelled(rows[0]++, cancelled);
+                        writeAttemptCsv(out, attempt);
+                    });
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return rows[0];
+        });
+    }
+
+    // ========== FILAS ==========
+
+    private static void writeAttemptCsv(Writer out, AttemptRecord attempt) {
+        try {
+            String timestamp = Instant.ofEpochMilli(attempt.getTimestamp()).toString();
+            String sessionId = Long.toString(attempt.getSessionId());
+            int[] questions = questionsPerTopic(attempt);
+            for (int i = 0; i < attempt.getTopics().length; i++) {
+                out.write(timestamp);
+                out.write(',');
+                out.write(sessionId);
+                out.write(',');
+                writeCsvField(out, attempt.getTopics()[i]);
+                out.write(',');
+                out.write(Integer.toString(questions[i]));
+                out.write(',');
+                out.write(Integer.toString(attempt.getCorrect()[i]));
+                out.write(',');
+                out.write(Integer.toString(attempt.getWrong()[i]));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeAttemptJson(JsonGenerator gen, AttemptRecord attempt) {
+        try {
+            int[] questions = questionsPerTopic(attempt);
+            gen.writeStartObject();
+            gen.writeStringField("timestamp", Instant.ofEpochMilli(attempt.getTimestamp()).toString());
+            gen.writeNumberField("sessionId", attempt.getSessionId());
+            gen.writeNumberField("questions", attempt.getQuestionCount());
+            gen.writeNumberField("correct", attempt.getTotalCorrect());
+            gen.writeNumberField("wrong", attempt.getTotalWrong());
+            gen.writeArrayFieldStart("topics");
+            for (int i = 0; i < attempt.getTopics().length; i++) {
+                gen.writeStartObject();
+                gen.writeStringField("topic", attempt.getTopics()[i]);
+                gen.writeNumberField("questions", questions[i]);
+                gen.writeNumberField("correct", attempt.getCorrect()[i]);
+                gen.writeNumberField("wrong", attempt.getWrong()[i]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int[] questionsPerTopic(AttemptRecord attempt) {
+        int[] questions = new int[attempt.getTopics().length];
+        for (int topic : attempt.getQuestionTopic()) {
+            questions[topic]++;
+        }
+        return questions;
+    }
+
+    static void writeCsvField(Writer out, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    static String outcomeName(byte outcome) {
+        switch (outcome) {
+            case SessionState.OUTCOME_CORRECT: return "CORRECT";
+            case SessionState.OUTCOME_WRONG: return "WRONG";
+            case SessionState.OUTCOME_TIMEOUT: return "TIMEOUT";
+            default: return "UNANSWERED";
+        }
+    }
+
+    private static void checkCancelled(long row, BooleanSupplier cancelled) {
+        if (row % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+            throw new CancellationException("Exportación cancelada");
+        }
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Escritura de filas sobre el Writer ya preparado (buffer y gzip).
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        long write(Writer out) throws IOException;
+    }
+
+    private JsonGenerator jsonGenerator(Writer out) throws IOException {
+        JsonGenerator gen = jsonFactory.createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(new SerializedString("\n"));
+        return gen;
+    }
+
+    private long writeAtomically(Path target, BooleanSupplier cancelled, RowWriter rows) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".part");
+        boolean gzip = absolute.getFileName().toString().toLowerCase().endsWith(".gz");
+        long start = System.nanoTime();
+        long count;
+        try {
+            OutputStream file = Files.newOutputStream(temp);
+            OutputStream stream = gzip ? new GZIPOutputStream(file, BUFFER_SIZE) : file;
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                count = rows.write(out);
+            }
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Exportación cancelada");
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            if (e instanceof CancellationException) {
+                LOGGER.info("Exportación a " + absolute + " cancelada");
+            }
+            throw e;
+        }
+        LOGGER.info(String.format("Exportadas %d filas a %s en %d ms", count, absolute,
+                                  (System.nanoTime() - start) / 1_000_000));
+        return count;
+    }
+}
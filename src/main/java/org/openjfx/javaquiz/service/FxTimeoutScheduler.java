@@ -0,0 +1,153 @@
+package org.openjfx.javaquiz.service;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Programador de plazos para el escritorio: un {@link AnimationTimer} revisa
+ * en cada pulso de JavaFX los plazos vencidos y ejecuta sus tareas en el
+ * hilo de JavaFX, donde pueden tocar la interfaz.
+ *
+ * - Los plazos se ordenan en un montículo por fecha límite en
+ *   {@code System.nanoTime()}; cada pulso mira solo el primero
+ * - El AnimationTimer se crea la primera vez que se programa algo y solo
+ *   corre mientras hay plazos pendientes
+ * - Cancelar marca el plazo y lo descarta al llegar a la cima (sin recorrer
+ *   el montículo); si los cancelados pasan de la mitad se purgan
+ *
+ * La tarea se ejecuta en el primer pulso posterior a la fecha límite (a
+ * 60 Hz, hasta ~16 ms tarde). Debe usarse desde el hilo de JavaFX; para
+ * muchos plazos o sin toolkit está {@link TimingWheel}.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * FxTimeoutScheduler scheduler = new FxTimeoutScheduler();
+ * TimeoutScheduler.Timeout t = scheduler.schedule(() -&gt; label.setText("¡Tiempo!"), 30, TimeUnit.SECONDS);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class FxTimeoutScheduler implements TimeoutScheduler {
+
+    private final LongSupplier clock;
+    private final boolean pulses;
+    private final PriorityQueue<FxTimeout> queue =
+        new PriorityQueue<>((a, b) -> Long.compare(a.deadlineNanos, b.deadlineNanos));
+    private AnimationTimer pulse;
+    private boolean pulseRunning;
+    private int cancelled;
+    private boolean closed;
+
+    public FxTimeoutScheduler() {
+        this(System::nanoTime, true);
+    }
+
+    /**
+     * @param clock Reloj monótono en nanosegundos
+     * @param pulses Si un {@link AnimationTimer} llama a {@link #tick()};
+     *               sin él (tests, sin toolkit) se llama a mano
+     */
+    FxTimeoutScheduler(LongSupplier clock, boolean pulses) {
+        this.clock = clock;
+        this.pulses = pulses;
+    }
+
+    private final class FxTimeout implements Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private boolean expired;
+        private boolean isCancelled;
+
+        FxTimeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (expired || isCancelled) {
+                return false;
+            }
+            isCancelled = true;
+            if (++cancelled > queue.size() / 2) {
+                queue.removeIf(t -> t.isCancelled);
+                cancelled = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() { return expired; }
+
+        @Override
+        public boolean isCancelled() { return isCancelled; }
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null || unit == null) {
+            throw new IllegalArgumentException("La tarea y la unidad no pueden ser null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Programador cerrado");
+        }
+        FxTimeout timeout = new FxTimeout(task, clock.getAsLong() + unit.toNanos(Math.max(0, delay)));
+        queue.add(timeout);
+        if (pulses && !pulseRunning) {
+            if (pulse == null) {
+                pulse = new AnimationTimer() {
+                    @Override
+                    public void handle(long now) {
+                        tick();
+                    }
+                };
+            }
+            pulse.start();
+            pulseRunning = true;
+        }
+        return timeout;
+    }
+
+    /**
+     * Ejecuta las tareas vencidas. Lo llama el {@link AnimationTimer} en
+     * cada pulso; se detiene cuando no quedan plazos.
+     */
+    void tick() {
+        long now = clock.getAsLong();
+        FxTimeout head;
+        while ((head = queue.peek()) != null && (head.isCancelled || head.deadlineNanos - now <= 0)) {
+            queue.poll();
+            if (head.isCancelled) {
+                cancelled--;
+                continue;
+            }
+            head.expired = true;
+            head.task.run();
+        }
+        if (queue.isEmpty() && pulseRunning) {
+            pulse.stop();
+            pulseRunning = false;
+        }
+    }
+
+    @Override
+    public int pending() {
+        return queue.size() - cancelled;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        queue.clear();
+        cancelled = 0;
+        if (pulseRunning) {
+            pulse.stop();
+            pulseRunning = false;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.HistoryStore;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Servicio que guarda los intentos terminados y consulta el historial.
+ *
+ * Responsabilidades:
+ * - Convertir una sesión terminada en un {@link AttemptRecord}
+ * - Guardarlo en segundo plano en el {@link HistoryStore}
+ * - Consultas habituales (últimos N días, por tópico)
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * HistoryService history = new HistoryService(services.getHistoryStore());
+ * history.recordAttempt(quizService);
+ *
+ * List&lt;AttemptRecord&gt; recent = history.lastDays(30, "Collections");
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class HistoryService {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(HistoryService.class);
+
+    private final HistoryStore store;
+
+    /**
+     * @param store Historial donde guardar (puede ser null: no se guarda nada)
+     */
+    public HistoryService(HistoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Guarda la sesión terminada en el historial sin bloquear al llamador.
+     *
+     * @param quizService Servicio con la sesión terminada
+     * @return Registro del intento (también útil para exportarlo), o null si no hubo preguntas
+     */
+    public AttemptRecord recordAttempt(QuizService quizService) {
+        if (quizService.getQuestions() == null || quizService.getTotalQuestions() == 0) {
+            return null;
+        }
+        AttemptRecord record = toRecord(quizService, System.currentTimeMillis());
+        if (store != null) {
+            store.appendAsync(record);
+            LOGGER.info("Intento " + record.getSessionId() + " enviado al historial");
+        }
+        return record;
+    }
+
+    /**
+     * Intentos de los últimos días.
+     *
+     * @param days Número de días hacia atrás
+     * @param topic Tópico a filtrar, o null para todos
+     * @return Intentos en orden de guardado (vacío si no hay historial)
+     * @throws IOException Si falla la lectura
+     */
+    public List<AttemptRecord> lastDays(int days, String topic) throws IOException {
+        if (store == null) {
+            return List.of();
+        }
+        long from = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+        return store.query(from, Long.MAX_VALUE, topic);
+    }
+
+    /**
+     * Ids de banco de las preguntas de la sesión, en orden ascendente.
+     * La pregunta {@code j} del {@link AttemptRecord} corresponde a {@code ids[j]}.
+     *
+     * @param quizService Servicio con la sesión
+     * @return Ids de banco ordenados
+     */
+    public static int[] questionIds(QuizService quizService) {
+        int[] ids = Arrays.copyOf(quizService.captureState().getOrder(), quizService.getTotalQuestions());
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Convierte la sesión actual en un registro de historial.
+     *
+     * Las preguntas se guardan en el orden original de los bancos (no en el
+     * orden mostrado), incluidas las no respondidas. En práctica solo se
+     * guardan las preguntas sorteadas.
+     *
+     * @param quizService Servicio con la sesión
+     * @param timestamp Momento de finalización
+     * @return Registro listo para guardar
+     */
+    static AttemptRecord toRecord(QuizService quizService, long timestamp) {
+        SessionState state = quizService.captureState();
+        List<Question> shown = quizService.getQuestions();
+        int[] order = state.getOrder();
+        byte[] bankOutcomes = state.getOutcomes();
+
+        int length = quizService.getTotalQuestions();
+        int[] ids = questionIds(quizService);
+        Question[] byId = new Question[order.length];
+        for (int slot = 0; slot < length; slot++) {
+            byId[order[slot]] = shown.get(slot);
+        }
+
+        Map<String, Integer> topicIndex = new LinkedHashMap<>();
+        int[] questionTopic = new int[length];
+        int[] questionPosition = new int[length];
+        byte[] outcomes = new byte[length];
+        for (int j = 0; j < length; j++) {
+            Question q = byId[ids[j]];
+            String topic = String.valueOf(q.getTopic());
+            questionTopic[j] = topicIndex.computeIfAbsent(topic, t -> topicIndex.size());
+            questionPosition[j] = q.getPosition();
+            outcomes[j] = bankOutcomes[ids[j]];
+        }
+
+        int[] correct = new int[topicIndex.size()];
+        int[] wrong = new int[topicIndex.size()];
+        for (int j = 0; j < length; j++) {
+            if (outcomes[j] == SessionState.OUTCOME_CORRECT) {
+                correct[questionTopic[j]]++;
+            } else if (outcomes[j] != SessionState.OUTCOME_NONE) {
+                wrong[questionTopic[j]]++;
+            }
+        }
+
+        return new AttemptRecord(timestamp, state.getSessionId(),
+                topicIndex.keySet().toArray(new String[0]), correct, wrong,
+                questionTopic, questionPosition, outcomes);
+    }
+}
@@ -0,0 +1,328 @@
+package org.openjfx.javaquiz.service;
+
+import org.apache.commons.math3.stat.descriptive.AggregateSummaryStatistics;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.ItemStats;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.HistoryStore;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Logger;
+
+/**
+ * Servicio de análisis de ítems sobre el historial de intentos.
+ *
+ * Para cada pregunta (identificada por tópico y posición) calcula:
+ * - Índice de dificultad: proporción de respuestas correctas
+ * - Discriminación punto-biserial: correlación entre acertar la pregunta y
+ *   el puntaje del resto del intento (puntaje corregido, sin la propia pregunta)
+ * - Proporción de respuestas incorrectas y de tiempos agotados
+ *
+ * El historial se procesa como una reducción fork/join: cada bloque del
+ * {@link HistoryStore} se lee y resume en paralelo con {@link SummaryStatistics}
+ * y los resúmenes se combinan con {@link AggregateSummaryStatistics}. Los
+ * resultados quedan en caché junto con la última secuencia procesada, de modo
+ * que {@link #refresh()} solo lee los intentos nuevos.
+ *
+ * La aplicación comparte una única instancia ({@link ServiceContainer}) que
+ * se actualiza en segundo plano: las consultas solo leen la caché y no
+ * esperan a una reducción en curso, solo a que se fusione su resultado.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * ItemAnalysisService analysis = new ItemAnalysisService(services.getHistoryStore());
+ * analysis.refresh();
+ *
+ * for (ItemStats item : analysis.getItems()) {
+ *     if (item.getDiscrimination() &lt; 0.1) { ... }
+ * }
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ItemAnalysisService {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(ItemAnalysisService.class);
+
+    private final HistoryStore store;
+    private final ForkJoinPool pool;
+    private final Map<ItemKey, ItemAccumulator> cache = new HashMap<>();
+    /** Serializa las actualizaciones; las consultas sincronizan sobre this */
+    private final Object refreshLock = new Object();
+    private volatile long processedSeq;
+
+    /**
+     * Identificador estable de una pregunta entre intentos.
+     */
+    private record ItemKey(String topic, int position) {
+    }
+
+    /**
+     * @param store Historial a analizar (puede ser null: sin estadísticas)
+     */
+    public ItemAnalysisService(HistoryStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param store Historial a analizar (puede ser null: sin estadísticas)
+     * @param pool Pool donde ejecutar la reducción
+     */
+    public ItemAnalysisService(HistoryStore store, ForkJoinPool pool) {
+        this.store = store;
+        this.pool = pool;
+    }
+
+    /**
+     * Incorpora al análisis los intentos guardados desde la última llamada.
+     *
+     * @return Número de intentos nuevos procesados
+     * @throws IOException Si falla la lectura del historial
+     */
+    public long refresh() throws IOException {
+        if (store == null) {
+            return 0;
+        }
+        synchronized (refreshLock) {
+            long fromSeq = processedSeq;
+            List<HistoryStore.Segment> segments = store.segmentsFrom(fromSeq);
+            if (segments.isEmpty()) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            HistoryStore.Segment last = segments.get(segments.size() - 1);
+            long until = last.getFirstSeq() + last.getCount();
+
+            // La reducción no toma el monitor: las consultas siguen leyendo la caché
+            Map<ItemKey, ItemAccumulator> delta;
+            try {
+                delta = pool.invoke(new ReduceTask(segments, 0, segments.size(), fromSeq));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            int items;
+            synchronized (this) {
+                mergeInto(cache, delta);
+                processedSeq = until;
+                items = cache.size();
+            }
+
+            long added = until - fromSeq;
+            LOGGER.info(String.format("Análisis de ítems: %d intento(s) nuevos, %d pregunta(s), %d ms",
+                                      added, items, (System.nanoTime() - start) / 1_000_000));
+            return added;
+        }
+    }
+
+    /**
+     * Estadísticas de todas las preguntas vistas, ordenadas por tópico y posición.
+     *
+     * @return Lista de estadísticas por pregunta
+     */
+    public synchronized List<ItemStats> getItems() {
+        List<ItemStats> items = new ArrayList<>(cache.size());
+        for (Map.Entry<ItemKey, ItemAccumulator> entry : cache.entrySet()) {
+            items.add(entry.getValue().toStats(entry.getKey()));
+        }
+        items.sort(Comparator.comparing(ItemStats::getTopic).thenComparingInt(ItemStats::getPosition));
+        return items;
+    }
+
+    /**
+     * Estadísticas de una pregunta.
+     *
+     * @param topic Tópico de la pregunta
+     * @param position Posición de la pregunta en su banco
+     * @return Estadísticas, o vacío si nunca se respondió
+     */
+    public synchronized Optional<ItemStats> getItem(String topic, int position) {
+        ItemKey key = new ItemKey(topic, position);
+        ItemAccumulator acc = cache.get(key);
+        return acc == null ? Optional.empty() : Optional.of(acc.toStats(key));
+    }
+
+    /**
+     * Número de intentos incorporados al análisis.
+     *
+     * @return Intentos procesados
+     */
+    public long getProcessedAttempts() {
+        return processedSeq;
+    }
+
+    // ========== REDUCCIÓN ==========
+
+    /**
+     * Reduce un rango de segmentos: divide hasta llegar a un segmento por tarea.
+     */
+    private static final class ReduceTask extends RecursiveTask<Map<ItemKey, ItemAccumulator>> {
+        private static final long serialVersionUID = 1L;
+
+        // ForkJoinTask es Serializable, pero estas tareas nunca se serializan
+        private final transient List<HistoryStore.Segment> segments;
+        private final int from;
+        private final int to;
+        private final long fromSeq;
+
+        ReduceTask(List<HistoryStore.Segment> segments, int from, int to, long fromSeq) {
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+            this.fromSeq = fromSeq;
+        }
+
+        @Override
+        protected Map<ItemKey, ItemAccumulator> compute() {
+            if (to - from == 1) {
+                return summarize(segments.get(from), fromSeq);
+            }
+            int mid = (from + to) >>> 1;
+            ReduceTask left = new ReduceTask(segments, from, mid, fromSeq);
+            left.fork();
+            Map<ItemKey, ItemAccumulator> right = new ReduceTask(segments, mid, to, fromSeq).compute();
+            Map<ItemKey, ItemAccumulator> joined = left.join();
+            if (joined.size() < right.size()) {
+                mergeInto(right, joined);
+                return right;
+            }
+            mergeInto(joined, right);
+            return joined;
+        }
+    }
+
+    private static Map<ItemKey, ItemAccumulator> summarize(HistoryStore.Segment segment, long fromSeq) {
+        List<AttemptRecord> rows;
+        try {
+            rows = segment.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<ItemKey, LeafAccumulator> leaves = new HashMap<>();
+        int skip = (int) Math.max(0, fromSeq - segment.getFirstSeq());
+        for (int r = skip; r < rows.size(); r++) {
+            AttemptRecord attempt = rows.get(r);
+            byte[] outcomes = attempt.getOutcomes();
+            int answered = 0;
+            int correct = 0;
+            for (byte outcome : outcomes) {
+                if (outcome != SessionState.OUTCOME_NONE) answered++;
+                if (outcome == SessionState.OUTCOME_CORRECT) correct++;
+            }
+            for (int q = 0; q < outcomes.length; q++) {
+                if (outcomes[q] == SessionState.OUTCOME_NONE) continue;
+                ItemKey key = new ItemKey(attempt.getTopics()[attempt.getQuestionTopic()[q]],
+                                          attempt.getQuestionPosition()[q]);
+                int x = outcomes[q] == SessionState.OUTCOME_CORRECT ? 1 : 0;
+                double rest = answered > 1 ? (double) (correct - x) / (answered - 1) : Double.NaN;
+                leaves.computeIfAbsent(key, k -> new LeafAccumulator()).add(outcomes[q], rest);
+            }
+        }
+
+        Map<ItemKey, ItemAccumulator> result = new HashMap<>(leaves.size() * 2);
+        leaves.forEach((key, leaf) -> result.put(key, leaf.toAccumulator()));
+        return result;
+    }
+
+    private static void mergeInto(Map<ItemKey, ItemAccumulator> target, Map<ItemKey, ItemAccumulator> source) {
+        source.forEach((key, acc) -> target.merge(key, acc, ItemAccumulator::merge));
+    }
+
+    // ========== ACUMULADORES ==========
+
+    /**
+     * Acumulador de un segmento: valores individuales sobre SummaryStatistics.
+     */
+    private static final class LeafAccumulator {
+        long responses;
+        long correct;
+        long timeouts;
+        final SummaryStatistics restWhenCorrect = new SummaryStatistics();
+        final SummaryStatistics restWhenWrong = new SummaryStatistics();
+
+        void add(byte outcome, double restScore) {
+            responses++;
+            boolean isCorrect = outcome == SessionState.OUTCOME_CORRECT;
+            if (isCorrect) correct++;
+            if (outcome == SessionState.OUTCOME_TIMEOUT) timeouts++;
+            if (!Double.isNaN(restScore)) {
+                (isCorrect ? restWhenCorrect : restWhenWrong).addValue(restScore);
+            }
+        }
+
+        ItemAccumulator toAccumulator() {
+            return new ItemAccumulator(responses, correct, timeouts,
+                                       restWhenCorrect.getSummary(), restWhenWrong.getSummary());
+        }
+    }
+
+    /**
+     * Resumen combinable de una pregunta (inmutable).
+     */
+    private static final class ItemAccumulator {
+        final long responses;
+        final long correct;
+        final long timeouts;
+        final StatisticalSummary restWhenCorrect;
+        final StatisticalSummary restWhenWrong;
+
+        ItemAccumulator(long responses, long correct, long timeouts,
+                        StatisticalSummary restWhenCorrect, StatisticalSummary restWhenWrong) {
+            this.responses = responses;
+            this.correct = correct;
+            this.timeouts = timeouts;
+            this.restWhenCorrect = restWhenCorrect;
+            this.restWhenWrong = restWhenWrong;
+        }
+
+        ItemAccumulator merge(ItemAccumulator other) {
+            return new ItemAccumulator(responses + other.responses, correct + other.correct,
+                                       timeouts + other.timeouts,
+                                       combine(restWhenCorrect, other.restWhenCorrect),
+                                       combine(restWhenWrong, other.restWhenWrong));
+        }
+
+        ItemStats toStats(ItemKey key) {
+            double difficulty = responses == 0 ? Double.NaN : (double) correct / responses;
+            double wrongRate = responses == 0 ? Double.NaN : (double) (responses - correct - timeouts) / responses;
+            double timeoutRate = responses == 0 ? Double.NaN : (double) timeouts / responses;
+            return new ItemStats(key.topic(), key.position(), responses, difficulty,
+                                 pointBiserial(), wrongRate, timeoutRate);
+        }
+
+        /**
+         * r_pb = (M1 - M0) / s * sqrt(n1 * n0) / n, con s la desviación poblacional.
+         */
+        private double pointBiserial() {
+            long n1 = restWhenCorrect.getN();
+            long n0 = restWhenWrong.getN();
+            if (n1 == 0 || n0 == 0) return Double.NaN;
+            StatisticalSummary all = combine(restWhenCorrect, restWhenWrong);
+            long n = all.getN();
+            double populationVariance = all.getVariance() * (n - 1) / n;
+            if (populationVariance <= 0) return Double.NaN;
+            double meanDiff = restWhenCorrect.getMean() - restWhenWrong.getMean();
+            return meanDiff / Math.sqrt(populationVariance) * Math.sqrt((double) n1 * n0) / n;
+        }
+
+        private static StatisticalSummary combine(StatisticalSummary a, StatisticalSummary b) {
+            if (a.getN() == 0) return b;
+            if (b.getN() == 0) return a;
+            return AggregateSummaryStatistics.aggregate(List.of(a, b));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.util.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Agrega los tiempos de respuesta de una sesión por pregunta y por tópico.
+ *
+ * El tracker tiene un lugar por posición de la sesión (no por pregunta del
+ * banco): una sesión de repaso o de búsqueda sobre todos los bancos solo
+ * reserva histogramas para las preguntas que va a mostrar. Cada lugar se
+ * llena con {@link #assign(int, int, Question)} al sortear la pregunta de esa
+ * posición, y su histograma se reutiliza entre reinicios, de modo que
+ * {@link #record(int, long)} solo hace incrementos atómicos: no bloquea ni
+ * asigna memoria y puede llamarse desde el hilo de UI en cada respuesta.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * LatencyTracker tracker = new LatencyTracker(sessionLength);
+ * tracker.assign(position, questionId, question);
+ * tracker.record(position, System.nanoTime() - shownAt);
+ *
+ * LatencyHistogram oop = tracker.getTopicHistograms().get("OOP");
+ * long p50 = oop.percentileMicros(0.5);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class LatencyTracker {
+
+    /** Histograma vacío que se devuelve para preguntas sin respuestas */
+    private static final LatencyHistogram EMPTY = new LatencyHistogram();
+
+    private final LatencyHistogram[] byPosition;
+    private final LatencyHistogram[] topicOfPosition;
+    private final int[] questionIds;
+    private final Map<String, LatencyHistogram> byTopic = new LinkedHashMap<>();
+    private final Map<String, LatencyHistogram> topicView = Collections.unmodifiableMap(byTopic);
+    private final LatencyHistogram overall = new LatencyHistogram();
+
+    /**
+     * @param sessionLength Número máximo de preguntas que puede mostrar la sesión
+     */
+    public LatencyTracker(int sessionLength) {
+        this.byPosition = new LatencyHistogram[sessionLength];
+        this.topicOfPosition = new LatencyHistogram[sessionLength];
+        this.questionIds = new int[sessionLength];
+        Arrays.fill(questionIds, -1);
+    }
+
+    /**
+     * Número de posiciones del tracker.
+     *
+     * @return Largo de sesión con el que se creó
+     */
+    public int capacity() {
+        return byPosition.length;
+    }
+
+    /**
+     * Asocia una posición de la sesión con la pregunta que se sorteó para
+     * ella. Crea el histograma de la posición la primera vez.
+     *
+     * @param position Posición en la sesión (0 = primera pregunta mostrada)
+     * @param questionId Índice de la pregunta en el banco original
+     * @param question Pregunta sorteada
+     */
+    public void assign(int position, int questionId, Question question) {
+        if (position < 0 || position >= byPosition.length) return;
+        if (byPosition[position] == null) {
+            byPosition[position] = new LatencyHistogram();
+        }
+        questionIds[position] = questionId;
+        topicOfPosition[position] = byTopic.computeIfAbsent(
+            String.valueOf(question.getTopic()), t -> new LatencyHistogram());
+    }
+
+    /**
+     * Registra el tiempo que tomó responder (o agotar) una pregunta.
+     *
+     * @param position Posición en la sesión, ya asignada con {@link #assign}
+     * @param latencyNanos Tiempo desde que se mostró la pregunta
+     */
+    public void record(int position, long latencyNanos) {
+        if (position < 0 || position >= byPosition.length || questionIds[position] < 0) return;
+        byPosition[position].recordNanos(latencyNanos);
+        topicOfPosition[position].recordNanos(latencyNanos);
+        overall.recordNanos(latencyNanos);
+    }
+
+    /**
+     * Vacía todos los histogramas y olvida las preguntas asignadas (al
+     * reiniciar la sesión). Solo recorre las posiciones de la sesión.
+     */
+    public void reset() {
+        for (int p = 0; p < byPosition.length; p++) {
+            if (byPosition[p] != null) {
+                byPosition[p].reset();
+            }
+        }
+        Arrays.fill(questionIds, -1);
+        for (LatencyHistogram h : byTopic.values()) {
+            h.reset();
+        }
+        overall.reset();
+    }
+
+    /**
+     * Histograma de una pregunta. Busca la pregunta entre las posiciones de
+     * la sesión (recorrido lineal: pensado para la pantalla de resultados).
+     *
+     * @param questionId Índice de la pregunta en el banco original
+     * @return Histograma de la pregunta (vacío si no se ha mostrado)
+     */
+    public LatencyHistogram getQuestionHistogram(int questionId) {
+        for (int p = 0; p < questionIds.length; p++) {
+            if (questionIds[p] == questionId) {
+                return byPosition[p];
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Histogramas por tópico, en el orden en que se sortearon los tópicos.
+     *
+     * @return Mapa inmutable tópico → histograma
+     */
+    public Map<String, LatencyHistogram> getTopicHistograms() {
+        return topicView;
+    }
+
+    /**
+     * Histograma de toda la sesión.
+     *
+     * @return Histograma global
+     */
+    public LatencyHistogram getOverall() {
+        return overall;
+    }
+
+    /**
+     * Índice de la pregunta con mayor mediana de respuesta.
+     *
+     * @return Id de pregunta, o -1 si no hay respuestas
+     */
+    public int slowestQuestion() {
+        int slowest = -1;
+        long worst = -1;
+        for (int p = 0; p < byPosition.length; p++) {
+            if (questionIds[p] < 0 || byPosition[p].getCount() == 0) continue;
+            long p50 = byPosition[p].percentileMicros(0.5);
+            if (p50 > worst) {
+                worst = p50;
+                slowest = questionIds[p];
+            }
+        }
+        return slowest;
+    }
+}
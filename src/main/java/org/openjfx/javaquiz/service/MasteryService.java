@@ -0,0 +1,112 @@
+package org.openjfx.javaquiz.service;
+
+import org.apache.commons.math3.distribution.BetaDistribution;
+import org.openjfx.javaquiz.model.MasteryEstimate;
+import org.openjfx.javaquiz.repository.MasteryStore;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Servicio que estima el dominio de cada tópico a partir de todas las sesiones.
+ *
+ * Modelo: cada tópico tiene una probabilidad desconocida de acierto con prior
+ * uniforme Beta(1, 1). Tras {@code c} aciertos y {@code w} fallos la posterior
+ * es Beta(1 + c, 1 + w): su media es el dominio estimado y sus cuantiles
+ * 2.5% y 97.5% el intervalo de credibilidad. Con pocas respuestas el
+ * intervalo es ancho; se estrecha a medida que se acumulan.
+ *
+ * Registrar una respuesta solo incrementa un contador; el intervalo se
+ * calcula al consultarlo.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * MasteryService mastery = new MasteryService(services.getMasteryStore(), MasteryService.currentUser());
+ * mastery.record("Collections", true);
+ *
+ * MasteryEstimate e = mastery.estimate("Collections");
+ * // e.getMean() = 0.72, e.getLower() = 0.58, e.getUpper() = 0.84
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class MasteryService {
+
+    /** Masa de probabilidad fuera del intervalo (intervalo del 95%) */
+    private static final double ALPHA = 0.05;
+
+    private final MasteryStore store;
+    private final String user;
+
+    /**
+     * @param store Contadores persistidos (puede ser null: no se registra nada)
+     * @param user Usuario al que se atribuyen las respuestas
+     */
+    public MasteryService(MasteryStore store, String user) {
+        this.store = store;
+        this.user = user;
+    }
+
+    /**
+     * Usuario actual: el usuario del sistema operativo.
+     *
+     * @return Nombre del usuario
+     */
+    public static String currentUser() {
+        return System.getProperty("user.name", "default");
+    }
+
+    /**
+     * Registra una respuesta y programa el guardado.
+     *
+     * @param topic Tópico de la pregunta
+     * @param correct true si fue correcta (los tiempos agotados cuentan como fallo)
+     */
+    public void record(String topic, boolean correct) {
+        if (store == null) {
+            return;
+        }
+        store.record(user, topic, correct);
+        store.saveAsync();
+    }
+
+    /**
+     * Estimación actual del dominio de un tópico.
+     *
+     * @param topic Tópico
+     * @return Estimación con intervalo del 95%
+     */
+    public MasteryEstimate estimate(String topic) {
+        int[] counts = store != null ? store.counts(user, topic) : new int[2];
+        return estimate(topic, counts[0], counts[1]);
+    }
+
+    /**
+     * Estimaciones de varios tópicos, en el mismo orden.
+     *
+     * @param topics Tópicos a consultar
+     * @return Mapa tópico → estimación
+     */
+    public Map<String, MasteryEstimate> estimates(Collection<String> topics) {
+        Map<String, MasteryEstimate> result = new LinkedHashMap<>();
+        for (String topic : topics) {
+            result.put(topic, estimate(topic));
+        }
+        return result;
+    }
+
+    /**
+     * Posterior Beta(1 + correct, 1 + wrong).
+     */
+    static MasteryEstimate estimate(String topic, int correct, int wrong) {
+        double a = 1.0 + correct;
+        double b = 1.0 + wrong;
+        BetaDistribution posterior = new BetaDistribution(null, a, b); // sin generador: solo cuantiles
+        return new MasteryEstimate(topic, correct, wrong, a / (a + b),
+                                   posterior.inverseCumulativeProbability(ALPHA / 2),
+                                   posterior.inverseCumulativeProbability(1 - ALPHA / 2));
+    }
+}
@@ -0,0 +1,173 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.ItemStats;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.util.WeightedSampler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Selector de preguntas para el modo práctica: favorece los puntos débiles.
+ *
+ * Cada pregunta tiene un peso base (por ejemplo, su tasa de error en el
+ * historial) y cada tópico un factor que se ajusta con las respuestas de la
+ * sesión: fallar en un tópico hace más probable que la siguiente pregunta sea
+ * de ese tópico. La probabilidad de una pregunta es proporcional a
+ * {@code factor(tópico) × peso(pregunta)}.
+ *
+ * Se usan dos niveles de {@link WeightedSampler}: uno por tópico con los pesos
+ * de sus preguntas y otro con el peso total de cada tópico. Así extraer una
+ * pregunta y reaccionar a una respuesta cuestan O(log n) aunque el banco
+ * tenga cientos de miles de preguntas.
+ *
+ * Las preguntas se extraen sin reemplazo: una vez mostrada no vuelve a salir
+ * en la misma sesión.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * PracticeSampler sampler = new PracticeSampler(bank, PracticeSampler.errorRateWeights(analysis), random);
+ * int id = sampler.next();
+ * sampler.recordOutcome(id, false);   // su tópico gana peso
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class PracticeSampler implements QuestionSelector {
+
+    private final RandomGenerator random;
+    private final int[] topicOf;
+    private final int[] localIndex;
+    private final int[][] members;
+    private final WeightedSampler[] byTopic;
+    private final WeightedSampler topics;
+    private final int[] answers;
+    private final int[] misses;
+    private final int[] left;
+    private int remaining;
+
+    /**
+     * @param bank Preguntas de la sesión (índice = id de pregunta)
+     * @param baseWeight Peso base de cada pregunta (positivo)
+     * @param random Generador aleatorio
+     */
+    public PracticeSampler(List<Question> bank, ToDoubleFunction<Question> baseWeight, RandomGenerator random) {
+        this.random = random;
+        this.topicOf = new int[bank.size()];
+        this.localIndex = new int[bank.size()];
+        this.remaining = bank.size();
+
+        Map<String, Integer> topicIds = new LinkedHashMap<>();
+        int[] sizes = new int[bank.size()];
+        for (int id = 0; id < bank.size(); id++) {
+            int t = topicIds.computeIfAbsent(String.valueOf(bank.get(id).getTopic()), k -> topicIds.size());
+            topicOf[id] = t;
+            localIndex[id] = sizes[t]++;
+        }
+
+        int topicCount = topicIds.size();
+        this.members = new int[topicCount][];
+        double[][] weights = new double[topicCount][];
+        for (int t = 0; t < topicCount; t++) {
+            members[t] = new int[sizes[t]];
+            weights[t] = new double[sizes[t]];
+        }
+        for (int id = 0; id < bank.size(); id++) {
+            members[topicOf[id]][localIndex[id]] = id;
+            weights[topicOf[id]][localIndex[id]] = baseWeight.applyAsDouble(bank.get(id));
+        }
+
+        this.byTopic = new WeightedSampler[topicCount];
+        double[] topicWeights = new double[topicCount];
+        for (int t = 0; t < topicCount; t++) {
+            byTopic[t] = new WeightedSampler(weights[t]);
+            topicWeights[t] = byTopic[t].total();
+        }
+        this.topics = new WeightedSampler(topicWeights);
+        this.answers = new int[topicCount];
+        this.misses = new int[topicCount];
+        this.left = Arrays.copyOf(sizes, topicCount);
+    }
+
+    /**
+     * Extrae la siguiente pregunta y la retira del sorteo.
+     *
+     * @return Id de la pregunta, o -1 si ya no quedan
+     */
+    @Override
+    public int next() {
+        int t = topics.sample(random);
+        if (t < 0) return -1;
+        int local = byTopic[t].sample(random);
+        if (local < 0) return -1;
+        byTopic[t].setWeight(local, 0);
+        left[t]--;
+        refreshTopic(t);
+        remaining--;
+        return members[t][local];
+    }
+
+    /**
+     * Ajusta el factor del tópico de una pregunta según la respuesta.
+     *
+     * @param questionId Id de la pregunta respondida
+     * @param correct true si fue correcta
+     */
+    @Override
+    public void recordOutcome(int questionId, boolean correct) {
+        if (questionId < 0 || questionId >= topicOf.length) return;
+        int t = topicOf[questionId];
+        answers[t]++;
+        if (!correct) misses[t]++;
+        refreshTopic(t);
+    }
+
+    /**
+     * Preguntas que aún pueden salir.
+     *
+     * @return Número de preguntas no extraídas
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Factor del tópico: tasa de fallos de la sesión suavizada, 1.0 sin respuestas.
+     */
+    double topicFactor(int topic) {
+        return 2.0 * (misses[topic] + 1) / (answers[topic] + 2);
+    }
+
+    private void refreshTopic(int t) {
+        // Con el tópico agotado la suma puede quedar en un residuo de redondeo
+        topics.setWeight(t, left[t] == 0 ? 0 : topicFactor(t) * Math.max(0, byTopic[t].total()));
+    }
+
+    /**
+     * Pesos base a partir del análisis de ítems: tasa de error con suavizado
+     * de Laplace, (fallos + 1) / (respuestas + 2). Las preguntas nunca vistas
+     * pesan 0.5.
+     *
+     * @param analysis Análisis de ítems ya actualizado
+     * @return Función de peso por pregunta
+     */
+    public static ToDoubleFunction<Question> errorRateWeights(ItemAnalysisService analysis) {
+        Map<String, ItemStats> items = new HashMap<>();
+        for (ItemStats item : analysis.getItems()) {
+            items.put(item.getTopic() + "#" + item.getPosition(), item);
+        }
+        return question -> {
+            ItemStats item = items.get(question.getTopic() + "#" + question.getPosition());
+            if (item == null) return 0.5;
+            double wrong = item.getResponses() * (1.0 - item.getDifficulty());
+            return (wrong + 1.0) / (item.getResponses() + 2.0);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package org.openjfx.javaquiz.service;
+
+/**
+ * Estrategia que elige la siguiente pregunta de una sesión cuyas preguntas
+ * no siguen el orden del banco (práctica ponderada, test adaptativo).
+ *
+ * {@link QuizService} pide una pregunta al llegar a cada posición nueva y
+ * comunica cada respuesta, de modo que la elección puede reaccionar a lo que
+ * ya se respondió.
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public interface QuestionSelector {
+
+    /**
+     * Elige la siguiente pregunta y la retira de las disponibles.
+     *
+     * @return Id de la pregunta en el banco, o -1 para terminar la sesión
+     */
+    int next();
+
+    /**
+     * Informa el resultado de una pregunta elegida por este selector.
+     *
+     * @param questionId Id de la pregunta en el banco
+     * @param correct true si fue correcta (un tiempo agotado cuenta como incorrecta)
+     */
+    void recordOutcome(int questionId, boolean correct);
+}
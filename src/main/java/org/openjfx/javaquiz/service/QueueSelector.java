@@ -0,0 +1,34 @@
+package org.openjfx.javaquiz.service;
+
+/**
+ * Selector que entrega una lista fija de preguntas en orden.
+ *
+ * Lo usan las sesiones cuyas preguntas se deciden antes de empezar: el
+ * repaso del día y los exámenes armados desde un blueprint.
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+class QueueSelector implements QuestionSelector {
+
+    private final int[] queue;
+    private int next;
+
+    /**
+     * @param queue Ids de pregunta en el orden en que se entregan
+     */
+    QueueSelector(int[] queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public int next() {
+        return next < queue.length ? queue[next++] : -1;
+    }
+
+    @Override
+    public void recordOutcome(int questionId, boolean correct) {
+        // El orden está fijado de antemano: las respuestas no lo cambian
+    }
+}
@@ -1,9 +1,16 @@
 package org.openjfx.javaquiz.service;
 
+import org.openjfx.javaquiz.model.ItemParameters;
 import org.openjfx.javaquiz.model.Question;
 import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.AnswerJournal;
 import org.openjfx.javaquiz.util.LoggerUtil;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import java.util.logging.Logger;
 import org.openjfx.javaquiz.exception.InvalidQuizDataException;
 
@@ -16,6 +23,12 @@ import org.openjfx.javaquiz.exception.InvalidQuizDataException;
  * - Cálculo de estadísticas por tópico
  * - Navegación entre preguntas
  * - Gestión de timeouts
+ * - Registro opcional de eventos en un {@link AnswerJournal}
+ * - Medición de tiempos de respuesta ({@link LatencyTracker})
+ * - Modo práctica: preguntas elegidas por peso ({@link PracticeSampler})
+ * - Modo adaptativo: preguntas elegidas por TRI ({@link AdaptiveTestService})
+ * - Repaso espaciado: cada respuesta reprograma su tarjeta ({@link ReviewScheduler})
+ * - Rotación: las preguntas no vistas van primero ({@link RotationService})
 
  * Ejemplo de uso:
  * <pre>
@@ -42,8 +55,28 @@ import org.openjfx.javaquiz.exception.InvalidQuizDataException;
 public class QuizService {
     
     private static final Logger LOGGER = LoggerUtil.getLogger(QuizService.class);
+    private static final AtomicLong SESSION_IDS = new AtomicLong(System.currentTimeMillis());
     
     private List<Question> questions;
+    private List<Question> bank;       // preguntas en el orden original de carga
+    private int[] order;               // questions.get(i) == bank.get(order[i])
+    private byte[] outcomes;           // resultado por pregunta del banco (SessionState.OUTCOME_*)
+    private List<String> sources;
+    private long sessionId;
+    private long questionShownNanos;
+    private LatencyTracker latencyTracker;
+    private AnswerJournal journal;
+    private boolean journaled;         // la sesión actual se registra en el diario
+    private MasteryService mastery;
+    private ReviewScheduler reviews;
+    private RotationService rotation;
+    private double duplicateThreshold;   // 0 = no se descartan duplicados
+    private Function<List<Question>, QuestionSelector> selectorFactory;
+    private QuestionSelector selector; // elige cada pregunta (práctica y adaptativo)
+    private int[] slotOf;              // inverso de order (con selector)
+    private int drawn;                 // slots ya elegidos (con selector)
+    private int sessionLength;
+    private int maxSessionLength;
     private int currentIndex;
     private int correctAnswers;
     private int wrongAnswers;
@@ -81,7 +114,11 @@ public class QuizService {
             throw new IllegalArgumentException("La lista de preguntas no puede estar vacía");
         }
         
-        this.questions = new ArrayList<>(questions);
+        this.sources = List.of();
+        loadBank(questions);
+        this.journaled = true;
+        startSession();
+        applyRotation();
         reset();
         
         LOGGER.info("Quiz inicializado con " + questions.size() + " pregunta(s)");
@@ -97,19 +134,260 @@ public class QuizService {
      * @throws InvalidQuizDataException si la lista es null, vacía o contiene datos inválidos
      */
     public void initializeMultiple(List<QuizData> quizDataList) throws InvalidQuizDataException {
-    if (quizDataList == null || quizDataList.isEmpty()) {
-        throw new InvalidQuizDataException("Multiple quizzes", "Quiz data list is null or empty");
-    }
-    this.questions = new ArrayList<>();
-    for (QuizData data : quizDataList) {
-        if (data.getQuestions() == null) {
-            throw new InvalidQuizDataException("Quiz data", "Questions list is null");
-        }
-        questions.addAll(data.getQuestions());
-    }
+    combine(quizDataList);
+    dropDuplicates(quizDataList);
+    this.journaled = true;
+    startSession();
+    applyRotation();
     reset();
     LOGGER.info("Quiz initialized with " + questions.size() + " questions");
 }
+
+    /**
+     * Inicializa una sesión de práctica sobre los bancos dados.
+     * 
+     * Las preguntas no siguen el orden del banco: cada una se sortea al
+     * llegar a ella, con probabilidad proporcional a su peso y al factor de
+     * fallos de su tópico en la sesión, que se actualiza con cada respuesta.
+     * Las sesiones de práctica no se registran en el diario (no se reanudan).
+     * 
+     * @param quizDataList Bancos de donde sortear
+     * @param length Número de preguntas de la sesión
+     * @param weights Peso base de cada pregunta (p. ej. {@link PracticeSampler#errorRateWeights})
+     * @throws InvalidQuizDataException si los bancos son inválidos
+     */
+    public void initializePractice(List<QuizData> quizDataList, int length, ToDoubleFunction<Question> weights)
+            throws InvalidQuizDataException {
+        initializeSelected(quizDataList, length,
+                           questions -> new PracticeSampler(questions, weights, ThreadLocalRandom.current()));
+        LOGGER.info("Práctica iniciada: " + sessionLength + " de " + bank.size() + " pregunta(s)");
+    }
+
+    /**
+     * Inicializa un test adaptativo sobre los bancos dados.
+     * 
+     * Cada pregunta es la más informativa para la habilidad estimada con las
+     * respuestas anteriores; la sesión termina al alcanzar el error estándar
+     * objetivo (puede ser más corta que {@code maxItems}). Como la práctica,
+     * no se registra en el diario.
+     * 
+     * @param quizDataList Bancos de donde elegir
+     * @param parameters Parámetros TRI de cada pregunta (ver {@link IrtCalibration})
+     * @param targetStandardError Error estándar de la habilidad con el que se termina
+     * @param maxItems Máximo de preguntas
+     * @throws InvalidQuizDataException si los bancos son inválidos
+     */
+    public void initializeAdaptive(List<QuizData> quizDataList, Function<Question, ItemParameters> parameters,
+                                   double targetStandardError, int maxItems) throws InvalidQuizDataException {
+        initializeSelected(quizDataList, maxItems,
+                           questions -> new AdaptiveTestService(questions, parameters, targetStandardError, maxItems));
+        LOGGER.info("Test adaptativo iniciado sobre " + bank.size() + " pregunta(s)");
+    }
+
+    /**
+     * Inicializa una sesión de repaso con las preguntas que toca repasar hoy,
+     * en el orden de la cola de repaso. No se registra en el diario.
+     * 
+     * @param quizDataList Bancos donde buscar las preguntas vencidas
+     * @param reviews Planificador con la cola de repaso
+     * @param limit Máximo de preguntas
+     * @throws InvalidQuizDataException si los bancos son inválidos
+     */
+    public void initializeReview(List<QuizData> quizDataList, ReviewScheduler reviews, int limit)
+            throws InvalidQuizDataException {
+        initializeSelected(quizDataList, Math.min(limit, reviews.dueCount()),
+                           questions -> reviews.dueSelector(questions, limit));
+        LOGGER.info("Repaso iniciado: " + sessionLength + " pregunta(s) vencida(s)");
+    }
+
+    /**
+     * Inicializa un examen con preguntas ya elegidas (por ejemplo, con
+     * {@link BlueprintService}), en el orden dado. No se registra en el diario.
+     * 
+     * @param quizDataList Bancos de donde salen las preguntas
+     * @param questionIds Ids en la concatenación de los bancos
+     * @throws InvalidQuizDataException si los bancos son inválidos
+     */
+    public void initializeExam(List<QuizData> quizDataList, int[] questionIds) throws InvalidQuizDataException {
+        initializeSelected(quizDataList, questionIds.length, questions -> new QueueSelector(questionIds));
+        LOGGER.info("Examen iniciado: " + sessionLength + " pregunta(s)");
+    }
+
+    private void initializeSelected(List<QuizData> quizDataList, int length,
+                                    Function<List<Question>, QuestionSelector> factory)
+            throws InvalidQuizDataException {
+        combine(quizDataList);
+        this.journaled = false;
+        this.selectorFactory = factory;
+        this.sessionLength = Math.min(length, bank.size());
+        this.maxSessionLength = sessionLength;
+        startSession();
+        reset();
+    }
+
+    /**
+     * Reanuda una sesión previa a partir de su estado guardado.
+     * 
+     * Los bancos deben ser los mismos (y en el mismo orden) que en la sesión
+     * original; normalmente se cargan con {@code TopicService.loadTopics(state.getSources())}.
+     * No registra un nuevo inicio de sesión: los eventos siguientes continúan
+     * bajo el mismo identificador.
+     * 
+     * @param quizDataList Bancos de la sesión original
+     * @param state Estado recuperado (diario o snapshot)
+     * @throws InvalidQuizDataException si los bancos no coinciden con el estado
+     */
+    public void resume(List<QuizData> quizDataList, SessionState state) throws InvalidQuizDataException {
+        combine(quizDataList);
+        dropDuplicates(quizDataList);
+        if (state.getQuestionCount() != bank.size()) {
+            throw new InvalidQuizDataException("resume",
+                "El estado tiene " + state.getQuestionCount() + " preguntas y los bancos " + bank.size());
+        }
+        
+        this.journaled = true;
+        this.sessionId = state.getSessionId();
+        this.order = state.getOrder().clone();
+        rebuildQuestions();
+        prepareLatencyTracker(questions.size());
+        assignAllLatencySlots();
+        
+        answeredQuestions.clear();
+        statsByTopic.clear();
+        System.arraycopy(state.getOutcomes(), 0, outcomes, 0, outcomes.length);
+        for (int slot = 0; slot < order.length; slot++) {
+            byte outcome = outcomes[order[slot]];
+            if (outcome == SessionState.OUTCOME_NONE) continue;
+            answeredQuestions.add(slot);
+            int[] stats = statsByTopic.computeIfAbsent(questions.get(slot).getTopic(), k -> new int[2]);
+            stats[outcome == SessionState.OUTCOME_CORRECT ? 0 : 1]++;
+        }
+        this.correctAnswers = state.getCorrect();
+        this.wrongAnswers = state.getWrong();
+        this.currentIndex = Math.min(state.getCursor(), questions.size());
+        // Si se guardó durante la pausa tras responder, seguir en la siguiente pendiente
+        while (currentIndex < questions.size() && answeredQuestions.contains(currentIndex)) {
+            currentIndex++;
+        }
+        this.questionShownNanos = System.nanoTime();
+        
+        LOGGER.info("Sesión " + sessionId + " reanudada en la pregunta " + (currentIndex + 1));
+    }
+    
+    /**
+     * Captura el estado actual de la sesión en forma compacta.
+     * 
+     * @return Copia del estado (orden, resultados por pregunta, contadores)
+     */
+    public SessionState captureState() {
+        SessionState state = new SessionState(sessionId, sources, bank.size());
+        state.setOrder(order.clone());
+        System.arraycopy(outcomes, 0, state.getOutcomes(), 0, outcomes.length);
+        state.setCursor(currentIndex);
+        state.setCorrect(correctAnswers);
+        state.setWrong(wrongAnswers);
+        state.setFinished(isFinished());
+        return state;
+    }
+    
+    private void combine(List<QuizData> quizDataList) throws InvalidQuizDataException {
+        if (quizDataList == null || quizDataList.isEmpty()) {
+            throw new InvalidQuizDataException("Multiple quizzes", "Quiz data list is null or empty");
+        }
+        List<Question> combined = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (QuizData data : quizDataList) {
+            if (data.getQuestions() == null) {
+                throw new InvalidQuizDataException("Quiz data", "Questions list is null");
+            }
+            combined.addAll(data.getQuestions());
+            names.add(data.getSource() != null ? data.getSource() : String.valueOf(data.getName()));
+        }
+        this.sources = List.copyOf(names);
+        loadBank(combined);
+    }
+    
+    /**
+     * Quita del banco combinado las preguntas casi iguales a una anterior,
+     * si está activado y la sesión mezcla varios bancos.
+     */
+    private void dropDuplicates(List<QuizData> quizDataList) {
+        if (duplicateThreshold <= 0 || quizDataList.size() < 2) {
+            return;
+        }
+        List<Question> unique = new DuplicateDetector(bank).withoutDuplicates(duplicateThreshold);
+        if (unique.size() < bank.size()) {
+            loadBank(unique);
+        }
+    }
+    
+    private void loadBank(List<Question> loaded) {
+        this.bank = new ArrayList<>(loaded);
+        this.order = new int[bank.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        this.outcomes = new byte[bank.size()];
+        this.latencyTracker = null;  // se dimensiona al largo de la sesión en reset()
+        this.questions = new ArrayList<>(bank);
+        this.sessionLength = bank.size();
+        this.selectorFactory = null;
+        this.selector = null;
+    }
+    
+    /**
+     * Pide al selector la pregunta del slot dado y la intercambia con la que
+     * ocupaba ese lugar. Si el selector termina, la sesión se acorta hasta aquí.
+     */
+    private void drawInto(int slot) {
+        int id = selector.next();
+        if (id < 0) {
+            sessionLength = slot;
+            return;
+        }
+        int from = slotOf[id];
+        int displaced = order[slot];
+        order[slot] = id;
+        order[from] = displaced;
+        slotOf[id] = slot;
+        slotOf[displaced] = from;
+        questions.set(slot, bank.get(id));
+        questions.set(from, bank.get(displaced));
+        latencyTracker.assign(slot, id, bank.get(id));
+        drawn = slot + 1;
+    }
+    
+    /**
+     * Pone primero las preguntas que el usuario no ha visto.
+     */
+    private void applyRotation() {
+        if (rotation == null) {
+            return;
+        }
+        this.order = rotation.unseenFirst(bank);
+        rebuildQuestions();
+        if (journaled()) {
+            journal.orderChanged(sessionId, order);
+        }
+    }
+    
+    private void rebuildQuestions() {
+        questions.clear();
+        for (int id : order) {
+            questions.add(bank.get(id));
+        }
+    }
+    
+    private boolean journaled() {
+        return journal != null && journaled;
+    }
+    
+    private void startSession() {
+        this.sessionId = SESSION_IDS.incrementAndGet();
+        if (journaled() && !bank.isEmpty()) {
+            journal.sessionStarted(sessionId, sources, bank.size());
+        }
+    }
     
     /**
      * Obtiene la pregunta actualmente mostrada al usuario.
@@ -186,6 +464,26 @@ public class QuizService {
 
         // Marcar como respondida
         answeredQuestions.add(currentIndex);
+        byte outcome = isCorrect ? SessionState.OUTCOME_CORRECT : SessionState.OUTCOME_WRONG;
+        outcomes[order[currentIndex]] = outcome;
+        
+        long latency = System.nanoTime() - questionShownNanos;
+        latencyTracker.record(currentIndex, latency);
+        if (journaled()) {
+            journal.answerRecorded(sessionId, order[currentIndex], currentIndex, outcome, latency);
+        }
+        if (mastery != null) {
+            mastery.record(q.getTopic(), isCorrect);
+        }
+        if (reviews != null) {
+            reviews.record(q.getTopic(), q.getPosition(), isCorrect);
+        }
+        if (rotation != null) {
+            rotation.markSeen(q);
+        }
+        if (selector != null) {
+            selector.recordOutcome(order[currentIndex], isCorrect);
+        }
     }
 
     /**
@@ -204,6 +502,34 @@ public class QuizService {
      */
     public void goNext() {
         currentIndex++;
+        if (selector != null && currentIndex == drawn && currentIndex < sessionLength) {
+            drawInto(currentIndex);
+        }
+        questionShownNanos = System.nanoTime();
+        if (journaled()) {
+            journal.cursorMoved(sessionId, currentIndex);
+        }
+    }
+
+    /**
+     * Pregunta que mostrará el próximo {@link #goNext()}, sin mover el cursor.
+     * 
+     * En práctica y adaptativo la siguiente pregunta se elige en este momento
+     * (con las respuestas registradas hasta ahora) y {@code goNext()} la
+     * reutiliza; llamarlo después de {@link #registerAnswer(boolean)} deja
+     * la misma elección que habría hecho {@code goNext()}.
+     * 
+     * @return Siguiente pregunta, o null si la actual es la última
+     */
+    public Question peekNext() {
+        int next = currentIndex + 1;
+        if (selector != null && next == drawn && next < sessionLength) {
+            drawInto(next);
+        }
+        if (next < sessionLength && next < questions.size()) {
+            return questions.get(next);
+        }
+        return null;
     }
 
     /**
@@ -215,6 +541,10 @@ public class QuizService {
     public void goPrevious() {
         if (currentIndex > 0) {
             currentIndex--;
+            questionShownNanos = System.nanoTime();
+            if (journaled()) {
+                journal.cursorMoved(sessionId, currentIndex);
+            }
         }
     }
 
@@ -224,7 +554,25 @@ public class QuizService {
      * @throws InvalidQuizDataException si el quiz no está inicializado
      */
     public void shuffle() throws InvalidQuizDataException {
-        Collections.shuffle(questions);
+        if (order == null) {
+            throw new InvalidQuizDataException("shuffle", "Quiz not initialized");
+        }
+        if (selectorFactory != null) {
+            // Con selector el orden no es fijo: volver a elegir desde el principio
+            reset();
+            return;
+        }
+        Random random = ThreadLocalRandom.current();
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        rebuildQuestions();
+        if (journaled()) {
+            journal.orderChanged(sessionId, order);
+        }
         reset();
     }
 
@@ -248,9 +596,46 @@ public class QuizService {
     wrongAnswers = 0;
     answeredQuestions.clear();
     statsByTopic.clear();
+    Arrays.fill(outcomes, SessionState.OUTCOME_NONE);
+    prepareLatencyTracker(selectorFactory != null ? maxSessionLength : questions.size());
+    questionShownNanos = System.nanoTime();
+    if (journaled()) {
+        journal.sessionReset(sessionId);
+    }
+    if (selectorFactory != null) {
+        selector = selectorFactory.apply(bank);
+        sessionLength = maxSessionLength;
+        slotOf = new int[order.length];
+        for (int slot = 0; slot < order.length; slot++) {
+            slotOf[order[slot]] = slot;
+        }
+        drawn = 0;
+        drawInto(0);
+    } else {
+        assignAllLatencySlots();
+    }
     LOGGER.info("Quiz reset completed");
 }
 
+    /**
+     * Deja un tracker de tiempos vacío con un lugar por posición de la
+     * sesión; reutiliza el anterior si tiene el mismo largo.
+     */
+    private void prepareLatencyTracker(int length) {
+        if (latencyTracker != null && latencyTracker.capacity() == length) {
+            latencyTracker.reset();
+        } else {
+            latencyTracker = new LatencyTracker(length);
+        }
+    }
+
+    /** Sin selector todas las posiciones tienen ya su pregunta */
+    private void assignAllLatencySlots() {
+        for (int slot = 0; slot < questions.size(); slot++) {
+            latencyTracker.assign(slot, order[slot], questions.get(slot));
+        }
+    }
+
     /**
      * Verifica si el quiz ha finalizado.
      * 
@@ -259,7 +644,7 @@ public class QuizService {
      * @return true si no hay más preguntas por responder, false en caso contrario
      */
     public boolean isFinished() {
-        return currentIndex >= questions.size();
+        return currentIndex >= sessionLength;
     }
 
         /**
@@ -277,9 +662,97 @@ public class QuizService {
             statsByTopic.get(q.getTopic())[1]++;
             // Marcar como respondida (timeout = pregunta contestada incorrectamente)
             answeredQuestions.add(currentIndex);
+            outcomes[order[currentIndex]] = SessionState.OUTCOME_TIMEOUT;
+            
+            long latency = System.nanoTime() - questionShownNanos;
+            latencyTracker.record(currentIndex, latency);
+            if (journaled()) {
+                journal.answerRecorded(sessionId, order[currentIndex], currentIndex,
+                    SessionState.OUTCOME_TIMEOUT, latency);
+            }
+            if (mastery != null) {
+                mastery.record(q.getTopic(), false);
+            }
+            if (reviews != null) {
+                reviews.record(q.getTopic(), q.getPosition(), false);
+            }
+            if (rotation != null) {
+                rotation.markSeen(q);
+            }
+            if (selector != null) {
+                selector.recordOutcome(order[currentIndex], false);
+            }
         }
     }
     
+    /**
+     * Marca el instante en que la pregunta actual se mostró al usuario.
+     * 
+     * La latencia de la siguiente respuesta se mide desde este instante.
+     * Navegar o reiniciar también lo actualiza.
+     */
+    public void markQuestionShown() {
+        questionShownNanos = System.nanoTime();
+    }
+    
+    /**
+     * Cierra la sesión: deja de ser recuperable desde el diario.
+     */
+    public void finish() {
+        if (journaled() && bank != null) {
+            journal.sessionEnded(sessionId);
+        }
+    }
+    
+    /**
+     * Asocia un diario donde registrar los eventos de la sesión.
+     * 
+     * Debe llamarse antes de {@link #initialize(List)} o
+     * {@link #initializeMultiple(List)} para que se registre el inicio.
+     * 
+     * @param journal Diario de respuestas (null para desactivar)
+     */
+    public void setAnswerJournal(AnswerJournal journal) {
+        this.journal = journal;
+    }
+    
+    /**
+     * Asocia el estimador de dominio que acumula las respuestas entre sesiones.
+     * 
+     * @param mastery Servicio de dominio (null para desactivar)
+     */
+    public void setMasteryService(MasteryService mastery) {
+        this.mastery = mastery;
+    }
+    
+    /**
+     * Asocia el planificador de repaso que reprograma cada pregunta respondida.
+     * 
+     * @param reviews Planificador (null para desactivar)
+     */
+    public void setReviewScheduler(ReviewScheduler reviews) {
+        this.reviews = reviews;
+    }
+    
+    /**
+     * Asocia la rotación que ordena las sesiones con las preguntas no vistas primero.
+     * 
+     * @param rotation Servicio de rotación (null para mantener el orden del banco)
+     */
+    public void setRotationService(RotationService rotation) {
+        this.rotation = rotation;
+    }
+    
+    /**
+     * Activa el descarte de preguntas casi duplicadas al combinar varios
+     * bancos en una sesión normal (y al reanudarla, para que coincida).
+     * 
+     * @param threshold Similitud mínima para considerar duplicadas (0 = desactivado)
+     */
+    public void setDuplicateThreshold(double threshold) {
+        this.duplicateThreshold = threshold;
+    }
+    
     // Getters
     /**
      * Obtiene el índice de la pregunta actual.
@@ -307,7 +780,23 @@ public class QuizService {
      * 
      * @return Total de preguntas
      */
-    public int getTotalQuestions() { return questions.size(); }
+    public int getTotalQuestions() { return sessionLength; }
+    
+    /**
+     * Indica si la sesión actual es de práctica o adaptativa.
+     * 
+     * @return true si un selector elige las preguntas (la sesión no se reanuda)
+     */
+    public boolean isPractice() { return selectorFactory != null; }
+    
+    /**
+     * Test adaptativo en curso, para consultar la habilidad estimada.
+     * 
+     * @return El test, o null si la sesión no es adaptativa
+     */
+    public AdaptiveTestService getAdaptiveTest() {
+        return selector instanceof AdaptiveTestService cat ? cat : null;
+    }
     
      /**
      * Obtiene las estadísticas por tópico.
@@ -325,5 +814,26 @@ public class QuizService {
      * @return Lista de preguntas
      */
     public List<Question> getQuestions() { return questions; }
+    
+    /**
+     * Obtiene el identificador de la sesión actual.
+     * 
+     * @return Identificador único dentro de esta instalación
+     */
+    public long getSessionId() { return sessionId; }
+    
+    /**
+     * Obtiene los bancos (archivos JSON) que componen la sesión.
+     * 
+     * @return Lista de nombres de banco, vacía si se inicializó con una lista suelta
+     */
+    public List<String> getSources() { return sources; }
+    
+    /**
+     * Obtiene los tiempos de respuesta de la sesión.
+     * 
+     * @return Tracker con histogramas por pregunta, tópico y global
+     */
+    public LatencyTracker getLatencyTracker() { return latencyTracker; }
 
 }
\ No newline at end of file
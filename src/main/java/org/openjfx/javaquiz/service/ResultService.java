@@ -1,5 +1,7 @@
 package org.openjfx.javaquiz.service;
 
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.openjfx.javaquiz.model.MasteryEstimate;
 import org.openjfx.javaquiz.util.Constants;
 
 /**
@@ -35,6 +37,8 @@ import org.openjfx.javaquiz.util.Constants;
  */
 public class ResultService {
     
+    private static final NormalDistribution STANDARD_NORMAL = new NormalDistribution(null, 0, 1);
+    
      /**
      * Calcula el porcentaje de aciertos en el quiz.
      * 
@@ -98,6 +102,78 @@ public class ResultService {
         return correct + "/" + total + " Marks Score";
     }
     
+    /**
+     * Formatea una latencia para mostrarla al usuario.
+     * 
+     * Formato: segundos con un decimal ("4.2 s"), o milisegundos si es
+     * menor a un segundo ("850 ms"). Valores negativos significan "sin datos".
+     * 
+     * @param micros Latencia en microsegundos
+     * @return Texto listo para mostrar ("—" si no hay datos)
+     * 
+     * @example
+     * formatLatency(4_200_000) → "4.2 s"
+     * formatLatency(-1) → "—"
+     */
+    public String formatLatency(long micros) {
+        if (micros < 0) {
+            return "—";
+        }
+        if (micros < 1_000_000) {
+            return (micros / 1_000) + " ms";
+        }
+        return String.format("%.1f s", micros / 1_000_000.0);
+    }
+    
+    /**
+     * Formatea el rango percentil de un intento.
+     * 
+     * @param key Tópico o conjunto de tópicos
+     * @param rank Fracción de intentos superados (0.0 - 1.0)
+     * @return Texto listo para mostrar
+     * 
+     * @example
+     * formatPercentileRank("Collections", 0.82) → "Superaste al 82% de los intentos en Collections"
+     */
+    public String formatPercentileRank(String key, double rank) {
+        return String.format("Superaste al %d%% de los intentos en %s", Math.round(rank * 100), key);
+    }
+    
+    /**
+     * Formatea la habilidad estimada por un test adaptativo.
+     * 
+     * La habilidad está en la escala normal estándar, así que también se
+     * muestra como percentil de esa escala.
+     * 
+     * @param theta Habilidad estimada
+     * @param standardError Error estándar de la estimación
+     * @return Texto listo para mostrar
+     * 
+     * @example
+     * formatAbility(0.8, 0.29) → "Nivel estimado: 0.80 ± 0.29 (percentil 79)"
+     */
+    public String formatAbility(double theta, double standardError) {
+        long percentile = Math.round(STANDARD_NORMAL.cumulativeProbability(theta) * 100);
+        return String.format("Nivel estimado: %.2f ± %.2f (percentil %d)", theta, standardError, percentile);
+    }
+    
+    /**
+     * Formatea una estimación de dominio con su intervalo.
+     * 
+     * @param estimate Estimación (null si no hay)
+     * @return Texto listo para mostrar ("—" si no hay datos)
+     * 
+     * @example
+     * formatMastery(estimación 0.72 [0.58, 0.84]) → "72% (58–84)"
+     */
+    public String formatMastery(MasteryEstimate estimate) {
+        if (estimate == null || estimate.getResponses() == 0) {
+            return "—";
+        }
+        return String.format("%d%% (%d–%d)", Math.round(estimate.getMean() * 100),
+                             Math.round(estimate.getLower() * 100), Math.round(estimate.getUpper() * 100));
+    }
+    
     /**
      * Obtiene un color hexadecimal basado en el puntaje para UI.
      * 
@@ -0,0 +1,177 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.ReviewCard;
+import org.openjfx.javaquiz.repository.ReviewStore;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Planificador de repaso espaciado al estilo SM-2, sobre todos los bancos.
+ *
+ * Cada pregunta respondida se convierte en una tarjeta del usuario. Al
+ * responderla se califica (0-5) y SM-2 actualiza su intervalo y su factor de
+ * facilidad:
+ * - Calificación &lt; 3: se reinician las repeticiones y vuelve mañana
+ * - Si no: 1 día, luego 6 días, luego intervalo anterior × facilidad
+ * - Facilidad += 0.1 - (5 - q)(0.08 + (5 - q) 0.02), mínimo 1.3
+ *
+ * Las tarjetas viven en un {@link ReviewStore}, ordenadas por día de repaso;
+ * "repasar hoy" arma la sesión con la cabeza de esa cola.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * ReviewScheduler reviews = new ReviewScheduler(services.getReviewStore(), MasteryService.currentUser());
+ * reviews.record("Collections", 3, true);
+ *
+ * int pending = reviews.dueCount();
+ * List&lt;ReviewCard&gt; today = reviews.dueToday(50);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ReviewScheduler {
+
+    /** Calificaciones con las que se registran las respuestas del quiz */
+    static final int QUALITY_CORRECT = 4;
+    static final int QUALITY_WRONG = 1;
+
+    private static final double MIN_EASE = 1.3;
+
+    private final ReviewStore store;
+    private final String user;
+    private final Clock clock;
+
+    /**
+     * @param store Tarjetas persistidas (puede ser null: no se registra nada)
+     * @param user Usuario al que se atribuyen los repasos
+     */
+    public ReviewScheduler(ReviewStore store, String user) {
+        this(store, user, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param store Tarjetas persistidas
+     * @param user Usuario
+     * @param clock Reloj que define el día actual
+     */
+    public ReviewScheduler(ReviewStore store, String user, Clock clock) {
+        this.store = store;
+        this.user = user;
+        this.clock = clock;
+    }
+
+    /**
+     * Registra una respuesta del quiz como repaso de la pregunta.
+     *
+     * @param topic Tópico de la pregunta
+     * @param position Posición de la pregunta en su banco
+     * @param correct true si fue correcta (los tiempos agotados cuentan como fallo)
+     */
+    public void record(String topic, int position, boolean correct) {
+        review(topic, position, correct ? QUALITY_CORRECT : QUALITY_WRONG);
+    }
+
+    /**
+     * Califica un repaso y reprograma la tarjeta.
+     *
+     * @param topic Tópico de la pregunta
+     * @param position Posición de la pregunta en su banco
+     * @param quality Calificación SM-2 entre 0 y 5
+     * @return Nuevo estado de la tarjeta (null si no hay almacén)
+     */
+    public ReviewCard review(String topic, int position, int quality) {
+        if (store == null) {
+            return null;
+        }
+        ReviewCard current = store.get(user, topic, position);
+        if (current == null) {
+            current = new ReviewCard(topic, position, (int) today(), 0, ReviewCard.INITIAL_EASE, 0);
+        }
+        ReviewCard next = schedule(current, quality, today());
+        store.put(user, next);
+        store.saveAsync();
+        return next;
+    }
+
+    /**
+     * Tarjetas que toca repasar hoy, de la más atrasada a la más reciente.
+     *
+     * @param limit Máximo de tarjetas
+     * @return Tarjetas vencidas
+     */
+    public List<ReviewCard> dueToday(int limit) {
+        return store == null ? List.of() : store.due(user, today(), limit);
+    }
+
+    /**
+     * Número de tarjetas que toca repasar hoy.
+     *
+     * @return Tarjetas vencidas
+     */
+    public int dueCount() {
+        return store == null ? 0 : store.dueCount(user, today());
+    }
+
+    /**
+     * Selector que entrega, en orden de la cola de repaso, las preguntas del
+     * banco que toca repasar hoy.
+     *
+     * @param bank Preguntas cargadas (índice = id de pregunta)
+     * @param limit Máximo de preguntas
+     * @return Selector para {@link QuizService}
+     */
+    public QuestionSelector dueSelector(List<Question> bank, int limit) {
+        Map<String, Integer> ids = new HashMap<>(bank.size() * 2);
+        for (int id = 0; id < bank.size(); id++) {
+            ids.putIfAbsent(bank.get(id).getTopic() + "#" + bank.get(id).getPosition(), id);
+        }
+        int[] queue = dueToday(limit).stream()
+            .map(card -> ids.get(card.getTopic() + "#" + card.getPosition()))
+            .filter(id -> id != null)
+            .mapToInt(Integer::intValue)
+            .toArray();
+        return new QueueSelector(queue);
+    }
+
+    /**
+     * Paso de SM-2.
+     *
+     * @param card Estado actual
+     * @param quality Calificación entre 0 y 5
+     * @param today Día epoch del repaso
+     * @return Nuevo estado
+     */
+    static ReviewCard schedule(ReviewCard card, int quality, long today) {
+        int q = Math.max(0, Math.min(5, quality));
+        int repetitions;
+        int interval;
+        if (q < 3) {
+            repetitions = 0;
+            interval = 1;
+        } else {
+            repetitions = card.getRepetitions() + 1;
+            if (repetitions == 1) {
+                interval = 1;
+            } else if (repetitions == 2) {
+                interval = 6;
+            } else {
+                interval = (int) Math.round(card.getIntervalDays() * card.getEase());
+            }
+        }
+        int miss = 5 - q;
+        double ease = Math.max(MIN_EASE, card.getEase() + 0.1 - miss * (0.08 + miss * 0.02));
+        return new ReviewCard(card.getTopic(), card.getPosition(), (int) (today + interval),
+                              interval, ease, repetitions);
+    }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+}
@@ -0,0 +1,104 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.repository.SeenStore;
+import org.openjfx.javaquiz.util.CompactBitmap;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Rotación sin repetición: las preguntas no vistas salen primero.
+ *
+ * Cada respuesta marca su pregunta como vista para el usuario. Al armar una
+ * sesión, las preguntas no vistas de cada tópico van al principio (en su
+ * orden original) y las ya vistas al final. Cuando un usuario ya vio todas
+ * las preguntas de un tópico se empieza un nuevo ciclo: se olvidan las vistas
+ * de ese tópico y todas vuelven a contar como nuevas.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * RotationService rotation = new RotationService(services.getSeenStore(), MasteryService.currentUser());
+ * int[] order = rotation.unseenFirst(bank);
+ * rotation.markSeen(question);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class RotationService {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(RotationService.class);
+
+    private final SeenStore store;
+    private final String user;
+
+    /**
+     * @param store Preguntas vistas persistidas (puede ser null: no se rota)
+     * @param user Usuario
+     */
+    public RotationService(SeenStore store, String user) {
+        this.store = store;
+        this.user = user;
+    }
+
+    /**
+     * Orden del banco con las preguntas no vistas primero.
+     *
+     * @param bank Preguntas de la sesión (índice = id de pregunta)
+     * @return Permutación de ids: no vistas y luego vistas, cada grupo en orden original
+     */
+    public int[] unseenFirst(List<Question> bank) {
+        int[] order = new int[bank.size()];
+        if (store == null) {
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            return order;
+        }
+
+        Map<String, CompactBitmap> seenByTopic = new HashMap<>();
+        Map<String, int[]> counts = new HashMap<>(); // {preguntas, vistas}
+        for (Question q : bank) {
+            String topic = String.valueOf(q.getTopic());
+            CompactBitmap seen = seenByTopic.computeIfAbsent(topic, t -> store.seen(user, t));
+            int[] c = counts.computeIfAbsent(topic, t -> new int[2]);
+            c[0]++;
+            if (seen.contains(q.getPosition())) c[1]++;
+        }
+        for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+            if (entry.getValue()[1] == entry.getValue()[0]) {
+                store.reset(user, entry.getKey());
+                seenByTopic.put(entry.getKey(), new CompactBitmap());
+                LOGGER.info("Tópico '" + entry.getKey() + "' visto completo: nuevo ciclo");
+            }
+        }
+
+        int next = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            boolean wantSeen = pass == 1;
+            for (int id = 0; id < bank.size(); id++) {
+                Question q = bank.get(id);
+                if (seenByTopic.get(String.valueOf(q.getTopic())).contains(q.getPosition()) == wantSeen) {
+                    order[next++] = id;
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Marca una pregunta como vista y programa el guardado.
+     *
+     * @param question Pregunta respondida
+     */
+    public void markSeen(Question question) {
+        if (store == null) {
+            return;
+        }
+        store.markSeen(user, String.valueOf(question.getTopic()), question.getPosition());
+        store.saveAsync();
+    }
+}
@@ -0,0 +1,96 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.repository.ScoreSketchStore;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Servicio que ubica un intento respecto a los intentos anteriores.
+ *
+ * Para cada tópico del intento (y para el conjunto de tópicos, si hay más de
+ * uno) calcula qué fracción de los puntajes anteriores quedó por debajo, y
+ * luego registra el puntaje nuevo. La consulta usa sketches de cuantiles de
+ * tamaño fijo, así que no depende del tamaño del historial.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * ScoreRankService ranks = new ScoreRankService(services.getScoreSketchStore());
+ * Map&lt;String, Double&gt; beaten = ranks.rankAndRecord(attempt);
+ * // {"Collections" -&gt; 0.82, "Collections + OOP" -&gt; 0.64}
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ScoreRankService {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(ScoreRankService.class);
+
+    /** Puntajes previos mínimos para mostrar un rango percentil */
+    static final int MIN_PRIOR_ATTEMPTS = 5;
+
+    private final ScoreSketchStore store;
+
+    /**
+     * @param store Almacén de sketches (puede ser null: no hay rangos)
+     */
+    public ScoreRankService(ScoreSketchStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Calcula los rangos percentiles del intento y registra sus puntajes.
+     *
+     * @param attempt Intento terminado
+     * @return Clave (tópico o conjunto) → fracción de intentos superados,
+     *         solo para claves con suficientes intentos previos
+     */
+    public Map<String, Double> rankAndRecord(AttemptRecord attempt) {
+        Map<String, Double> ranks = new LinkedHashMap<>();
+        if (store == null || attempt == null || attempt.getQuestionCount() == 0) {
+            return ranks;
+        }
+
+        int[] questions = new int[attempt.getTopics().length];
+        for (int topic : attempt.getQuestionTopic()) {
+            questions[topic]++;
+        }
+        for (int i = 0; i < questions.length; i++) {
+            if (questions[i] > 0) {
+                rankAndUpdate(attempt.getTopics()[i], (double) attempt.getCorrect()[i] / questions[i], ranks);
+            }
+        }
+        if (attempt.getTopics().length > 1) {
+            double score = (double) attempt.getTotalCorrect() / attempt.getQuestionCount();
+            rankAndUpdate(topicSetKey(attempt.getTopics()), score, ranks);
+        }
+        store.saveAsync();
+        LOGGER.info("Rangos percentiles del intento " + attempt.getSessionId() + ": " + ranks);
+        return ranks;
+    }
+
+    /**
+     * Clave de un conjunto de tópicos, independiente del orden.
+     *
+     * @param topics Tópicos del intento
+     * @return Tópicos ordenados y unidos por " + "
+     */
+    public static String topicSetKey(String[] topics) {
+        String[] sorted = topics.clone();
+        Arrays.sort(sorted);
+        return String.join(" + ", sorted);
+    }
+
+    private void rankAndUpdate(String key, double score, Map<String, Double> ranks) {
+        if (store.count(key) >= MIN_PRIOR_ATTEMPTS) {
+            ranks.put(key, store.rank(key, score));
+        }
+        store.update(key, score);
+    }
+}
@@ -0,0 +1,264 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.repository.SearchIndexStore;
+import org.openjfx.javaquiz.util.CompactBitmap;
+import org.openjfx.javaquiz.util.InvertedIndex;
+import org.openjfx.javaquiz.util.JavaTokenizer;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Búsqueda de texto completo sobre todas las preguntas cargadas.
+ *
+ * Indexa el enunciado ({@code Q}), la respuesta ({@code A}), los
+ * distractores ({@code X}) y el código de cada pregunta con
+ * {@link JavaTokenizer}, en paralelo por banco. El id de cada pregunta es su
+ * posición en la concatenación de los bancos, igual que en {@link QuizService}.
+ *
+ * Sintaxis de consulta:
+ * - {@code hashmap volatile}: ambas palabras (AND implícito)
+ * - {@code hashmap OR treemap}: cualquiera de los grupos
+ * - {@code -synchronized} o {@code NOT synchronized}: excluye
+ * - {@code stream*}: cualquier término que empiece así
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * SearchService search = SearchService.open(allBanks, new SearchIndexStore(file));
+ * CompactBitmap hits = search.search("HashMap OR concurrent* -TreeMap");
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class SearchService {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(SearchService.class);
+
+    private final List<Question> questions;
+    private final InvertedIndex index;
+    private final Map<String, CompactBitmap> bySource = new LinkedHashMap<>();
+
+    private SearchService(List<QuizData> corpus, List<Question> questions, InvertedIndex index) {
+        this.questions = questions;
+        this.index = index;
+        int offset = 0;
+        for (QuizData data : corpus) {
+            int end = offset + data.getQuestions().size();
+            String source = data.getSource() != null ? data.getSource() : String.valueOf(data.getName());
+            bySource.put(source, CompactBitmap.range(end).andNot(CompactBitmap.range(offset)));
+            offset = end;
+        }
+    }
+
+    /**
+     * Construye el índice de los bancos dados.
+     *
+     * @param corpus Bancos cargados, en el orden en que se combinarán
+     * @return Servicio listo para buscar
+     */
+    public static SearchService build(List<QuizData> corpus) {
+        return open(corpus, null);
+    }
+
+    /**
+     * Usa el índice guardado si corresponde a los mismos bancos; si no, lo
+     * construye y lo guarda.
+     *
+     * @param corpus Bancos cargados, en el orden en que se combinarán
+     * @param store Caché del índice (puede ser null: no se persiste)
+     * @return Servicio listo para buscar
+     */
+    public static SearchService open(List<QuizData> corpus, SearchIndexStore store) {
+        List<Question> questions = new ArrayList<>();
+        int[] offsets = new int[corpus.size()];
+        for (int b = 0; b < corpus.size(); b++) {
+            offsets[b] = questions.size();
+            questions.addAll(corpus.get(b).getQuestions());
+        }
+
+        long fingerprint = fingerprint(questions);
+        InvertedIndex index = store != null ? store.load(fingerprint) : null;
+        if (index == null) {
+            long start = System.nanoTime();
+            index = IntStream.range(0, corpus.size()).parallel()
+                .collect(InvertedIndex.Builder::new,
+                         (builder, b) -> indexBank(builder, corpus.get(b).getQuestions(), offsets[b]),
+                         InvertedIndex.Builder::merge)
+                .build();
+            LOGGER.info("Índice de búsqueda construido: " + questions.size() + " pregunta(s), "
+                + index.termCount() + " término(s) en " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            if (store != null) {
+                store.save(fingerprint, index);
+            }
+        }
+        return new SearchService(corpus, questions, index);
+    }
+
+    /**
+     * Preguntas que cumplen la consulta.
+     *
+     * @param query Consulta (ver sintaxis en la descripción de la clase)
+     * @return Ids de las preguntas encontradas (vacío si la consulta no tiene términos)
+     */
+    public CompactBitmap search(String query) {
+        CompactBitmap result = new CompactBitmap();
+        if (query == null) {
+            return result;
+        }
+        List<List<String>> groups = new ArrayList<>();
+        groups.add(new ArrayList<>());
+        for (String word : query.trim().split("\\s+")) {
+            if (word.equals("OR")) {
+                groups.add(new ArrayList<>());
+            } else if (!word.isEmpty()) {
+                groups.get(groups.size() - 1).add(word);
+            }
+        }
+        for (List<String> group : groups) {
+            CompactBitmap hits = group(group);
+            if (hits != null) {
+                result.or(hits);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cuántas preguntas encontradas hay en cada banco.
+     *
+     * @param hits Resultado de {@link #search(String)}
+     * @return Banco (nombre de archivo) → preguntas encontradas, solo bancos con alguna
+     */
+    public Map<String, Integer> countBySource(CompactBitmap hits) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, CompactBitmap> entry : bySource.entrySet()) {
+            int count = hits.and(entry.getValue()).cardinality();
+            if (count > 0) counts.put(entry.getKey(), count);
+        }
+        return counts;
+    }
+
+    /**
+     * Muestra aleatoria de las preguntas encontradas, sin recorrerlas todas.
+     *
+     * @param hits Resultado de {@link #search(String)}
+     * @param limit Máximo de preguntas
+     * @param random Generador para el muestreo
+     * @return Ids elegidos, en orden aleatorio
+     */
+    public int[] sample(CompactBitmap hits, int limit, RandomGenerator random) {
+        int take = Math.min(limit, hits.cardinality());
+        int[] ids = new int[take];
+        int n = 0;
+        for (int rank : BlueprintService.floyd(hits.cardinality(), take, random)) {
+            ids[n++] = hits.select(rank);
+        }
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+
+    /**
+     * Pregunta por id.
+     *
+     * @param id Id en la concatenación de los bancos
+     * @return Pregunta
+     */
+    public Question getQuestion(int id) {
+        return questions.get(id);
+    }
+
+    /**
+     * Número de preguntas indexadas.
+     *
+     * @return Tamaño del corpus
+     */
+    public int size() {
+        return questions.size();
+    }
+
+    /** Intersección de los términos de un grupo; null si el grupo no tiene términos */
+    private CompactBitmap group(List<String> words) {
+        CompactBitmap hits = null;
+        CompactBitmap excluded = new CompactBitmap();
+        boolean negateNext = false;
+        for (String word : words) {
+            if (word.equals("NOT")) {
+                negateNext = true;
+                continue;
+            }
+            boolean negate = negateNext || (word.startsWith("-") && word.length() > 1);
+            negateNext = false;
+            CompactBitmap postings = term(word.startsWith("-") ? word.substring(1) : word);
+            if (postings == null) {
+                continue;
+            }
+            if (negate) {
+                excluded.or(postings);
+            } else {
+                hits = hits == null ? postings : hits.and(postings);
+            }
+        }
+        if (hits == null) {
+            if (excluded.isEmpty()) return null;
+            hits = CompactBitmap.range(questions.size());
+        }
+        return hits.andNot(excluded);
+    }
+
+    /** Ocurrencias de un término de consulta; null si no contiene palabras */
+    private CompactBitmap term(String word) {
+        boolean prefix = word.endsWith("*");
+        String[] first = new String[1];
+        JavaTokenizer.tokenize(prefix ? word.substring(0, word.length() - 1) : word, t -> {
+            if (first[0] == null) first[0] = t;
+        });
+        if (first[0] == null) {
+            return null;
+        }
+        return prefix ? index.prefix(first[0]) : index.postings(first[0]);
+    }
+
+    private static void indexBank(InvertedIndex.Builder builder, List<Question> bank, int offset) {
+        for (int i = 0; i < bank.size(); i++) {
+            Question q = bank.get(i);
+            int id = offset + i;
+            JavaTokenizer.tokenize(q.getQ(), term -> builder.add(term, id));
+            JavaTokenizer.tokenize(q.getA(), term -> builder.add(term, id));
+            if (q.getX() != null) {
+                for (String option : q.getX()) {
+                    JavaTokenizer.tokenize(option, term -> builder.add(term, id));
+                }
+            }
+            JavaTokenizer.tokenize(q.getCode(), term -> builder.add(term, id));
+        }
+    }
+
+    /** Huella del contenido indexado, para invalidar el índice guardado */
+    static long fingerprint(List<Question> questions) {
+        CRC32 crc = new CRC32();
+        for (Question q : questions) {
+            crc.update(String.valueOf(q.getQ()).getBytes(StandardCharsets.UTF_8));
+            crc.update(String.valueOf(q.getA()).getBytes(StandardCharsets.UTF_8));
+            crc.update(String.valueOf(q.getX()).getBytes(StandardCharsets.UTF_8));
+            crc.update(String.valueOf(q.getCode()).getBytes(StandardCharsets.UTF_8));
+        }
+        return ((long) questions.size() << 32) | crc.getValue();
+    }
+}
@@ -0,0 +1,382 @@
+package org.openjfx.javaquiz.service;
+
+import javafx.util.Callback;
+import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.repository.AnswerJournal;
+import org.openjfx.javaquiz.repository.HistoryStore;
+import org.openjfx.javaquiz.repository.MasteryStore;
+import org.openjfx.javaquiz.repository.ReviewStore;
+import org.openjfx.javaquiz.repository.ScoreSketchStore;
+import org.openjfx.javaquiz.repository.SearchIndexStore;
+import org.openjfx.javaquiz.repository.SeenStore;
+import org.openjfx.javaquiz.repository.SessionSnapshotStore;
+import org.openjfx.javaquiz.util.Constants;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Servicios compartidos por toda la aplicación.
+ *
+ * Los controladores ya no crean sus propios servicios: los reciben de este
+ * contenedor a través de {@link #controllerFactory()}, que se instala en
+ * {@code FXMLLoader} y en las vistas compiladas. Así un servicio con caché
+ * (los bancos de {@link TopicService}, el índice de búsqueda) sobrevive a la
+ * navegación entre pantallas.
+ *
+ * - Cada almacén se abre la primera vez que alguien lo pide. La pantalla de
+ *   inicio no abre ninguno, y el menú precargado tampoco: los pide al
+ *   mostrarse. Si un almacén no se puede abrir se registra una advertencia y
+ *   se entrega null; los servicios lo aceptan y funcionan sin persistencia
+ * - Los servicios y el ejecutor nunca son null: si no se pueden crear, cada
+ *   llamada lanza {@link IllegalStateException} con la causa
+ * - Los servicios sin estado de sesión (dominio, repaso, historial...) son
+ *   únicos; los que guardan el estado de un quiz ({@link QuizService},
+ *   {@link TimerService}) los sigue creando cada controlador
+ * - {@link #close()} detiene las tareas en segundo plano y después cierra los
+ *   almacenes en orden inverso al de apertura
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * ServiceContainer services = new ServiceContainer(Paths.get(Constants.DATA_DIR));
+ * loader.setControllerFactory(services.controllerFactory());
+ *
+ * HistoryService history = services.getHistoryService();
+ * services.getSearchService().thenAccept(search -&gt; ...);
+ *
+ * services.close();
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class ServiceContainer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(ServiceContainer.class);
+
+    private final Path dataDir;
+    private final String user = MasteryService.currentUser();
+    private final Deque<AutoCloseable> opened = new ArrayDeque<>();
+    private boolean closed;
+
+    private final Lazy<AnswerJournal> answerJournal;
+    private final Lazy<SessionSnapshotStore> sessionSnapshotStore;
+    private final Lazy<HistoryStore> historyStore;
+    private final Lazy<ScoreSketchStore> scoreSketchStore;
+    private final Lazy<MasteryStore> masteryStore;
+    private final Lazy<ReviewStore> reviewStore;
+    private final Lazy<SeenStore> seenStore;
+    private final Lazy<ExecutorService> executor;
+
+    private final Lazy<TopicService> topicService;
+    private final Lazy<MasteryService> masteryService;
+    private final Lazy<ReviewScheduler> reviewScheduler;
+    private final Lazy<RotationService> rotationService;
+    private final Lazy<HistoryService> historyService;
+    private final Lazy<ItemAnalysisService> itemAnalysisService;
+    private final Lazy<ScoreRankService> scoreRankService;
+    private final Lazy<ExportService> exportService;
+    private final Lazy<SessionResumeService> sessionResumeService;
+    private final Lazy<CompletableFuture<List<QuizData>>> allTopics;
+    private final Lazy<CompletableFuture<SearchService>> searchService;
+
+    /**
+     * @param dataDir Directorio de datos locales (ej: {@link Constants#DATA_DIR})
+     */
+    public ServiceContainer(Path dataDir) {
+        this.dataDir = dataDir;
+
+        answerJournal = optionalLazy("el diario de respuestas", () -> AnswerJournal.open(
+            dataDir.resolve("journal"),
+            AnswerJournal.FsyncPolicy.valueOf(
+                System.getProperty(Constants.JOURNAL_FSYNC_PROPERTY, "EVERY_BATCH").toUpperCase()),
+            Constants.JOURNAL_FSYNC_INTERVAL_MS,
+            Constants.JOURNAL_COMPACT_THRESHOLD_BYTES));
+        sessionSnapshotStore = optionalLazy("el almacén de sesiones",
+            () -> new SessionSnapshotStore(dataDir.resolve("sessions")));
+        historyStore = optionalLazy("el historial",
+            () -> HistoryStore.open(dataDir.resolve("history"), Constants.HISTORY_BLOCK_SIZE));
+        scoreSketchStore = optionalLazy("los sketches de puntaje",
+            () -> ScoreSketchStore.open(dataDir.resolve("scores.sketch")));
+        masteryStore = optionalLazy("los contadores de dominio",
+            () -> MasteryStore.open(dataDir.resolve("mastery.bin")));
+        reviewStore = optionalLazy("las tarjetas de repaso",
+            () -> ReviewStore.open(dataDir.resolve("reviews.bin")));
+        seenStore = optionalLazy("las preguntas vistas",
+            () -> SeenStore.open(dataDir.resolve("seen.bin")));
+        executor = new Lazy<>("el ejecutor de tareas", ServiceContainer::newExecutor);
+
+        topicService = new Lazy<>("los tópicos", TopicService::new);
+        masteryService = new Lazy<>("el dominio", () -> new MasteryService(getMasteryStore(), user));
+        reviewScheduler = new Lazy<>("el repaso", () -> new ReviewScheduler(getReviewStore(), user));
+        rotationService = new Lazy<>("la rotación", () -> new RotationService(getSeenStore(), user));
+        historyService = new Lazy<>("el historial", () -> new HistoryService(getHistoryStore()));
+        itemAnalysisService = new Lazy<>("el análisis de ítems", () -> new ItemAnalysisService(getHistoryStore()));
+        scoreRankService = new Lazy<>("los percentiles", () -> new ScoreRankService(getScoreSketchStore()));
+        exportService = new Lazy<>("la exportación", () -> new ExportService(getHistoryStore()));
+        sessionResumeService = new Lazy<>("la reanudación", () -> new SessionResumeService(
+            getSessionSnapshotStore(), getAnswerJournal(), getTopicService()));
+        allTopics = new Lazy<>("los bancos", () -> CompletableFuture.supplyAsync(() -> {
+            TopicService topics = getTopicService();
+            return topics.loadTopics(topics.getAvailableTopics());
+        }, getExecutor()));
+        searchService = new Lazy<>("la búsqueda", () -> getAllTopics().thenApplyAsync(corpus ->
+            SearchService.open(corpus, new SearchIndexStore(dataDir.resolve("search-index.bin"))), getExecutor()));
+    }
+
+    /**
+     * Fábrica de controladores para {@code FXMLLoader.setControllerFactory}:
+     * usa el constructor que recibe el contenedor si existe, o el constructor
+     * sin argumentos.
+     *
+     * @return Fábrica de controladores
+     */
+    public Callback<Class<?>, Object> controllerFactory() {
+        return type -> {
+            try {
+                for (Constructor<?> constructor : type.getConstructors()) {
+                    if (constructor.getParameterCount() == 1
+                            && constructor.getParameterTypes()[0] == ServiceContainer.class) {
+                        return constructor.newInstance(this);
+                    }
+                }
+                return type.getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("No se pudo crear el controlador " + type.getName(), e);
+            }
+        };
+    }
+
+    // ========== ALMACENES ==========
+
+    /** @return Diario de respuestas, o null si no se pudo abrir */
+    public AnswerJournal getAnswerJournal() { return answerJournal.get(); }
+
+    /** @return Snapshots de sesiones, o null si no se pudo abrir */
+    public SessionSnapshotStore getSessionSnapshotStore() { return sessionSnapshotStore.get(); }
+
+    /** @return Historial de resultados, o null si no se pudo abrir */
+    public HistoryStore getHistoryStore() { return historyStore.get(); }
+
+    /** @return Sketches de puntaje, o null si no se pudieron abrir */
+    public ScoreSketchStore getScoreSketchStore() { return scoreSketchStore.get(); }
+
+    /** @return Contadores de dominio, o null si no se pudieron abrir */
+    public MasteryStore getMasteryStore() { return masteryStore.get(); }
+
+    /** @return Tarjetas de repaso, o null si no se pudieron abrir */
+    public ReviewStore getReviewStore() { return reviewStore.get(); }
+
+    /** @return Preguntas vistas, o null si no se pudieron abrir */
+    public SeenStore getSeenStore() { return seenStore.get(); }
+
+    /**
+     * Hilos en segundo plano compartidos (demonio; se detienen al cerrar).
+     *
+     * @return Ejecutor de tareas
+     */
+    public ExecutorService getExecutor() { return executor.get(); }
+
+    // ========== SERVICIOS ==========
+
+    /** @return Tópicos, con los bancos cargados en memoria */
+    public TopicService getTopicService() { return topicService.get(); }
+
+    /** @return Dominio del usuario actual */
+    public MasteryService getMasteryService() { return masteryService.get(); }
+
+    /** @return Repaso espaciado del usuario actual */
+    public ReviewScheduler getReviewScheduler() { return reviewScheduler.get(); }
+
+    /** @return Rotación de preguntas del usuario actual */
+    public RotationService getRotationService() { return rotationService.get(); }
+
+    /** @return Consultas sobre el historial */
+    public HistoryService getHistoryService() { return historyService.get(); }
+
+    /**
+     * Análisis de ítems del historial, compartido. Se actualiza con
+     * {@link #refreshItemAnalysis()}; leerlo no toca el disco.
+     *
+     * @return Análisis con las estadísticas ya calculadas (vacío sin historial)
+     */
+    public ItemAnalysisService getItemAnalysisService() { return itemAnalysisService.get(); }
+
+    /**
+     * Incorpora al análisis de ítems los intentos nuevos del historial, en
+     * segundo plano. Espera antes a que se escriban los intentos enviados con
+     * {@link HistoryService#recordAttempt}.
+     *
+     * @return Future que se completa al terminar (los errores solo se registran)
+     */
+    public CompletableFuture<Void> refreshItemAnalysis() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                HistoryStore store = getHistoryStore();
+                if (store != null) {
+                    store.flush();
+                }
+                getItemAnalysisService().refresh();
+            } catch (IOException e) {
+                LOGGER.warning("No se pudo analizar el historial: " + e.getMessage());
+            }
+        }, getExecutor());
+    }
+
+    /** @return Percentiles de puntaje */
+    public ScoreRankService getScoreRankService() { return scoreRankService.get(); }
+
+    /** @return Exportación de sesiones e historial */
+    public ExportService getExportService() { return exportService.get(); }
+
+    /** @return Reanudación de sesiones interrumpidas */
+    public SessionResumeService getSessionResumeService() { return sessionResumeService.get(); }
+
+    /**
+     * Todos los bancos disponibles, cargados una sola vez en segundo plano.
+     *
+     * @return Bancos en orden alfabético de tópico
+     */
+    public CompletableFuture<List<QuizData>> getAllTopics() { return allTopics.get(); }
+
+    /**
+     * Índice de búsqueda sobre {@link #getAllTopics()}, construido (o leído
+     * de disco) una sola vez en segundo plano.
+     *
+     * @return Servicio de búsqueda
+     */
+    public CompletableFuture<SearchService> getSearchService() { return searchService.get(); }
+
+    /**
+     * Detiene las tareas en segundo plano y cierra los almacenes abiertos, en
+     * orden inverso al de apertura. Los errores solo se registran.
+     */
+    @Override
+    public void close() {
+        List<AutoCloseable> toClose;
+        synchronized (opened) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = List.copyOf(opened);
+        }
+        // Primero las tareas en segundo plano, que pueden estar usando los almacenes
+        ExecutorService pool = executor.peek();
+        if (pool != null) {
+            pool.shutdownNow();
+            try {
+                pool.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (AutoCloseable resource : toClose) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                LOGGER.warning("Error al cerrar " + resource.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        LOGGER.info("Servicios cerrados (" + toClose.size() + " recurso(s))");
+    }
+
+    private void register(AutoCloseable resource) throws IOException {
+        synchronized (opened) {
+            if (!closed) {
+                opened.push(resource);
+                return;
+            }
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            // Se descarta: el recurso no llegó a usarse
+        }
+        throw new IOException("el contenedor de servicios ya está cerrado");
+    }
+
+    private static ExecutorService newExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "services-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Opener<T> {
+        T open() throws IOException;
+    }
+
+    /**
+     * Valor creado en el primer {@link #get()}; no se reintenta. Si falla,
+     * un valor opcional (almacén) queda en null y uno obligatorio (servicio)
+     * lanza {@link IllegalStateException} en cada llamada.
+     */
+    private final class Lazy<T> {
+        private final String description;
+        private final Opener<T> opener;
+        private final boolean optional;
+        private boolean done;
+        private T value;
+        private IllegalStateException failure;
+
+        Lazy(String description, Opener<T> opener) {
+            this(description, opener, false);
+        }
+
+        private Lazy(String description, Opener<T> opener, boolean optional) {
+            this.description = description;
+            this.opener = opener;
+            this.optional = optional;
+        }
+
+        synchronized T get() {
+            if (!done) {
+                done = true;
+                try {
+                    T created = opener.open();
+                    // El ejecutor se detiene aparte, antes que los almacenes
+                    if (created instanceof AutoCloseable resource && !(created instanceof ExecutorService)) {
+                        register(resource);
+                    }
+                    value = created;
+                } catch (IOException | RuntimeException e) {
+                    if (optional) {
+                        LOGGER.warning("No se pudo abrir " + description + ": " + e.getMessage());
+                    } else {
+                        LOGGER.severe("No se pudo crear " + description + ": " + e.getMessage());
+                        failure = new IllegalStateException("No se pudo crear " + description, e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
+
+        /** Valor sin crearlo si todavía no existe */
+        synchronized T peek() {
+            return value;
+        }
+    }
+
+    private <T> Lazy<T> optionalLazy(String description, Opener<T> opener) {
+        return new Lazy<>(description, opener, true);
+    }
+}
@@ -0,0 +1,145 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.exception.InvalidQuizDataException;
+import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.AnswerJournal;
+import org.openjfx.javaquiz.repository.SessionSnapshotStore;
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Servicio que localiza sesiones interrumpidas y prepara su reanudación.
+ *
+ * Combina dos fuentes:
+ * - Snapshots guardados al cambiar el estado (incluyen el tiempo restante)
+ * - Sesiones reconstruidas del diario al arrancar (cubren caídas entre snapshots)
+ *
+ * Si ambas fuentes tienen la misma sesión, se usa la que registra más
+ * respuestas y se conserva el tiempo restante del snapshot.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * SessionResumeService resume = new SessionResumeService(store, journal, new TopicService());
+ * Optional&lt;SessionState&gt; pending = resume.findResumable();
+ * if (pending.isPresent()) {
+ *     List&lt;QuizData&gt; banks = resume.loadBanks(pending.get());
+ *     quizController.resumeSession(banks, pending.get());
+ * }
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class SessionResumeService {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(SessionResumeService.class);
+
+    private final SessionSnapshotStore snapshotStore;
+    private final AnswerJournal journal;
+    private final TopicService topicService;
+
+    /**
+     * @param snapshotStore Almacén de snapshots (puede ser null)
+     * @param journal Diario de respuestas (puede ser null)
+     * @param topicService Servicio para recargar los bancos
+     */
+    public SessionResumeService(SessionSnapshotStore snapshotStore, AnswerJournal journal,
+                                TopicService topicService) {
+        this.snapshotStore = snapshotStore;
+        this.journal = journal;
+        this.topicService = topicService;
+    }
+
+    /**
+     * Busca la sesión interrumpida más reciente.
+     *
+     * @return Estado a reanudar, o vacío si no hay ninguna
+     */
+    public Optional<SessionState> findResumable() {
+        Map<Long, SessionState> byId = new LinkedHashMap<>();
+        if (snapshotStore != null) {
+            for (SessionState state : snapshotStore.loadAll()) {
+                if (!state.isFinished() && !state.getSources().isEmpty()) {
+                    byId.put(state.getSessionId(), state);
+                }
+            }
+        }
+        if (journal != null) {
+            for (SessionState recovered : journal.getRecoveredSessions()) {
+                if (recovered.getSources().isEmpty()) continue;
+                SessionState snapshot = byId.get(recovered.getSessionId());
+                if (snapshot == null) {
+                    byId.put(recovered.getSessionId(), recovered);
+                } else if (answers(recovered) > answers(snapshot)) {
+                    SessionState merged = recovered.copy();
+                    merged.setRemainingSeconds(snapshot.getRemainingSeconds());
+                    merged.setSavedAtMillis(snapshot.getSavedAtMillis());
+                    byId.put(merged.getSessionId(), merged);
+                }
+            }
+        }
+        return byId.values().stream()
+                .max(Comparator.comparingLong(SessionResumeService::recency));
+    }
+
+    /**
+     * Recarga los bancos de una sesión en el orden original.
+     *
+     * @param state Sesión a reanudar
+     * @return Bancos cargados
+     * @throws InvalidQuizDataException si algún banco ya no existe
+     */
+    public List<QuizData> loadBanks(SessionState state) throws InvalidQuizDataException {
+        List<QuizData> banks = topicService.loadTopics(new ArrayList<>(state.getSources()));
+        if (banks.size() != state.getSources().size()) {
+            throw new InvalidQuizDataException("resume",
+                "Faltan bancos de la sesión " + state.getSessionId() + ": " + state.getSources());
+        }
+        return banks;
+    }
+
+    /**
+     * Marca la sesión como reanudada: deja de ofrecerse desde el diario.
+     *
+     * @param state Sesión reanudada
+     */
+    public void claim(SessionState state) {
+        if (journal != null) {
+            journal.claimRecovered(state.getSessionId());
+        }
+        LOGGER.info("Sesión " + state.getSessionId() + " reanudada");
+    }
+
+    /**
+     * Descarta una sesión interrumpida (el usuario no quiere reanudarla).
+     *
+     * @param state Sesión a descartar
+     */
+    public void discard(SessionState state) {
+        if (snapshotStore != null) {
+            snapshotStore.deleteAsync(state.getSessionId());
+        }
+        if (journal != null) {
+            journal.sessionEnded(state.getSessionId());
+        }
+        LOGGER.info("Sesión " + state.getSessionId() + " descartada");
+    }
+
+    private static int answers(SessionState state) {
+        return state.getCorrect() + state.getWrong();
+    }
+
+    private static long recency(SessionState state) {
+        // Los ids de sesión crecen con el reloj, sirven de respaldo sin snapshot
+        return Math.max(state.getSavedAtMillis(), state.getSessionId());
+    }
+}
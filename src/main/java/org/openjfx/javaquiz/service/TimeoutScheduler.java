@@ -0,0 +1,69 @@
+package org.openjfx.javaquiz.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Programa tareas que se ejecutan una vez, pasado un plazo, y que pueden
+ * cancelarse antes.
+ *
+ * Implementaciones:
+ * - {@link FxTimeoutScheduler}: en el hilo de JavaFX, con los pulsos de la
+ *   escena (escritorio)
+ * - {@link TimingWheel}: rueda de tiempo jerárquica con un hilo propio, sin
+ *   toolkit (tests, modo sin interfaz, miles de plazos a la vez)
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * TimeoutScheduler scheduler = new TimingWheel(10, TimeUnit.MILLISECONDS, executor);
+ * TimeoutScheduler.Timeout timeout = scheduler.schedule(this::onTimeout, 30, TimeUnit.SECONDS);
+ * ...
+ * timeout.cancel(); // respondió a tiempo
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public interface TimeoutScheduler extends AutoCloseable {
+
+    /**
+     * Plazo programado.
+     */
+    interface Timeout {
+
+        /**
+         * Cancela el plazo si todavía no venció.
+         *
+         * @return true si se canceló; false si ya había vencido o estaba cancelado
+         */
+        boolean cancel();
+
+        /** @return true si la tarea ya se entregó para ejecutarse */
+        boolean isExpired();
+
+        /** @return true si se canceló antes de vencer */
+        boolean isCancelled();
+    }
+
+    /**
+     * Programa una tarea.
+     *
+     * @param task Tarea a ejecutar al vencer el plazo
+     * @param delay Plazo (0 o negativo: en el próximo tick)
+     * @param unit Unidad del plazo
+     * @return Plazo, para cancelarlo
+     * @throws IllegalStateException si el programador está cerrado
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * @return Plazos programados que no vencieron ni se cancelaron
+     */
+    int pending();
+
+    /**
+     * Descarta los plazos pendientes y libera los recursos (hilo, pulsos).
+     */
+    @Override
+    void close();
+}
@@ -1,194 +1,353 @@
 package org.openjfx.javaquiz.service;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.util.Duration;
+import javafx.animation.AnimationTimer;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import org.openjfx.javaquiz.util.Constants;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
 /**
  * Servicio que gestiona el temporizador del quiz.
- * 
+ *
  * Características:
  * - Countdown configurable (segundos)
  * - Callback personalizable al terminar tiempo
  * - Propiedades JavaFX para binding con UI
  * - Cambio automático de color según tiempo restante
- * 
+ * - Pausa y reanudación conservando el tiempo restante
+ *
+ * El tiempo restante se calcula contra una fecha límite en
+ * {@code System.nanoTime()}, no descontando un contador: si el hilo de
+ * JavaFX se atrasa, el siguiente pulso muestra el tiempo real y el timeout
+ * se dispara en el primer pulso después de la fecha límite. Un único
+ * {@link AnimationTimer}, creado la primera vez que se inicia, actualiza
+ * {@code progress} en cada frame (de forma continua), {@code timeSeconds}
+ * cuando cambia el segundo y dispara el timeout; reiniciar para otra
+ * pregunta no crea objetos de animación ni plazos.
+ *
+ * Sin interfaz no hay pulsos: el timeout lo programa un
+ * {@link TimeoutScheduler} (ej: una {@link TimingWheel}), las propiedades
+ * solo cambian al iniciar, pausar y vencer, y el ejecutor de la rueda debe
+ * correr el callback en el hilo que usa el temporizador.
+ *
+ * Debe usarse desde el hilo de JavaFX (o desde ese único hilo sin interfaz).
+ *
  * Ejemplo de uso:
  * <pre>
  * TimerService timer = new TimerService();
- * 
+ *
  * // Configurar callback
  * timer.setOnTimeout(() -> {
  *     System.out.println("¡Se acabó el tiempo!");
  *     quiz.registerTimeout();
  * });
- * 
+ *
  * // Binding con UI
  * label.textProperty().bind(
  *     timer.timeSecondsProperty().asString()
  * );
  * progressBar.progressProperty().bind(timer.progressProperty());
- * 
+ *
  * // Controlar
  * timer.start();
+ * timer.pause();
+ * timer.resume();
  * timer.stop();
  * timer.restart();
  * </pre>
- * 
+ *
  * @author Angel
  * @version 1.0
  * @since 1.0
  */
 public class TimerService {
-                private static final int MAX_SECONDS = Constants.TIMER_SECONDS;
-
-                private Timeline timeline;
-                private IntegerProperty timeSeconds;
-                private DoubleProperty progress;
-                private Runnable onTimeout;
-                
-                    /**
-            * Constructor que inicializa el servicio de temporizador.
-            * 
-            * Valores iniciales:
-            * - Segundos: MAX_SECONDS
-            * - Progreso: 1.0 (100%)
-            */
-
-                public TimerService() {
-                        this.timeSeconds = new SimpleIntegerProperty(MAX_SECONDS);
-                        this.progress = new SimpleDoubleProperty(1.0);
-                }
-
-                    /**
-            * Inicia el temporizador desde el máximo de segundos.
-            * 
-            * Si hay un temporizador corriendo, lo detiene primero (thread-safe).
-            * El progreso decrece linealmente de 1.0 a 0.0.
-            */
-                    public void start() {
-                        stop(); // Detener timer anterior si existe
-
-                        timeSeconds.set(MAX_SECONDS);
-                        progress.set(1.0);
-
-                        timeline = new Timeline(
-                            new KeyFrame(Duration.seconds(1), e -> {
-                                int current = timeSeconds.get() - 1;
-                                timeSeconds.set(current);
-
-                                // Actualizar progreso (de 1.0 a 0.0)
-                                double currentProgress = (double) current / MAX_SECONDS;
-                                progress.set(currentProgress);
-
-                                // Si llegó a 0, ejecutar callback
-                                if (current <= 0) {
-                                    stop();
-                                    if (onTimeout != null) {
-                                        onTimeout.run();
-                                    }
-                                }
-                            })
-                        );
-
-                        timeline.setCycleCount(MAX_SECONDS);
-                        timeline.play();
-                    }
+    private static final int MAX_SECONDS = Constants.TIMER_SECONDS;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_NANOS = MAX_SECONDS * NANOS_PER_SECOND;
 
-                        /**
-            * Detiene el temporizador sin reiniciarlo.
-            * 
-            * Seguro llamar múltiples veces o si no hay timer corriendo.
-            */
-                    public void stop() {
-                        if (timeline != null) {
-                            timeline.stop();
-                        }
-                    }
+    private final IntegerProperty timeSeconds;
+    private final DoubleProperty progress;
+    private final LongSupplier clock;
+    private final boolean pulses;
+    private final TimeoutScheduler scheduler;  // null: vence en tick()
+    private AnimationTimer pulse;
+    private TimeoutScheduler.Timeout timeout;
+    private long generation;      // descarta vencimientos de un run anterior
+    private Runnable onTimeout;
 
-                    /**
-            * Reinicia el temporizador desde cero.
-            * 
-            * Equivale a llamar stop() seguido de start().
-            */
-                    public void restart() {
-                        start();
-                    }
+    private boolean running;
+    private boolean paused;
+    private long deadlineNanos;   // mientras corre
+    private long remainingNanos;  // mientras está en pausa
 
-                    /**
-            * Establece el callback ejecutado cuando el tiempo se acaba.
-            * 
-            * @param callback Runnable a ejecutar en timeout (puede ser null)
-            */
-                    public void setOnTimeout(Runnable callback) {
-                        this.onTimeout = callback;
-                    }
+    /**
+     * Constructor que inicializa el servicio de temporizador.
+     *
+     * Valores iniciales:
+     * - Segundos: MAX_SECONDS
+     * - Progreso: 1.0 (100%)
+     */
+    public TimerService() {
+        this(System::nanoTime, true, null);
+    }
 
-                    /**
-            * Obtiene el progreso actual del temporizador.
-            * 
-            * @return Valor de 0.0 a 1.0 (donde 1.0 es sin empezar)
-            */
-                    public double getProgress() {
-                        return progress.get();
-                    }
+    /**
+     * Constructor sin interfaz: no usa pulsos de JavaFX y el timeout lo
+     * dispara el programador de plazos (ej: {@link TimingWheel}).
+     *
+     * @param scheduler Programador del timeout
+     */
+    public TimerService(TimeoutScheduler scheduler) {
+        this(System::nanoTime, false, requireScheduler(scheduler));
+    }
 
-                    /**
-            * Obtiene los segundos restantes.
-            * 
-            * @return Segundos de 0 a MAX_SECONDS
-            */
-                    public int getTimeSeconds() {
-                        return timeSeconds.get();
-                    }
+    /**
+     * @param clock Reloj monótono en nanosegundos
+     * @param pulses Si un {@link AnimationTimer} llama a {@link #tick()} en
+     *               cada frame; sin él (tests, sin toolkit) se llama a mano
+     * @param scheduler Programador del timeout, o null para vencer en {@link #tick()}
+     */
+    TimerService(LongSupplier clock, boolean pulses, TimeoutScheduler scheduler) {
+        this.clock = clock;
+        this.pulses = pulses;
+        this.scheduler = scheduler;
+        this.timeSeconds = new SimpleIntegerProperty(MAX_SECONDS);
+        this.progress = new SimpleDoubleProperty(1.0);
+    }
 
-                    /**
-            * Property JavaFX para binding: segundos restantes.
-            * 
-            * Útil para vincular a Labels o TextFields.
-            * 
-            * @return IntegerProperty con los segundos
-            */
-                    public IntegerProperty timeSecondsProperty() {
-                        return timeSeconds;
-                    }
+    /**
+     * Inicia el temporizador desde el máximo de segundos.
+     *
+     * Si hay un temporizador corriendo, lo reinicia.
+     * El progreso decrece linealmente de 1.0 a 0.0.
+     */
+    public void start() {
+        start(MAX_SECONDS);
+    }
 
-                    /**
-            * Property JavaFX para binding: progreso del timer.
-            * 
-            * Útil para vincular a ProgressBar.
-            * Rango: 0.0 a 1.0
-            * 
-            * @return DoubleProperty con el progreso (0.0-1.0)
-            */
-                    public DoubleProperty progressProperty() {
-                        return progress;
-                    }
+    /**
+     * Inicia el temporizador desde un número de segundos dado.
+     *
+     * Útil para reanudar una pregunta con el tiempo que le quedaba.
+     * Valores fuera de rango se ajustan a 1..MAX_SECONDS.
+     *
+     * @param seconds Segundos restantes con los que empezar
+     */
+    public void start(int seconds) {
+        int from = Math.max(1, Math.min(seconds, MAX_SECONDS));
+        run(from * NANOS_PER_SECOND);
+    }
 
-                   /**
-            * Obtiene el color CSS según el tiempo restante.
-            * 
-            * Estrategia de colores:
-            * - Verde: mayor a 50%
-            * - Naranja: entre 50% y 25%
-            * - Rojo: menor a 25%
-            * 
-            * @return String con CSS válido (ej: "-fx-accent: green;")
-            */
-                    public String getProgressColor() {
-                        double p = progress.get();
-                        if (p > Constants.TIMER_PROGRESS_GREEN) {
-                            return "-fx-accent: green;";
-                        } else if (p > Constants.TIMER_PROGRESS_ORANGE) {
-                            return "-fx-accent: orange;";
-                        } else {
-                            return "-fx-accent: red;";
-                        }
+    private void run(long remaining) {
+        paused = false;
+        running = true;
+        deadlineNanos = clock.getAsLong() + remaining;
+        publish(remaining);
+        cancelTimeout();
+        long run = ++generation;
+        if (scheduler != null) {
+            timeout = scheduler.schedule(() -> expire(run), remaining, TimeUnit.NANOSECONDS);
+        }
+        if (pulses) {
+            if (pulse == null) {
+                pulse = new AnimationTimer() {
+                    @Override
+                    public void handle(long now) {
+                        tick();
                     }
+                };
+            }
+            pulse.start();
+        }
+    }
+
+    /**
+     * Actualiza el tiempo restante con el reloj y, sin programador de plazos,
+     * dispara el timeout pasada la fecha límite. Lo llama el
+     * {@link AnimationTimer} en cada frame.
+     */
+    void tick() {
+        if (!running) {
+            return;
+        }
+        long remaining = deadlineNanos - clock.getAsLong();
+        if (remaining <= 0 && scheduler == null) {
+            expire(generation);
+        } else {
+            publish(Math.max(0, remaining));
+        }
+    }
+
+    private static TimeoutScheduler requireScheduler(TimeoutScheduler scheduler) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("El programador de plazos no puede ser null");
+        }
+        return scheduler;
+    }
+
+    private void expire(long run) {
+        if (!running || run != generation) {
+            return;
+        }
+        timeout = null;
+        stop();
+        publish(0);
+        if (onTimeout != null) {
+            onTimeout.run();
+        }
+    }
+
+    private void cancelTimeout() {
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
+        }
+    }
+
+    /** Segundos mostrados redondeando hacia arriba: "30" durante el primer segundo */
+    private void publish(long remaining) {
+        progress.set((double) remaining / MAX_NANOS);
+        timeSeconds.set((int) ((remaining + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+    }
+
+    /**
+     * Detiene el temporizador sin reiniciarlo.
+     *
+     * Seguro llamar múltiples veces o si no hay timer corriendo.
+     */
+    public void stop() {
+        running = false;
+        paused = false;
+        cancelTimeout();
+        if (pulse != null) {
+            pulse.stop();
+        }
+    }
+
+    /**
+     * Congela el tiempo restante hasta {@link #resume()}.
+     * No hace nada si el temporizador no está corriendo.
+     */
+    public void pause() {
+        if (!running) {
+            return;
+        }
+        long remaining = Math.max(0, deadlineNanos - clock.getAsLong());
+        stop();
+        paused = true;
+        remainingNanos = remaining;
+        publish(remaining);
+    }
+
+    /**
+     * Continúa con el tiempo que quedaba al pausar.
+     * No hace nada si no está en pausa.
+     */
+    public void resume() {
+        if (paused) {
+            run(remainingNanos);
+        }
+    }
+
+    /**
+     * Indica si el temporizador está contando.
+     *
+     * @return true entre start/resume y stop/pause/timeout
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Indica si el temporizador está en pausa.
+     *
+     * @return true entre pause() y resume()/start()/stop()
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Reinicia el temporizador desde cero.
+     *
+     * Equivale a llamar stop() seguido de start().
+     */
+    public void restart() {
+        start();
+    }
+
+    /**
+     * Establece el callback ejecutado cuando el tiempo se acaba.
+     *
+     * @param callback Runnable a ejecutar en timeout (puede ser null)
+     */
+    public void setOnTimeout(Runnable callback) {
+        this.onTimeout = callback;
+    }
+
+    /**
+     * Obtiene el progreso actual del temporizador.
+     *
+     * @return Valor de 0.0 a 1.0 (donde 1.0 es sin empezar)
+     */
+    public double getProgress() {
+        return progress.get();
+    }
+
+    /**
+     * Obtiene los segundos restantes.
+     *
+     * @return Segundos de 0 a MAX_SECONDS
+     */
+    public int getTimeSeconds() {
+        return timeSeconds.get();
+    }
+
+    /**
+     * Property JavaFX para binding: segundos restantes.
+     *
+     * Útil para vincular a Labels o TextFields.
+     *
+     * @return IntegerProperty con los segundos
+     */
+    public IntegerProperty timeSecondsProperty() {
+        return timeSeconds;
+    }
+
+    /**
+     * Property JavaFX para binding: progreso del timer.
+     *
+     * Útil para vincular a ProgressBar.
+     * Rango: 0.0 a 1.0, actualizado en cada frame mientras corre.
+     *
+     * @return DoubleProperty con el progreso (0.0-1.0)
+     */
+    public DoubleProperty progressProperty() {
+        return progress;
+    }
 
+    /**
+     * Obtiene el color CSS según el tiempo restante.
+     *
+     * Estrategia de colores:
+     * - Verde: mayor a 50%
+     * - Naranja: entre 50% y 25%
+     * - Rojo: menor a 25%
+     *
+     * @return String con CSS válido (ej: "-fx-accent: green;")
+     */
+    public String getProgressColor() {
+        double p = progress.get();
+        if (p > Constants.TIMER_PROGRESS_GREEN) {
+            return "-fx-accent: green;";
+        } else if (p > Constants.TIMER_PROGRESS_ORANGE) {
+            return "-fx-accent: orange;";
+        } else {
+            return "-fx-accent: red;";
+        }
+    }
 }
@@ -0,0 +1,324 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.util.LoggerUtil;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Rueda de tiempo jerárquica (hashed hierarchical timing wheel) para miles
+ * de plazos sin toolkit de JavaFX.
+ *
+ * - {@value #LEVELS} niveles de {@value #WHEEL_SIZE} ranuras: el nivel 0
+ *   cubre 256 ticks, el 1 cubre 256² y así; un plazo entra en el nivel más
+ *   bajo que lo alcanza y baja de nivel (cascada) cuando su ranura llega al
+ *   frente, como los timers del kernel de Linux
+ * - Cada ranura es una lista doblemente enlazada: programar y cancelar son
+ *   O(1), y un tick solo toca su ranura (más una cascada cada 256 ticks)
+ * - Un único hilo "timeout-wheel" avanza los ticks contra
+ *   {@code System.nanoTime()} (sin acumular deriva) y entrega las tareas
+ *   vencidas al ejecutor; sin plazos pendientes se duerme hasta el próximo
+ *   {@link #schedule}
+ * - Programar y cancelar desde otros hilos solo encola el nodo; el hilo de
+ *   la rueda es el único que toca las ranuras
+ *
+ * La tarea se entrega en el primer tick que termina después de su fecha
+ * límite: el retraso es como mucho un tick más la latencia del ejecutor.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * try (TimingWheel wheel = new TimingWheel(10, TimeUnit.MILLISECONDS, executor)) {
+ *     TimeoutScheduler.Timeout t = wheel.schedule(() -&gt; quiz.registerTimeout(), 30, TimeUnit.SECONDS);
+ *     t.cancel();
+ * }
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public final class TimingWheel implements TimeoutScheduler {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(TimingWheel.class);
+
+    static final int WHEEL_BITS = 8;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    static final int LEVELS = 4;
+    private static final int MASK = WHEEL_SIZE - 1;
+    /** Plazo máximo representable en ticks; los más lejanos vuelven a subir en cada cascada */
+    private static final long MAX_SPAN = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Node.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long tickNanos;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final long startNanos;
+    private final Node[][] slots = new Node[LEVELS][WHEEL_SIZE];
+    private final Queue<Node> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Node> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread ticker;
+    private volatile boolean closed;
+    private volatile boolean idle;
+    private long currentTick;
+
+    /**
+     * Crea la rueda y arranca su hilo.
+     *
+     * @param tick Duración de un tick (resolución de los plazos)
+     * @param unit Unidad del tick
+     * @param executor Dónde se ejecutan las tareas vencidas
+     */
+    public TimingWheel(long tick, TimeUnit unit, Executor executor) {
+        this(unit.toNanos(tick), executor, System::nanoTime, true);
+    }
+
+    /**
+     * @param tickNanos Duración de un tick en nanosegundos
+     * @param executor Dónde se ejecutan las tareas vencidas
+     * @param clock Reloj monótono en nanosegundos
+     * @param thread Si se arranca el hilo; sin él (tests) se avanza con {@link #advance()}
+     */
+    TimingWheel(long tickNanos, Executor executor, LongSupplier clock, boolean thread) {
+        if (tickNanos <= 0 || executor == null) {
+            throw new IllegalArgumentException("Tick inválido o ejecutor null: " + tickNanos);
+        }
+        this.tickNanos = tickNanos;
+        this.executor = executor;
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+        if (thread) {
+            ticker = new Thread(this::run, "timeout-wheel");
+            ticker.setDaemon(true);
+            ticker.start();
+        } else {
+            ticker = null;
+        }
+    }
+
+    private final class Node implements Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+        @SuppressWarnings("unused") // se accede con STATE
+        private volatile int state;
+        private Node prev;
+        private Node next;
+        private int level = -1;
+        private int slot;
+
+        Node(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancellations.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() { return state == EXPIRED; }
+
+        @Override
+        public boolean isCancelled() { return state == CANCELLED; }
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null || unit == null) {
+            throw new IllegalArgumentException("La tarea y la unidad no pueden ser null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Rueda de tiempo cerrada");
+        }
+        long deadline = clock.getAsLong() + unit.toNanos(Math.max(0, delay)) - startNanos;
+        // Tick al final del cual la fecha límite ya pasó
+        Node node = new Node(task, Math.floorDiv(deadline + tickNanos - 1, tickNanos));
+        pending.incrementAndGet();
+        additions.add(node);
+        if (idle) {
+            LockSupport.unpark(ticker);
+        }
+        return node;
+    }
+
+    @Override
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (ticker != null) {
+            LockSupport.unpark(ticker);
+        } else {
+            discard();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            if (pending.get() == 0) {
+                drainCancellations();
+                // Rueda vacía: nada que avanzar hasta el próximo schedule().
+                // idle se publica antes de releer pending para no perder el unpark
+                idle = true;
+                if (pending.get() == 0 && !closed) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                // Las ranuras solo guardan cancelados: se saltan los ticks dormidos
+                currentTick = Math.max(currentTick, (clock.getAsLong() - startNanos) / tickNanos - 1);
+                continue;
+            }
+            long wait = startNanos + (currentTick + 1) * tickNanos - clock.getAsLong();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+            } else {
+                advance();
+            }
+        }
+        discard();
+    }
+
+    private void discard() {
+        additions.clear();
+        cancellations.clear();
+        pending.set(0);
+    }
+
+    /**
+     * Procesa el siguiente tick: incorpora los plazos nuevos, quita los
+     * cancelados, baja de nivel las ranuras que llegan al frente y entrega
+     * las tareas vencidas. Solo desde el hilo de la rueda (o en los tests).
+     */
+    void advance() {
+        drainCancellations();
+        for (Node node; (node = additions.poll()) != null; ) {
+            if (node.state == PENDING) place(node, currentTick + 1);
+        }
+        long tick = ++currentTick;
+        int index = (int) (tick & MASK);
+        if (index == 0) {
+            for (int level = 1; level < LEVELS; level++) {
+                int levelIndex = (int) ((tick >>> (WHEEL_BITS * level)) & MASK);
+                cascade(level, levelIndex);
+                if (levelIndex != 0) break;
+            }
+        }
+        Node node = slots[0][index];
+        slots[0][index] = null;
+        while (node != null) {
+            Node next = node.next;
+            node.prev = node.next = null;
+            node.level = -1;
+            if (node.deadlineTick > tick) {
+                place(node, tick + 1);
+            } else if (STATE.compareAndSet(node, PENDING, EXPIRED)) {
+                pending.decrementAndGet();
+                try {
+                    executor.execute(node.task);
+                } catch (RejectedExecutionException e) {
+                    LOGGER.warning("Ejecutor rechazó un plazo vencido: " + e.getMessage());
+                }
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Avanza hasta una marca de tiempo del reloj (tests sin hilo).
+     *
+     * @param nowNanos Lectura del reloj
+     */
+    void advanceTo(long nowNanos) {
+        while (startNanos + (currentTick + 1) * tickNanos <= nowNanos) {
+            advance();
+        }
+    }
+
+    private void drainCancellations() {
+        for (Node node; (node = cancellations.poll()) != null; ) {
+            if (node.level >= 0) unlink(node);
+        }
+    }
+
+    /**
+     * Pone el nodo en el nivel más bajo cuyo alcance cubre su plazo.
+     *
+     * @param minTick Primer tick que todavía se va a procesar
+     */
+    private void place(Node node, long minTick) {
+        long deadline = Math.max(node.deadlineTick, minTick);
+        long delta = Math.min(deadline - currentTick, MAX_SPAN);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (((currentTick + delta) >>> (WHEEL_BITS * level)) & MASK);
+        node.level = level;
+        node.slot = slot;
+        node.prev = null;
+        node.next = slots[level][slot];
+        if (node.next != null) node.next.prev = node;
+        slots[level][slot] = node;
+    }
+
+    /**
+     * Reubica los nodos de una ranura alta relativos al tick actual (bajan de
+     * nivel); los que vencen en este mismo tick caen en la ranura 0 que se
+     * procesa a continuación.
+     */
+    private void cascade(int level, int index) {
+        Node node = slots[level][index];
+        slots[level][index] = null;
+        while (node != null) {
+            Node next = node.next;
+            node.prev = node.next = null;
+            if (node.state == PENDING) {
+                place(node, currentTick);
+            } else {
+                node.level = -1;
+            }
+            node = next;
+        }
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            slots[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) node.next.prev = node.prev;
+        node.prev = node.next = null;
+        node.level = -1;
+    }
+}
@@ -14,6 +14,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
@@ -25,6 +27,10 @@ import java.util.logging.Logger;
  * - Cargar datos de quiz para tópicos específicos
  * - Validar selecciones de usuario
  * 
+ * Los bancos cargados se conservan en memoria: la aplicación comparte una
+ * instancia ({@link ServiceContainer}), así que un tema se lee del JSON una
+ * sola vez aunque se vuelva al menú. Los bancos devueltos no deben modificarse.
+ * 
  * Ejemplo de uso:
  * <pre>
  * TopicService topicService = new TopicService();
@@ -45,6 +51,8 @@ public class TopicService {
     
     private static final Logger LOGGER = LoggerUtil.getLogger(TopicService.class);
     
+    private final Map<String, QuizData> loaded = new ConcurrentHashMap<>();
+    
     /**
      * Descubre y retorna todos los tópicos disponibles.
      * 
@@ -127,7 +135,11 @@ public class TopicService {
             }
             
             try {
-                QuizData data = QuizLoader.loadQuizData(topicName);
+                QuizData data = loaded.get(topicName);
+                if (data == null) {
+                    data = QuizLoader.loadQuizData(topicName);
+                    loaded.put(topicName, data);
+                }
                 quizDataList.add(data);
                 successCount++;
                 
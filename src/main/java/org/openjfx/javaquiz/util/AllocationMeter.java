@@ -0,0 +1,89 @@
+package org.openjfx.javaquiz.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Mide cuántos bytes asigna el hilo actual en un tramo de código.
+ *
+ * Usa el contador por hilo de la JVM ({@code getCurrentThreadAllocatedBytes}),
+ * que no asigna memoria al leerse, así que medir no altera lo medido. Si la
+ * JVM no ofrece el contador, {@link #isSupported()} es false y las
+ * mediciones se ignoran.
+ *
+ * Acumula número de mediciones, total y máximo para informar la media.
+ * Pensado para un solo hilo (ej: el de JavaFX).
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * AllocationMeter perQuestion = new AllocationMeter();
+ * long start = AllocationMeter.currentThreadBytes();
+ * updateUI();
+ * perQuestion.recordSince(start);
+ * LOGGER.info("Media: " + perQuestion.getMeanBytes() + " bytes");
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private long count;
+    private long totalBytes;
+    private long maxBytes;
+
+    private static com.sun.management.ThreadMXBean threads() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            sun.setThreadAllocatedMemoryEnabled(true);
+            return sun;
+        }
+        return null;
+    }
+
+    /**
+     * @return true si la JVM permite medir asignaciones por hilo
+     */
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Bytes asignados por el hilo actual desde que empezó.
+     *
+     * @return Contador acumulado, o -1 si no se puede medir
+     */
+    public static long currentThreadBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Registra lo asignado desde una lectura de {@link #currentThreadBytes()}
+     * en el mismo hilo.
+     *
+     * @param startBytes Lectura al inicio del tramo
+     */
+    public void recordSince(long startBytes) {
+        if (startBytes < 0) {
+            return;
+        }
+        long bytes = currentThreadBytes() - startBytes;
+        count++;
+        totalBytes += bytes;
+        maxBytes = Math.max(maxBytes, bytes);
+    }
+
+    public long getCount() { return count; }
+
+    public long getMaxBytes() { return maxBytes; }
+
+    /**
+     * @return Bytes por medición en promedio (0 sin mediciones)
+     */
+    public long getMeanBytes() {
+        return count == 0 ? 0 : totalBytes / count;
+    }
+}
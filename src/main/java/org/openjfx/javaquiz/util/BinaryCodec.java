@@ -0,0 +1,210 @@
+package org.openjfx.javaquiz.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Utilidades de codificación binaria compacta para los archivos locales.
+ *
+ * Usa el formato varint (7 bits por byte, bit alto = "hay más bytes")
+ * y ZigZag para enteros con signo, de modo que los valores pequeños
+ * ocupan un solo byte.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * BinaryCodec.writeVarInt(out, 300);   // 2 bytes
+ * int value = BinaryCodec.readVarInt(in);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class BinaryCodec {
+
+    private BinaryCodec() {
+        throw new AssertionError("Esta clase no debe ser instanciada");
+    }
+
+    /**
+     * Escribe un entero sin signo en formato varint.
+     *
+     * @param out Destino
+     * @param value Valor (se interpreta como sin signo)
+     * @throws IOException Si falla la escritura
+     */
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Lee un entero en formato varint.
+     *
+     * @param in Origen
+     * @return Valor leído
+     * @throws IOException Si el varint está corrupto o falla la lectura
+     */
+    public static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint corrupto");
+    }
+
+    /**
+     * Escribe un long sin signo en formato varint.
+     *
+     * @param out Destino
+     * @param value Valor (se interpreta como sin signo)
+     * @throws IOException Si falla la escritura
+     */
+    public static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Lee un long en formato varint.
+     *
+     * @param in Origen
+     * @return Valor leído
+     * @throws IOException Si el varint está corrupto o falla la lectura
+     */
+    public static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint corrupto");
+    }
+
+    /**
+     * Escribe un varint en un ByteBuffer (sin validar capacidad).
+     *
+     * @param buffer Destino
+     * @param value Valor sin signo
+     */
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Lee un varint desde un ByteBuffer.
+     *
+     * @param buffer Origen
+     * @return Valor leído
+     */
+    public static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = buffer.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Varint corrupto");
+    }
+
+    /**
+     * Lee un varlong desde un ByteBuffer.
+     *
+     * @param buffer Origen
+     * @return Valor leído
+     */
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = buffer.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Varlong corrupto");
+    }
+
+    /**
+     * Codifica un entero con signo en ZigZag (valores pequeños negativos → pocos bytes).
+     *
+     * @param value Valor con signo
+     * @return Valor sin signo equivalente
+     */
+    public static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Decodifica un valor ZigZag.
+     *
+     * @param value Valor codificado
+     * @return Valor con signo original
+     */
+    public static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Codifica un long con signo en ZigZag.
+     *
+     * @param value Valor con signo
+     * @return Valor sin signo equivalente
+     */
+    public static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decodifica un long ZigZag.
+     *
+     * @param value Valor codificado
+     * @return Valor con signo original
+     */
+    public static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Lee de un canal desde una posición hasta llenar el buffer o llegar al
+     * final del archivo. Un solo {@code FileChannel.read} puede leer menos
+     * bytes de los pedidos.
+     *
+     * @param channel Canal de origen
+     * @param dst Buffer destino (se llena desde su posición actual)
+     * @param position Posición del archivo donde empezar
+     * @return Bytes leídos (menos que los pedidos solo si se llegó al final)
+     * @throws IOException Si falla la lectura
+     */
+    public static int readFully(FileChannel channel, ByteBuffer dst, long position) throws IOException {
+        int read = 0;
+        while (dst.hasRemaining()) {
+            int n = channel.read(dst, position + read);
+            if (n < 0) break;
+            read += n;
+        }
+        return read;
+    }
+}
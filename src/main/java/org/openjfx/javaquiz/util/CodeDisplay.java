@@ -3,26 +3,29 @@ package org.openjfx.javaquiz.util;
 import org.fxmisc.richtext.CodeArea;
 import org.fxmisc.richtext.model.StyleSpans;
 import org.fxmisc.richtext.model.StyleSpansBuilder;
+import javafx.application.Platform;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
- * Utilidad para crear áreas de código con syntax highlighting de Java.
+ * Utilidad para crear áreas de código con syntax highlighting de Java y de
+ * los demás lenguajes de {@link LanguageRegistry} (SQL, JavaScript, XML, shell).
  * 
  * Utiliza RichTextFX para mostrar código con colores según sintaxis.
  * El código es de solo lectura (no editable) y aplica estilos CSS automáticamente.
  * 
  * Características:
- * - Highlighting de palabras clave de Java
+ * - Highlighting de palabras clave, literales, cadenas, comentarios,
+ *   anotaciones y números con el {@link CodeLexer} de cada lenguaje
+ * - Estilos cacheados por lenguaje y contenido (LRU) y calculables fuera del hilo de JavaFX
  * - Área no editable (solo visualización)
  * - Estilos CSS personalizados desde archivo externo
  * - Resaltado automático al crear el área
  * 
- * Palabras clave soportadas:
- * - class, public, private, void, static
- * 
  * Ejemplo de uso:
  * <pre>
  * String javaCode = """
@@ -35,6 +38,9 @@ import java.util.regex.Pattern;
  * 
  * CodeArea codeArea = CodeDisplay.createCodeArea(javaCode);
  * VBox container = new VBox(codeArea);
+ * 
+ * // Desde el hilo de JavaFX, sin analizar el código en él
+ * CodeArea lazy = CodeDisplay.createCodeArea(javaCode, "java", services.getExecutor());
  * </pre>
  * 
  * @author Angel
@@ -44,6 +50,20 @@ import java.util.regex.Pattern;
  */
 public class CodeDisplay {
     
+    /** Fragmentos de código cuyos estilos se conservan */
+    static final int CACHE_SIZE = 256;
+    
+    /** Un mismo texto puede resaltarse distinto según el lenguaje */
+    private record Key(String language, String code) { }
+    
+    private static final Map<Key, StyleSpans<Collection<String>>> CACHE =
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, StyleSpans<Collection<String>>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    
     /**
      * Crea un CodeArea configurado con syntax highlighting de Java.
      * 
@@ -61,6 +81,40 @@ public class CodeDisplay {
      * scrollPane.setContent(display);
      */
     public static CodeArea createCodeArea(String code) {
+        CodeArea codeArea = newCodeArea(code);
+        codeArea.setStyleSpans(0, computeHighlighting(code));
+        return codeArea;
+    }
+    
+    /**
+     * Crea un CodeArea cuyo resaltado se calcula fuera del hilo de JavaFX.
+     *
+     * Si los estilos del fragmento ya están en caché se aplican de inmediato;
+     * si no, el área se muestra primero con el texto plano y los colores
+     * llegan en cuanto el ejecutor termina, sin bloquear el clic que la abrió.
+     *
+     * @param code Código a mostrar
+     * @param language Lenguaje del código (ver {@link LanguageRegistry})
+     * @param executor Ejecutor en segundo plano (ej: {@code services.getExecutor()})
+     * @return CodeArea con el texto ya cargado
+     */
+    public static CodeArea createCodeArea(String code, String language, Executor executor) {
+        CodeArea codeArea = newCodeArea(code);
+        CompletableFuture<StyleSpans<Collection<String>>> spans = highlight(code, language, executor);
+        StyleSpans<Collection<String>> ready = spans.getNow(null);
+        if (ready != null) {
+            codeArea.setStyleSpans(0, ready);
+        } else {
+            spans.thenAccept(computed -> Platform.runLater(() -> {
+                if (codeArea.getLength() == computed.length()) {
+                    codeArea.setStyleSpans(0, computed);
+                }
+            }));
+        }
+        return codeArea;
+    }
+    
+    static CodeArea newCodeArea(String code) {
         CodeArea codeArea = new CodeArea();
         
         codeArea.setEditable(false);
@@ -68,37 +122,80 @@ public class CodeDisplay {
         codeArea.getStylesheets().add(
             CodeDisplay.class.getResource("/org/openjfx/javaquiz/css/javaCodePane.css").toExternalForm()
         );
-        codeArea.setStyleSpans(0, computeHighlighting(code));
-        
         return codeArea;
     }
     
+    /**
+     * Estilos de un fragmento, tomados de la caché o calculados con el
+     * ejecutor. Llamarlo al mostrar una pregunta deja los estilos listos
+     * antes de que se pulse "Ver Código".
+     *
+     * @param code Código
+     * @param language Lenguaje del código
+     * @param executor Ejecutor en segundo plano
+     * @return Futuro ya completo si el fragmento estaba en caché
+     */
+    public static CompletableFuture<StyleSpans<Collection<String>>> highlight(String code, String language,
+                                                                              Executor executor) {
+        String canonical = LanguageRegistry.canonical(language);
+        StyleSpans<Collection<String>> cached;
+        synchronized (CACHE) {
+            cached = CACHE.get(new Key(canonical, code));
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> computeHighlighting(code, canonical), executor);
+    }
+    
     /**
      * Calcula los estilos de resaltado de sintaxis para el código Java.
      * 
-     * Busca palabras clave mediante expresiones regulares y crea spans de estilo.
-     * Las palabras clave se marcan con la clase CSS "keyword".
-     * 
      * @param text Código Java a analizar
      * @return StyleSpans con las posiciones y estilos aplicables
      */
-    private static StyleSpans<Collection<String>> computeHighlighting(String text) {
-        String[] KEYWORDS = new String[]{"class", "public", "private", "void", "static"};
-        String KEYWORD_PATTERN = "\\b(" + String.join("|", KEYWORDS) + ")\\b";
-        
-        Pattern pattern = Pattern.compile(KEYWORD_PATTERN);
-        Matcher matcher = pattern.matcher(text);
-        
+    public static StyleSpans<Collection<String>> computeHighlighting(String text) {
+        return computeHighlighting(text, LanguageRegistry.JAVA);
+    }
+    
+    /**
+     * Calcula los estilos de resaltado de sintaxis de un fragmento.
+     * 
+     * Usa el {@link CodeLexer} del lenguaje (una sola pasada, sin
+     * expresiones regulares) y marca cada token con su clase CSS: "keyword",
+     * "literal", "string", "comment", "annotation" y "number". El resultado
+     * se guarda en una caché LRU de {@value #CACHE_SIZE} fragmentos indexada
+     * por lenguaje y contenido, así que volver a una pregunta no vuelve a
+     * analizar su código.
+     * 
+     * @param text Código a analizar
+     * @param language Lenguaje (null o desconocido: Java)
+     * @return StyleSpans con las posiciones y estilos aplicables
+     */
+    public static StyleSpans<Collection<String>> computeHighlighting(String text, String language) {
+        Key key = new Key(LanguageRegistry.canonical(language), text);
+        synchronized (CACHE) {
+            StyleSpans<Collection<String>> cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
         StyleSpansBuilder<Collection<String>> spansBuilder = new StyleSpansBuilder<>();
-        int lastKwEnd = 0;
+        int[] lastEnd = {0};
         
-        while (matcher.find()) {
-            spansBuilder.add(Collections.emptyList(), matcher.start() - lastKwEnd);
-            spansBuilder.add(Collections.singleton("keyword"), matcher.end() - matcher.start());
-            lastKwEnd = matcher.end();
-        }
+        LanguageRegistry.lexer(key.language()).lex(text, (token, start, end) -> {
+            if (start > lastEnd[0]) {
+                spansBuilder.add(Collections.emptyList(), start - lastEnd[0]);
+            }
+            spansBuilder.add(token.styles(), end - start);
+            lastEnd[0] = end;
+        });
         
-        spansBuilder.add(Collections.emptyList(), text.length() - lastKwEnd);
-        return spansBuilder.create();
+        spansBuilder.add(Collections.emptyList(), text.length() - lastEnd[0]);
+        StyleSpans<Collection<String>> spans = spansBuilder.create();
+        synchronized (CACHE) {
+            CACHE.put(key, spans);
+        }
+        return spans;
     }
-}
\ No newline at end of file
+}
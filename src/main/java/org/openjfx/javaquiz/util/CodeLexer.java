@@ -0,0 +1,76 @@
+package org.openjfx.javaquiz.util;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Analizador léxico para resaltado de sintaxis de un lenguaje.
+ *
+ * Recorre el texto una sola vez y entrega cada token con estilo como un
+ * rango {@code [inicio, fin)}, en orden y sin solaparse; lo que no se
+ * entrega se muestra sin estilo. Las implementaciones no guardan estado
+ * entre llamadas, así que una misma instancia se comparte entre fragmentos
+ * e hilos.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * CodeLexer lexer = LanguageRegistry.lexer("sql");
+ * lexer.lex("SELECT * FROM t -- todo", (token, start, end) -&gt;
+ *     System.out.println(token + " " + start + "-" + end));
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ * @see LanguageRegistry
+ */
+@FunctionalInterface
+public interface CodeLexer {
+
+    /**
+     * Clase de token, con la clase CSS que le corresponde en
+     * {@code javaCodePane.css}.
+     */
+    enum Token {
+        /** Palabra clave; en XML, nombre de etiqueta */
+        KEYWORD("keyword"),
+        /** true/false/null y equivalentes; en XML, entidades {@code &amp;} */
+        LITERAL("literal"),
+        STRING("string"),
+        COMMENT("comment"),
+        /** Anotación Java; variable de shell o SQL; atributo XML */
+        ANNOTATION("annotation"),
+        NUMBER("number");
+
+        private final Collection<String> styles;
+
+        Token(String styleClass) {
+            this.styles = Collections.singletonList(styleClass);
+        }
+
+        /**
+         * Estilo CSS del token, compartido entre todos los spans.
+         *
+         * @return Colección inmutable con la clase CSS
+         */
+        public Collection<String> styles() {
+            return styles;
+        }
+    }
+
+    /**
+     * Receptor de los tokens encontrados, en orden y sin solaparse.
+     */
+    @FunctionalInterface
+    interface TokenSink {
+        void token(Token token, int start, int end);
+    }
+
+    /**
+     * Recorre el texto y entrega sus tokens con estilo.
+     *
+     * @param text Código (null se trata como vacío)
+     * @param sink Receptor de cada token
+     */
+    void lex(String text, TokenSink sink);
+}
@@ -0,0 +1,107 @@
+package org.openjfx.javaquiz.util;
+
+import javafx.application.Platform;
+import javafx.scene.layout.AnchorPane;
+import org.fxmisc.richtext.CodeArea;
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.util.UndoUtils;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Panel de código persistente: un único {@link CodeArea} que se reutiliza
+ * para todas las preguntas de un quiz.
+ *
+ * - El área, su hoja de estilos y sus anclas se crean una sola vez, la
+ *   primera vez que se muestra código
+ * - Al cambiar de pregunta solo se reemplazan el texto y los estilos; volver
+ *   a mostrar el mismo fragmento no hace nada
+ * - Los estilos salen de la caché LRU de {@link CodeDisplay}, así que las
+ *   preguntas recientes no se vuelven a analizar
+ * - El área no guarda historial de deshacer (es de solo lectura), para que
+ *   cambiar de texto no acumule basura
+ *
+ * Debe usarse desde el hilo de JavaFX.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * CodePanel panel = new CodePanel(codePane);
+ * panel.show(q.getCode(), LanguageRegistry.languageOf(q), services.getExecutor());
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class CodePanel {
+
+    private final AnchorPane container;
+    private CodeArea codeArea;
+    private String shownCode;
+    private String shownLanguage;
+
+    /**
+     * @param container Panel donde se ancla el área de código
+     */
+    public CodePanel(AnchorPane container) {
+        if (container == null) {
+            throw new IllegalArgumentException("El panel de código no puede ser null");
+        }
+        this.container = container;
+    }
+
+    /**
+     * Muestra un fragmento en el área, creándola si es la primera vez.
+     *
+     * Si los estilos no están en caché el texto aparece de inmediato y los
+     * colores llegan cuando el ejecutor termina, salvo que para entonces se
+     * muestre otro fragmento.
+     *
+     * @param code Código a mostrar
+     * @param language Lenguaje del código (ver {@link LanguageRegistry})
+     * @param executor Ejecutor en segundo plano para calcular los estilos
+     */
+    public void show(String code, String language, Executor executor) {
+        String canonical = LanguageRegistry.canonical(language);
+        if (codeArea == null) {
+            codeArea = CodeDisplay.newCodeArea("");
+            codeArea.setUndoManager(UndoUtils.noOpUndoManager());
+            AnchorPane.setTopAnchor(codeArea, 0.0);
+            AnchorPane.setLeftAnchor(codeArea, 0.0);
+            AnchorPane.setRightAnchor(codeArea, 0.0);
+            AnchorPane.setBottomAnchor(codeArea, 0.0);
+            container.getChildren().setAll(codeArea);
+        }
+        if (code.equals(shownCode) && canonical.equals(shownLanguage)) {
+            return;
+        }
+        shownCode = code;
+        shownLanguage = canonical;
+        codeArea.replaceText(code);
+        codeArea.moveTo(0);
+        codeArea.requestFollowCaret();
+
+        CompletableFuture<StyleSpans<Collection<String>>> spans = CodeDisplay.highlight(code, canonical, executor);
+        StyleSpans<Collection<String>> ready = spans.getNow(null);
+        if (ready != null) {
+            codeArea.setStyleSpans(0, ready);
+        } else {
+            spans.thenAccept(computed -> Platform.runLater(() -> {
+                if (code.equals(shownCode) && canonical.equals(shownLanguage)) {
+                    codeArea.setStyleSpans(0, computed);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Área de código en uso.
+     *
+     * @return CodeArea, o null si todavía no se mostró código
+     */
+    public CodeArea getCodeArea() {
+        return codeArea;
+    }
+}
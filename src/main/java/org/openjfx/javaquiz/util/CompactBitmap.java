@@ -0,0 +1,555 @@
+package org.openjfx.javaquiz.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conjunto de enteros no negativos comprimido al estilo Roaring.
+ *
+ * Los valores se reparten en contenedores según sus 16 bits altos; cada
+ * contenedor guarda los 16 bits bajos de una de dos formas:
+ * - Arreglo ordenado de {@code char} mientras tenga hasta 4096 valores
+ * - Mapa de 65536 bits (8 KB) cuando tiene más
+ *
+ * Al serializar, un contenedor se escribe como lista de rachas
+ * {@code [inicio, largo]} si así ocupa menos: un banco visto completo
+ * (0..n-1) ocupa unos pocos bytes.
+ *
+ * Las intersecciones y diferencias ({@link #and}, {@link #andNot}) trabajan
+ * contenedor por contenedor, y {@link #select(int)} obtiene el k-ésimo valor
+ * sin recorrer el conjunto completo, de modo que se puede muestrear de un
+ * resultado sin convertirlo en lista.
+ *
+ * No es thread-safe: sincronizar externamente si se comparte.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * CompactBitmap seen = new CompactBitmap();
+ * seen.add(42);
+ * seen.or(otherDevice);
+ * seen.writeTo(out);
+ *
+ * CompactBitmap candidates = oop.and(withCode).andNot(recent);
+ * int pick = candidates.select(random.nextInt(candidates.cardinality()));
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class CompactBitmap {
+
+    /** Máximo de valores de un contenedor en forma de arreglo */
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1024;
+    private static final byte TYPE_ARRAY = 0;
+    private static final byte TYPE_BITMAP = 1;
+    private static final byte TYPE_RUNS = 2;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+
+    /**
+     * Contenedor de los 16 bits bajos: arreglo ordenado o mapa de bits.
+     */
+    private static final class Container {
+        char[] array;
+        long[] bits;
+        int cardinality;
+
+        static Container empty() {
+            Container c = new Container();
+            c.array = new char[4];
+            return c;
+        }
+
+        Container copy() {
+            Container c = new Container();
+            c.array = array != null ? array.clone() : null;
+            c.bits = bits != null ? bits.clone() : null;
+            c.cardinality = cardinality;
+            return c;
+        }
+
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] = before | (1L << low);
+                if (before == bits[low >>> 6]) return false;
+                cardinality++;
+                return true;
+            }
+            int at = Arrays.binarySearch(array, 0, cardinality, low);
+            if (at >= 0) return false;
+            at = -at - 1;
+            if (cardinality == ARRAY_MAX) {
+                toBitmap();
+                return add(low);
+            }
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, array.length * 2));
+            }
+            System.arraycopy(array, at, array, at + 1, cardinality - at);
+            array[at] = low;
+            cardinality++;
+            return true;
+        }
+
+        /** Contenedor a partir de un mapa de bits, en la forma que corresponda */
+        static Container fromWords(long[] words) {
+            Container c = new Container();
+            for (long word : words) {
+                c.cardinality += Long.bitCount(word);
+            }
+            if (c.cardinality > ARRAY_MAX) {
+                c.bits = words;
+                return c;
+            }
+            c.array = new char[Math.max(4, c.cardinality)];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    c.array[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return c;
+        }
+
+        long[] words() {
+            if (bits != null) return bits;
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[array[i] >>> 6] |= 1L << array[i];
+            }
+            return words;
+        }
+
+        Container and(Container other) {
+            if (bits == null || other.bits == null) {
+                Container small = bits == null ? this : other;
+                Container large = small == this ? other : this;
+                Container c = Container.empty();
+                for (int i = 0; i < small.cardinality; i++) {
+                    if (large.contains(small.array[i])) c.add(small.array[i]);
+                }
+                return c;
+            }
+            long[] words = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] = bits[w] & other.bits[w];
+            }
+            return fromWords(words);
+        }
+
+        Container andNot(Container other) {
+            if (bits == null) {
+                Container c = Container.empty();
+                for (int i = 0; i < cardinality; i++) {
+                    if (!other.contains(array[i])) c.add(array[i]);
+                }
+                return c;
+            }
+            long[] otherWords = other.words();
+            long[] words = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] = bits[w] & ~otherWords[w];
+            }
+            return fromWords(words);
+        }
+
+        /** Valor en la posición {@code rank} (0 = menor) */
+        int select(int rank) {
+            if (bits == null) return array[rank];
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                int count = Long.bitCount(bits[w]);
+                if (rank < count) {
+                    long word = bits[w];
+                    for (int i = 0; i < rank; i++) {
+                        word &= word - 1;
+                    }
+                    return (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+                rank -= count;
+            }
+            throw new IllegalStateException("Rango fuera del contenedor");
+        }
+
+        void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bits[array[i] >>> 6] |= 1L << array[i];
+            }
+            array = null;
+        }
+
+        void or(Container other) {
+            if (other.bits == null) {
+                for (int i = 0; i < other.cardinality; i++) {
+                    add(other.array[i]);
+                }
+                return;
+            }
+            if (bits == null) {
+                toBitmap();
+            }
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                bits[w] |= other.bits[w];
+                count += Long.bitCount(bits[w]);
+            }
+            cardinality = count;
+        }
+
+        /** Número de rachas de valores consecutivos */
+        int runCount() {
+            int runs = 0;
+            int previous = -2;
+            for (int v = nextValue(0); v >= 0; v = nextValue(v + 1)) {
+                if (v != previous + 1) runs++;
+                previous = v;
+            }
+            return runs;
+        }
+
+        /** Menor valor mayor o igual a {@code from}, o -1 */
+        int nextValue(int from) {
+            if (from > 0xFFFF) return -1;
+            if (bits == null) {
+                int at = Arrays.binarySearch(array, 0, cardinality, (char) from);
+                if (at < 0) at = -at - 1;
+                return at < cardinality ? array[at] : -1;
+            }
+            int w = from >>> 6;
+            long word = bits[w] & (-1L << from);
+            while (true) {
+                if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+                if (++w == BITMAP_WORDS) return -1;
+                word = bits[w];
+            }
+        }
+    }
+
+    /**
+     * Agrega un valor.
+     *
+     * @param value Valor no negativo
+     * @return true si no estaba
+     */
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valor negativo: " + value);
+        }
+        char high = (char) (value >>> 16);
+        int at = Arrays.binarySearch(keys, high);
+        if (at < 0) {
+            at = -at - 1;
+            keys = insert(keys, at, high);
+            containers = insert(containers, at, Container.empty());
+        }
+        return containers[at].add((char) value);
+    }
+
+    /**
+     * Indica si el valor está en el conjunto.
+     *
+     * @param value Valor
+     * @return true si está
+     */
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int at = Arrays.binarySearch(keys, (char) (value >>> 16));
+        return at >= 0 && containers[at].contains((char) value);
+    }
+
+    /**
+     * Agrega todos los valores de otro conjunto (unión en el lugar).
+     *
+     * @param other Conjunto a combinar (no se modifica)
+     */
+    public void or(CompactBitmap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            int at = Arrays.binarySearch(keys, other.keys[i]);
+            if (at >= 0) {
+                containers[at].or(other.containers[i]);
+            } else {
+                at = -at - 1;
+                keys = insert(keys, at, other.keys[i]);
+                containers = insert(containers, at, other.containers[i].copy());
+            }
+        }
+    }
+
+    /**
+     * Intersección con otro conjunto. Ninguno de los dos se modifica.
+     *
+     * @param other Conjunto a intersecar
+     * @return Nuevo conjunto con los valores presentes en ambos
+     */
+    public CompactBitmap and(CompactBitmap other) {
+        CompactBitmap result = new CompactBitmap();
+        List<Character> resultKeys = new ArrayList<>();
+        List<Container> resultContainers = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container c = containers[i].and(other.containers[j]);
+                if (c.cardinality > 0) {
+                    resultKeys.add(keys[i]);
+                    resultContainers.add(c);
+                }
+                i++;
+                j++;
+            }
+        }
+        result.set(resultKeys, resultContainers);
+        return result;
+    }
+
+    /**
+     * Diferencia con otro conjunto. Ninguno de los dos se modifica.
+     *
+     * @param other Conjunto a restar
+     * @return Nuevo conjunto con los valores de este que no están en {@code other}
+     */
+    public CompactBitmap andNot(CompactBitmap other) {
+        CompactBitmap result = new CompactBitmap();
+        List<Character> resultKeys = new ArrayList<>();
+        List<Container> resultContainers = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            int at = Arrays.binarySearch(other.keys, keys[i]);
+            Container c = at >= 0 ? containers[i].andNot(other.containers[at]) : containers[i].copy();
+            if (c.cardinality > 0) {
+                resultKeys.add(keys[i]);
+                resultContainers.add(c);
+            }
+        }
+        result.set(resultKeys, resultContainers);
+        return result;
+    }
+
+    /**
+     * Valor en la posición dada del conjunto ordenado.
+     *
+     * @param rank Posición entre 0 y {@code cardinality() - 1}
+     * @return El valor número {@code rank} (0 = el menor)
+     */
+    public int select(int rank) {
+        if (rank < 0) {
+            throw new IndexOutOfBoundsException("Rango negativo: " + rank);
+        }
+        for (int i = 0; i < containers.length; i++) {
+            if (rank < containers[i].cardinality) {
+                return (keys[i] << 16) | containers[i].select(rank);
+            }
+            rank -= containers[i].cardinality;
+        }
+        throw new IndexOutOfBoundsException("Rango fuera del conjunto");
+    }
+
+    /**
+     * Conjunto con todos los valores de 0 a {@code size - 1}.
+     *
+     * @param size Número de valores
+     * @return Nuevo conjunto
+     */
+    public static CompactBitmap range(int size) {
+        CompactBitmap result = new CompactBitmap();
+        List<Character> resultKeys = new ArrayList<>();
+        List<Container> resultContainers = new ArrayList<>();
+        for (int start = 0; start < size; start += 0x10000) {
+            int count = Math.min(0x10000, size - start);
+            long[] words = new long[BITMAP_WORDS];
+            for (int w = 0; w < count >>> 6; w++) {
+                words[w] = -1L;
+            }
+            if ((count & 63) != 0) {
+                words[count >>> 6] = (1L << count) - 1;
+            }
+            resultKeys.add((char) (start >>> 16));
+            resultContainers.add(Container.fromWords(words));
+        }
+        result.set(resultKeys, resultContainers);
+        return result;
+    }
+
+    private void set(List<Character> newKeys, List<Container> newContainers) {
+        keys = new char[newKeys.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = newKeys.get(i);
+        }
+        containers = newContainers.toArray(new Container[0]);
+    }
+
+    /**
+     * Número de valores.
+     *
+     * @return Cardinalidad
+     */
+    public int cardinality() {
+        int total = 0;
+        for (Container c : containers) {
+            total += c.cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+    /**
+     * Copia independiente.
+     *
+     * @return Nuevo conjunto con los mismos valores
+     */
+    public CompactBitmap copy() {
+        CompactBitmap copy = new CompactBitmap();
+        copy.keys = keys.clone();
+        copy.containers = new Container[containers.length];
+        for (int i = 0; i < containers.length; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        return copy;
+    }
+
+    // ========== SERIALIZACIÓN ==========
+
+    /**
+     * Escribe el conjunto; cada contenedor en su forma más compacta
+     * (arreglo, mapa de bits o rachas).
+     *
+     * @param out Destino
+     * @throws IOException Si falla la escritura
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        BinaryCodec.writeVarInt(out, keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            Container c = containers[i];
+            out.writeChar(keys[i]);
+            int runs = c.runCount();
+            int arrayBytes = 2 * c.cardinality;
+            int bitmapBytes = 8 * BITMAP_WORDS;
+            if (4 * runs < Math.min(arrayBytes, bitmapBytes)) {
+                out.writeByte(TYPE_RUNS);
+                BinaryCodec.writeVarInt(out, runs);
+                int start = c.nextValue(0);
+                while (start >= 0) {
+                    int end = start;
+                    int next = c.nextValue(end + 1);
+                    while (next == end + 1) {
+                        end = next;
+                        next = c.nextValue(end + 1);
+                    }
+                    out.writeChar(start);
+                    out.writeChar(end - start);
+                    start = next;
+                }
+            } else if (c.bits == null) {
+                out.writeByte(TYPE_ARRAY);
+                BinaryCodec.writeVarInt(out, c.cardinality);
+                for (int j = 0; j < c.cardinality; j++) {
+                    out.writeChar(c.array[j]);
+                }
+            } else {
+                out.writeByte(TYPE_BITMAP);
+                for (long word : c.bits) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lee un conjunto escrito con {@link #writeTo(DataOutput)}.
+     *
+     * @param in Origen
+     * @return Conjunto leído
+     * @throws IOException Si los datos están truncados o son inválidos
+     */
+    public static CompactBitmap readFrom(DataInput in) throws IOException {
+        int count = BinaryCodec.readVarInt(in);
+        if (count > 0x10000) {
+            throw new IOException("Bitmap inválido: " + count + " contenedores");
+        }
+        CompactBitmap bitmap = new CompactBitmap();
+        bitmap.keys = new char[count];
+        bitmap.containers = new Container[count];
+        for (int i = 0; i < count; i++) {
+            bitmap.keys[i] = in.readChar();
+            if (i > 0 && bitmap.keys[i] <= bitmap.keys[i - 1]) {
+                throw new IOException("Bitmap inválido: claves desordenadas");
+            }
+            Container c = new Container();
+            byte type = in.readByte();
+            switch (type) {
+                case TYPE_ARRAY -> {
+                    int cardinality = BinaryCodec.readVarInt(in);
+                    if (cardinality > ARRAY_MAX) {
+                        throw new IOException("Bitmap inválido: arreglo de " + cardinality);
+                    }
+                    c.array = new char[Math.max(4, cardinality)];
+                    for (int j = 0; j < cardinality; j++) {
+                        c.array[j] = in.readChar();
+                    }
+                    c.cardinality = cardinality;
+                }
+                case TYPE_BITMAP -> {
+                    c.bits = new long[BITMAP_WORDS];
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        c.bits[w] = in.readLong();
+                        c.cardinality += Long.bitCount(c.bits[w]);
+                    }
+                }
+                case TYPE_RUNS -> {
+                    int runs = BinaryCodec.readVarInt(in);
+                    c.array = new char[4];
+                    for (int r = 0; r < runs; r++) {
+                        int start = in.readChar();
+                        int length = in.readChar();
+                        for (int v = start; v <= start + length && v <= 0xFFFF; v++) {
+                            c.add((char) v);
+                        }
+                    }
+                }
+                default -> throw new IOException("Tipo de contenedor desconocido: " + type);
+            }
+            bitmap.containers[i] = c;
+        }
+        return bitmap;
+    }
+
+    private static char[] insert(char[] array, int at, char value) {
+        char[] result = new char[array.length + 1];
+        System.arraycopy(array, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(array, at, result, at + 1, array.length - at);
+        return result;
+    }
+
+    private static Container[] insert(Container[] array, int at, Container value) {
+        Container[] result = new Container[array.length + 1];
+        System.arraycopy(array, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(array, at, result, at + 1, array.length - at);
+        return result;
+    }
+}
@@ -41,11 +41,17 @@ public class Constants {
     public static final String FXML_MENU = FXML_PATH + "menu.fxml";
     
     /** Ruta completa del archivo FXML de la pantalla de quiz */
-    public static final String FXML_QUIZ = FXML_PATH + "quiz1.fxml";
+    public static final String FXML_QUIZ = FXML_PATH + "quiz.fxml";
     
     /** Ruta completa del archivo FXML de la pantalla de resultados */
     public static final String FXML_RESULT = FXML_PATH + "result.fxml";
     
+    /** Propiedad de sistema para construir las vistas: compiled (clases generadas) o loader (FXMLLoader) */
+    public static final String FXML_MODE_PROPERTY = "javaquiz.fxml";
+    
+    /** Directorio de datos locales (diario, snapshots, historial) */
+    public static final String DATA_DIR = System.getProperty("user.home") + "/.javaquiz";
+    
     // ========== TIMER ==========
     
     /** Duración del temporizador por pregunta en segundos */
@@ -85,6 +91,50 @@ public class Constants {
     /** Pausa en segundos después de responder una pregunta */
     public static final double PAUSE_AFTER_ANSWER_SECONDS = 0.5;
     
+    // ========== PERSISTENCIA ==========
+    
+    /** Propiedad de sistema para elegir la política de fsync del diario (EVERY_BATCH, INTERVAL, NEVER) */
+    public static final String JOURNAL_FSYNC_PROPERTY = "javaquiz.journal.fsync";
+    
+    /** Intervalo máximo entre fsync con la política INTERVAL (milisegundos) */
+    public static final long JOURNAL_FSYNC_INTERVAL_MS = 200;
+    
+    /** Tamaño del diario a partir del cual se compacta en un snapshot (1 MB) */
+    public static final long JOURNAL_COMPACT_THRESHOLD_BYTES = 1L << 20;
+    
+    /** Intentos por bloque columnar del historial de resultados */
+    public static final int HISTORY_BLOCK_SIZE = 4096;
+    
+    /** Preguntas por sesión de práctica */
+    public static final int PRACTICE_LENGTH = 20;
+    
+    /** Máximo de preguntas de un test adaptativo */
+    public static final int CAT_MAX_ITEMS = 30;
+    
+    /** Error estándar de la habilidad con el que termina un test adaptativo */
+    public static final double CAT_TARGET_STANDARD_ERROR = 0.3;
+    
+    /** Máximo de tarjetas en una sesión de repaso */
+    public static final int REVIEW_SESSION_LIMIT = 50;
+    
+    /** Preguntas de un examen armado desde el menú */
+    public static final int EXAM_LENGTH = 40;
+    
+    /** Máximo de preguntas con código en un examen */
+    public static final int EXAM_MAX_WITH_CODE = 10;
+    
+    /** Días en los que una pregunta respondida no vuelve a salir en un examen */
+    public static final int EXAM_EXCLUDE_SEEN_DAYS = 7;
+    
+    /** Máximo de preguntas de un quiz armado con la búsqueda */
+    public static final int SEARCH_SESSION_LIMIT = 40;
+    
+    /** Similitud estimada (Jaccard) a partir de la cual dos preguntas son duplicadas */
+    public static final double DUPLICATE_THRESHOLD = 0.7;
+    
+    /** Propiedad de sistema para descartar duplicados al combinar temas (true/false) */
+    public static final String DEDUP_PROPERTY = "javaquiz.dedup";
+    
     // ========== MENSAJES ==========
     
     /** Mensaje mostrado cuando el usuario no selecciona tópicos */
@@ -0,0 +1,151 @@
+package org.openjfx.javaquiz.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice invertido inmutable: término → conjunto de ids de documento.
+ *
+ * Los términos quedan en un arreglo ordenado, así que un término se busca
+ * por búsqueda binaria y un prefijo ocupa un rango contiguo. Cada lista de
+ * ocurrencias es un {@link CompactBitmap}, ordenado y compacto, que se
+ * combina con {@code and}/{@code or}/{@code andNot} sin materializar listas.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * InvertedIndex.Builder builder = new InvertedIndex.Builder();
+ * builder.add("hashmap", 12);
+ * InvertedIndex index = builder.build();
+ *
+ * CompactBitmap maps = index.postings("hashmap");
+ * CompactBitmap streams = index.prefix("stream");
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class InvertedIndex {
+
+    private final String[] terms;
+    private final CompactBitmap[] postings;
+
+    private InvertedIndex(String[] terms, CompactBitmap[] postings) {
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    /**
+     * Acumula ocurrencias. Un builder por hilo; se combinan con {@link #merge}.
+     */
+    public static class Builder {
+        private final Map<String, CompactBitmap> map = new HashMap<>();
+
+        /**
+         * @param term Término ya normalizado
+         * @param id Id del documento
+         */
+        public void add(String term, int id) {
+            map.computeIfAbsent(term, t -> new CompactBitmap()).add(id);
+        }
+
+        /**
+         * Agrega las ocurrencias de otro builder (que deja de usarse).
+         *
+         * @param other Builder a absorber
+         * @return Este builder
+         */
+        public Builder merge(Builder other) {
+            other.map.forEach((term, ids) -> {
+                CompactBitmap mine = map.putIfAbsent(term, ids);
+                if (mine != null) mine.or(ids);
+            });
+            return this;
+        }
+
+        public InvertedIndex build() {
+            String[] terms = map.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            CompactBitmap[] postings = new CompactBitmap[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                postings[i] = map.get(terms[i]);
+            }
+            return new InvertedIndex(terms, postings);
+        }
+    }
+
+    /**
+     * Documentos que contienen un término.
+     *
+     * @param term Término normalizado
+     * @return Ocurrencias (vacío si no existe); no modificar
+     */
+    public CompactBitmap postings(String term) {
+        int at = Arrays.binarySearch(terms, term);
+        return at >= 0 ? postings[at] : new CompactBitmap();
+    }
+
+    /**
+     * Documentos que contienen algún término que empieza con el prefijo.
+     *
+     * @param prefix Prefijo normalizado
+     * @return Nuevo conjunto con la unión de las ocurrencias
+     */
+    public CompactBitmap prefix(String prefix) {
+        int at = Arrays.binarySearch(terms, prefix);
+        int from = at >= 0 ? at : -at - 1;
+        CompactBitmap result = new CompactBitmap();
+        for (int i = from; i < terms.length && terms[i].startsWith(prefix); i++) {
+            result.or(postings[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Número de términos distintos.
+     *
+     * @return Tamaño del vocabulario
+     */
+    public int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Escribe el índice: términos en orden y sus ocurrencias.
+     *
+     * @param out Destino
+     * @throws IOException Si falla la escritura
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        BinaryCodec.writeVarInt(out, terms.length);
+        for (int i = 0; i < terms.length; i++) {
+            out.writeUTF(terms[i]);
+            postings[i].writeTo(out);
+        }
+    }
+
+    /**
+     * Lee un índice escrito con {@link #writeTo}.
+     *
+     * @param in Origen
+     * @return Índice leído
+     * @throws IOException Si los datos son inválidos
+     */
+    public static InvertedIndex readFrom(DataInput in) throws IOException {
+        int count = BinaryCodec.readVarInt(in);
+        String[] terms = new String[count];
+        CompactBitmap[] postings = new CompactBitmap[count];
+        for (int i = 0; i < count; i++) {
+            terms[i] = in.readUTF();
+            if (i > 0 && terms[i].compareTo(terms[i - 1]) <= 0) {
+                throw new IOException("Términos desordenados en " + i);
+            }
+            postings[i] = CompactBitmap.readFrom(in);
+        }
+        return new InvertedIndex(terms, postings);
+    }
+}
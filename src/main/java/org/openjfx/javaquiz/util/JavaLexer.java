@@ -0,0 +1,247 @@
+package org.openjfx.javaquiz.util;
+
+import org.openjfx.javaquiz.util.CodeLexer.Token;
+import org.openjfx.javaquiz.util.CodeLexer.TokenSink;
+
+import java.util.Arrays;
+
+/**
+ * Analizador léxico de Java en una sola pasada, pensado para resaltado de
+ * sintaxis.
+ *
+ * Recorre el texto carácter a carácter una única vez y entrega cada token
+ * con estilo como un rango {@code [inicio, fin)}; el resto (espacios,
+ * operadores, identificadores normales) no se entrega. No usa expresiones
+ * regulares ni crea subcadenas: las palabras clave se comparan sobre el
+ * propio texto, agrupadas por su primera letra.
+ *
+ * Reconoce:
+ * - Todas las palabras clave de Java 21, incluidas las contextuales más
+ *   comunes ({@code var}, {@code record}, {@code yield}, {@code sealed}...)
+ * - Literales {@code true}, {@code false} y {@code null}
+ * - Cadenas, caracteres y bloques de texto {@code """} con escapes
+ * - Comentarios de línea, de bloque y Javadoc
+ * - Anotaciones, con nombre calificado ({@code @java.lang.Override})
+ * - Números decimales, hexadecimales, binarios, con {@code _}, exponente y sufijo
+ *
+ * Una cadena o comentario sin cerrar se extiende hasta el final de la línea
+ * (cadenas) o del texto (bloques), sin lanzar errores.
+ *
+ * Es el lenguaje por defecto de {@link LanguageRegistry}, que lo usa como
+ * {@code JavaLexer::lex}.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * JavaLexer.lex("int x = 42; // respuesta", (token, start, end) -&gt;
+ *     System.out.println(token + " " + start + "-" + end));
+ * // KEYWORD 0-3, NUMBER 8-10, COMMENT 12-24
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ * @see CodeLexer
+ */
+public final class JavaLexer {
+
+    private static final String[] KEYWORDS = {
+        "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char",
+        "class", "const", "continue", "default", "do", "double", "else", "enum",
+        "exports", "extends", "final", "finally", "float", "for", "goto", "if",
+        "implements", "import", "instanceof", "int", "interface", "long", "module",
+        "native", "new", "non-sealed", "package", "permits", "private", "protected",
+        "public", "record", "requires", "return", "sealed", "short", "static",
+        "strictfp", "super", "switch", "synchronized", "this", "throw", "throws",
+        "transient", "try", "var", "void", "volatile", "while", "yield"
+    };
+
+    private static final String[] LITERALS = {"true", "false", "null"};
+
+    /** Palabras clave y literales por primera letra ('a'..'z') */
+    private static final String[][] BY_FIRST = new String[26][];
+    private static final Token[][] KIND_BY_FIRST = new Token[26][];
+
+    static {
+        for (int c = 0; c < 26; c++) {
+            BY_FIRST[c] = new String[0];
+            KIND_BY_FIRST[c] = new Token[0];
+        }
+        for (String keyword : KEYWORDS) register(keyword, Token.KEYWORD);
+        for (String literal : LITERALS) register(literal, Token.LITERAL);
+    }
+
+    private JavaLexer() {
+    }
+
+    private static void register(String word, Token kind) {
+        int c = word.charAt(0) - 'a';
+        int n = BY_FIRST[c].length;
+        BY_FIRST[c] = Arrays.copyOf(BY_FIRST[c], n + 1);
+        KIND_BY_FIRST[c] = Arrays.copyOf(KIND_BY_FIRST[c], n + 1);
+        BY_FIRST[c][n] = word;
+        KIND_BY_FIRST[c][n] = kind;
+    }
+
+    /**
+     * Recorre el texto y entrega sus tokens con estilo.
+     *
+     * @param text Código Java (null se trata como vacío)
+     * @param sink Receptor de cada token
+     */
+    public static void lex(String text, TokenSink sink) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            int start = i;
+            if (c == '/' && i + 1 < length && text.charAt(i + 1) == '/') {
+                i = endOfLine(text, i + 2);
+                sink.token(Token.COMMENT, start, i);
+            } else if (c == '/' && i + 1 < length && text.charAt(i + 1) == '*') {
+                int close = text.indexOf("*/", i + 2);
+                i = close < 0 ? length : close + 2;
+                sink.token(Token.COMMENT, start, i);
+            } else if (c == '"') {
+                i = text.startsWith("\"\"\"", i) ? endOfTextBlock(text, i + 3) : endOfQuoted(text, i + 1, '"');
+                sink.token(Token.STRING, start, i);
+            } else if (c == '\'') {
+                i = endOfQuoted(text, i + 1, '\'');
+                sink.token(Token.STRING, start, i);
+            } else if (c == '@' && i + 1 < length && Character.isJavaIdentifierStart(text.charAt(i + 1))) {
+                i = endOfQualifiedName(text, i + 1);
+                if (text.startsWith("interface", start + 1) && i == start + 10) {
+                    sink.token(Token.KEYWORD, start, i);
+                } else {
+                    sink.token(Token.ANNOTATION, start, i);
+                }
+            } else if (isDigit(c) || (c == '.' && i + 1 < length && isDigit(text.charAt(i + 1)))) {
+                i = endOfNumber(text, i);
+                sink.token(Token.NUMBER, start, i);
+            } else if (Character.isJavaIdentifierStart(c)) {
+                i = endOfIdentifier(text, i + 1);
+                // "non-sealed" es la única palabra clave con guion
+                if (i - start == 3 && text.startsWith("non-sealed", start)
+                        && (start + 10 == length || !Character.isJavaIdentifierPart(text.charAt(start + 10)))) {
+                    i = start + 10;
+                }
+                Token kind = keyword(text, start, i);
+                if (kind != null) {
+                    sink.token(kind, start, i);
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static Token keyword(String text, int start, int end) {
+        int c = text.charAt(start) - 'a';
+        if (c < 0 || c >= 26) {
+            return null;
+        }
+        String[] words = BY_FIRST[c];
+        int length = end - start;
+        for (int k = 0; k < words.length; k++) {
+            if (words[k].length() == length && text.regionMatches(start, words[k], 0, length)) {
+                return KIND_BY_FIRST[c][k];
+            }
+        }
+        return null;
+    }
+
+    private static int endOfLine(String text, int i) {
+        int newline = text.indexOf('\n', i);
+        return newline < 0 ? text.length() : newline;
+    }
+
+    /** Fin de una cadena o carácter: tras la comilla de cierre, o al final de la línea */
+    private static int endOfQuoted(String text, int i, char quote) {
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else if (c == '\n') {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private static int endOfTextBlock(String text, int i) {
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"' && text.startsWith("\"\"\"", i)) {
+                return i + 3;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private static int endOfIdentifier(String text, int i) {
+        int length = text.length();
+        while (i < length && Character.isJavaIdentifierPart(text.charAt(i))) i++;
+        return i;
+    }
+
+    private static int endOfQualifiedName(String text, int i) {
+        int length = text.length();
+        i = endOfIdentifier(text, i);
+        while (i + 1 < length && text.charAt(i) == '.' && Character.isJavaIdentifierStart(text.charAt(i + 1))) {
+            i = endOfIdentifier(text, i + 1);
+        }
+        return i;
+    }
+
+    /**
+     * Fin de un literal numérico: dígitos, letras (prefijos 0x/0b, sufijos
+     * L/f/d, dígitos hexadecimales), {@code _}, punto decimal y signo de exponente.
+     */
+    private static int endOfNumber(String text, int i) {
+        int length = text.length();
+        boolean hex = text.startsWith("0x", i) || text.startsWith("0X", i);
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '_') {
+                i++;
+            } else if (c == '.' && i + 1 < length && text.charAt(i + 1) != '.') {
+                // "1.5" sí, "1..2" o "x.length()" tras un número no
+                if (i + 1 < length && Character.isJavaIdentifierStart(text.charAt(i + 1))
+                        && !isExponentOrSuffix(text.charAt(i + 1), hex)) {
+                    return i;
+                }
+                i++;
+            } else if ((c == '+' || c == '-') && isExponent(text.charAt(i - 1), hex)
+                    && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                i++;
+            } else {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isExponent(char c, boolean hex) {
+        return hex ? c == 'p' || c == 'P' : c == 'e' || c == 'E';
+    }
+
+    private static boolean isExponentOrSuffix(char c, boolean hex) {
+        return isExponent(c, hex) || "fFdD".indexOf(c) >= 0;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,128 @@
+package org.openjfx.javaquiz.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Separa texto en términos de búsqueda pensados para identificadores Java.
+ *
+ * Cada palabra (letras, dígitos, {@code _} y {@code $}, unidas por puntos)
+ * produce, en minúsculas:
+ * - El nombre completo con puntos: {@code java.util.hashmap}
+ * - Cada parte del nombre: {@code java}, {@code util}, {@code hashmap}
+ * - Las sub-palabras camelCase y snake_case y sus secuencias:
+ *   {@code concurrent}, {@code hash}, {@code map}, {@code hashmap}...
+ *
+ * Así "HashMap", "hash" y "Map.Entry" encuentran {@code Map.Entry<K, V>}
+ * o {@code new HashMap<>()}. Los términos de un solo carácter se descartan.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * JavaTokenizer.tokenize("map.computeIfAbsent(k, ...)", term -> index.add(term, id));
+ * // map.computeifabsent, map, computeifabsent, compute, computeif, if, ifabsent, absent
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public final class JavaTokenizer {
+
+    /** Sub-palabras a partir de las cuales no se combinan más secuencias */
+    private static final int MAX_PIECES = 8;
+
+    private JavaTokenizer() {
+    }
+
+    /**
+     * Entrega los términos de un texto (puede repetir términos).
+     *
+     * @param text Texto a separar (null se ignora)
+     * @param sink Receptor de cada término
+     */
+    public static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !isWordChar(text.charAt(i))) i++;
+            int start = i;
+            // Una palabra sigue a través de puntos si después viene otra palabra
+            while (i < length && (isWordChar(text.charAt(i))
+                    || (text.charAt(i) == '.' && i + 1 < length && isWordChar(text.charAt(i + 1))))) {
+                i++;
+            }
+            if (i > start) {
+                word(text.substring(start, i), sink);
+            }
+        }
+    }
+
+    private static void word(String word, Consumer<String> sink) {
+        boolean dotted = word.indexOf('.') >= 0;
+        if (dotted) {
+            emit(word, sink);
+        }
+        int start = 0;
+        for (int dot = word.indexOf('.'); ; dot = word.indexOf('.', start)) {
+            String part = dot < 0 ? word.substring(start) : word.substring(start, dot);
+            emit(part, sink);
+            subwords(part, sink);
+            if (dot < 0) break;
+            start = dot + 1;
+        }
+    }
+
+    /**
+     * Sub-palabras de camelCase, snake_case y cambios letra/dígito, y cada
+     * secuencia contigua de ellas ("ConcurrentHashMap" también da "hashmap").
+     */
+    private static void subwords(String part, Consumer<String> sink) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= part.length(); i++) {
+            if (i == part.length() || isBoundary(part, i)) {
+                String piece = part.substring(start, i).replace("_", "").replace("$", "");
+                if (!piece.isEmpty()) pieces.add(piece);
+                start = i;
+            }
+        }
+        if (pieces.size() < 2) {
+            return;
+        }
+        int n = Math.min(pieces.size(), MAX_PIECES);
+        for (int from = 0; from < n; from++) {
+            StringBuilder run = new StringBuilder();
+            for (int to = from; to < n; to++) {
+                run.append(pieces.get(to));
+                // La secuencia completa ya se emitió como la parte entera
+                if (from > 0 || to < pieces.size() - 1) emit(run.toString(), sink);
+            }
+        }
+    }
+
+    private static boolean isBoundary(String s, int i) {
+        char prev = s.charAt(i - 1);
+        char c = s.charAt(i);
+        if (c == '_' || c == '$') return true;
+        if (Character.isLowerCase(prev) && Character.isUpperCase(c)) return true;
+        // "HTTPServer": la frontera está antes de la última mayúscula
+        if (Character.isUpperCase(prev) && Character.isUpperCase(c)
+                && i + 1 < s.length() && Character.isLowerCase(s.charAt(i + 1))) return true;
+        return Character.isDigit(prev) != Character.isDigit(c) && Character.isLetter(c) != Character.isLetter(prev);
+    }
+
+    private static void emit(String term, Consumer<String> sink) {
+        if (term.length() > 1) {
+            sink.accept(term.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -0,0 +1,211 @@
+package org.openjfx.javaquiz.util;
+
+import org.openjfx.javaquiz.model.Question;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registro de lenguajes para el resaltado de código.
+ *
+ * - Cada lenguaje se registra con una fábrica y sus alias ({@code "fxml"}
+ *   es {@code "xml"}, {@code "bash"} es {@code "shell"}...)
+ * - El analizador se crea la primera vez que se pide y después se comparte
+ *   entre todos los fragmentos: los lenguajes que no aparecen en el examen
+ *   nunca se construyen, y agregar uno no cambia el costo de los demás
+ * - Un lenguaje desconocido o ausente se resalta como Java
+ *
+ * El lenguaje de una pregunta es el campo {@code language} de su JSON; si
+ * no lo tiene se deduce del nombre de su tópico ({@link #inferFromTopic}).
+ *
+ * Vienen registrados: java, sql, javascript, xml y shell.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * String language = LanguageRegistry.languageOf(question);
+ * CodeLexer lexer = LanguageRegistry.lexer(language);
+ *
+ * LanguageRegistry.register("kotlin", () -&gt; new TableLexer.Builder()
+ *     .keywords("fun", "val", "var", "class", "object")
+ *     .lineComment("//").blockComment("/*", "*&#47;")
+ *     .strings("\"", false)
+ *     .build(), "kt");
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ * @see CodeLexer
+ */
+public final class LanguageRegistry {
+
+    public static final String JAVA = "java";
+    public static final String SQL = "sql";
+    public static final String JAVASCRIPT = "javascript";
+    public static final String XML = "xml";
+    public static final String SHELL = "shell";
+
+    private static final CodeLexer JAVA_LEXER = JavaLexer::lex;
+
+    /** Alias (en minúsculas) → nombre canónico */
+    private static final Map<String, String> ALIASES = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<CodeLexer>> FACTORIES = new ConcurrentHashMap<>();
+    private static final Map<String, CodeLexer> LOADED = new ConcurrentHashMap<>();
+
+    static {
+        register(JAVA, () -> JAVA_LEXER);
+        register(SQL, LanguageRegistry::sql, "mysql", "postgresql", "plsql");
+        register(JAVASCRIPT, LanguageRegistry::javascript, "js", "typescript", "ts", "json");
+        register(XML, LanguageRegistry::xml, "fxml", "html", "xhtml", "pom");
+        register(SHELL, LanguageRegistry::shell, "bash", "sh", "zsh", "terminal");
+    }
+
+    private LanguageRegistry() {
+    }
+
+    /**
+     * Registra (o reemplaza) un lenguaje. La fábrica se invoca a lo sumo una
+     * vez, la primera vez que se pide su analizador.
+     *
+     * @param language Nombre canónico
+     * @param factory Crea el analizador
+     * @param aliases Otros nombres con que puede aparecer en las preguntas
+     */
+    public static void register(String language, Supplier<CodeLexer> factory, String... aliases) {
+        if (language == null || language.isBlank() || factory == null) {
+            throw new IllegalArgumentException("Lenguaje inválido: " + language);
+        }
+        String name = normalize(language);
+        FACTORIES.put(name, factory);
+        LOADED.remove(name);
+        ALIASES.put(name, name);
+        for (String alias : aliases) {
+            ALIASES.put(normalize(alias), name);
+        }
+    }
+
+    /**
+     * Analizador de un lenguaje, creado la primera vez que se pide.
+     *
+     * @param language Nombre o alias (null o desconocido: Java)
+     * @return Analizador compartido
+     */
+    public static CodeLexer lexer(String language) {
+        return LOADED.computeIfAbsent(canonical(language), name -> FACTORIES.get(name).get());
+    }
+
+    /**
+     * Nombre canónico de un lenguaje.
+     *
+     * @param language Nombre o alias (null o desconocido: Java)
+     * @return Nombre registrado
+     */
+    public static String canonical(String language) {
+        if (language == null || language.isBlank()) {
+            return JAVA;
+        }
+        return ALIASES.getOrDefault(normalize(language), JAVA);
+    }
+
+    /**
+     * Lenguaje del código de una pregunta: el declarado o el de su tópico.
+     *
+     * @param question Pregunta
+     * @return Nombre canónico
+     */
+    public static String languageOf(Question question) {
+        if (question.getLanguage() != null && !question.getLanguage().isBlank()) {
+            return canonical(question.getLanguage());
+        }
+        return inferFromTopic(question.getTopic());
+    }
+
+    /**
+     * Deduce el lenguaje del nombre de un tópico buscando en él un nombre o
+     * alias registrado como palabra ({@code "SQL Joins"}, {@code "FXML"},
+     * {@code "Bash scripting"}).
+     *
+     * @param topic Nombre del tópico (puede ser null)
+     * @return Nombre canónico; Java si no menciona otro lenguaje
+     */
+    public static String inferFromTopic(String topic) {
+        if (topic == null) {
+            return JAVA;
+        }
+        for (String word : normalize(topic).split("[^a-z0-9]+")) {
+            String name = ALIASES.get(word);
+            if (name != null) {
+                return name;
+            }
+        }
+        return JAVA;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static CodeLexer sql() {
+        return new TableLexer.Builder()
+            .keywords("select", "from", "where", "insert", "into", "values", "update", "set", "delete",
+                      "create", "alter", "drop", "table", "view", "index", "sequence", "database",
+                      "schema", "primary", "foreign", "key", "references", "constraint", "unique",
+                      "default", "check", "join", "inner", "left", "right", "full", "outer", "cross",
+                      "on", "using", "group", "by", "order", "having", "limit", "offset", "fetch",
+                      "union", "intersect", "except", "all", "distinct", "as", "and", "or", "not",
+                      "in", "exists", "between", "like", "is", "case", "when", "then", "else", "end",
+                      "begin", "commit", "rollback", "transaction", "savepoint", "grant", "revoke",
+                      "asc", "desc", "with", "recursive", "over", "partition", "int", "integer",
+                      "bigint", "varchar", "char", "text", "date", "timestamp", "decimal", "boolean",
+                      "count", "sum", "avg", "min", "max", "coalesce", "cast", "procedure", "function",
+                      "trigger", "returns", "declare", "if", "while", "for", "each", "row", "auto_increment")
+            .literals("null", "true", "false")
+            .ignoreCase()
+            .lineComment("--")
+            .blockComment("/*", "*/")
+            .strings("'\"`", false, false)
+            .variables("@:")
+            .build();
+    }
+
+    private static CodeLexer javascript() {
+        return new TableLexer.Builder()
+            .keywords("async", "await", "break", "case", "catch", "class", "const", "continue",
+                      "debugger", "default", "delete", "do", "else", "export", "extends", "finally",
+                      "for", "from", "function", "if", "import", "in", "instanceof", "let", "new",
+                      "of", "return", "static", "super", "switch", "this", "throw", "try", "typeof",
+                      "var", "void", "while", "with", "yield", "get", "set", "interface", "type",
+                      "enum", "implements", "private", "public", "protected", "readonly")
+            .literals("true", "false", "null", "undefined", "NaN", "Infinity")
+            .wordChars("$")
+            .lineComment("//")
+            .blockComment("/*", "*/")
+            .strings("'\"", false)
+            .strings("`", true)
+            .variables("@")
+            .build();
+    }
+
+    private static CodeLexer xml() {
+        return new TableLexer.Builder()
+            .markup()
+            .wordPartChars("-:.")
+            .build();
+    }
+
+    private static CodeLexer shell() {
+        return new TableLexer.Builder()
+            .keywords("if", "then", "else", "elif", "fi", "for", "while", "until", "do", "done",
+                      "case", "esac", "in", "function", "return", "exit", "local", "export",
+                      "readonly", "declare", "select", "break", "continue", "source", "alias",
+                      "echo", "cd", "set", "unset", "shift", "trap", "eval", "exec", "test")
+            .literals("true", "false")
+            .lineComment("#")
+            .strings("\"", true)
+            .strings("'", true, false)
+            .variables("$")
+            .build();
+    }
+}
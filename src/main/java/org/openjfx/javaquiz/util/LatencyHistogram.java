@@ -0,0 +1,155 @@
+package org.openjfx.javaquiz.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias de memoria fija con cubetas logarítmicas.
+ *
+ * Cada potencia de dos se divide en 8 sub-cubetas, lo que da un error
+ * relativo máximo del 12.5% en los percentiles. Los valores se guardan en
+ * microsegundos, desde 1 µs hasta ~35 minutos (valores mayores se acumulan
+ * en la última cubeta).
+ *
+ * Características:
+ * - Memoria fija: 240 contadores (~2 KB) por histograma
+ * - Registro sin bloqueos ni asignaciones (solo incrementos atómicos)
+ * - Lecturas concurrentes seguras (instantánea aproximada)
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * LatencyHistogram h = new LatencyHistogram();
+ * h.recordNanos(System.nanoTime() - shownAt);
+ * long p90 = h.percentileMicros(0.90);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 31;
+
+    /** Número de cubetas de valores */
+    public static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    private static final int COUNT = BUCKETS;
+    private static final int SUM = BUCKETS + 1;
+    private static final int MAX = BUCKETS + 2;
+
+    private final AtomicLongArray cells = new AtomicLongArray(BUCKETS + 3);
+
+    /**
+     * Registra una latencia en nanosegundos.
+     *
+     * @param nanos Latencia (valores negativos se registran como 0)
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    /**
+     * Registra una latencia en microsegundos.
+     *
+     * @param micros Latencia (valores negativos se registran como 0)
+     */
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        cells.incrementAndGet(bucketOf(value));
+        cells.incrementAndGet(COUNT);
+        cells.addAndGet(SUM, value);
+        long max = cells.get(MAX);
+        while (value > max && !cells.compareAndSet(MAX, max, value)) {
+            max = cells.get(MAX);
+        }
+    }
+
+    /**
+     * Calcula el percentil indicado.
+     *
+     * @param quantile Cuantil entre 0.0 y 1.0 (ej: 0.5 para la mediana)
+     * @return Latencia en microsegundos, o 0 si no hay muestras
+     */
+    public long percentileMicros(double quantile) {
+        long total = cells.get(COUNT);
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += cells.get(i);
+            if (seen >= rank) {
+                return Math.min(midpointOf(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    /**
+     * Suma el contenido de otro histograma a este.
+     *
+     * @param other Histograma a combinar
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.cells.get(i);
+            if (c != 0) cells.addAndGet(i, c);
+        }
+        cells.addAndGet(COUNT, other.cells.get(COUNT));
+        cells.addAndGet(SUM, other.cells.get(SUM));
+        long otherMax = other.cells.get(MAX);
+        long max = cells.get(MAX);
+        while (otherMax > max && !cells.compareAndSet(MAX, max, otherMax)) {
+            max = cells.get(MAX);
+        }
+    }
+
+    /**
+     * Vacía el histograma.
+     */
+    public void reset() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+    }
+
+    public long getCount() { return cells.get(COUNT); }
+
+    public long getMaxMicros() { return cells.get(MAX); }
+
+    /**
+     * Latencia media.
+     *
+     * @return Media en microsegundos, o 0 si no hay muestras
+     */
+    public long getMeanMicros() {
+        long count = cells.get(COUNT);
+        return count == 0 ? 0 : cells.get(SUM) / count;
+    }
+
+    /**
+     * Cubeta de un valor: los valores menores que 8 tienen cubeta propia,
+     * el resto se agrupa por exponente y los 3 bits siguientes al más alto.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        int sub = bucket % SUB_COUNT;
+        return (1L << exponent) | ((long) sub << (exponent - SUB_BITS));
+    }
+
+    private static long midpointOf(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        return lowerBoundOf(bucket) + (1L << (exponent - SUB_BITS)) / 2;
+    }
+}
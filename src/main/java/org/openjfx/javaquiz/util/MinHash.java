@@ -0,0 +1,140 @@
+package org.openjfx.javaquiz.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Firmas MinHash para estimar la similitud de Jaccard entre textos.
+ *
+ * Cada texto se reduce a su conjunto de shingles (pares de palabras
+ * consecutivas, en minúsculas, como hashes de 64 bits). La firma guarda, para
+ * cada una de {@code k} funciones hash, el mínimo sobre los shingles; la
+ * fracción de posiciones en que dos firmas coinciden estima la similitud de
+ * Jaccard de sus conjuntos.
+ *
+ * Las funciones son multiplicar-desplazar ({@code (a·x + b) >>> 32}) con
+ * coeficientes tomados de una semilla fija, así que la misma entrada da la
+ * misma firma en cualquier equipo.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * MinHash minHash = new MinHash(128, 42);
+ * int[] a = minHash.signature(MinHash.shingles("¿Qué hace HashMap.put?"));
+ * int[] b = minHash.signature(MinHash.shingles("¿Qué hace el método HashMap.put?"));
+ * double similarity = MinHash.similarity(a, b);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class MinHash {
+
+    private final long[] multipliers;
+    private final long[] increments;
+
+    /**
+     * @param numHashes Largo de las firmas
+     * @param seed Semilla de las funciones hash
+     */
+    public MinHash(int numHashes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        multipliers = new long[numHashes];
+        increments = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Firma de un conjunto de shingles.
+     *
+     * @param shingles Hashes de los shingles (puede tener repetidos)
+     * @return Firma de {@code numHashes} valores
+     */
+    public int[] signature(long[] shingles) {
+        int[] signature = new int[multipliers.length];
+        for (int i = 0; i < signature.length; i++) {
+            long a = multipliers[i];
+            long b = increments[i];
+            int min = Integer.MAX_VALUE;
+            for (long shingle : shingles) {
+                int h = (int) ((a * shingle + b) >>> 33);
+                if (h < min) min = h;
+            }
+            signature[i] = min;
+        }
+        return signature;
+    }
+
+    /**
+     * Similitud de Jaccard estimada entre dos firmas.
+     *
+     * @param a Primera firma
+     * @param b Segunda firma (mismo largo)
+     * @return Fracción de posiciones iguales, entre 0 y 1
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) equal++;
+        }
+        return (double) equal / a.length;
+    }
+
+    /**
+     * Shingles de uno o más textos: pares de palabras consecutivas dentro de
+     * cada texto (o la palabra sola si el texto tiene una).
+     *
+     * @param texts Textos (los null se ignoran)
+     * @return Hashes de 64 bits de los shingles
+     */
+    public static long[] shingles(String... texts) {
+        long[] shingles = new long[16];
+        int count = 0;
+        for (String text : texts) {
+            if (text == null) continue;
+            long previous = 0;
+            int words = 0;
+            int length = text.length();
+            int i = 0;
+            while (i < length) {
+                while (i < length && !Character.isLetterOrDigit(text.charAt(i))) i++;
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i))) i++;
+                if (i == start) break;
+                long word = hash(text.substring(start, i).toLowerCase(Locale.ROOT));
+                if (words > 0) {
+                    if (count == shingles.length) shingles = Arrays.copyOf(shingles, count * 2);
+                    shingles[count++] = mix(previous * 31 + word);
+                }
+                previous = word;
+                words++;
+            }
+            if (words == 1) {
+                if (count == shingles.length) shingles = Arrays.copyOf(shingles, count * 2);
+                shingles[count++] = mix(previous);
+            }
+        }
+        return Arrays.copyOf(shingles, count);
+    }
+
+    /** FNV-1a de 64 bits */
+    private static long hash(String word) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            h ^= word.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** Finalizador de SplitMix64: reparte bien los bits antes de las funciones hash */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
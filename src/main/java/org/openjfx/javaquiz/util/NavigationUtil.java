@@ -4,9 +4,7 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.Node;
-import javafx.scene.paint.Color;
 import javafx.stage.Stage;
-import javafx.stage.StageStyle;
 import org.openjfx.javaquiz.JavaQuiz;
 import java.io.IOException;
 
@@ -14,8 +12,7 @@ import java.io.IOException;
  * Utilidad para gestionar la navegación entre ventanas en JavaFX.
  * 
  * Proporciona métodos para:
- * - Cargar nuevas escenas y cerrar la actual
- * - Crear ventanas transparentes
+ * - Cambiar de pantalla dentro de la ventana principal (vía {@link SceneRouter})
  * - Abrir ventanas sin cerrar la actual
  * - Obtener loaders para acceder a controladores
  * - Cerrar ventanas programáticamente
@@ -24,12 +21,9 @@ import java.io.IOException;
  * 
  * Ejemplo de uso:
  * <pre>
- * // Navegar al menú cerrando ventana actual
+ * // Navegar al menú
  * NavigationUtil.loadScene(Constants.FXML_MENU, currentButton);
  * 
- * // Abrir ventana transparente
- * NavigationUtil.loadSceneTransparent(Constants.FXML_QUIZ, node);
- * 
  * // Abrir sin cerrar actual
  * Stage newStage = NavigationUtil.openNewWindow(Constants.FXML_RESULT);
  * </pre>
@@ -43,35 +37,26 @@ import java.io.IOException;
 public class NavigationUtil {
     
     /**
-     * Carga una nueva escena desde un archivo FXML y cierra la ventana actual.
+     * Muestra una pantalla desde un archivo FXML en la ventana principal.
      * 
      * Este es el método más común para navegación básica entre pantallas.
-     * La ventana actual se cierra automáticamente después de mostrar la nueva.
+     * Delega en {@link SceneRouter}: no se abre ni se cierra ninguna ventana,
+     * solo se reemplaza la raíz de la escena.
      * 
      * @param fxmlFile Ruta del archivo FXML a cargar (ej: Constants.FXML_MENU)
-     * @param currentNode Cualquier nodo de la ventana actual (para obtener el Stage)
+     * @param currentNode Cualquier nodo de la ventana actual (se conserva por compatibilidad)
      * @throws IOException Si el archivo FXML no existe o tiene errores de sintaxis
      * 
      * @example
      * NavigationUtil.loadScene(Constants.FXML_QUIZ, startButton);
      */
     public static void loadScene(String fxmlFile, Node currentNode) throws IOException {
-        FXMLLoader loader = new FXMLLoader(JavaQuiz.class.getResource(fxmlFile));
-        Scene scene = new Scene(loader.load());
-        Stage stage = new Stage();
-        stage.setScene(scene);
-        stage.show();
-        
-        // Cerrar ventana actual
-        Stage current = (Stage) currentNode.getScene().getWindow();
-        current.close();
+        SceneRouter.show(fxmlFile, SceneRouter.getStage().getTitle());
     }
     
     /**
-     * Carga una nueva escena con estilo transparente y cierra la ventana actual.
-     * 
-     * Útil para ventanas con diseños personalizados, overlays o efectos visuales.
-     * El fondo de la escena será completamente transparente.
+     * Equivalente a {@link #loadScene(String, Node)}: la ventana principal ya
+     * es transparente, así que todas las pantallas lo son.
      * 
      * @param fxmlFile Ruta del archivo FXML a cargar
      * @param currentNode Cualquier nodo de la ventana actual
@@ -81,17 +66,7 @@ public class NavigationUtil {
      * NavigationUtil.loadSceneTransparent(Constants.FXML_RESULT, quizPane);
      */
     public static void loadSceneTransparent(String fxmlFile, Node currentNode) throws IOException {
-        FXMLLoader loader = new FXMLLoader(JavaQuiz.class.getResource(fxmlFile));
-        Scene scene = new Scene(loader.load());
-        Stage stage = new Stage();
-        stage.setScene(scene);
-        stage.initStyle(StageStyle.TRANSPARENT);
-        scene.setFill(Color.TRANSPARENT);
-        stage.show();
-        
-        // Cerrar ventana actual
-        Stage current = (Stage) currentNode.getScene().getWindow();
-        current.close();
+        loadScene(fxmlFile, currentNode);
     }
     
     /**
@@ -111,6 +86,7 @@ public class NavigationUtil {
      */
     public static FXMLLoader loadFXML(String fxmlFile) throws IOException {
         FXMLLoader loader = new FXMLLoader(JavaQuiz.class.getResource(fxmlFile));
+        loader.setControllerFactory(SceneRouter.getControllerFactory());
         loader.load();
         return loader;
     }
@@ -147,6 +123,7 @@ public class NavigationUtil {
      */
     public static Stage openNewWindow(String fxmlFile) throws IOException {
         FXMLLoader loader = new FXMLLoader(JavaQuiz.class.getResource(fxmlFile));
+        loader.setControllerFactory(SceneRouter.getControllerFactory());
         Parent root = loader.load();
         Stage stage = new Stage();
         stage.setScene(new Scene(root));
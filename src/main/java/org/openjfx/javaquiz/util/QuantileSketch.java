@@ -0,0 +1,282 @@
+package org.openjfx.javaquiz.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sketch de cuantiles KLL de tamaño acotado y combinable.
+ *
+ * Los valores se guardan en niveles: el nivel {@code h} representa cada
+ * valor con peso {@code 2^h}. Cuando un nivel se llena se ordena y se promueve
+ * uno de cada dos valores (con desplazamiento aleatorio) al nivel siguiente.
+ * La capacidad de los niveles inferiores decrece geométricamente, de modo que
+ * el sketch retiene unos {@code 3k} valores sin importar cuántos se agreguen.
+ *
+ * Características:
+ * - Error de rango aproximado de 1.7 / k (k = 200 → ~1%)
+ * - Combinable: {@link #merge(QuantileSketch)} da el mismo tipo de garantía
+ *   que haber agregado todos los valores a un único sketch
+ * - Serialización compacta con {@link #writeTo(DataOutput)}
+ *
+ * No es thread-safe: sincronizar externamente si se comparte.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * QuantileSketch scores = new QuantileSketch(200);
+ * scores.update(0.75);
+ * double beaten = scores.rank(0.8);      // fracción de valores &lt; 0.8
+ * double median = scores.quantile(0.5);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class QuantileSketch {
+
+    /** Parámetro de precisión por defecto */
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+    private final SplittableRandom random;
+    private final List<double[]> levels = new ArrayList<>();
+    private int[] sizes = new int[0];
+    private long count;
+    private int retained;
+    private int maxRetained;
+
+    /**
+     * @param k Parámetro de precisión (mayor = más preciso y más grande)
+     */
+    public QuantileSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    /**
+     * @param k Parámetro de precisión
+     * @param seed Semilla para las compactaciones (resultados reproducibles)
+     */
+    public QuantileSketch(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+
+    private QuantileSketch(int k, SplittableRandom random) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k debe ser al menos 8: " + k);
+        }
+        this.k = k;
+        this.random = random;
+        grow();
+    }
+
+    /**
+     * Agrega un valor al sketch.
+     *
+     * @param value Valor (NaN se ignora)
+     */
+    public void update(double value) {
+        if (Double.isNaN(value)) return;
+        append(0, value);
+        count++;
+        if (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    /**
+     * Combina otro sketch con este. El otro sketch no se modifica.
+     *
+     * @param other Sketch a combinar
+     */
+    public void merge(QuantileSketch other) {
+        while (levels.size() < other.levels.size()) {
+            grow();
+        }
+        for (int h = 0; h < other.levels.size(); h++) {
+            double[] items = other.levels.get(h);
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, items[i]);
+            }
+        }
+        count += other.count;
+        while (retained >= maxRetained) {
+            compress();
+        }
+    }
+
+    /**
+     * Rango normalizado: fracción aproximada de valores estrictamente menores.
+     *
+     * @param value Valor a comparar
+     * @return Fracción entre 0.0 y 1.0 (0.0 si el sketch está vacío)
+     */
+    public double rank(double value) {
+        if (count == 0) return 0.0;
+        long weight = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            double[] items = levels.get(h);
+            int below = 0;
+            for (int i = 0; i < sizes[h]; i++) {
+                if (items[i] < value) below++;
+            }
+            weight += (long) below << h;
+        }
+        return Math.min(1.0, (double) weight / count);
+    }
+
+    /**
+     * Cuantil aproximado.
+     *
+     * @param q Cuantil entre 0.0 y 1.0
+     * @return Valor aproximado, o NaN si el sketch está vacío
+     */
+    public double quantile(double q) {
+        if (count == 0) return Double.NaN;
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = levels.get(h)[i];
+                weights[n++] = 1L << h;
+            }
+        }
+        Integer[] idx = new Integer[n];
+        for (int i = 0; i < n; i++) idx[i] = i;
+        Arrays.sort(idx, (a, b) -> Double.compare(values[a], values[b]));
+
+        long total = 0;
+        for (int i = 0; i < n; i++) total += weights[i];
+        double target = q * total;
+        long seen = 0;
+        for (int i = 0; i < n; i++) {
+            seen += weights[idx[i]];
+            if (seen >= target) return values[idx[i]];
+        }
+        return values[idx[n - 1]];
+    }
+
+    public long getCount() { return count; }
+
+    public int getK() { return k; }
+
+    /**
+     * Número de valores retenidos (determina el tamaño en memoria y en disco).
+     *
+     * @return Valores retenidos en todos los niveles
+     */
+    public int getRetained() { return retained; }
+
+    // ========== SERIALIZACIÓN ==========
+
+    /**
+     * Escribe el sketch: k, total, niveles y valores de cada nivel.
+     *
+     * @param out Destino
+     * @throws IOException Si falla la escritura
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        BinaryCodec.writeVarInt(out, k);
+        BinaryCodec.writeVarLong(out, count);
+        BinaryCodec.writeVarInt(out, levels.size());
+        for (int h = 0; h < levels.size(); h++) {
+            BinaryCodec.writeVarInt(out, sizes[h]);
+            double[] items = levels.get(h);
+            for (int i = 0; i < sizes[h]; i++) {
+                out.writeDouble(items[i]);
+            }
+        }
+    }
+
+    /**
+     * Lee un sketch escrito con {@link #writeTo(DataOutput)}.
+     *
+     * @param in Origen
+     * @return Sketch leído
+     * @throws IOException Si los datos están truncados o son inválidos
+     */
+    public static QuantileSketch readFrom(DataInput in) throws IOException {
+        int k = BinaryCodec.readVarInt(in);
+        if (k < 8) {
+            throw new IOException("Sketch inválido: k=" + k);
+        }
+        QuantileSketch sketch = new QuantileSketch(k);
+        sketch.count = BinaryCodec.readVarLong(in);
+        int height = BinaryCodec.readVarInt(in);
+        if (height > 64) {
+            throw new IOException("Sketch inválido: " + height + " niveles");
+        }
+        while (sketch.levels.size() < height) {
+            sketch.grow();
+        }
+        for (int h = 0; h < height; h++) {
+            int size = BinaryCodec.readVarInt(in);
+            for (int i = 0; i < size; i++) {
+                sketch.append(h, in.readDouble());
+            }
+        }
+        return sketch;
+    }
+
+    // ========== COMPACTACIÓN ==========
+
+    private int capacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void grow() {
+        levels.add(new double[MIN_CAPACITY]);
+        sizes = Arrays.copyOf(sizes, levels.size());
+        maxRetained = 0;
+        for (int h = 0; h < levels.size(); h++) {
+            maxRetained += capacity(h);
+        }
+    }
+
+    private void append(int level, double value) {
+        double[] items = levels.get(level);
+        if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            levels.set(level, items);
+        }
+        items[sizes[level]++] = value;
+        retained++;
+    }
+
+    /**
+     * Compacta el nivel más bajo que supera su capacidad: ordena y promueve
+     * uno de cada dos valores al nivel siguiente (un valor sobrante se queda).
+     */
+    private void compress() {
+        for (int h = 0; h < levels.size(); h++) {
+            if (sizes[h] < capacity(h)) continue;
+            if (h + 1 == levels.size()) {
+                grow();
+            }
+            double[] items = levels.get(h);
+            int size = sizes[h];
+            Arrays.sort(items, 0, size);
+
+            int pairs = size & ~1;
+            int offset = random.nextBoolean() ? 1 : 0;
+            for (int i = offset; i < pairs; i += 2) {
+                append(h + 1, items[i]);
+            }
+            retained -= pairs;
+            if (pairs < size) {
+                items[0] = items[size - 1];
+            }
+            sizes[h] = size - pairs;
+            return;
+        }
+    }
+}
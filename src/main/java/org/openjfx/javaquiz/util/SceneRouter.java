@@ -0,0 +1,285 @@
+package org.openjfx.javaquiz.util;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.util.Callback;
+import org.openjfx.javaquiz.JavaQuiz;
+import org.openjfx.javaquiz.view.CompiledView;
+import org.openjfx.javaquiz.view.CompiledViews;
+import org.openjfx.javaquiz.view.FxmlCompiler;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Navegación sobre una única ventana: cambia la raíz de la escena principal
+ * en lugar de abrir una ventana nueva por pantalla.
+ *
+ * - La ventana, su estilo transparente y la hoja de estilos se configuran una
+ *   sola vez en {@link JavaQuiz#start}
+ * - {@link #preload(String)} parsea en segundo plano la vista que
+ *   probablemente sigue (por ejemplo resultados mientras se juega); la
+ *   siguiente {@link #load(String)} la toma ya lista
+ * - Las vistas cuyo controlador implementa {@link Reusable} se guardan y se
+ *   reutilizan; el resto se usa una sola vez
+ * - Las vistas se construyen con las clases generadas por
+ *   {@link FxmlCompiler}; con {@code -Djavaquiz.fxml=loader}, o si una vista
+ *   compilada falla, se usa {@code FXMLLoader}
+ * - Cada cambio de pantalla registra el tiempo de construcción de la vista y
+ *   el tiempo hasta el primer frame, para comparar ambos caminos
+ *
+ * Todos los métodos salvo {@link #preload(String)} deben llamarse desde el
+ * hilo de JavaFX.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * SceneRouter.View&lt;QuizController&gt; view = SceneRouter.load(Constants.FXML_QUIZ);
+ * view.getController().setQuizData(selected);
+ * SceneRouter.show(view, "JavaQuiz - Quiz en progreso");
+ *
+ * SceneRouter.preload(Constants.FXML_RESULT);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public final class SceneRouter {
+
+    private static final Logger LOGGER = LoggerUtil.getLogger(SceneRouter.class);
+
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "view-preloader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final boolean COMPILED =
+        !"loader".equalsIgnoreCase(System.getProperty(Constants.FXML_MODE_PROPERTY, "compiled"));
+
+    private static final Map<String, Future<View<?>>> preloaded = new ConcurrentHashMap<>();
+    private static final Map<String, View<?>> reusable = new ConcurrentHashMap<>();
+    private static Stage stage;
+    private static volatile Callback<Class<?>, Object> controllerFactory = SceneRouter::newController;
+
+    private SceneRouter() {
+    }
+
+    /**
+     * Controlador cuya vista se conserva entre visitas.
+     */
+    public interface Reusable {
+        /** Se llama cada vez que la vista vuelve a mostrarse, para refrescar su estado */
+        void onShow();
+    }
+
+    /**
+     * Vista parseada: raíz y controlador.
+     *
+     * @param <C> Tipo del controlador
+     */
+    public static final class View<C> {
+        private final Parent root;
+        private final C controller;
+        private final String fxml;
+        private final boolean compiled;
+        private final long buildNanos;
+
+        View(Parent root, C controller, String fxml, boolean compiled, long buildNanos) {
+            this.root = root;
+            this.controller = controller;
+            this.fxml = fxml;
+            this.compiled = compiled;
+            this.buildNanos = buildNanos;
+        }
+
+        public Parent getRoot() { return root; }
+
+        public C getController() { return controller; }
+    }
+
+    /**
+     * Asocia el enrutador a la ventana principal, que ya tiene su escena.
+     *
+     * @param primary Ventana principal
+     */
+    public static void init(Stage primary) {
+        stage = primary;
+    }
+
+    /**
+     * Define cómo se crean los controladores de todas las vistas (ej:
+     * {@code ServiceContainer.controllerFactory()}). Debe llamarse antes de
+     * cargar la primera vista.
+     *
+     * @param factory Fábrica de controladores
+     */
+    public static void setControllerFactory(Callback<Class<?>, Object> factory) {
+        controllerFactory = factory;
+    }
+
+    /**
+     * Fábrica de controladores en uso.
+     *
+     * @return Fábrica instalada con {@link #setControllerFactory(Callback)}
+     */
+    public static Callback<Class<?>, Object> getControllerFactory() {
+        return controllerFactory;
+    }
+
+    /**
+     * Ventana principal.
+     *
+     * @return Ventana sobre la que se navega
+     */
+    public static Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * Obtiene una vista sin mostrarla: la guardada si es reutilizable, la
+     * precargada si hay una, o una recién parseada.
+     *
+     * @param fxml Ruta del FXML (ej: {@link Constants#FXML_QUIZ})
+     * @param <C> Tipo del controlador
+     * @return Vista lista para configurar su controlador
+     * @throws IOException Si el FXML no existe o tiene errores
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> View<C> load(String fxml) throws IOException {
+        View<?> view = reusable.get(fxml);
+        if (view == null) {
+            Future<View<?>> pending = preloaded.remove(fxml);
+            if (pending != null) {
+                try {
+                    view = pending.get();
+                } catch (ExecutionException e) {
+                    LOGGER.warning("Precarga fallida de " + fxml + ": " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (view == null) {
+                view = parse(fxml);
+            }
+            if (view.getController() instanceof Reusable) {
+                reusable.put(fxml, view);
+            }
+        }
+        return (View<C>) view;
+    }
+
+    /**
+     * Carga y muestra una vista.
+     *
+     * @param fxml Ruta del FXML
+     * @param title Título de la ventana
+     * @param <C> Tipo del controlador
+     * @return Controlador de la vista mostrada
+     * @throws IOException Si el FXML no existe o tiene errores
+     */
+    public static <C> C show(String fxml, String title) throws IOException {
+        View<C> view = load(fxml);
+        show(view, title);
+        return view.getController();
+    }
+
+    /**
+     * Muestra una vista ya cargada en la ventana principal.
+     *
+     * @param view Vista a mostrar
+     * @param title Título de la ventana
+     */
+    public static void show(View<?> view, String title) {
+        Scene scene = stage.getScene();
+        if (scene.getRoot() != view.getRoot()) {
+            logFirstFrame(scene, view.fxml + " (" + (view.compiled ? "compilada" : "FXMLLoader")
+                + ", construida en " + view.buildNanos / 1_000 / 1000.0 + " ms)");
+            double width = stage.getWidth();
+            double height = stage.getHeight();
+            scene.setRoot(view.getRoot());
+            stage.sizeToScene();
+            if (stage.getWidth() != width || stage.getHeight() != height) {
+                stage.centerOnScreen();
+            }
+        }
+        stage.setTitle(title);
+        if (view.getController() instanceof Reusable reusableController) {
+            reusableController.onShow();
+        }
+    }
+
+    /**
+     * Parsea una vista en segundo plano para que la próxima
+     * {@link #load(String)} no tenga que hacerlo. Puede llamarse desde
+     * cualquier hilo; no hace nada si la vista ya está lista o en camino.
+     *
+     * @param fxml Ruta del FXML
+     */
+    public static void preload(String fxml) {
+        if (reusable.containsKey(fxml)) {
+            return;
+        }
+        preloaded.computeIfAbsent(fxml, f -> PRELOADER.submit(() -> parse(f)));
+    }
+
+    /**
+     * Registra cuánto tarda en dibujarse el primer frame después de ahora.
+     * Puede llamarse desde cualquier hilo.
+     *
+     * @param scene Escena que se va a dibujar
+     * @param what Descripción para el log
+     */
+    public static void logFirstFrame(Scene scene, String what) {
+        long start = System.nanoTime();
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            LOGGER.info("Primer frame de " + what + ": " + (System.nanoTime() - start) / 1_000 / 1000.0 + " ms");
+        };
+        Platform.runLater(() -> scene.addPostLayoutPulseListener(listener[0]));
+    }
+
+    /** Fábrica por defecto: constructor sin argumentos, como FXMLLoader */
+    private static Object newController(Class<?> type) {
+        try {
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear el controlador " + type.getName(), e);
+        }
+    }
+
+    private static View<?> parse(String fxml) throws IOException {
+        if (COMPILED) {
+            CompiledView<?> compiled = CompiledViews.create(fxml);
+            if (compiled != null) {
+                long start = System.nanoTime();
+                try {
+                    Parent root = compiled.build(controllerFactory);
+                    return new View<>(root, compiled.getController(), fxml, true, System.nanoTime() - start);
+                } catch (RuntimeException | LinkageError e) {
+                    LOGGER.warning("Vista compilada de " + fxml + " inválida, se usa FXMLLoader: " + e);
+                }
+            }
+        }
+        URL url = JavaQuiz.class.getResource(fxml);
+        if (url == null) {
+            throw new IOException("No se encontró el archivo FXML: " + fxml);
+        }
+        long start = System.nanoTime();
+        FXMLLoader loader = new FXMLLoader(url);
+        loader.setControllerFactory(controllerFactory);
+        Parent root = loader.load();
+        return new View<>(root, loader.getController(), fxml, false, System.nanoTime() - start);
+    }
+}
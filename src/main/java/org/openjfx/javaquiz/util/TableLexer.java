@@ -0,0 +1,446 @@
+package org.openjfx.javaquiz.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Analizador léxico genérico guiado por tablas, para los lenguajes que no
+ * son Java (SQL, JavaScript, XML/FXML, shell).
+ *
+ * El {@link Builder} describe el lenguaje (palabras clave, comentarios,
+ * comillas, prefijos de variable) y {@link Builder#build()} lo precompila
+ * en tablas: una por carácter ASCII que dice qué puede empezar en él y las
+ * palabras clave agrupadas por su primera letra. Al analizar, cada carácter
+ * se clasifica con una consulta a la tabla y cada rama avanza sobre lo que
+ * consumió, así que el recorrido es lineal en la longitud del texto.
+ *
+ * Con {@link Builder#markup()} el texto se trata como XML: solo las
+ * etiquetas, comentarios {@code <!-- -->}, secciones CDATA y entidades
+ * tienen estilo; dentro de una etiqueta el nombre es palabra clave, los
+ * atributos son anotaciones y sus valores cadenas. Un apóstrofo en el texto
+ * entre etiquetas no abre una cadena.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * CodeLexer sql = new TableLexer.Builder()
+ *     .keywords("select", "from", "where")
+ *     .ignoreCase()
+ *     .lineComment("--")
+ *     .blockComment("/*", "*&#47;")
+ *     .strings("'", false)
+ *     .build();
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ * @see LanguageRegistry
+ */
+public final class TableLexer implements CodeLexer {
+
+    // Qué puede empezar en un carácter ASCII (bits combinables)
+    private static final byte WORD = 1;
+    private static final byte DIGIT = 2;
+    private static final byte QUOTE = 4;
+    private static final byte COMMENT = 8;
+    private static final byte VARIABLE = 16;
+
+    private final byte[] starts;
+    private final boolean[] wordPart;
+    private final boolean ignoreCase;
+    private final String[][] wordsByFirst;
+    private final Token[][] kindsByFirst;
+    private final String[] lineComments;
+    private final String[] blockOpen;
+    private final String[] blockClose;
+    private final boolean[] multiline;
+    private final boolean[] escapes;
+    private final boolean markup;
+
+    private TableLexer(Builder b) {
+        this.ignoreCase = b.ignoreCase;
+        this.markup = b.markup;
+        this.lineComments = b.lineComments.toArray(new String[0]);
+        this.blockOpen = b.blockOpen.toArray(new String[0]);
+        this.blockClose = b.blockClose.toArray(new String[0]);
+        this.multiline = new boolean[128];
+        this.escapes = new boolean[128];
+        this.starts = new byte[128];
+        this.wordPart = new boolean[128];
+        for (char c = 0; c < 128; c++) {
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+            boolean digit = c >= '0' && c <= '9';
+            if (letter || b.wordChars.indexOf(c) >= 0) starts[c] |= WORD;
+            if (digit) starts[c] |= DIGIT;
+            wordPart[c] = letter || digit || b.wordChars.indexOf(c) >= 0 || b.wordPartChars.indexOf(c) >= 0;
+        }
+        for (String prefix : lineComments) starts[prefix.charAt(0)] |= COMMENT;
+        for (String open : blockOpen) starts[open.charAt(0)] |= COMMENT;
+        for (char c : b.variablePrefixes.toCharArray()) starts[c] |= VARIABLE;
+        for (int i = 0; i < b.quotes.length(); i++) {
+            char q = b.quotes.charAt(i);
+            starts[q] |= QUOTE;
+            multiline[q] = b.quoteMultiline.get(i);
+            escapes[q] = b.quoteEscapes.get(i);
+        }
+        this.wordsByFirst = new String[128][];
+        this.kindsByFirst = new Token[128][];
+        for (int i = 0; i < b.words.size(); i++) {
+            String word = ignoreCase ? b.words.get(i).toLowerCase(Locale.ROOT) : b.words.get(i);
+            char first = word.charAt(0);
+            String[] words = wordsByFirst[first] == null ? new String[0] : wordsByFirst[first];
+            Token[] kinds = kindsByFirst[first] == null ? new Token[0] : kindsByFirst[first];
+            wordsByFirst[first] = Arrays.copyOf(words, words.length + 1);
+            kindsByFirst[first] = Arrays.copyOf(kinds, kinds.length + 1);
+            wordsByFirst[first][words.length] = word;
+            kindsByFirst[first][kinds.length] = b.kinds.get(i);
+        }
+    }
+
+    /**
+     * Describe un lenguaje; cada método devuelve el mismo builder.
+     */
+    public static class Builder {
+        private final List<String> words = new ArrayList<>();
+        private final List<Token> kinds = new ArrayList<>();
+        private boolean ignoreCase;
+        private boolean markup;
+        private String wordChars = "";
+        private String wordPartChars = "";
+        private String variablePrefixes = "";
+        private String quotes = "";
+        private final List<Boolean> quoteMultiline = new ArrayList<>();
+        private final List<Boolean> quoteEscapes = new ArrayList<>();
+        private final List<String> lineComments = new ArrayList<>();
+        private final List<String> blockOpen = new ArrayList<>();
+        private final List<String> blockClose = new ArrayList<>();
+
+        /**
+         * @param keywords Palabras clave (ASCII)
+         * @return Este builder
+         */
+        public Builder keywords(String... keywords) {
+            return words(Token.KEYWORD, keywords);
+        }
+
+        /**
+         * @param literals Literales como true/false/null
+         * @return Este builder
+         */
+        public Builder literals(String... literals) {
+            return words(Token.LITERAL, literals);
+        }
+
+        private Builder words(Token kind, String... list) {
+            for (String word : list) {
+                if (word.isEmpty() || word.charAt(0) >= 128) {
+                    throw new IllegalArgumentException("Palabra clave inválida: '" + word + "'");
+                }
+                words.add(word);
+                kinds.add(kind);
+            }
+            return this;
+        }
+
+        /**
+         * Compara las palabras clave sin distinguir mayúsculas (SQL).
+         *
+         * @return Este builder
+         */
+        public Builder ignoreCase() {
+            this.ignoreCase = true;
+            return this;
+        }
+
+        /**
+         * @param chars Caracteres extra que pueden empezar y continuar una palabra (ej: {@code $} en JavaScript)
+         * @return Este builder
+         */
+        public Builder wordChars(String chars) {
+            this.wordChars = ascii(chars);
+            return this;
+        }
+
+        /**
+         * @param chars Caracteres extra que solo continúan una palabra (ej: {@code -} en XML)
+         * @return Este builder
+         */
+        public Builder wordPartChars(String chars) {
+            this.wordPartChars = ascii(chars);
+            return this;
+        }
+
+        /**
+         * @param prefixes Caracteres que inician una variable (ej: {@code $} en shell, {@code @} en SQL)
+         * @return Este builder
+         */
+        public Builder variables(String prefixes) {
+            this.variablePrefixes = ascii(prefixes);
+            return this;
+        }
+
+        /**
+         * @param chars Comillas que abren y cierran una cadena
+         * @param multilineStrings Si la cadena puede seguir en la línea siguiente
+         * @return Este builder
+         */
+        public Builder strings(String chars, boolean multilineStrings) {
+            return strings(chars, multilineStrings, true);
+        }
+
+        /**
+         * @param chars Comillas que abren y cierran una cadena
+         * @param multilineStrings Si la cadena puede seguir en la línea siguiente
+         * @param backslashEscapes Si {@code \} escapa el carácter siguiente
+         * @return Este builder
+         */
+        public Builder strings(String chars, boolean multilineStrings, boolean backslashEscapes) {
+            for (char c : ascii(chars).toCharArray()) {
+                quotes += c;
+                quoteMultiline.add(multilineStrings);
+                quoteEscapes.add(backslashEscapes);
+            }
+            return this;
+        }
+
+        /**
+         * @param prefix Inicio de un comentario hasta el final de la línea
+         * @return Este builder
+         */
+        public Builder lineComment(String prefix) {
+            lineComments.add(ascii(prefix));
+            return this;
+        }
+
+        /**
+         * @param open Apertura del comentario
+         * @param close Cierre del comentario
+         * @return Este builder
+         */
+        public Builder blockComment(String open, String close) {
+            blockOpen.add(ascii(open));
+            blockClose.add(close);
+            return this;
+        }
+
+        /**
+         * Trata el texto como XML (ver la documentación de la clase).
+         *
+         * @return Este builder
+         */
+        public Builder markup() {
+            this.markup = true;
+            return this;
+        }
+
+        /**
+         * Precompila las tablas del lenguaje.
+         *
+         * @return Analizador inmutable, compartible entre hilos
+         */
+        public TableLexer build() {
+            return new TableLexer(this);
+        }
+
+        private static String ascii(String chars) {
+            if (chars == null || chars.isEmpty() || chars.chars().anyMatch(c -> c >= 128)) {
+                throw new IllegalArgumentException("Se esperaban caracteres ASCII: '" + chars + "'");
+            }
+            return chars;
+        }
+    }
+
+    @Override
+    public void lex(String text, TokenSink sink) {
+        if (text == null) {
+            return;
+        }
+        if (markup) {
+            lexMarkup(text, sink);
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            int flags = c < 128 ? starts[c] : (Character.isLetter(c) ? WORD : 0);
+            int start = i;
+            int end;
+            if (flags == 0) {
+                i++;
+            } else if ((flags & COMMENT) != 0 && (end = comment(text, i)) > i) {
+                i = end;
+                sink.token(Token.COMMENT, start, i);
+            } else if ((flags & QUOTE) != 0) {
+                i = endOfQuoted(text, i + 1, c);
+                sink.token(Token.STRING, start, i);
+            } else if ((flags & VARIABLE) != 0 && (end = endOfVariable(text, i + 1)) > i + 1) {
+                i = end;
+                sink.token(Token.ANNOTATION, start, i);
+            } else if ((flags & DIGIT) != 0) {
+                i = endOfWord(text, i + 1);
+                sink.token(Token.NUMBER, start, i);
+            } else if ((flags & WORD) != 0) {
+                i = endOfWord(text, i + 1);
+                Token kind = word(text, start, i);
+                if (kind != null) {
+                    sink.token(kind, start, i);
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /** Fin del comentario que empieza en i, o i si no empieza ninguno */
+    private int comment(String text, int i) {
+        for (String prefix : lineComments) {
+            if (text.startsWith(prefix, i)) {
+                int newline = text.indexOf('\n', i);
+                return newline < 0 ? text.length() : newline;
+            }
+        }
+        for (int k = 0; k < blockOpen.length; k++) {
+            if (text.startsWith(blockOpen[k], i)) {
+                int close = text.indexOf(blockClose[k], i + blockOpen[k].length());
+                return close < 0 ? text.length() : close + blockClose[k].length();
+            }
+        }
+        return i;
+    }
+
+    private int endOfQuoted(String text, int i, char quote) {
+        int length = text.length();
+        boolean escaped = escapes[quote];
+        boolean spansLines = multiline[quote];
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '\\' && escaped) {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else if (c == '\n' && !spansLines) {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    /** Nombre ({@code $HOME}), llaves ({@code ${HOME}}) o variable especial ({@code $1}, {@code $?}) */
+    private int endOfVariable(String text, int i) {
+        int length = text.length();
+        if (i >= length) {
+            return i;
+        }
+        char c = text.charAt(i);
+        if (c == '{') {
+            int close = text.indexOf('}', i);
+            int newline = text.indexOf('\n', i);
+            return close < 0 || (newline >= 0 && newline < close) ? i : close + 1;
+        }
+        if (c < 128 && wordPart[c] || Character.isLetter(c)) {
+            return endOfWord(text, i + 1);
+        }
+        return "#?@!*-".indexOf(c) >= 0 ? i + 1 : i;
+    }
+
+    private int endOfWord(String text, int i) {
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c < 128 ? !wordPart[c] : !Character.isLetterOrDigit(c)) break;
+            i++;
+        }
+        return i;
+    }
+
+    private Token word(String text, int start, int end) {
+        char first = text.charAt(start);
+        if (ignoreCase) first = Character.toLowerCase(first);
+        if (first >= 128 || wordsByFirst[first] == null) {
+            return null;
+        }
+        String[] words = wordsByFirst[first];
+        int length = end - start;
+        for (int k = 0; k < words.length; k++) {
+            if (words[k].length() == length && text.regionMatches(ignoreCase, start, words[k], 0, length)) {
+                return kindsByFirst[first][k];
+            }
+        }
+        return null;
+    }
+
+    private void lexMarkup(String text, TokenSink sink) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int start = i;
+            char c = text.charAt(i);
+            if (c == '<' && text.startsWith("<!--", i)) {
+                int close = text.indexOf("-->", i + 4);
+                i = close < 0 ? length : close + 3;
+                sink.token(Token.COMMENT, start, i);
+            } else if (c == '<' && text.startsWith("<![CDATA[", i)) {
+                int close = text.indexOf("]]>", i + 9);
+                i = close < 0 ? length : close + 3;
+                sink.token(Token.STRING, start, i);
+            } else if (c == '<') {
+                i = tag(text, i, sink);
+            } else if (c == '&') {
+                int semicolon = i + 1;
+                while (semicolon < length && semicolon - i <= 10 && (wordPart(text.charAt(semicolon))
+                        || text.charAt(semicolon) == '#')) {
+                    semicolon++;
+                }
+                if (semicolon < length && text.charAt(semicolon) == ';' && semicolon > i + 1) {
+                    i = semicolon + 1;
+                    sink.token(Token.LITERAL, start, i);
+                } else {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /** Etiqueta desde su {@code <} hasta después de su {@code >} (o el final del texto) */
+    private int tag(String text, int i, TokenSink sink) {
+        int length = text.length();
+        int start = i++;
+        if (i < length && (text.charAt(i) == '/' || text.charAt(i) == '?' || text.charAt(i) == '!')) i++;
+        int nameEnd = endOfWord(text, i);
+        if (nameEnd == i) {
+            // "a < b" en el texto: no es una etiqueta
+            return i;
+        }
+        sink.token(Token.KEYWORD, start, nameEnd);
+        i = nameEnd;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '>') {
+                return i + 1;
+            } else if (c == '"' || c == '\'') {
+                int close = text.indexOf(c, i + 1);
+                int end = close < 0 ? length : close + 1;
+                sink.token(Token.STRING, i, end);
+                i = end;
+            } else if (wordPart(c)) {
+                int end = endOfWord(text, i + 1);
+                sink.token(Token.ANNOTATION, i, end);
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private boolean wordPart(char c) {
+        return c < 128 ? wordPart[c] : Character.isLetterOrDigit(c);
+    }
+}
@@ -0,0 +1,121 @@
+package org.openjfx.javaquiz.util;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Muestreo ponderado con árbol de Fenwick (árbol de sumas binario indexado).
+ *
+ * Cada índice tiene un peso no negativo; {@link #sample(RandomGenerator)}
+ * elige un índice con probabilidad proporcional a su peso. Cambiar un peso y
+ * extraer una muestra cuestan O(log n), así que no hace falta reconstruir
+ * listas acumuladas después de cada respuesta.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * WeightedSampler sampler = new WeightedSampler(new double[] {1, 3, 0, 6});
+ * int i = sampler.sample(random);   // 3 con probabilidad 0.6
+ * sampler.setWeight(3, 0);          // ya no se puede elegir
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public class WeightedSampler {
+
+    private final double[] tree;     // 1-based: tree[i] suma el rango (i - lowbit(i), i]
+    private final double[] weights;
+    private final int topBit;
+
+    /**
+     * Construye el árbol en O(n).
+     *
+     * @param initialWeights Pesos iniciales (no negativos)
+     */
+    public WeightedSampler(double[] initialWeights) {
+        int n = initialWeights.length;
+        this.weights = new double[n];
+        this.tree = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            weights[i] = checkWeight(initialWeights[i]);
+            tree[i + 1] += weights[i];
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= n) {
+                tree[parent] += tree[i + 1];
+            }
+        }
+        this.topBit = n == 0 ? 0 : Integer.highestOneBit(n);
+    }
+
+    public int size() { return weights.length; }
+
+    public double getWeight(int index) { return weights[index]; }
+
+    /**
+     * Cambia el peso de un índice en O(log n).
+     *
+     * @param index Índice
+     * @param weight Nuevo peso (0 para excluirlo)
+     */
+    public void setWeight(int index, double weight) {
+        double delta = checkWeight(weight) - weights[index];
+        weights[index] = weight;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Suma de todos los pesos.
+     *
+     * @return Peso total
+     */
+    public double total() {
+        double sum = 0;
+        for (int i = weights.length; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Elige un índice con probabilidad proporcional a su peso.
+     *
+     * @param random Generador aleatorio
+     * @return Índice elegido, o -1 si todos los pesos son 0
+     */
+    public int sample(RandomGenerator random) {
+        double total = total();
+        if (total <= 0) return -1;
+        int index = find(random.nextDouble() * total);
+        if (weights[index] > 0) return index;
+        // Redondeo en el límite de un rango: tomar el siguiente con peso
+        for (int i = 0; i < weights.length; i++) {
+            int candidate = (index + i) % weights.length;
+            if (weights[candidate] > 0) return candidate;
+        }
+        return -1;
+    }
+
+    /**
+     * Menor índice cuya suma acumulada (inclusive) supera {@code target}.
+     */
+    private int find(double target) {
+        int pos = 0;
+        for (int step = topBit; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < tree.length && tree[next] <= target) {
+                pos = next;
+                target -= tree[next];
+            }
+        }
+        return Math.min(pos, weights.length - 1);
+    }
+
+    private static double checkWeight(double weight) {
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Peso inválido: " + weight);
+        }
+        return weight;
+    }
+}
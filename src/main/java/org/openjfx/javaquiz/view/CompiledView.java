@@ -0,0 +1,161 @@
+package org.openjfx.javaquiz.view;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Parent;
+import javafx.util.Callback;
+import org.openjfx.javaquiz.JavaQuiz;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.net.URL;
+
+/**
+ * Vista construida por una clase generada con {@link FxmlCompiler} a partir
+ * de un archivo FXML.
+ *
+ * La subclase generada crea los nodos con {@code new} y setters, pide el
+ * controlador a la misma fábrica que usaría {@code FXMLLoader}, le asigna los campos {@code @FXML} y llama a su
+ * {@code initialize()}, igual que {@code FXMLLoader} pero sin parsear XML ni
+ * buscar miembros por reflexión en cada carga: los accesos a campos y
+ * métodos privados del controlador se resuelven una sola vez, al inicializar
+ * la clase generada.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * CompiledView&lt;?&gt; compiled = CompiledViews.create(Constants.FXML_QUIZ);
+ * Parent root = compiled.build(services.controllerFactory());
+ * QuizController qc = (QuizController) compiled.getController();
+ * </pre>
+ *
+ * @param <C> Tipo del controlador
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public abstract class CompiledView<C> {
+
+    /** Controlador creado por {@link #build(Callback)} */
+    protected C controller;
+
+    /**
+     * Construye el grafo de nodos y su controlador ya inicializado.
+     *
+     * @param controllerFactory Fábrica de controladores (como {@code FXMLLoader.setControllerFactory})
+     * @return Raíz de la vista
+     */
+    public abstract Parent build(Callback<Class<?>, Object> controllerFactory);
+
+    /**
+     * Controlador de la última vista construida.
+     *
+     * @return Controlador (null antes de {@link #build(Callback)})
+     */
+    public C getController() {
+        return controller;
+    }
+
+    /**
+     * Acceso a los miembros privados del controlador.
+     *
+     * @param type Clase del controlador
+     * @return Lookup con acceso privado
+     */
+    protected static MethodHandles.Lookup lookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Sin acceso a " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Campo {@code @FXML} del controlador.
+     *
+     * @param lookup Lookup del controlador
+     * @param name Nombre del campo
+     * @param type Tipo declarado del campo
+     * @return Handle para asignarlo
+     */
+    protected static VarHandle field(MethodHandles.Lookup lookup, String name, Class<?> type) {
+        try {
+            return lookup.findVarHandle(lookup.lookupClass(), name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Campo @FXML no encontrado: " + name, e);
+        }
+    }
+
+    /**
+     * Método del controlador sin valor de retorno.
+     *
+     * @param lookup Lookup del controlador
+     * @param name Nombre del método
+     * @param params Tipos de los parámetros
+     * @return Handle para invocarlo
+     */
+    protected static MethodHandle method(MethodHandles.Lookup lookup, String name, Class<?>... params) {
+        try {
+            return lookup.findVirtual(lookup.lookupClass(), name, MethodType.methodType(void.class, params));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Método del controlador no encontrado: " + name, e);
+        }
+    }
+
+    /**
+     * Manejador de evento que delega en un método del controlador
+     * ({@code onAction="#metodo"}).
+     *
+     * @param target Método (con o sin parámetro de evento)
+     * @param controller Controlador
+     * @param <E> Tipo de evento
+     * @return Manejador
+     */
+    protected static <E extends Event> EventHandler<E> handler(MethodHandle target, Object controller) {
+        boolean withEvent = target.type().parameterCount() == 2;
+        return event -> {
+            try {
+                if (withEvent) {
+                    target.invoke(controller, event);
+                } else {
+                    target.invoke(controller);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    /**
+     * Invoca {@code initialize()} del controlador.
+     *
+     * @param initialize Método initialize
+     * @param controller Controlador
+     */
+    protected static void initialize(MethodHandle initialize, Object controller) {
+        try {
+            initialize.invoke(controller);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * URL externa de un recurso referenciado con {@code @} en el FXML.
+     *
+     * @param path Ruta absoluta del recurso
+     * @return URL como texto
+     */
+    protected static String resource(String path) {
+        URL url = JavaQuiz.class.getResource(path);
+        if (url == null) {
+            throw new IllegalStateException("Recurso no encontrado: " + path);
+        }
+        return url.toExternalForm();
+    }
+}
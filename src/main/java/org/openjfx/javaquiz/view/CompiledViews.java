@@ -0,0 +1,29 @@
+// Generado por FxmlCompiler. No editar a mano.
+package org.openjfx.javaquiz.view;
+
+/**
+ * Vistas compiladas disponibles, por ruta de FXML.
+ *
+ * @see FxmlCompiler
+ */
+public final class CompiledViews {
+
+    private CompiledViews() {
+    }
+
+    /**
+     * Nueva instancia de la vista compilada de un FXML.
+     *
+     * @param fxml Ruta de recurso del FXML
+     * @return Vista sin construir, o null si ese FXML no está compilado
+     */
+    public static CompiledView<?> create(String fxml) {
+        return switch (fxml) {
+            case "/org/openjfx/javaquiz/fxml/JavaQuiz.fxml" -> new JavaQuizView();
+            case "/org/openjfx/javaquiz/fxml/menu.fxml" -> new MenuView();
+            case "/org/openjfx/javaquiz/fxml/quiz.fxml" -> new QuizView();
+            case "/org/openjfx/javaquiz/fxml/result.fxml" -> new ResultView();
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,694 @@
+package org.openjfx.javaquiz.view;
+
+import javafx.beans.DefaultProperty;
+import javafx.beans.NamedArg;
+import javafx.event.Event;
+import javafx.fxml.FXML;
+import org.openjfx.javaquiz.util.Constants;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Traduce archivos FXML a clases Java que construyen el mismo grafo de nodos
+ * (subclases de {@link CompiledView}).
+ *
+ * Resuelve en tiempo de compilación lo que {@code FXMLLoader} hace en cada
+ * carga: las clases de los {@code <?import?>}, el setter o la lista de cada
+ * atributo, los constructores {@code @NamedArg} (Insets, Font, BarChart...),
+ * las propiedades estáticas ({@code AnchorPane.topAnchor}), los campos
+ * {@code @FXML} y los manejadores {@code #metodo} del controlador.
+ *
+ * Soporta el subconjunto de FXML que usa la aplicación: elementos de
+ * instancia, elementos de propiedad, {@code fx:id}, {@code fx:controller} y
+ * rutas {@code @relativas}. Cualquier otra construcción ({@code fx:include},
+ * {@code fx:define}, expresiones {@code $}) es un error: esa vista se sigue
+ * cargando con {@code FXMLLoader}.
+ *
+ * Las clases generadas se versionan junto al código; un test verifica que
+ * coinciden con los FXML. Para regenerarlas:
+ * <pre>
+ * mvn -Pfxml process-classes
+ * </pre>
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * String source = FxmlCompiler.compile(Paths.get("src/main/resources"), Constants.FXML_QUIZ);
+ * </pre>
+ *
+ * @author angel
+ * @version 1.0
+ * @since 2.1
+ */
+public final class FxmlCompiler {
+
+    private static final String PACKAGE = FxmlCompiler.class.getPackageName();
+    private static final String INDENT = "        ";
+
+    private final String resourcePath;
+    private final Map<String, Class<?>> explicitImports = new HashMap<>();
+    private final List<String> packageImports = new ArrayList<>();
+    private final Map<String, Class<?>> usedTypes = new HashMap<>();
+    private final Set<String> usedNames = new HashSet<>();
+    private final Map<String, Integer> counters = new HashMap<>();
+    private final Map<String, String> fieldHandles = new LinkedHashMap<>();
+    private final Map<String, String> methodHandles = new LinkedHashMap<>();
+    private final List<String> injections = new ArrayList<>();
+    private final StringBuilder body = new StringBuilder();
+    private Class<?> controllerType;
+
+    private FxmlCompiler(String resourcePath) {
+        this.resourcePath = resourcePath;
+        usedNames.add("controller");
+    }
+
+    /**
+     * Genera las vistas de todos los FXML de la aplicación y el registro
+     * {@link CompiledViews}. Solo reescribe los archivos que cambian.
+     *
+     * @param args [0] raíz de recursos (src/main/resources), [1] raíz de fuentes (src/main/java)
+     * @throws IOException Si un FXML no se puede leer o no se puede traducir
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: FxmlCompiler <recursos> <fuentes>");
+        }
+        Path resources = Paths.get(args[0]);
+        Path sources = Paths.get(args[1]);
+        Path outputDir = sources.resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(outputDir);
+
+        List<String> fxmlFiles = fxmlFiles(resources);
+        for (String fxml : fxmlFiles) {
+            write(outputDir.resolve(className(fxml) + ".java"), compile(resources, fxml));
+        }
+        write(outputDir.resolve("CompiledViews.java"), registry(fxmlFiles));
+    }
+
+    /**
+     * Rutas de recurso de los FXML de la aplicación, en orden.
+     *
+     * @param resources Raíz de recursos
+     * @return Rutas como {@link Constants#FXML_QUIZ}
+     * @throws IOException Si el directorio no se puede listar
+     */
+    public static List<String> fxmlFiles(Path resources) throws IOException {
+        Set<String> files = new TreeSet<>();
+        Path dir = resources.resolve(Constants.FXML_PATH.substring(1));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.fxml")) {
+            for (Path file : stream) {
+                files.add(Constants.FXML_PATH + file.getFileName());
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * Nombre de la clase generada para un FXML ({@code menu.fxml} → {@code MenuView}).
+     *
+     * @param fxml Ruta de recurso
+     * @return Nombre simple de la clase
+     */
+    public static String className(String fxml) {
+        String name = fxml.substring(fxml.lastIndexOf('/') + 1, fxml.length() - ".fxml".length());
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1) + "View";
+    }
+
+    /**
+     * Traduce un FXML a código fuente Java.
+     *
+     * @param resources Raíz de recursos donde está el FXML
+     * @param fxml Ruta de recurso (ej: {@link Constants#FXML_QUIZ})
+     * @return Código fuente de la clase generada
+     * @throws IOException Si el FXML no se puede leer o usa algo no soportado
+     */
+    public static String compile(Path resources, String fxml) throws IOException {
+        Document document;
+        try (InputStream in = Files.newInputStream(resources.resolve(fxml.substring(1)))) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setIgnoringComments(true);
+            document = factory.newDocumentBuilder().parse(in);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException(fxml + ": XML inválido: " + e.getMessage(), e);
+        }
+        FxmlCompiler compiler = new FxmlCompiler(fxml);
+        try {
+            return compiler.generate(document);
+        } catch (ClassNotFoundException | NoSuchFieldException | IllegalArgumentException e) {
+            throw new IOException(fxml + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ========== GENERACIÓN ==========
+
+    private String generate(Document document) throws IOException, ClassNotFoundException, NoSuchFieldException {
+        for (Node node = document.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof ProcessingInstruction pi && pi.getTarget().equals("import")) {
+                String name = pi.getData().trim();
+                if (name.endsWith(".*")) {
+                    packageImports.add(name.substring(0, name.length() - 1));
+                } else {
+                    explicitImports.put(name.substring(name.lastIndexOf('.') + 1), load(name));
+                }
+            }
+        }
+        Element root = document.getDocumentElement();
+        String controllerName = root.getAttribute("fx:controller");
+        if (controllerName.isEmpty()) {
+            throw new IOException(resourcePath + ": falta fx:controller");
+        }
+        controllerType = load(controllerName);
+
+        String rootVar = instance(root);
+        injectFields(root);
+        Method initialize = findMethod(controllerType, "initialize");
+        String initializeHandle = initialize != null ? methodHandle("initialize", initialize) : null;
+
+        StringBuilder out = new StringBuilder();
+        String className = className(resourcePath);
+        String controller = type(controllerType);
+        type(java.lang.invoke.MethodHandles.class);
+        if (!fieldHandles.isEmpty()) type(java.lang.invoke.VarHandle.class);
+        if (!methodHandles.isEmpty()) type(java.lang.invoke.MethodHandle.class);
+        type(javafx.scene.Parent.class);
+        type(javafx.util.Callback.class);
+
+        out.append("// Generado por FxmlCompiler desde ").append(resourcePath).append(". No editar a mano.\n");
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        Set<String> imports = new TreeSet<>();
+        for (Class<?> c : usedTypes.values()) {
+            if (!c.getPackageName().equals("java.lang") && !c.getPackageName().equals(PACKAGE)) {
+                imports.add(c.getCanonicalName());
+            }
+        }
+        for (String name : imports) {
+            out.append("import ").append(name).append(";\n");
+        }
+        out.append("\n/**\n * Vista compilada de {@code ").append(resourcePath.substring(resourcePath.lastIndexOf('/') + 1))
+            .append("}.\n *\n * @see FxmlCompiler\n */\n");
+        out.append("public final class ").append(className).append(" extends CompiledView<").append(controller).append("> {\n\n");
+        out.append("    private static final MethodHandles.Lookup LOOKUP = lookup(").append(controller).append(".class);\n");
+        fieldHandles.forEach((constant, init) ->
+            out.append("    private static final VarHandle ").append(constant).append(" = ").append(init).append(";\n"));
+        methodHandles.forEach((constant, init) ->
+            out.append("    private static final MethodHandle ").append(constant).append(" = ").append(init).append(";\n"));
+        out.append("\n    @Override\n    @SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        out.append("    public Parent build(Callback<Class<?>, Object> controllerFactory) {\n");
+        out.append(INDENT).append("controller = (").append(controller).append(") controllerFactory.call(")
+            .append(controller).append(".class);\n");
+        out.append(body);
+        for (String injection : injections) {
+            out.append(INDENT).append(injection).append('\n');
+        }
+        if (initializeHandle != null) {
+            out.append(INDENT).append("initialize(").append(initializeHandle).append(", controller);\n");
+        }
+        out.append(INDENT).append("return ").append(rootVar).append(";\n");
+        out.append("    }\n}\n");
+        return out.toString();
+    }
+
+    /**
+     * Emite la construcción de un elemento de instancia y devuelve la
+     * variable que lo contiene.
+     */
+    private String instance(Element element) throws IOException, ClassNotFoundException, NoSuchFieldException {
+        Class<?> type = resolve(element.getTagName());
+
+        // Atributos y elementos de propiedad disponibles
+        Map<String, String> attributes = new LinkedHashMap<>();
+        Map<String, String> staticAttributes = new LinkedHashMap<>();
+        NamedNodeMap attrs = element.getAttributes();
+        for (int i = 0; i < attrs.getLength(); i++) {
+            String name = attrs.item(i).getNodeName();
+            String value = attrs.item(i).getNodeValue();
+            if (name.equals("xmlns") || name.startsWith("xmlns:") || name.equals("fx:controller") || name.equals("fx:id")) {
+                continue;
+            }
+            if (name.startsWith("fx:") || value.startsWith("$") || value.startsWith("%")) {
+                throw new IOException("construcción no soportada: " + name + "=\"" + value + "\"");
+            }
+            if (Character.isUpperCase(name.charAt(0)) && name.indexOf('.') > 0) {
+                staticAttributes.put(name, value);
+            } else {
+                attributes.put(name, value);
+            }
+        }
+        Map<String, List<Element>> properties = new LinkedHashMap<>();
+        for (Element child : childElements(element)) {
+            String tag = child.getTagName();
+            if (tag.startsWith("fx:")) {
+                throw new IOException("construcción no soportada: <" + tag + ">");
+            }
+            if (Character.isLowerCase(tag.charAt(0))) {
+                properties.put(tag, childElements(child));
+            } else {
+                properties.computeIfAbsent(defaultProperty(type), k -> new ArrayList<>()).add(child);
+            }
+        }
+
+        // Los hijos se construyen antes: pueden ser argumentos del constructor
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Element>> property : properties.entrySet()) {
+            List<String> vars = new ArrayList<>();
+            for (Element child : property.getValue()) {
+                vars.add(instance(child));
+            }
+            values.put(property.getKey(), vars);
+        }
+
+        String var = variable(element.getAttribute("fx:id"), type);
+        Constructor<?> constructor = chooseConstructor(type, attributes.keySet(), properties.keySet());
+        List<String> args = new ArrayList<>();
+        Set<String> consumed = new HashSet<>();
+        for (Parameter parameter : constructor.getParameters()) {
+            NamedArg named = parameter.getAnnotation(NamedArg.class);
+            String name = named.value();
+            consumed.add(name);
+            if (attributes.containsKey(name)) {
+                args.add(literal(parameter.getType(), attributes.get(name)));
+            } else if (values.containsKey(name)) {
+                args.add(values.get(name).get(0));
+            } else if (!named.defaultValue().isEmpty()) {
+                args.add(literal(parameter.getType(), named.defaultValue()));
+            } else {
+                args.add(defaultLiteral(parameter.getType()));
+            }
+        }
+        line(type(type) + " " + var + " = new " + type(type) + "(" + String.join(", ", args) + ");");
+
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            if (!consumed.contains(attribute.getKey())) {
+                attribute(type, var, attribute.getKey(), attribute.getValue());
+            }
+        }
+        for (Map.Entry<String, List<String>> property : values.entrySet()) {
+            if (!consumed.contains(property.getKey())) {
+                property(type, var, property.getKey(), property.getValue());
+            }
+        }
+        for (Map.Entry<String, String> attribute : staticAttributes.entrySet()) {
+            staticAttribute(var, attribute.getKey(), attribute.getValue());
+        }
+        return var;
+    }
+
+    private void attribute(Class<?> type, String var, String name, String value) throws IOException {
+        String cap = capitalize(name);
+        if (value.startsWith("#")) {
+            Method setter = findSetter(type, cap, null);
+            Method target = findHandler(value.substring(1));
+            if (setter == null || target == null) {
+                throw new IOException("manejador no resoluble: " + name + "=\"" + value + "\"");
+            }
+            line(var + ".set" + cap + "(handler(" + methodHandle(target.getName(), target) + ", controller));");
+            return;
+        }
+        Method setter = findSetter(type, cap, value);
+        if (setter != null) {
+            line(var + ".set" + cap + "(" + literal(setter.getParameterTypes()[0], value) + ");");
+            return;
+        }
+        Method getter = findMethod(type, "get" + cap);
+        if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+            List<String> items = new ArrayList<>();
+            for (String item : value.split(",")) {
+                if (!item.isBlank()) items.add(literal(String.class, item.trim()));
+            }
+            line(var + ".get" + cap + "().addAll(" + String.join(", ", items) + ");");
+            return;
+        }
+        throw new IOException(type.getSimpleName() + " no tiene la propiedad '" + name + "'");
+    }
+
+    private void property(Class<?> type, String var, String name, List<String> children) throws IOException {
+        String cap = capitalize(name);
+        Method getter = findMethod(type, "get" + cap);
+        if (getter != null && List.class.isAssignableFrom(getter.getReturnType())) {
+            if (!children.isEmpty()) {
+                line(var + ".get" + cap + "().addAll(" + String.join(", ", children) + ");");
+            }
+            return;
+        }
+        Method setter = findSetter(type, cap, null);
+        if (setter != null && children.size() == 1) {
+            line(var + ".set" + cap + "(" + children.get(0) + ");");
+            return;
+        }
+        throw new IOException(type.getSimpleName() + " no admite el elemento <" + name + ">");
+    }
+
+    private void staticAttribute(String var, String name, String value) throws IOException, ClassNotFoundException {
+        int dot = name.lastIndexOf('.');
+        Class<?> owner = resolve(name.substring(0, dot));
+        String setter = "set" + capitalize(name.substring(dot + 1));
+        for (Method m : owner.getMethods()) {
+            if (m.getName().equals(setter) && Modifier.isStatic(m.getModifiers()) && m.getParameterCount() == 2) {
+                line(type(owner) + "." + setter + "(" + var + ", " + literal(m.getParameterTypes()[1], value) + ");");
+                return;
+            }
+        }
+        throw new IOException("propiedad estática desconocida: " + name);
+    }
+
+    /** Asigna los campos @FXML del controlador a los nodos con fx:id */
+    private void injectFields(Element element) throws NoSuchFieldException {
+        String id = element.getAttribute("fx:id");
+        if (!id.isEmpty()) {
+            Field field = findField(id);
+            if (field != null) {
+                String constant = "F_" + constantName(id);
+                fieldHandles.put(constant, "field(LOOKUP, \"" + id + "\", " + type(field.getType()) + ".class)");
+                injections.add(constant + ".set(controller, " + id + ");");
+            }
+        }
+        for (Element child : childElements(element)) {
+            injectFields(child);
+        }
+    }
+
+    private static String registry(List<String> fxmlFiles) {
+        StringBuilder out = new StringBuilder();
+        out.append("// Generado por FxmlCompiler. No editar a mano.\n");
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        out.append("/**\n * Vistas compiladas disponibles, por ruta de FXML.\n *\n * @see FxmlCompiler\n */\n");
+        out.append("public final class CompiledViews {\n\n");
+        out.append("    private CompiledViews() {\n    }\n\n");
+        out.append("    /**\n     * Nueva instancia de la vista compilada de un FXML.\n     *\n");
+        out.append("     * @param fxml Ruta de recurso del FXML\n");
+        out.append("     * @return Vista sin construir, o null si ese FXML no está compilado\n     */\n");
+        out.append("    public static CompiledView<?> create(String fxml) {\n");
+        out.append("        return switch (fxml) {\n");
+        for (String fxml : fxmlFiles) {
+            out.append("            case \"").append(fxml).append("\" -> new ").append(className(fxml)).append("();\n");
+        }
+        out.append("            default -> null;\n");
+        out.append("        };\n    }\n}\n");
+        return out.toString();
+    }
+
+    // ========== REFLEXIÓN ==========
+
+    private Class<?> resolve(String name) throws ClassNotFoundException {
+        if (name.indexOf('.') > 0 && Character.isLowerCase(name.charAt(0))) {
+            return load(name);
+        }
+        Class<?> explicit = explicitImports.get(name);
+        if (explicit != null) {
+            return explicit;
+        }
+        for (String pkg : packageImports) {
+            try {
+                return load(pkg + name);
+            } catch (ClassNotFoundException e) {
+                // Probar el siguiente paquete importado
+            }
+        }
+        throw new ClassNotFoundException("clase no importada: " + name);
+    }
+
+    private static Class<?> load(String name) throws ClassNotFoundException {
+        return Class.forName(name, false, FxmlCompiler.class.getClassLoader());
+    }
+
+    /**
+     * Constructor a usar: el que recibe (por {@code @NamedArg}) todos los
+     * valores que no tienen setter, cubriendo la mayor cantidad de valores y
+     * con la menor cantidad de parámetros.
+     */
+    private static Constructor<?> chooseConstructor(Class<?> type, Set<String> attributes, Set<String> properties)
+            throws IOException {
+        Set<String> available = new HashSet<>(attributes);
+        available.addAll(properties);
+        Set<String> required = new HashSet<>();
+        for (String name : available) {
+            String cap = capitalize(name);
+            Method getter = findMethod(type, "get" + cap);
+            boolean list = getter != null && List.class.isAssignableFrom(getter.getReturnType());
+            if (!list && findSetter(type, cap, null) == null) {
+                required.add(name);
+            }
+        }
+        Constructor<?> best = null;
+        int bestCovered = -1;
+        for (Constructor<?> c : type.getConstructors()) {
+            Set<String> names = new HashSet<>();
+            boolean allNamed = true;
+            for (Parameter p : c.getParameters()) {
+                NamedArg named = p.getAnnotation(NamedArg.class);
+                if (named == null) {
+                    allNamed = false;
+                    break;
+                }
+                names.add(named.value());
+            }
+            if (!allNamed || !names.containsAll(required)) {
+                continue;
+            }
+            names.retainAll(available);
+            int covered = names.size();
+            if (covered > bestCovered || (covered == bestCovered && c.getParameterCount() < best.getParameterCount())) {
+                best = c;
+                bestCovered = covered;
+            }
+        }
+        if (best == null) {
+            throw new IOException(type.getSimpleName() + ": ningún constructor recibe " + required);
+        }
+        return best;
+    }
+
+    /** Setter de un argumento; con valor, prefiere el que puede convertirlo */
+    private static Method findSetter(Class<?> type, String cap, String value) {
+        Method fallback = null;
+        for (Method m : type.getMethods()) {
+            if (m.getName().equals("set" + cap) && m.getParameterCount() == 1 && !Modifier.isStatic(m.getModifiers())) {
+                if (value == null || convertible(m.getParameterTypes()[0], value)) {
+                    return m;
+                }
+                fallback = m;
+            }
+        }
+        return value == null ? fallback : null;
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        for (Method m : type.getMethods()) {
+            if (m.getName().equals(name) && m.getParameterCount() == 0) {
+                return m;
+            }
+        }
+        for (Method m : type.getDeclaredMethods()) {
+            if (m.getName().equals(name) && m.getParameterCount() == 0 && m.isAnnotationPresent(FXML.class)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    /** Método del controlador para "#nombre": con parámetro de evento si existe */
+    private Method findHandler(String name) {
+        Method noArgs = null;
+        for (Method m : controllerType.getDeclaredMethods()) {
+            if (!m.getName().equals(name)) continue;
+            if (m.getParameterCount() == 1 && Event.class.isAssignableFrom(m.getParameterTypes()[0])) {
+                return m;
+            }
+            if (m.getParameterCount() == 0) noArgs = m;
+        }
+        return noArgs;
+    }
+
+    private Field findField(String name) {
+        try {
+            Field field = controllerType.getDeclaredField(name);
+            return field.isAnnotationPresent(FXML.class) || Modifier.isPublic(field.getModifiers()) ? field : null;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static String defaultProperty(Class<?> type) throws IOException {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            DefaultProperty annotation = c.getAnnotation(DefaultProperty.class);
+            if (annotation != null) {
+                return annotation.value();
+            }
+        }
+        throw new IOException(type.getSimpleName() + " no tiene propiedad por defecto");
+    }
+
+    // ========== LITERALES Y NOMBRES ==========
+
+    private static boolean convertible(Class<?> type, String value) {
+        try {
+            literalValue(type, value, null);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private String literal(Class<?> type, String value) {
+        return literalValue(type, value, this);
+    }
+
+    /** Literal Java para un valor de atributo; IllegalArgumentException si no es convertible */
+    private static String literalValue(Class<?> type, String value, FxmlCompiler compiler) {
+        if (value.startsWith("@")) {
+            if (type != String.class && type != Object.class) throw new IllegalArgumentException(value);
+            return compiler == null ? "" : "resource(\"" + compiler.location(value.substring(1)) + "\")";
+        }
+        if (type == String.class || type == Object.class) {
+            return quote(value);
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+            String suffix = type == float.class || type == Float.class ? "F" : "";
+            String boxed = suffix.isEmpty() ? "Double" : "Float";
+            return switch (value) {
+                case "Infinity" -> boxed + ".POSITIVE_INFINITY";
+                case "-Infinity" -> boxed + ".NEGATIVE_INFINITY";
+                default -> Double.toString(Double.parseDouble(value)) + suffix;
+            };
+        }
+        if (type == int.class || type == Integer.class) {
+            return Integer.toString(Integer.parseInt(value));
+        }
+        if (type == long.class || type == Long.class) {
+            return Long.parseLong(value) + "L";
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            if (!value.equals("true") && !value.equals("false")) throw new IllegalArgumentException(value);
+            return value;
+        }
+        if (type.isEnum()) {
+            String constant = value.toUpperCase(Locale.ROOT);
+            for (Object e : type.getEnumConstants()) {
+                if (((Enum<?>) e).name().equals(constant)) {
+                    return (compiler == null ? type.getSimpleName() : compiler.type(type)) + "." + constant;
+                }
+            }
+            throw new IllegalArgumentException(value);
+        }
+        throw new IllegalArgumentException("tipo no soportado " + type.getName() + " para \"" + value + "\"");
+    }
+
+    private static String defaultLiteral(Class<?> type) {
+        if (type == boolean.class) return "false";
+        if (type == double.class) return "0.0";
+        if (type == float.class) return "0.0F";
+        if (type == long.class) return "0L";
+        if (type.isPrimitive()) return "0";
+        return "null";
+    }
+
+    /** Ruta absoluta de un recurso relativo al FXML */
+    private String location(String relative) {
+        Path base = Paths.get(resourcePath).getParent();
+        return base.resolve(relative).normalize().toString().replace('\\', '/');
+    }
+
+    /** Nombre simple de un tipo para el código generado; registra su import */
+    private String type(Class<?> type) {
+        Class<?> previous = usedTypes.putIfAbsent(type.getSimpleName(), type);
+        if (previous != null && previous != type) {
+            return type.getCanonicalName();
+        }
+        return type.getSimpleName();
+    }
+
+    private String variable(String id, Class<?> type) throws IOException {
+        if (!id.isEmpty()) {
+            if (!usedNames.add(id)) throw new IOException("fx:id repetido: " + id);
+            return id;
+        }
+        String base = Character.toLowerCase(type.getSimpleName().charAt(0)) + type.getSimpleName().substring(1);
+        String name;
+        do {
+            name = base + counters.merge(base, 1, Integer::sum);
+        } while (!usedNames.add(name));
+        return name;
+    }
+
+    private String methodHandle(String name, Method method) {
+        String constant = "M_" + constantName(name);
+        StringBuilder init = new StringBuilder("method(LOOKUP, \"").append(name).append('"');
+        for (Class<?> p : method.getParameterTypes()) {
+            init.append(", ").append(type(p)).append(".class");
+        }
+        methodHandles.putIfAbsent(constant, init.append(')').toString());
+        return constant;
+    }
+
+    private void line(String code) {
+        body.append(INDENT).append(code).append('\n');
+    }
+
+    private static List<Element> childElements(Element element) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element child) {
+                children.add(child);
+            }
+        }
+        return children;
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String constantName(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    private static String quote(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\t' -> out.append("\\t");
+                default -> out.append(c);
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (Files.exists(file) && Arrays.equals(Files.readAllBytes(file), bytes)) {
+            return;
+        }
+        Files.write(file, bytes);
+    }
+}
@@ -0,0 +1,88 @@
+// Generado por FxmlCompiler desde /org/openjfx/javaquiz/fxml/JavaQuiz.fxml. No editar a mano.
+package org.openjfx.javaquiz.view;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.util.Callback;
+import org.openjfx.javaquiz.controller.HomeController;
+
+/**
+ * Vista compilada de {@code JavaQuiz.fxml}.
+ *
+ * @see FxmlCompiler
+ */
+public final class JavaQuizView extends CompiledView<HomeController> {
+
+    private static final MethodHandles.Lookup LOOKUP = lookup(HomeController.class);
+    private static final VarHandle F_ROOT_PANE = field(LOOKUP, "rootPane", AnchorPane.class);
+    private static final VarHandle F_PLAYQUIZBTN = field(LOOKUP, "playquizbtn", Button.class);
+    private static final MethodHandle M_INITIALIZE = method(LOOKUP, "initialize");
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Parent build(Callback<Class<?>, Object> controllerFactory) {
+        controller = (HomeController) controllerFactory.call(HomeController.class);
+        Button closeBtn = new Button();
+        closeBtn.setMnemonicParsing(false);
+        closeBtn.getStyleClass().addAll("btn-close");
+        closeBtn.setText("✕");
+        AnchorPane.setRightAnchor(closeBtn, 8.0);
+        AnchorPane.setTopAnchor(closeBtn, 8.0);
+        Insets insets1 = new Insets(80.0, 40.0, 80.0, 40.0);
+        Font font1 = new Font("Segoe UI", 48.0);
+        Label label1 = new Label();
+        label1.getStyleClass().addAll("title-large");
+        label1.setText("JavaQuiz");
+        label1.setFont(font1);
+        Font font2 = new Font(16.0);
+        Label label2 = new Label();
+        label2.setStyle("-fx-text-alignment: center;");
+        label2.getStyleClass().addAll("text-body");
+        label2.setText("Pon a prueba tus conocimientos de Java");
+        label2.setFont(font2);
+        VBox vBox1 = new VBox();
+        vBox1.setAlignment(Pos.CENTER);
+        vBox1.setSpacing(16.0);
+        vBox1.getChildren().addAll(label1, label2);
+        Font font3 = new Font("Segoe UI Semibold", 20.0);
+        Button playquizbtn = new Button();
+        playquizbtn.setMnemonicParsing(false);
+        playquizbtn.setPrefHeight(70.0);
+        playquizbtn.setPrefWidth(300.0);
+        playquizbtn.getStyleClass().addAll("btn-primary");
+        playquizbtn.setText("COMENZAR QUIZ");
+        playquizbtn.setFont(font3);
+        VBox vBox2 = new VBox();
+        vBox2.setAlignment(Pos.CENTER);
+        vBox2.setSpacing(48.0);
+        vBox2.setPadding(insets1);
+        vBox2.getChildren().addAll(vBox1, playquizbtn);
+        AnchorPane.setBottomAnchor(vBox2, 0.0);
+        AnchorPane.setLeftAnchor(vBox2, 0.0);
+        AnchorPane.setRightAnchor(vBox2, 0.0);
+        AnchorPane.setTopAnchor(vBox2, 0.0);
+        AnchorPane rootPane = new AnchorPane();
+        rootPane.setMaxHeight(Double.NEGATIVE_INFINITY);
+        rootPane.setMaxWidth(Double.NEGATIVE_INFINITY);
+        rootPane.setMinHeight(Double.NEGATIVE_INFINITY);
+        rootPane.setMinWidth(Double.NEGATIVE_INFINITY);
+        rootPane.setPrefHeight(500.0);
+        rootPane.setPrefWidth(700.0);
+        rootPane.getStyleClass().addAll("container-main");
+        rootPane.getStylesheets().addAll(resource("/org/openjfx/javaquiz/css/JavaQuiz.css"));
+        rootPane.getChildren().addAll(closeBtn, vBox2);
+        F_ROOT_PANE.set(controller, rootPane);
+        F_PLAYQUIZBTN.set(controller, playquizbtn);
+        initialize(M_INITIALIZE, controller);
+        return rootPane;
+    }
+}
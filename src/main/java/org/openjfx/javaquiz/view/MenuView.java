@@ -0,0 +1,235 @@
+// Generado por FxmlCompiler desde /org/openjfx/javaquiz/fxml/menu.fxml. No editar a mano.
+package org.openjfx.javaquiz.view;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.util.Callback;
+import org.openjfx.javaquiz.controller.MenuController;
+
+/**
+ * Vista compilada de {@code menu.fxml}.
+ *
+ * @see FxmlCompiler
+ */
+public final class MenuView extends CompiledView<MenuController> {
+
+    private static final MethodHandles.Lookup LOOKUP = lookup(MenuController.class);
+    private static final VarHandle F_ROOT_PANE = field(LOOKUP, "rootPane", AnchorPane.class);
+    private static final VarHandle F_TEMAS_COUNT_LABEL = field(LOOKUP, "temasCountLabel", Label.class);
+    private static final VarHandle F_BUSCAR_FIELD = field(LOOKUP, "buscarField", TextField.class);
+    private static final VarHandle F_BUSCAR_BTN = field(LOOKUP, "buscarBtn", Button.class);
+    private static final VarHandle F_BUSQUEDA_LABEL = field(LOOKUP, "busquedaLabel", Label.class);
+    private static final VarHandle F_TOPICS_LIST_VIEW = field(LOOKUP, "topicsListView", ListView.class);
+    private static final VarHandle F_AGREGAR_TEMA = field(LOOKUP, "agregarTema", Button.class);
+    private static final VarHandle F_REMOVER_TEMA = field(LOOKUP, "removerTema", Button.class);
+    private static final VarHandle F_TOPICS_SELECTED_LIST_VIEW = field(LOOKUP, "topicsSelectedListView", ListView.class);
+    private static final VarHandle F_INICIAR_BTN = field(LOOKUP, "iniciarBtn", Button.class);
+    private static final VarHandle F_PRACTICA_BTN = field(LOOKUP, "practicaBtn", Button.class);
+    private static final VarHandle F_NIVELACION_BTN = field(LOOKUP, "nivelacionBtn", Button.class);
+    private static final VarHandle F_EXAMEN_BTN = field(LOOKUP, "examenBtn", Button.class);
+    private static final VarHandle F_REPASAR_BTN = field(LOOKUP, "repasarBtn", Button.class);
+    private static final VarHandle F_REANUDAR_BTN = field(LOOKUP, "reanudarBtn", Button.class);
+    private static final MethodHandle M_INITIALIZE = method(LOOKUP, "initialize");
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Parent build(Callback<Class<?>, Object> controllerFactory) {
+        controller = (MenuController) controllerFactory.call(MenuController.class);
+        Button closeBtn = new Button();
+        closeBtn.setMnemonicParsing(false);
+        closeBtn.getStyleClass().addAll("btn-close");
+        closeBtn.setText("✕");
+        AnchorPane.setRightAnchor(closeBtn, 8.0);
+        AnchorPane.setTopAnchor(closeBtn, 8.0);
+        Font font1 = new Font("Segoe UI Semibold", 28.0);
+        Label label1 = new Label();
+        label1.getStyleClass().addAll("title-medium");
+        label1.setText("Selecciona los Temas");
+        label1.setFont(font1);
+        Font font2 = new Font(16.0);
+        Label temasCountLabel = new Label();
+        temasCountLabel.setStyle("-fx-text-fill: #7C3AED; -fx-font-weight: 600;");
+        temasCountLabel.getStyleClass().addAll("text-body");
+        temasCountLabel.setText("Temas seleccionados: 0");
+        temasCountLabel.setFont(font2);
+        VBox vBox1 = new VBox();
+        vBox1.setSpacing(8.0);
+        vBox1.getChildren().addAll(label1, temasCountLabel);
+        Font font3 = new Font(14.0);
+        Label label2 = new Label();
+        label2.setStyle("-fx-font-weight: 600; -fx-font-size: 14px;");
+        label2.setText("📚 Temas Disponibles");
+        label2.setFont(font3);
+        TextField buscarField = new TextField();
+        buscarField.setPromptText("Buscar: HashMap, volatile, stream*…");
+        HBox.setHgrow(buscarField, Priority.ALWAYS);
+        Button buscarBtn = new Button();
+        buscarBtn.setDisable(true);
+        buscarBtn.setMnemonicParsing(false);
+        buscarBtn.getStyleClass().addAll("btn-secondary");
+        buscarBtn.setText("🔍 Quiz");
+        HBox hBox1 = new HBox();
+        hBox1.setAlignment(Pos.CENTER_LEFT);
+        hBox1.setSpacing(8.0);
+        hBox1.getChildren().addAll(buscarField, buscarBtn);
+        Label busquedaLabel = new Label();
+        busquedaLabel.getStyleClass().addAll("text-body");
+        ListView topicsListView = new ListView();
+        topicsListView.setPrefWidth(300.0);
+        VBox.setVgrow(topicsListView, Priority.ALWAYS);
+        VBox vBox2 = new VBox();
+        vBox2.setSpacing(12.0);
+        vBox2.getChildren().addAll(label2, hBox1, busquedaLabel, topicsListView);
+        HBox.setHgrow(vBox2, Priority.ALWAYS);
+        Insets insets1 = new Insets(40.0, 0.0, 0.0, 0.0);
+        Font font4 = new Font(14.0);
+        Button agregarTema = new Button();
+        agregarTema.setMnemonicParsing(false);
+        agregarTema.setPrefWidth(130.0);
+        agregarTema.getStyleClass().addAll("btn-primary");
+        agregarTema.setText("Agregar →");
+        agregarTema.setFont(font4);
+        Font font5 = new Font(14.0);
+        Button removerTema = new Button();
+        removerTema.setMnemonicParsing(false);
+        removerTema.setPrefWidth(130.0);
+        removerTema.getStyleClass().addAll("btn-secondary");
+        removerTema.setText("← Quitar");
+        removerTema.setFont(font5);
+        Font font6 = new Font(11.0);
+        Label label3 = new Label();
+        label3.setMaxWidth(120.0);
+        label3.setStyle("-fx-font-size: 11px; -fx-text-fill: #94A3B8; -fx-text-alignment: center;");
+        label3.setText("💡 Doble clic para quitar");
+        label3.setWrapText(true);
+        label3.setFont(font6);
+        VBox vBox3 = new VBox();
+        vBox3.setAlignment(Pos.CENTER);
+        vBox3.setSpacing(16.0);
+        vBox3.setStyle("-fx-min-width: 140px;");
+        vBox3.setPadding(insets1);
+        vBox3.getChildren().addAll(agregarTema, removerTema, label3);
+        Font font7 = new Font(14.0);
+        Label label4 = new Label();
+        label4.setStyle("-fx-font-weight: 600; -fx-font-size: 14px;");
+        label4.setText("✅ Temas Seleccionados");
+        label4.setFont(font7);
+        ListView topicsSelectedListView = new ListView();
+        topicsSelectedListView.setPrefWidth(300.0);
+        topicsSelectedListView.getStyleClass().addAll("list-view-selected");
+        VBox.setVgrow(topicsSelectedListView, Priority.ALWAYS);
+        VBox vBox4 = new VBox();
+        vBox4.setSpacing(12.0);
+        vBox4.getChildren().addAll(label4, topicsSelectedListView);
+        HBox.setHgrow(vBox4, Priority.ALWAYS);
+        HBox hBox2 = new HBox();
+        hBox2.setSpacing(24.0);
+        hBox2.getChildren().addAll(vBox2, vBox3, vBox4);
+        VBox.setVgrow(hBox2, Priority.ALWAYS);
+        Insets insets2 = new Insets(8.0, 0.0, 0.0, 0.0);
+        Font font8 = new Font("Segoe UI Semibold", 18.0);
+        Button iniciarBtn = new Button();
+        iniciarBtn.setMnemonicParsing(false);
+        iniciarBtn.setPrefHeight(60.0);
+        iniciarBtn.setPrefWidth(250.0);
+        iniciarBtn.getStyleClass().addAll("btn-primary");
+        iniciarBtn.setText("INICIAR QUIZ");
+        iniciarBtn.setFont(font8);
+        Font font9 = new Font("Segoe UI Semibold", 16.0);
+        Button practicaBtn = new Button();
+        practicaBtn.setMnemonicParsing(false);
+        practicaBtn.setPrefHeight(60.0);
+        practicaBtn.setPrefWidth(200.0);
+        practicaBtn.getStyleClass().addAll("btn-secondary");
+        practicaBtn.setText("🎯 Práctica");
+        practicaBtn.setFont(font9);
+        Font font10 = new Font("Segoe UI Semibold", 16.0);
+        Button nivelacionBtn = new Button();
+        nivelacionBtn.setMnemonicParsing(false);
+        nivelacionBtn.setPrefHeight(60.0);
+        nivelacionBtn.setPrefWidth(200.0);
+        nivelacionBtn.getStyleClass().addAll("btn-secondary");
+        nivelacionBtn.setText("📐 Nivelación");
+        nivelacionBtn.setFont(font10);
+        Font font11 = new Font("Segoe UI Semibold", 16.0);
+        Button examenBtn = new Button();
+        examenBtn.setMnemonicParsing(false);
+        examenBtn.setPrefHeight(60.0);
+        examenBtn.setPrefWidth(200.0);
+        examenBtn.getStyleClass().addAll("btn-secondary");
+        examenBtn.setText("📋 Examen");
+        examenBtn.setFont(font11);
+        Font font12 = new Font("Segoe UI Semibold", 16.0);
+        Button repasarBtn = new Button();
+        repasarBtn.setManaged(false);
+        repasarBtn.setMnemonicParsing(false);
+        repasarBtn.setPrefHeight(60.0);
+        repasarBtn.setPrefWidth(200.0);
+        repasarBtn.getStyleClass().addAll("btn-secondary");
+        repasarBtn.setText("📅 Repasar hoy");
+        repasarBtn.setVisible(false);
+        repasarBtn.setFont(font12);
+        Font font13 = new Font("Segoe UI Semibold", 16.0);
+        Button reanudarBtn = new Button();
+        reanudarBtn.setManaged(false);
+        reanudarBtn.setMnemonicParsing(false);
+        reanudarBtn.setPrefHeight(60.0);
+        reanudarBtn.setPrefWidth(200.0);
+        reanudarBtn.getStyleClass().addAll("btn-secondary");
+        reanudarBtn.setText("⏯ Reanudar");
+        reanudarBtn.setVisible(false);
+        reanudarBtn.setFont(font13);
+        HBox hBox3 = new HBox();
+        hBox3.setAlignment(Pos.CENTER);
+        hBox3.setSpacing(16.0);
+        hBox3.setPadding(insets2);
+        hBox3.getChildren().addAll(iniciarBtn, practicaBtn, nivelacionBtn, examenBtn, repasarBtn, reanudarBtn);
+        VBox vBox5 = new VBox();
+        vBox5.setSpacing(24.0);
+        vBox5.getChildren().addAll(vBox1, hBox2, hBox3);
+        AnchorPane.setBottomAnchor(vBox5, 32.0);
+        AnchorPane.setLeftAnchor(vBox5, 32.0);
+        AnchorPane.setRightAnchor(vBox5, 32.0);
+        AnchorPane.setTopAnchor(vBox5, 32.0);
+        AnchorPane rootPane = new AnchorPane();
+        rootPane.setMaxHeight(Double.NEGATIVE_INFINITY);
+        rootPane.setMaxWidth(Double.NEGATIVE_INFINITY);
+        rootPane.setMinHeight(Double.NEGATIVE_INFINITY);
+        rootPane.setMinWidth(Double.NEGATIVE_INFINITY);
+        rootPane.setPrefHeight(600.0);
+        rootPane.setPrefWidth(900.0);
+        rootPane.getStyleClass().addAll("container-main");
+        rootPane.getStylesheets().addAll(resource("/org/openjfx/javaquiz/css/JavaQuiz.css"));
+        rootPane.getChildren().addAll(closeBtn, vBox5);
+        F_ROOT_PANE.set(controller, rootPane);
+        F_TEMAS_COUNT_LABEL.set(controller, temasCountLabel);
+        F_BUSCAR_FIELD.set(controller, buscarField);
+        F_BUSCAR_BTN.set(controller, buscarBtn);
+        F_BUSQUEDA_LABEL.set(controller, busquedaLabel);
+        F_TOPICS_LIST_VIEW.set(controller, topicsListView);
+        F_AGREGAR_TEMA.set(controller, agregarTema);
+        F_REMOVER_TEMA.set(controller, removerTema);
+        F_TOPICS_SELECTED_LIST_VIEW.set(controller, topicsSelectedListView);
+        F_INICIAR_BTN.set(controller, iniciarBtn);
+        F_PRACTICA_BTN.set(controller, practicaBtn);
+        F_NIVELACION_BTN.set(controller, nivelacionBtn);
+        F_EXAMEN_BTN.set(controller, examenBtn);
+        F_REPASAR_BTN.set(controller, repasarBtn);
+        F_REANUDAR_BTN.set(controller, reanudarBtn);
+        initialize(M_INITIALIZE, controller);
+        return rootPane;
+    }
+}
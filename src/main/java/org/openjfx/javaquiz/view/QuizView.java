@@ -0,0 +1,241 @@
+// Generado por FxmlCompiler desde /org/openjfx/javaquiz/fxml/quiz.fxml. No editar a mano.
+package org.openjfx.javaquiz.view;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import javafx.event.ActionEvent;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.util.Callback;
+import org.openjfx.javaquiz.controller.QuizController;
+
+/**
+ * Vista compilada de {@code quiz.fxml}.
+ *
+ * @see FxmlCompiler
+ */
+public final class QuizView extends CompiledView<QuizController> {
+
+    private static final MethodHandles.Lookup LOOKUP = lookup(QuizController.class);
+    private static final VarHandle F_ROOT_PANE = field(LOOKUP, "rootPane", AnchorPane.class);
+    private static final VarHandle F_TIMER_LABEL = field(LOOKUP, "timerLabel", Label.class);
+    private static final VarHandle F_TIME_BAR = field(LOOKUP, "timeBar", ProgressBar.class);
+    private static final VarHandle F_CODE_BTN = field(LOOKUP, "codeBtn", Button.class);
+    private static final VarHandle F_SHUFFLE_BTN = field(LOOKUP, "shuffleBtn", Button.class);
+    private static final VarHandle F_CLOSE_BTN = field(LOOKUP, "closeBtn", Button.class);
+    private static final VarHandle F_POSITION = field(LOOKUP, "position", Label.class);
+    private static final VarHandle F_QUESTION = field(LOOKUP, "question", Label.class);
+    private static final VarHandle F_SCROLL_PANE_ID = field(LOOKUP, "scrollPaneId", ScrollPane.class);
+    private static final VarHandle F_CODE_PANE = field(LOOKUP, "codePane", AnchorPane.class);
+    private static final VarHandle F_OPT1 = field(LOOKUP, "opt1", Button.class);
+    private static final VarHandle F_OPT2 = field(LOOKUP, "opt2", Button.class);
+    private static final VarHandle F_OPT3 = field(LOOKUP, "opt3", Button.class);
+    private static final VarHandle F_OPT4 = field(LOOKUP, "opt4", Button.class);
+    private static final VarHandle F_MENU_BTN = field(LOOKUP, "menuBtn", Button.class);
+    private static final VarHandle F_BTN_ATRAS = field(LOOKUP, "btnAtras", Button.class);
+    private static final VarHandle F_BTN_SIGUIENTE = field(LOOKUP, "btnSiguiente", Button.class);
+    private static final VarHandle F_TERMINAR_BTN = field(LOOKUP, "terminarBtn", Button.class);
+    private static final MethodHandle M_SHOW_CODE_WINDOW = method(LOOKUP, "showCodeWindow");
+    private static final MethodHandle M_SHUFFLE_QUESTIONS = method(LOOKUP, "shuffleQuestions");
+    private static final MethodHandle M_CLOSE_APP = method(LOOKUP, "closeApp");
+    private static final MethodHandle M_OPTION_CLICKED = method(LOOKUP, "optionClicked", ActionEvent.class);
+    private static final MethodHandle M_GO_TO_MENU = method(LOOKUP, "goToMenu", ActionEvent.class);
+    private static final MethodHandle M_GO_PREVIOUS_QUESTION = method(LOOKUP, "goPreviousQuestion");
+    private static final MethodHandle M_GO_NEXT_QUESTION = method(LOOKUP, "goNextQuestion");
+    private static final MethodHandle M_FINISH_QUIZ = method(LOOKUP, "finishQuiz", ActionEvent.class);
+    private static final MethodHandle M_INITIALIZE = method(LOOKUP, "initialize");
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Parent build(Callback<Class<?>, Object> controllerFactory) {
+        controller = (QuizController) controllerFactory.call(QuizController.class);
+        Insets insets1 = new Insets(0.0, 0.0, 8.0, 0.0);
+        Font font1 = new Font(18.0);
+        Label timerLabel = new Label();
+        timerLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: 600; -fx-text-fill: #5B4FFF;");
+        timerLabel.setText("⏱ Tiempo: 12");
+        timerLabel.setFont(font1);
+        ProgressBar timeBar = new ProgressBar();
+        timeBar.setPrefWidth(200.0);
+        timeBar.setProgress(1.0);
+        timeBar.getStyleClass().addAll("timer-bar");
+        HBox hBox1 = new HBox();
+        hBox1.setAlignment(Pos.CENTER_LEFT);
+        hBox1.setSpacing(12.0);
+        hBox1.getChildren().addAll(timerLabel, timeBar);
+        HBox.setHgrow(hBox1, Priority.ALWAYS);
+        Button codeBtn = new Button();
+        codeBtn.setMnemonicParsing(false);
+        codeBtn.setOnAction(handler(M_SHOW_CODE_WINDOW, controller));
+        codeBtn.getStyleClass().addAll("btn-nav");
+        codeBtn.setText("Ver Código");
+        codeBtn.setVisible(false);
+        Button shuffleBtn = new Button();
+        shuffleBtn.setMnemonicParsing(false);
+        shuffleBtn.setOnAction(handler(M_SHUFFLE_QUESTIONS, controller));
+        shuffleBtn.getStyleClass().addAll("btn-nav");
+        shuffleBtn.setText("🔀 Mezclar");
+        Button closeBtn = new Button();
+        closeBtn.setMnemonicParsing(false);
+        closeBtn.setOnAction(handler(M_CLOSE_APP, controller));
+        closeBtn.setPrefWidth(40.0);
+        closeBtn.getStyleClass().addAll("btn-nav");
+        closeBtn.setText("✕");
+        HBox hBox2 = new HBox();
+        hBox2.setAlignment(Pos.CENTER_RIGHT);
+        hBox2.setSpacing(8.0);
+        hBox2.getChildren().addAll(codeBtn, shuffleBtn, closeBtn);
+        HBox hBox3 = new HBox();
+        hBox3.setAlignment(Pos.CENTER_LEFT);
+        hBox3.setSpacing(16.0);
+        hBox3.setPadding(insets1);
+        hBox3.getChildren().addAll(hBox1, hBox2);
+        Font font2 = new Font(20.0);
+        Label position = new Label();
+        position.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #5B4FFF;");
+        position.setText("1.");
+        position.setFont(font2);
+        Font font3 = new Font(18.0);
+        Label question = new Label();
+        question.setStyle("-fx-font-size: 18px; -fx-text-fill: #0F172A;");
+        question.setWrapText(true);
+        question.setFont(font3);
+        HBox.setHgrow(question, Priority.ALWAYS);
+        HBox hBox4 = new HBox();
+        hBox4.setAlignment(Pos.CENTER_LEFT);
+        hBox4.setSpacing(12.0);
+        hBox4.getChildren().addAll(position, question);
+        VBox vBox1 = new VBox();
+        vBox1.setSpacing(8.0);
+        vBox1.getChildren().addAll(hBox4);
+        AnchorPane codePane = new AnchorPane();
+        codePane.setStyle("-fx-background-color: #F8FAFC; -fx-padding: 16;");
+        ScrollPane scrollPaneId = new ScrollPane();
+        scrollPaneId.setFitToWidth(true);
+        scrollPaneId.setManaged(false);
+        scrollPaneId.setPrefHeight(300.0);
+        scrollPaneId.setStyle("-fx-background-color: transparent;");
+        scrollPaneId.setVisible(false);
+        scrollPaneId.setContent(codePane);
+        Font font4 = new Font(15.0);
+        Button opt1 = new Button();
+        opt1.setAlignment(Pos.CENTER_LEFT);
+        opt1.setMaxWidth(Double.POSITIVE_INFINITY);
+        opt1.setMnemonicParsing(false);
+        opt1.setOnAction(handler(M_OPTION_CLICKED, controller));
+        opt1.setPrefHeight(90.0);
+        opt1.getStyleClass().addAll("option-button");
+        opt1.setWrapText(true);
+        opt1.setFont(font4);
+        Font font5 = new Font(15.0);
+        Button opt2 = new Button();
+        opt2.setAlignment(Pos.CENTER_LEFT);
+        opt2.setMaxWidth(Double.POSITIVE_INFINITY);
+        opt2.setMnemonicParsing(false);
+        opt2.setOnAction(handler(M_OPTION_CLICKED, controller));
+        opt2.setPrefHeight(90.0);
+        opt2.getStyleClass().addAll("option-button");
+        opt2.setWrapText(true);
+        opt2.setFont(font5);
+        Font font6 = new Font(15.0);
+        Button opt3 = new Button();
+        opt3.setAlignment(Pos.CENTER_LEFT);
+        opt3.setMaxWidth(Double.POSITIVE_INFINITY);
+        opt3.setMnemonicParsing(false);
+        opt3.setOnAction(handler(M_OPTION_CLICKED, controller));
+        opt3.setPrefHeight(90.0);
+        opt3.getStyleClass().addAll("option-button");
+        opt3.setWrapText(true);
+        opt3.setFont(font6);
+        Font font7 = new Font(15.0);
+        Button opt4 = new Button();
+        opt4.setAlignment(Pos.CENTER_LEFT);
+        opt4.setMaxWidth(Double.POSITIVE_INFINITY);
+        opt4.setMnemonicParsing(false);
+        opt4.setOnAction(handler(M_OPTION_CLICKED, controller));
+        opt4.setPrefHeight(90.0);
+        opt4.getStyleClass().addAll("option-button");
+        opt4.setWrapText(true);
+        opt4.setFont(font7);
+        VBox vBox2 = new VBox();
+        vBox2.setSpacing(12.0);
+        vBox2.getChildren().addAll(opt1, opt2, opt3, opt4);
+        VBox.setVgrow(vBox2, Priority.ALWAYS);
+        Insets insets2 = new Insets(8.0, 0.0, 0.0, 0.0);
+        Button menuBtn = new Button();
+        menuBtn.setMnemonicParsing(false);
+        menuBtn.setOnAction(handler(M_GO_TO_MENU, controller));
+        menuBtn.getStyleClass().addAll("btn-nav");
+        menuBtn.setText("← Menú");
+        Button btnAtras = new Button();
+        btnAtras.setMnemonicParsing(false);
+        btnAtras.setOnAction(handler(M_GO_PREVIOUS_QUESTION, controller));
+        btnAtras.getStyleClass().addAll("btn-nav");
+        btnAtras.setText("← Anterior");
+        Button btnSiguiente = new Button();
+        btnSiguiente.setMnemonicParsing(false);
+        btnSiguiente.setOnAction(handler(M_GO_NEXT_QUESTION, controller));
+        btnSiguiente.setPrefWidth(140.0);
+        btnSiguiente.getStyleClass().addAll("btn-primary");
+        btnSiguiente.setText("Siguiente →");
+        Button terminarBtn = new Button();
+        terminarBtn.setMnemonicParsing(false);
+        terminarBtn.setOnAction(handler(M_FINISH_QUIZ, controller));
+        terminarBtn.setPrefWidth(150.0);
+        terminarBtn.getStyleClass().addAll("btn-finish");
+        terminarBtn.setText("✓ Terminar Quiz");
+        HBox hBox5 = new HBox();
+        hBox5.setAlignment(Pos.CENTER);
+        hBox5.setSpacing(16.0);
+        hBox5.setPadding(insets2);
+        hBox5.getChildren().addAll(menuBtn, btnAtras, btnSiguiente, terminarBtn);
+        VBox vBox3 = new VBox();
+        vBox3.setSpacing(20.0);
+        vBox3.getChildren().addAll(hBox3, vBox1, scrollPaneId, vBox2, hBox5);
+        AnchorPane.setBottomAnchor(vBox3, 24.0);
+        AnchorPane.setLeftAnchor(vBox3, 24.0);
+        AnchorPane.setRightAnchor(vBox3, 24.0);
+        AnchorPane.setTopAnchor(vBox3, 24.0);
+        AnchorPane rootPane = new AnchorPane();
+        rootPane.setMaxHeight(Double.NEGATIVE_INFINITY);
+        rootPane.setMaxWidth(Double.NEGATIVE_INFINITY);
+        rootPane.setMinHeight(Double.NEGATIVE_INFINITY);
+        rootPane.setMinWidth(Double.NEGATIVE_INFINITY);
+        rootPane.setPrefHeight(720.0);
+        rootPane.setPrefWidth(890.0);
+        rootPane.getStyleClass().addAll("container-main");
+        rootPane.getStylesheets().addAll(resource("/org/openjfx/javaquiz/css/JavaQuiz.css"));
+        rootPane.getChildren().addAll(vBox3);
+        F_ROOT_PANE.set(controller, rootPane);
+        F_TIMER_LABEL.set(controller, timerLabel);
+        F_TIME_BAR.set(controller, timeBar);
+        F_CODE_BTN.set(controller, codeBtn);
+        F_SHUFFLE_BTN.set(controller, shuffleBtn);
+        F_CLOSE_BTN.set(controller, closeBtn);
+        F_POSITION.set(controller, position);
+        F_QUESTION.set(controller, question);
+        F_SCROLL_PANE_ID.set(controller, scrollPaneId);
+        F_CODE_PANE.set(controller, codePane);
+        F_OPT1.set(controller, opt1);
+        F_OPT2.set(controller, opt2);
+        F_OPT3.set(controller, opt3);
+        F_OPT4.set(controller, opt4);
+        F_MENU_BTN.set(controller, menuBtn);
+        F_BTN_ATRAS.set(controller, btnAtras);
+        F_BTN_SIGUIENTE.set(controller, btnSiguiente);
+        F_TERMINAR_BTN.set(controller, terminarBtn);
+        initialize(M_INITIALIZE, controller);
+        return rootPane;
+    }
+}
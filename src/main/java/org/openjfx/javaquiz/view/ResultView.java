@@ -0,0 +1,288 @@
+// Generado por FxmlCompiler desde /org/openjfx/javaquiz/fxml/result.fxml. No editar a mano.
+package org.openjfx.javaquiz.view;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import javafx.event.ActionEvent;
+import javafx.geometry.Pos;
+import javafx.geometry.Side;
+import javafx.scene.Parent;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Callback;
+import org.openjfx.javaquiz.controller.ResultController;
+
+/**
+ * Vista compilada de {@code result.fxml}.
+ *
+ * @see FxmlCompiler
+ */
+public final class ResultView extends CompiledView<ResultController> {
+
+    private static final MethodHandles.Lookup LOOKUP = lookup(ResultController.class);
+    private static final VarHandle F_ROOT_PANE = field(LOOKUP, "rootPane", AnchorPane.class);
+    private static final VarHandle F_BAR_CHART = field(LOOKUP, "barChart", BarChart.class);
+    private static final VarHandle F_TABLE_VIEW_ID = field(LOOKUP, "tableViewId", TreeTableView.class);
+    private static final VarHandle F_TOPIC_COLUMN = field(LOOKUP, "topicColumn", TreeTableColumn.class);
+    private static final VarHandle F_CORRECT_COLUMN = field(LOOKUP, "correctColumn", TreeTableColumn.class);
+    private static final VarHandle F_WRONG_COLUMN = field(LOOKUP, "wrongColumn", TreeTableColumn.class);
+    private static final VarHandle F_MEDIAN_COLUMN = field(LOOKUP, "medianColumn", TreeTableColumn.class);
+    private static final VarHandle F_P90_COLUMN = field(LOOKUP, "p90Column", TreeTableColumn.class);
+    private static final VarHandle F_MASTERY_COLUMN = field(LOOKUP, "masteryColumn", TreeTableColumn.class);
+    private static final VarHandle F_REMARK = field(LOOKUP, "remark", Label.class);
+    private static final VarHandle F_TIMING_TEXT = field(LOOKUP, "timingText", Label.class);
+    private static final VarHandle F_PERCENTILE_TEXT = field(LOOKUP, "percentileText", Label.class);
+    private static final VarHandle F_MARKS = field(LOOKUP, "marks", Label.class);
+    private static final VarHandle F_MARKSTEXT = field(LOOKUP, "markstext", Label.class);
+    private static final VarHandle F_CORRECT_PROGRESS = field(LOOKUP, "correct_progress", ProgressIndicator.class);
+    private static final VarHandle F_CORRECTTEXT = field(LOOKUP, "correcttext", Label.class);
+    private static final VarHandle F_WRONG_PROGRESS = field(LOOKUP, "wrong_progress", ProgressIndicator.class);
+    private static final VarHandle F_WRONGTEXT = field(LOOKUP, "wrongtext", Label.class);
+    private static final VarHandle F_EXPORT_SESSION_BTN = field(LOOKUP, "exportSessionBtn", Button.class);
+    private static final VarHandle F_EXPORT_HISTORY_BTN = field(LOOKUP, "exportHistoryBtn", Button.class);
+    private static final VarHandle F_EXPORT_STATUS = field(LOOKUP, "exportStatus", Label.class);
+    private static final MethodHandle M_RESTART_QUIZ = method(LOOKUP, "restartQuiz", ActionEvent.class);
+    private static final MethodHandle M_EXPORT_SESSION = method(LOOKUP, "exportSession", ActionEvent.class);
+    private static final MethodHandle M_EXPORT_HISTORY = method(LOOKUP, "exportHistory", ActionEvent.class);
+    private static final MethodHandle M_INITIALIZE = method(LOOKUP, "initialize");
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Parent build(Callback<Class<?>, Object> controllerFactory) {
+        controller = (ResultController) controllerFactory.call(ResultController.class);
+        Button closeBtn = new Button();
+        closeBtn.setMnemonicParsing(false);
+        closeBtn.getStyleClass().addAll("btn-close");
+        closeBtn.setText("✕");
+        AnchorPane.setRightAnchor(closeBtn, 8.0);
+        AnchorPane.setTopAnchor(closeBtn, 8.0);
+        Font font1 = new Font("Segoe UI Semibold", 32.0);
+        Label label1 = new Label();
+        label1.getStyleClass().addAll("title-medium");
+        label1.setText("📊 Resultados del Quiz");
+        label1.setFont(font1);
+        CategoryAxis categoryAxis1 = new CategoryAxis();
+        categoryAxis1.setLabel("Tema");
+        categoryAxis1.setSide(Side.BOTTOM);
+        NumberAxis numberAxis1 = new NumberAxis();
+        numberAxis1.setLabel("Respuestas");
+        numberAxis1.setSide(Side.LEFT);
+        BarChart barChart = new BarChart(categoryAxis1, numberAxis1);
+        barChart.setLegendVisible(true);
+        barChart.setPrefHeight(280.0);
+        barChart.setTitle("Resultados por Tema");
+        HBox.setHgrow(barChart, Priority.ALWAYS);
+        VBox vBox1 = new VBox();
+        vBox1.setSpacing(8.0);
+        vBox1.getChildren().addAll(barChart);
+        HBox.setHgrow(vBox1, Priority.ALWAYS);
+        Font font2 = new Font(16.0);
+        Label label2 = new Label();
+        label2.setStyle("-fx-font-weight: 600; -fx-font-size: 16px;");
+        label2.setText("Detalle por Tema");
+        label2.setFont(font2);
+        TreeTableColumn topicColumn = new TreeTableColumn();
+        topicColumn.setPrefWidth(120.0);
+        topicColumn.setText("Tema");
+        TreeTableColumn correctColumn = new TreeTableColumn();
+        correctColumn.setPrefWidth(80.0);
+        correctColumn.setText("✓ Correctas");
+        TreeTableColumn wrongColumn = new TreeTableColumn();
+        wrongColumn.setPrefWidth(80.0);
+        wrongColumn.setText("✗ Incorrectas");
+        TreeTableColumn medianColumn = new TreeTableColumn();
+        medianColumn.setPrefWidth(70.0);
+        medianColumn.setText("⏱ Mediana");
+        TreeTableColumn p90Column = new TreeTableColumn();
+        p90Column.setPrefWidth(70.0);
+        p90Column.setText("p90");
+        TreeTableColumn masteryColumn = new TreeTableColumn();
+        masteryColumn.setPrefWidth(80.0);
+        masteryColumn.setText("Dominio");
+        TreeTableView tableViewId = new TreeTableView();
+        tableViewId.setPrefHeight(280.0);
+        tableViewId.setPrefWidth(500.0);
+        tableViewId.getColumns().addAll(topicColumn, correctColumn, wrongColumn, medianColumn, p90Column, masteryColumn);
+        VBox vBox2 = new VBox();
+        vBox2.setSpacing(8.0);
+        vBox2.getChildren().addAll(label2, tableViewId);
+        HBox hBox1 = new HBox();
+        hBox1.setSpacing(24.0);
+        hBox1.getChildren().addAll(vBox1, vBox2);
+        VBox.setVgrow(hBox1, Priority.SOMETIMES);
+        Font font3 = new Font(18.0);
+        Label remark = new Label();
+        remark.setMaxWidth(700.0);
+        remark.setStyle("-fx-font-size: 18px; -fx-text-fill: #475569;");
+        remark.setTextAlignment(TextAlignment.CENTER);
+        remark.setWrapText(true);
+        remark.setFont(font3);
+        Font font4 = new Font(13.0);
+        Label timingText = new Label();
+        timingText.setStyle("-fx-font-size: 13px; -fx-text-fill: #64748B;");
+        timingText.setFont(font4);
+        Font font5 = new Font(13.0);
+        Label percentileText = new Label();
+        percentileText.setStyle("-fx-font-size: 13px; -fx-text-fill: #7C3AED;");
+        percentileText.setTextAlignment(TextAlignment.CENTER);
+        percentileText.setWrapText(true);
+        percentileText.setFont(font5);
+        VBox vBox3 = new VBox();
+        vBox3.setAlignment(Pos.CENTER);
+        vBox3.setSpacing(8.0);
+        vBox3.getStyleClass().addAll("stats-card");
+        vBox3.getChildren().addAll(remark, timingText, percentileText);
+        Font font6 = new Font(14.0);
+        Label label3 = new Label();
+        label3.setStyle("-fx-font-size: 14px; -fx-text-fill: #7C3AED; -fx-font-weight: 600;");
+        label3.setText("Puntaje");
+        label3.setFont(font6);
+        Font font7 = new Font("Segoe UI Bold", 48.0);
+        Label marks = new Label();
+        marks.getStyleClass().addAll("stats-label-big");
+        marks.setText("8/10");
+        marks.setFont(font7);
+        Font font8 = new Font(16.0);
+        Label markstext = new Label();
+        markstext.setStyle("-fx-font-size: 16px; -fx-text-fill: #5B4FFF;");
+        markstext.setText("8 puntos");
+        markstext.setFont(font8);
+        VBox vBox4 = new VBox();
+        vBox4.setAlignment(Pos.CENTER);
+        vBox4.setSpacing(8.0);
+        vBox4.setStyle("-fx-background-color: linear-gradient(135deg, rgba(91, 79, 255, 0.1) 0%, rgba(124, 58, 237, 0.1) 100%);");
+        vBox4.getStyleClass().addAll("stats-card");
+        vBox4.getChildren().addAll(label3, marks, markstext);
+        Font font9 = new Font(14.0);
+        Label label4 = new Label();
+        label4.setStyle("-fx-font-size: 14px; -fx-text-fill: #059669; -fx-font-weight: 600;");
+        label4.setText("✓ Correctas");
+        label4.setFont(font9);
+        ProgressIndicator correct_progress = new ProgressIndicator();
+        correct_progress.setMinHeight(100.0);
+        correct_progress.setMinWidth(100.0);
+        correct_progress.setProgress(0.8);
+        correct_progress.getStyleClass().addAll("progress-correct");
+        Font font10 = new Font(18.0);
+        Label correcttext = new Label();
+        correcttext.getStyleClass().addAll("stats-label-medium", "stats-label-correct");
+        correcttext.setText("Correct: 8");
+        correcttext.setFont(font10);
+        VBox vBox5 = new VBox();
+        vBox5.setAlignment(Pos.CENTER);
+        vBox5.setSpacing(12.0);
+        vBox5.setStyle("-fx-background-color: rgba(16, 185, 129, 0.1);");
+        vBox5.getStyleClass().addAll("stats-card");
+        vBox5.getChildren().addAll(label4, correct_progress, correcttext);
+        Font font11 = new Font(14.0);
+        Label label5 = new Label();
+        label5.setStyle("-fx-font-size: 14px; -fx-text-fill: #DC2626; -fx-font-weight: 600;");
+        label5.setText("✗ Incorrectas");
+        label5.setFont(font11);
+        ProgressIndicator wrong_progress = new ProgressIndicator();
+        wrong_progress.setMinHeight(100.0);
+        wrong_progress.setMinWidth(100.0);
+        wrong_progress.setProgress(0.2);
+        wrong_progress.getStyleClass().addAll("progress-wrong");
+        Font font12 = new Font(18.0);
+        Label wrongtext = new Label();
+        wrongtext.getStyleClass().addAll("stats-label-medium", "stats-label-wrong");
+        wrongtext.setText("Wrong: 2");
+        wrongtext.setFont(font12);
+        VBox vBox6 = new VBox();
+        vBox6.setAlignment(Pos.CENTER);
+        vBox6.setSpacing(12.0);
+        vBox6.setStyle("-fx-background-color: rgba(239, 68, 68, 0.1);");
+        vBox6.getStyleClass().addAll("stats-card");
+        vBox6.getChildren().addAll(label5, wrong_progress, wrongtext);
+        HBox hBox2 = new HBox();
+        hBox2.setAlignment(Pos.CENTER);
+        hBox2.setSpacing(32.0);
+        hBox2.getChildren().addAll(vBox4, vBox5, vBox6);
+        Font font13 = new Font("Segoe UI Semibold", 18.0);
+        Button restart = new Button();
+        restart.setMnemonicParsing(false);
+        restart.setOnAction(handler(M_RESTART_QUIZ, controller));
+        restart.setPrefHeight(60.0);
+        restart.setPrefWidth(250.0);
+        restart.getStyleClass().addAll("btn-primary");
+        restart.setText("🔄 Intentar de Nuevo");
+        restart.setFont(font13);
+        Button exportSessionBtn = new Button();
+        exportSessionBtn.setMnemonicParsing(false);
+        exportSessionBtn.setOnAction(handler(M_EXPORT_SESSION, controller));
+        exportSessionBtn.getStyleClass().addAll("btn-secondary");
+        exportSessionBtn.setText("💾 Exportar sesión");
+        Button exportHistoryBtn = new Button();
+        exportHistoryBtn.setMnemonicParsing(false);
+        exportHistoryBtn.setOnAction(handler(M_EXPORT_HISTORY, controller));
+        exportHistoryBtn.getStyleClass().addAll("btn-secondary");
+        exportHistoryBtn.setText("📁 Exportar historial");
+        HBox hBox3 = new HBox();
+        hBox3.setSpacing(8.0);
+        hBox3.getChildren().addAll(exportSessionBtn, exportHistoryBtn);
+        Label exportStatus = new Label();
+        exportStatus.setStyle("-fx-font-size: 12px; -fx-text-fill: #64748B;");
+        VBox vBox7 = new VBox();
+        vBox7.setAlignment(Pos.CENTER_LEFT);
+        vBox7.setSpacing(6.0);
+        vBox7.getChildren().addAll(hBox3, exportStatus);
+        HBox hBox4 = new HBox();
+        hBox4.setAlignment(Pos.CENTER);
+        hBox4.setSpacing(16.0);
+        hBox4.getChildren().addAll(restart, vBox7);
+        VBox vBox8 = new VBox();
+        vBox8.setSpacing(24.0);
+        vBox8.getChildren().addAll(label1, hBox1, vBox3, hBox2, hBox4);
+        AnchorPane.setBottomAnchor(vBox8, 32.0);
+        AnchorPane.setLeftAnchor(vBox8, 32.0);
+        AnchorPane.setRightAnchor(vBox8, 32.0);
+        AnchorPane.setTopAnchor(vBox8, 32.0);
+        AnchorPane rootPane = new AnchorPane();
+        rootPane.setMaxHeight(Double.NEGATIVE_INFINITY);
+        rootPane.setMaxWidth(Double.NEGATIVE_INFINITY);
+        rootPane.setMinHeight(Double.NEGATIVE_INFINITY);
+        rootPane.setMinWidth(Double.NEGATIVE_INFINITY);
+        rootPane.setPrefHeight(700.0);
+        rootPane.setPrefWidth(1000.0);
+        rootPane.getStyleClass().addAll("container-main");
+        rootPane.getStylesheets().addAll(resource("/org/openjfx/javaquiz/css/JavaQuiz.css"));
+        rootPane.getChildren().addAll(closeBtn, vBox8);
+        F_ROOT_PANE.set(controller, rootPane);
+        F_BAR_CHART.set(controller, barChart);
+        F_TABLE_VIEW_ID.set(controller, tableViewId);
+        F_TOPIC_COLUMN.set(controller, topicColumn);
+        F_CORRECT_COLUMN.set(controller, correctColumn);
+        F_WRONG_COLUMN.set(controller, wrongColumn);
+        F_MEDIAN_COLUMN.set(controller, medianColumn);
+        F_P90_COLUMN.set(controller, p90Column);
+        F_MASTERY_COLUMN.set(controller, masteryColumn);
+        F_REMARK.set(controller, remark);
+        F_TIMING_TEXT.set(controller, timingText);
+        F_PERCENTILE_TEXT.set(controller, percentileText);
+        F_MARKS.set(controller, marks);
+        F_MARKSTEXT.set(controller, markstext);
+        F_CORRECT_PROGRESS.set(controller, correct_progress);
+        F_CORRECTTEXT.set(controller, correcttext);
+        F_WRONG_PROGRESS.set(controller, wrong_progress);
+        F_WRONGTEXT.set(controller, wrongtext);
+        F_EXPORT_SESSION_BTN.set(controller, exportSessionBtn);
+        F_EXPORT_HISTORY_BTN.set(controller, exportHistoryBtn);
+        F_EXPORT_STATUS.set(controller, exportStatus);
+        initialize(M_INITIALIZE, controller);
+        return rootPane;
+    }
+}
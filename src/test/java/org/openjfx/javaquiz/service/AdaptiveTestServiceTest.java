@@ -0,0 +1,109 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.ItemParameters;
+import org.openjfx.javaquiz.model.ItemStats;
+import org.openjfx.javaquiz.model.Question;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Tests del test adaptativo (selección por información y parada por error estándar).
+ *
+ * @author angel
+ */
+@DisplayName("AdaptiveTestService Tests")
+public class AdaptiveTestServiceTest {
+
+    /** Parámetros aleatorios reproducibles: a en [0.5, 2.5], b ~ N(0, 1.2) */
+    private static ItemParameters[] randomParameters(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ItemParameters[] params = new ItemParameters[count];
+        for (int i = 0; i < count; i++) {
+            double b = 1.2 * Math.sqrt(-2 * Math.log(random.nextDouble(1e-12, 1.0)))
+                       * Math.cos(2 * Math.PI * random.nextDouble());
+            params[i] = new ItemParameters(random.nextDouble(0.5, 2.5), b, 0.25);
+        }
+        return params;
+    }
+
+    @Test
+    @DisplayName("La pregunta elegida es la de mayor información y se evalúan pocas")
+    void testSelectionMatchesExhaustiveSearch() {
+        // ARRANGE
+        int size = 100_000;
+        ItemParameters[] params = randomParameters(size, 11);
+        List<Question> questions = TestBanks.questions("Streams", size);
+        AdaptiveTestService cat = new AdaptiveTestService(questions, q -> params[q.getPosition()], 0.0, 50);
+        Set<Integer> administered = new HashSet<>();
+
+        for (int step = 0; step < 10; step++) {
+            // ACT
+            int chosen = cat.next();
+            int evaluated = cat.getLastEvaluated();
+
+            // ASSERT: ninguna pregunta restante informa más que la elegida
+            double theta = cat.getTheta();
+            double chosenInfo = params[chosen].information(theta);
+            assertTrue(administered.add(chosen), "Pregunta repetida: " + chosen);
+            for (int id = 0; id < size; id++) {
+                if (administered.contains(id)) continue;
+                assertTrue(params[id].information(theta) <= chosenInfo, "Mejor pregunta no elegida: " + id);
+            }
+            assertTrue(evaluated < size / 20, "Evaluadas: " + evaluated);
+
+            cat.recordOutcome(chosen, step % 3 != 0);
+        }
+    }
+
+    @Test
+    @DisplayName("La habilidad converge y el test termina al alcanzar el error objetivo")
+    void testConvergesAndStops() {
+        // ARRANGE
+        int size = 2_000;
+        ItemParameters[] params = randomParameters(size, 5);
+        AdaptiveTestService cat = new AdaptiveTestService(
+            TestBanks.questions("Streams", size), q -> params[q.getPosition()], 0.3, 60);
+        SplittableRandom random = new SplittableRandom(9);
+        double trueTheta = 1.2;
+
+        // ACT
+        int id;
+        while ((id = cat.next()) >= 0) {
+            cat.recordOutcome(id, random.nextDouble() < params[id].probability(trueTheta));
+        }
+
+        // ASSERT
+        assertTrue(cat.getAdministered() < 60, "Preguntas: " + cat.getAdministered());
+        assertTrue(cat.getStandardError() <= 0.3);
+        assertEquals(trueTheta, cat.getTheta(), 0.9);
+    }
+
+    @Test
+    @DisplayName("La calibración ordena por dificultad y usa parámetros neutros sin datos")
+    void testCalibration() {
+        // ARRANGE
+        ItemStats easy = new ItemStats("Streams", 1, 200, 0.9, 0.4, 0.1, 0.0);
+        ItemStats hard = new ItemStats("Streams", 2, 200, 0.4, 0.4, 0.6, 0.0);
+        ItemStats rare = new ItemStats("Streams", 3, 5, 0.2, 0.9, 0.8, 0.0);
+
+        // ACT
+        ItemParameters easyParams = IrtCalibration.calibrate(easy, 0.25);
+        ItemParameters hardParams = IrtCalibration.calibrate(hard, 0.25);
+        ItemParameters rareParams = IrtCalibration.calibrate(rare, 0.25);
+
+        // ASSERT
+        assertTrue(easyParams.getDifficulty() < 0);
+        assertTrue(hardParams.getDifficulty() > 0);
+        assertTrue(easyParams.getDiscrimination() > 0.2);
+        assertEquals(1.0, rareParams.getDiscrimination());
+        assertEquals(0.0, rareParams.getDifficulty());
+        assertEquals(0.25, rareParams.getGuessing());
+    }
+}
@@ -0,0 +1,61 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.openjfx.javaquiz.util.AllocationMeter;
+
+/**
+ * Tests de la medición de asignaciones por hilo.
+ *
+ * @author angel
+ */
+@DisplayName("AllocationMeter Tests")
+public class AllocationMeterTest {
+
+    private static volatile Object sink;
+
+    @Test
+    @DisplayName("Mide lo que asigna el tramo y acumula media y máximo")
+    void testRecordsAllocation() {
+        // ARRANGE
+        assumeTrue(AllocationMeter.isSupported());
+        AllocationMeter meter = new AllocationMeter();
+
+        // ACT
+        long start = AllocationMeter.currentThreadBytes();
+        sink = new byte[1 << 20];
+        meter.recordSince(start);
+        start = AllocationMeter.currentThreadBytes();
+        sink = new byte[1 << 10];
+        meter.recordSince(start);
+
+        // ASSERT
+        assertEquals(2, meter.getCount());
+        assertTrue(meter.getMaxBytes() >= 1 << 20);
+        assertTrue(meter.getMeanBytes() >= (1 << 19) + (1 << 9));
+    }
+
+    @Test
+    @DisplayName("Un tramo sin asignaciones mide cero y una lectura inválida se ignora")
+    void testNoAllocation() {
+        // ARRANGE
+        assumeTrue(AllocationMeter.isSupported());
+        AllocationMeter meter = new AllocationMeter();
+        long sum = 0;
+        for (int i = 0; i < 1_000; i++) sum += i;  // calienta el bucle
+
+        // ACT
+        long start = AllocationMeter.currentThreadBytes();
+        for (int i = 0; i < 1_000; i++) sum += i;
+        meter.recordSince(start);
+        meter.recordSince(-1);
+
+        // ASSERT
+        assertTrue(sum > 0);
+        assertEquals(1, meter.getCount());
+        assertEquals(0, meter.getMaxBytes());
+    }
+}
@@ -0,0 +1,209 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.exception.InvalidQuizDataException;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.AnswerJournal;
+import org.openjfx.javaquiz.repository.AnswerJournal.FsyncPolicy;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests unitarios para AnswerJournal.
+ * Valida la reproducción del diario, la cola truncada y la compactación.
+ *
+ * @author angel
+ */
+@DisplayName("AnswerJournal Tests")
+public class AnswerJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private List<QuizData> createBanks() {
+        List<QuizData> banks = new ArrayList<>();
+        for (String topic : Arrays.asList("OOP", "Streams")) {
+            List<Question> questions = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                questions.add(new Question(topic + " " + i, Arrays.asList("a", "b", "c"),
+                                           "ok", i, topic, null));
+            }
+            QuizData data = new QuizData();
+            data.setName(topic);
+            data.setSource(topic);
+            data.setQuestions(questions);
+            banks.add(data);
+        }
+        return banks;
+    }
+
+    @Test
+    @DisplayName("Debe recuperar una sesión sin terminar al reabrir el diario")
+    void testRecoverUnfinishedSession() throws IOException, InvalidQuizDataException, InterruptedException {
+        // ARRANGE
+        AnswerJournal journal = AnswerJournal.open(dir, FsyncPolicy.EVERY_BATCH, 50, 1 << 20);
+        QuizService quiz = new QuizService();
+        quiz.setAnswerJournal(journal);
+        quiz.initializeMultiple(createBanks());
+        quiz.shuffle();
+
+        // ACT
+        quiz.registerAnswer(true);
+        quiz.goNext();
+        quiz.registerTimeout();
+        quiz.goNext();
+        assertTrue(journal.flush(2_000));
+        journal.close();
+
+        AnswerJournal reopened = AnswerJournal.open(dir, FsyncPolicy.EVERY_BATCH, 50, 1 << 20);
+        List<SessionState> recovered = reopened.getRecoveredSessions();
+
+        // ASSERT
+        assertEquals(1, recovered.size(), "Debe haber una sesión pendiente");
+        SessionState state = recovered.get(0);
+        assertEquals(quiz.getSessionId(), state.getSessionId());
+        assertEquals(List.of("OOP", "Streams"), state.getSources());
+        assertArrayEquals(quiz.captureState().getOrder(), state.getOrder(), "Debe conservar el orden mezclado");
+        assertEquals(1, state.getCorrect());
+        assertEquals(1, state.getWrong());
+        assertEquals(2, state.getCursor());
+
+        QuizService resumed = new QuizService();
+        resumed.resume(createBanks(), state);
+        assertEquals(quiz.getCurrentQuestion().getQ(), resumed.getCurrentQuestion().getQ());
+        assertEquals(2, resumed.getStatsByTopic().values().stream().mapToInt(s -> s[0] + s[1]).sum());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Una sesión terminada no debe recuperarse")
+    void testFinishedSessionNotRecovered() throws IOException, InvalidQuizDataException, InterruptedException {
+        AnswerJournal journal = AnswerJournal.open(dir, FsyncPolicy.NEVER, 50, 1 << 20);
+        QuizService quiz = new QuizService();
+        quiz.setAnswerJournal(journal);
+        quiz.initializeMultiple(createBanks());
+        quiz.registerAnswer(false);
+        quiz.finish();
+        journal.close();
+
+        AnswerJournal reopened = AnswerJournal.open(dir, FsyncPolicy.NEVER, 50, 1 << 20);
+        assertTrue(reopened.getRecoveredSessions().isEmpty(), "No debe haber sesiones pendientes");
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debe descartar un registro incompleto al final del diario")
+    void testTornTailIsDiscarded() throws IOException, InvalidQuizDataException, InterruptedException {
+        AnswerJournal journal = AnswerJournal.open(dir, FsyncPolicy.EVERY_BATCH, 50, 1 << 20);
+        QuizService quiz = new QuizService();
+        quiz.setAnswerJournal(journal);
+        quiz.initializeMultiple(createBanks());
+        quiz.registerAnswer(true);
+        journal.close();
+
+        // Simular un corte a mitad de escritura
+        Path file = dir.resolve("journal.log");
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ch.write(java.nio.ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2, 3}));
+        }
+        long corruptSize = Files.size(file);
+
+        AnswerJournal reopened = AnswerJournal.open(dir, FsyncPolicy.EVERY_BATCH, 50, 1 << 20);
+        assertEquals(1, reopened.getRecoveredSessions().size());
+        assertEquals(1, reopened.getRecoveredSessions().get(0).getCorrect());
+        assertTrue(Files.size(file) < corruptSize, "La cola corrupta debe truncarse");
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("La compactación debe conservar el estado de las sesiones vivas")
+    void testCompaction() throws IOException, InvalidQuizDataException, InterruptedException {
+        // Umbral mínimo: compacta después de cada lote
+        AnswerJournal journal = AnswerJournal.open(dir, FsyncPolicy.INTERVAL, 50, 64);
+        QuizService quiz = new QuizService();
+        quiz.setAnswerJournal(journal);
+        quiz.initializeMultiple(createBanks());
+        for (int i = 0; i < 4; i++) {
+            quiz.registerAnswer(i % 2 == 0);
+            quiz.goNext();
+            assertTrue(journal.flush(2_000));
+        }
+        journal.close();
+
+        assertTrue(Files.exists(dir.resolve("journal.snap")), "Debe existir el snapshot");
+
+        AnswerJournal reopened = AnswerJournal.open(dir, FsyncPolicy.INTERVAL, 50, 64);
+        SessionState state = reopened.getRecoveredSessions().get(0);
+        assertEquals(2, state.getCorrect());
+        assertEquals(2, state.getWrong());
+        assertEquals(4, state.getCursor());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Una sesión nueva reemplaza la pendiente, también tras una práctica")
+    void testNewSessionSupersedesPending() throws IOException, InvalidQuizDataException, InterruptedException {
+        // ARRANGE - una sesión abandonada y una práctica (no registrada) en el mismo servicio
+        AnswerJournal journal = AnswerJournal.open(dir, FsyncPolicy.EVERY_BATCH, 50, 64);
+        QuizService quiz = new QuizService();
+        quiz.setAnswerJournal(journal);
+        quiz.initializeMultiple(createBanks());
+        quiz.registerAnswer(true);
+        quiz.initializePractice(createBanks(), 2, q -> 1.0);
+        quiz.registerAnswer(true);
+
+        // ACT
+        quiz.initializeMultiple(createBanks());
+        quiz.registerAnswer(false);
+        assertTrue(journal.flush(2_000));
+        journal.close();
+
+        AnswerJournal reopened = AnswerJournal.open(dir, FsyncPolicy.EVERY_BATCH, 50, 64);
+        List<SessionState> recovered = reopened.getRecoveredSessions();
+
+        // ASSERT
+        assertEquals(1, recovered.size(), "Solo queda la última sesión");
+        assertEquals(quiz.getSessionId(), recovered.get(0).getSessionId(), "La práctica no desactiva el diario");
+        assertEquals(1, recovered.get(0).getWrong());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Cerrar escribe los eventos encolados justo antes, sin flush previo")
+    void testCloseDrainsQueuedEvents() throws IOException, InvalidQuizDataException {
+        // ARRANGE
+        AnswerJournal journal = AnswerJournal.open(dir, FsyncPolicy.NEVER, 50, 1 << 20);
+        QuizService quiz = new QuizService();
+        quiz.setAnswerJournal(journal);
+        quiz.initializeMultiple(createBanks());
+
+        // ACT - se cierra sin esperar al escritor
+        for (int i = 0; i < 5; i++) {
+            quiz.registerAnswer(true);
+            quiz.goNext();
+        }
+        journal.close();
+
+        AnswerJournal reopened = AnswerJournal.open(dir, FsyncPolicy.NEVER, 50, 1 << 20);
+        List<SessionState> recovered = reopened.getRecoveredSessions();
+
+        // ASSERT
+        assertEquals(1, recovered.size());
+        assertEquals(5, recovered.get(0).getCorrect(), "Ninguna respuesta se pierde al cerrar");
+        assertEquals(5, recovered.get(0).getCursor());
+        reopened.close();
+    }
+}
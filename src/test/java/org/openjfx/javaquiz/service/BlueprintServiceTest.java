@@ -0,0 +1,109 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.Blueprint;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.repository.HistoryStore;
+import org.openjfx.javaquiz.util.CompactBitmap;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Tests del armado de exámenes con índices de bitmaps.
+ *
+ * @author angel
+ */
+@DisplayName("BlueprintService Tests")
+public class BlueprintServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Intersección, diferencia y select del bitmap coinciden con el conjunto")
+    void testBitmapAndSelect() {
+        // ARRANGE
+        CompactBitmap evens = new CompactBitmap();
+        CompactBitmap threes = new CompactBitmap();
+        for (int i = 0; i < 200_000; i += 2) evens.add(i);
+        for (int i = 0; i < 200_000; i += 3) threes.add(i);
+
+        // ACT
+        CompactBitmap sixes = evens.and(threes);
+        CompactBitmap rest = evens.andNot(threes);
+        CompactBitmap all = CompactBitmap.range(100_000);
+
+        // ASSERT
+        assertEquals(33_334, sixes.cardinality());
+        assertEquals(100_000 - 33_334, rest.cardinality());
+        assertEquals(6 * 20_000, sixes.select(20_000));
+        assertEquals(199_998, sixes.select(33_333));
+        assertEquals(4, rest.select(1));
+        assertFalse(rest.contains(6));
+        assertEquals(100_000, all.cardinality());
+        assertEquals(99_999, all.select(99_999));
+    }
+
+    @Test
+    @DisplayName("El examen respeta las cuotas por tópico y el máximo con código")
+    void testQuotasAndCodeCap() {
+        // ARRANGE
+        List<QuizData> corpus = List.of(TestBanks.bank("OOP", 50_000, 2), TestBanks.bank("Streams", 50_000, 2),
+                                        TestBanks.bank("Collections", 50_000, 2));
+        BlueprintService blueprints = new BlueprintService(corpus, null, null);
+        Blueprint blueprint = new Blueprint(40).topic("OOP", 0.3).topic("Streams", 0.2).maxWithCode(5);
+
+        // ACT
+        int[] exam = blueprints.compose(blueprint, new SplittableRandom(7));
+
+        // ASSERT
+        assertEquals(40, exam.length);
+        assertEquals(40, Arrays.stream(exam).distinct().count());
+        Map<String, Integer> perTopic = new HashMap<>();
+        int withCode = 0;
+        for (int id : exam) {
+            Question q = corpus.get(id / 50_000).getQuestions().get(id % 50_000);
+            perTopic.merge(q.getTopic(), 1, Integer::sum);
+            if (q.getCode() != null) withCode++;
+        }
+        assertEquals(12, perTopic.get("OOP"));
+        assertEquals(8, perTopic.get("Streams"));
+        assertEquals(20, perTopic.get("Collections"));
+        assertTrue(withCode <= 5, "Con código: " + withCode);
+    }
+
+    @Test
+    @DisplayName("Las preguntas respondidas en los últimos días no se repiten")
+    void testExcludesRecentlySeen() throws Exception {
+        // ARRANGE
+        List<QuizData> corpus = List.of(TestBanks.bank("OOP", 12, 1));
+        try (HistoryStore store = HistoryStore.open(tempDir, 64)) {
+            QuizService quiz = new QuizService();
+            quiz.initialize(corpus.get(0).getQuestions());
+            for (int i = 0; i < 8; i++) {
+                quiz.registerAnswer(true);
+                quiz.goNext();
+            }
+            HistoryService history = new HistoryService(store);
+            store.appendAsync(HistoryService.toRecord(quiz, System.currentTimeMillis())).get();
+            BlueprintService blueprints = new BlueprintService(corpus, null, history);
+
+            // ACT
+            int[] exam = blueprints.compose(new Blueprint(10).excludeSeenWithinDays(7), new SplittableRandom(1));
+
+            // ASSERT
+            assertEquals(4, exam.length);
+            assertTrue(Arrays.stream(exam).allMatch(id -> id >= 8), Arrays.toString(exam));
+        }
+    }
+}
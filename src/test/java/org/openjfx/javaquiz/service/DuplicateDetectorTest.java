@@ -0,0 +1,113 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.DuplicatePair;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.QuizData;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Tests de la detección de preguntas casi duplicadas.
+ *
+ * @author angel
+ */
+@DisplayName("DuplicateDetector Tests")
+public class DuplicateDetectorTest {
+
+    private static final String[] WORDS = {
+        "clase", "interfaz", "método", "hilo", "lista", "mapa", "stream", "objeto", "valor", "tipo",
+        "genérico", "excepción", "campo", "estático", "final", "herencia", "colección", "orden",
+        "clave", "memoria", "recolector", "constructor", "paquete", "módulo", "anotación", "lambda"
+    };
+
+    private static Question question(String text, String topic, int position) {
+        return new Question(text, List.of("Compila", "Lanza excepción", "Depende"), "No compila",
+                            position, topic, null);
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder("¿");
+        for (int i = 0; i < words; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.append("?").toString();
+    }
+
+    @Test
+    @DisplayName("Encuentra la misma pregunta con otra redacción en otro banco")
+    void testFindsRewordedQuestion() throws Exception {
+        // ARRANGE
+        List<Question> questions = List.of(
+            question("¿Qué pasa si se llama a put en un HashMap con una clave que ya existe en el mapa?", "Collections", 0),
+            question("¿Qué garantiza la palabra clave volatile en un campo compartido entre hilos?", "Concurrency", 0),
+            question("¿Qué pasa si se llama a put en un HashMap con una clave que ya existe?", "Maps", 3));
+        DuplicateDetector detector = new DuplicateDetector(questions);
+
+        // ACT
+        List<DuplicatePair> pairs = detector.findDuplicates(0.7);
+        StringWriter report = new StringWriter();
+        DuplicateDetector.writeReport(pairs, report);
+
+        // ASSERT
+        assertEquals(1, pairs.size());
+        assertEquals(0, pairs.get(0).getFirstId());
+        assertEquals(2, pairs.get(0).getSecondId());
+        assertTrue(report.toString().contains("Collections,0,Maps,3"), report.toString());
+    }
+
+    @Test
+    @DisplayName("Al combinar temas se sirve solo la primera copia")
+    void testDropsDuplicatesWhenMerging() throws Exception {
+        // ARRANGE
+        QuizData oop = new QuizData();
+        oop.setSource("OOP");
+        oop.setQuestions(List.of(question("¿Puede una clase abstracta tener constructor?", "OOP", 0),
+                                 question("¿Qué modificador impide sobrescribir un método?", "OOP", 1)));
+        QuizData basics = new QuizData();
+        basics.setSource("Basics");
+        basics.setQuestions(List.of(question("¿Puede una clase abstracta tener un constructor?", "Basics", 0),
+                                    question("¿Cuál es el valor por defecto de un int?", "Basics", 1)));
+        QuizService quiz = new QuizService();
+        quiz.setDuplicateThreshold(0.5);
+
+        // ACT
+        quiz.initializeMultiple(List.of(oop, basics));
+
+        // ASSERT
+        assertEquals(3, quiz.getTotalQuestions());
+        assertTrue(quiz.getQuestions().stream().noneMatch(q -> q.getTopic().equals("Basics") && q.getPosition() == 0));
+    }
+
+    @Test
+    @DisplayName("Sobre un corpus grande encuentra los duplicados plantados sin comparar todos los pares")
+    void testScalesToLargeCorpus() {
+        // ARRANGE
+        SplittableRandom random = new SplittableRandom(11);
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            questions.add(question(sentence(random, 20), "T" + (i % 35), i));
+        }
+        for (int i = 0; i < 100; i++) {
+            questions.add(question(questions.get(i * 7).getQ() + " explica", "Copia", i));
+        }
+
+        // ACT
+        long start = System.nanoTime();
+        List<DuplicatePair> pairs = new DuplicateDetector(questions).findDuplicates(0.7);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        // ASSERT
+        long planted = pairs.stream().filter(p -> p.getSecond().getTopic().equals("Copia")
+                                                  && p.getFirstId() == p.getSecond().getPosition() * 7).count();
+        assertTrue(planted >= 95, "Encontrados: " + planted);
+        assertEquals(planted, pairs.size());
+        assertTrue(millis < 10_000, "Tiempo: " + millis + " ms");
+    }
+}
@@ -0,0 +1,109 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.repository.HistoryStore;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Tests unitarios para ExportService.
+ * Valida la exportación en CSV y JSON Lines, la compresión y la cancelación.
+ *
+ * @author angel
+ */
+@DisplayName("ExportService Tests")
+public class ExportServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private AttemptRecord createRecord(long sessionId) {
+        return new AttemptRecord(1_700_000_000_000L + sessionId, sessionId,
+                                 new String[] {"OOP", "Streams, Lambdas"}, new int[] {1, 0}, new int[] {0, 1},
+                                 new int[] {0, 1, 1}, new int[] {4, 2, 3}, new byte[] {1, 2, 0});
+    }
+
+    private HistoryStore createHistory(int attempts) throws IOException {
+        HistoryStore store = HistoryStore.open(dir.resolve("history"), 64);
+        for (int i = 0; i < attempts; i++) {
+            store.appendAsync(createRecord(i));
+        }
+        store.flush();
+        return store;
+    }
+
+    @Test
+    @DisplayName("Debe exportar el historial a CSV comprimido con una fila por tópico")
+    void testHistoryCsvGzip() throws IOException {
+        // ARRANGE
+        HistoryStore store = createHistory(100);
+        ExportService export = new ExportService(store);
+        Path target = dir.resolve("historial.csv.gz");
+
+        // ACT
+        long rows = export.exportHistory(0, Long.MAX_VALUE, target, ExportService.Format.fromFileName(target), () -> false);
+
+        // ASSERT
+        assertEquals(100, rows);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(target)), StandardCharsets.UTF_8))) {
+            List<String> lines = in.lines().toList();
+            assertEquals(201, lines.size());
+            assertEquals("timestamp,session_id,topic,questions,correct,wrong", lines.get(0));
+            assertTrue(lines.get(2).endsWith(",0,\"Streams, Lambdas\",2,0,1"));
+        }
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Debe exportar una sesión a JSON Lines con un objeto por pregunta")
+    void testSessionJsonLines() throws IOException {
+        // ARRANGE
+        ExportService export = new ExportService(null);
+        Path target = dir.resolve("sesion.jsonl");
+
+        // ACT
+        export.exportSession(createRecord(7), new long[] {1_500_000, 0, 0}, target,
+                             ExportService.Format.fromFileName(target), () -> false);
+
+        // ASSERT
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(3, lines.size());
+        JsonNode first = new ObjectMapper().readTree(lines.get(0));
+        assertEquals("OOP", first.get("topic").asText());
+        assertEquals("CORRECT", first.get("outcome").asText());
+        assertEquals(1500, first.get("latencyMs").asLong());
+        assertEquals("UNANSWERED", new ObjectMapper().readTree(lines.get(2)).get("outcome").asText());
+    }
+
+    @Test
+    @DisplayName("Debe cancelar sin dejar el archivo destino")
+    void testCancelLeavesNoFile() throws IOException {
+        // ARRANGE
+        HistoryStore store = createHistory(10);
+        ExportService export = new ExportService(store);
+        Path target = dir.resolve("historial.jsonl");
+
+        // ACT & ASSERT
+        assertThrows(CancellationException.class,
+            () -> export.exportHistory(0, Long.MAX_VALUE, target, ExportService.Format.JSONL, () -> true));
+        assertFalse(Files.exists(target));
+        assertFalse(Files.exists(dir.resolve("historial.jsonl.part")));
+        store.close();
+    }
+}
@@ -0,0 +1,82 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.util.Constants;
+import org.openjfx.javaquiz.view.FxmlCompiler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Tests de la traducción de FXML a vistas compiladas.
+ *
+ * @author angel
+ */
+@DisplayName("FxmlCompiler Tests")
+public class FxmlCompilerTest {
+
+    private static final Path RESOURCES = Paths.get("src/main/resources");
+    private static final Path VIEWS = Paths.get("src/main/java/org/openjfx/javaquiz/view");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Las vistas generadas coinciden con los FXML actuales")
+    void testGeneratedViewsUpToDate() throws IOException {
+        // ARRANGE
+        List<String> fxmlFiles = FxmlCompiler.fxmlFiles(RESOURCES);
+
+        // ACT + ASSERT
+        assertTrue(fxmlFiles.contains(Constants.FXML_QUIZ));
+        for (String fxml : fxmlFiles) {
+            Path generated = VIEWS.resolve(FxmlCompiler.className(fxml) + ".java");
+            assertTrue(Files.exists(generated), "Falta " + generated + ": ejecutar mvn -Pfxml process-classes");
+            assertEquals(FxmlCompiler.compile(RESOURCES, fxml), Files.readString(generated, StandardCharsets.UTF_8),
+                generated + " está desactualizada: ejecutar mvn -Pfxml process-classes");
+        }
+    }
+
+    @Test
+    @DisplayName("Traduce constructores @NamedArg, propiedades estáticas, campos y manejadores")
+    void testTranslatesQuizView() throws IOException {
+        // ACT
+        String source = FxmlCompiler.compile(RESOURCES, Constants.FXML_QUIZ);
+
+        // ASSERT
+        assertTrue(source.contains("new Insets(0.0, 0.0, 8.0, 0.0)"));
+        assertTrue(source.contains("AnchorPane.setTopAnchor("));
+        assertTrue(source.contains("opt1.setMaxWidth(Double.POSITIVE_INFINITY);"));
+        assertTrue(source.contains("field(LOOKUP, \"timerLabel\", Label.class)"));
+        assertTrue(source.contains("method(LOOKUP, \"optionClicked\", ActionEvent.class)"));
+        assertTrue(source.contains("resource(\"/org/openjfx/javaquiz/css/JavaQuiz.css\")"));
+    }
+
+    @Test
+    @DisplayName("Las construcciones no soportadas se rechazan")
+    void testRejectsUnsupported() throws IOException {
+        // ARRANGE
+        Path fxml = tempDir.resolve(Constants.FXML_PATH.substring(1)).resolve("include.fxml");
+        Files.createDirectories(fxml.getParent());
+        Files.writeString(fxml, """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <?import javafx.scene.layout.VBox?>
+            <VBox xmlns:fx="http://javafx.com/fxml/1" fx:controller="org.openjfx.javaquiz.controller.QuizController">
+               <fx:include source="otro.fxml"/>
+            </VBox>
+            """);
+
+        // ACT + ASSERT
+        IOException e = assertThrows(IOException.class,
+            () -> FxmlCompiler.compile(tempDir, Constants.FXML_PATH + "include.fxml"));
+        assertTrue(e.getMessage().contains("fx:include"));
+    }
+}
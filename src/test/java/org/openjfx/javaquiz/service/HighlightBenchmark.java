@@ -0,0 +1,93 @@
+package org.openjfx.javaquiz.service;
+
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.model.StyleSpansBuilder;
+import org.openjfx.javaquiz.util.JavaLexer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Micro-benchmark del resaltado: {@link JavaLexer} frente al resaltado
+ * anterior por expresión regular (cinco palabras clave, patrón compilado en
+ * cada llamada).
+ *
+ * No es un test (surefire lo ignora); se ejecuta a mano con el classpath de
+ * test. Calienta cada variante y mide la media de muchas iteraciones, sin
+ * pasar por la caché de {@code CodeDisplay}.
+ *
+ * Ejemplo de uso:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *     org.openjfx.javaquiz.service.HighlightBenchmark
+ * </pre>
+ *
+ * @author angel
+ */
+public class HighlightBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        String small = "public static void main(String[] args) {\n"
+                     + "    System.out.println(\"Hola\"); // saludo\n"
+                     + "}\n";
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            large.append("/** Método ").append(i).append(" */\n")
+                 .append("@Override\npublic synchronized int method").append(i)
+                 .append("(final List<String> items) {\n")
+                 .append("    if (items == null) return -1; // vacío\n")
+                 .append("    long total = 0x1F_FFL + ").append(i).append(".5e2;\n")
+                 .append("    for (String s : items) total += s.length() + \"x\\\"y\".length();\n")
+                 .append("    return (int) total;\n}\n");
+        }
+        for (String code : new String[] {small, large.toString()}) {
+            System.out.printf("%d caracteres%n", code.length());
+            System.out.printf("  regex: %8.2f us%n", measure(() -> regex(code)));
+            System.out.printf("  lexer: %8.2f us%n", measure(() -> lexer(code)));
+        }
+    }
+
+    private static double measure(Supplier<Object> task) {
+        for (int i = 0; i < WARMUP; i++) sink = task.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) sink = task.get();
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+
+    private static StyleSpans<Collection<String>> lexer(String text) {
+        StyleSpansBuilder<Collection<String>> builder = new StyleSpansBuilder<>();
+        int[] lastEnd = {0};
+        JavaLexer.lex(text, (token, start, end) -> {
+            if (start > lastEnd[0]) builder.add(Collections.emptyList(), start - lastEnd[0]);
+            builder.add(token.styles(), end - start);
+            lastEnd[0] = end;
+        });
+        builder.add(Collections.emptyList(), text.length() - lastEnd[0]);
+        return builder.create();
+    }
+
+    /** Implementación anterior de {@code CodeDisplay.computeHighlighting} */
+    private static StyleSpans<Collection<String>> regex(String text) {
+        String[] keywords = {"class", "public", "private", "void", "static"};
+        Pattern pattern = Pattern.compile("\\b(" + String.join("|", keywords) + ")\\b");
+        Matcher matcher = pattern.matcher(text);
+        StyleSpansBuilder<Collection<String>> builder = new StyleSpansBuilder<>();
+        int lastKwEnd = 0;
+        while (matcher.find()) {
+            builder.add(Collections.emptyList(), matcher.start() - lastKwEnd);
+            builder.add(Collections.singleton("keyword"), matcher.end() - matcher.start());
+            lastKwEnd = matcher.end();
+        }
+        builder.add(Collections.emptyList(), text.length() - lastKwEnd);
+        return builder.create();
+    }
+}
@@ -0,0 +1,124 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.HistoryStore;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Tests unitarios para HistoryStore.
+ * Valida el formato columnar, las consultas por tiempo/tópico y la recuperación de la cola.
+ *
+ * @author angel
+ */
+@DisplayName("HistoryStore Tests")
+public class HistoryStoreTest {
+
+    private static final long DAY = 86_400_000L;
+
+    @TempDir
+    Path dir;
+
+    private AttemptRecord createRecord(long timestamp, long sessionId, String topic) {
+        int questions = 20;
+        int[] questionTopic = new int[questions];
+        int[] positions = new int[questions];
+        byte[] outcomes = new byte[questions];
+        for (int j = 0; j < questions; j++) {
+            questionTopic[j] = j % 2;
+            positions[j] = j / 2 + 1;
+            outcomes[j] = (byte) (j % 4);
+        }
+        return new AttemptRecord(timestamp, sessionId, new String[] {"OOP", topic},
+                                 new int[] {3, 2}, new int[] {5, 5}, questionTopic, positions, outcomes);
+    }
+
+    @Test
+    @DisplayName("Debe guardar bloques columnares y leerlos sin pérdidas")
+    void testRoundTrip() throws IOException {
+        // ARRANGE
+        HistoryStore store = HistoryStore.open(dir, 8);
+
+        // ACT
+        for (int i = 0; i < 20; i++) {
+            store.appendAsync(createRecord(1_000L * DAY + i * DAY, 500 + i, "Streams"));
+        }
+        store.close();
+        HistoryStore reopened = HistoryStore.open(dir, 8);
+        List<AttemptRecord> all = reopened.query(0, Long.MAX_VALUE, null);
+
+        // ASSERT
+        assertEquals(20, all.size());
+        AttemptRecord first = all.get(0);
+        AttemptRecord expected = createRecord(1_000L * DAY, 500, "Streams");
+        assertEquals(expected.getTimestamp(), first.getTimestamp());
+        assertEquals(500, first.getSessionId());
+        assertArrayEquals(expected.getTopics(), first.getTopics());
+        assertArrayEquals(expected.getCorrect(), first.getCorrect());
+        assertArrayEquals(expected.getWrong(), first.getWrong());
+        assertArrayEquals(expected.getQuestionTopic(), first.getQuestionTopic());
+        assertArrayEquals(expected.getQuestionPosition(), first.getQuestionPosition());
+        assertArrayEquals(expected.getOutcomes(), first.getOutcomes());
+        assertEquals(519, all.get(19).getSessionId());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debe filtrar por rango de tiempo y tópico")
+    void testQueryByTimeAndTopic() throws IOException {
+        // ARRANGE
+        HistoryStore store = HistoryStore.open(dir, 4);
+        for (int i = 0; i < 30; i++) {
+            store.appendAsync(createRecord(i * DAY, i, i % 3 == 0 ? "Generics" : "Streams"));
+        }
+        store.flush();
+
+        // ACT
+        List<AttemptRecord> lastTen = store.query(20 * DAY, Long.MAX_VALUE, null);
+        List<AttemptRecord> generics = store.query(20 * DAY, Long.MAX_VALUE, "Generics");
+        List<AttemptRecord> unknown = store.query(0, Long.MAX_VALUE, "Lambdas");
+
+        // ASSERT
+        assertEquals(10, lastTen.size());
+        assertEquals(3, generics.size());
+        assertTrue(generics.stream().allMatch(r -> r.hasTopic("Generics")));
+        assertTrue(unknown.isEmpty());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Debe descartar un registro incompleto al final de la cola")
+    void testTornTailIsDiscarded() throws IOException {
+        // ARRANGE
+        HistoryStore store = HistoryStore.open(dir, 100);
+        store.appendAsync(createRecord(DAY, 1, "Streams"));
+        store.appendAsync(createRecord(2 * DAY, 2, "Streams"));
+        store.close();
+        try (FileChannel tail = FileChannel.open(dir.resolve("history.tail"), StandardOpenOption.WRITE)) {
+            tail.truncate(tail.size() - 3);
+        }
+
+        // ACT
+        HistoryStore reopened = HistoryStore.open(dir, 100);
+        reopened.appendAsync(createRecord(3 * DAY, 3, "Streams"));
+        reopened.flush();
+        List<AttemptRecord> all = reopened.query(0, Long.MAX_VALUE, "Streams");
+
+        // ASSERT
+        assertEquals(2, all.size());
+        assertEquals(1, all.get(0).getSessionId());
+        assertEquals(3, all.get(1).getSessionId());
+        assertEquals(SessionState.OUTCOME_TIMEOUT, all.get(1).getOutcomes()[3]);
+        reopened.close();
+    }
+}
@@ -0,0 +1,121 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.commons.math3.stat.correlation.PearsonsCorrelation;
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.ItemStats;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.HistoryStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests unitarios para ItemAnalysisService.
+ * Valida dificultad, discriminación punto-biserial y el cálculo incremental.
+ *
+ * @author angel
+ */
+@DisplayName("ItemAnalysisService Tests")
+public class ItemAnalysisServiceTest {
+
+    private static final int QUESTIONS = 5;
+
+    @TempDir
+    Path dir;
+
+    private byte[][] createOutcomes(int attempts) {
+        Random random = new Random(7);
+        byte[][] outcomes = new byte[attempts][QUESTIONS];
+        for (int a = 0; a < attempts; a++) {
+            double ability = random.nextDouble();
+            for (int q = 0; q < QUESTIONS; q++) {
+                double r = random.nextDouble();
+                outcomes[a][q] = r < ability * (1 - q * 0.15) ? SessionState.OUTCOME_CORRECT
+                               : r > 0.95 ? SessionState.OUTCOME_TIMEOUT : SessionState.OUTCOME_WRONG;
+            }
+        }
+        return outcomes;
+    }
+
+    private AttemptRecord createRecord(long sessionId, byte[] outcomes) {
+        return new AttemptRecord(sessionId * 1000, sessionId, new String[] {"OOP"}, new int[1], new int[1],
+                                 new int[QUESTIONS], new int[] {1, 2, 3, 4, 5}, outcomes);
+    }
+
+    @Test
+    @DisplayName("Debe calcular dificultad y punto-biserial igual que Pearson")
+    void testMatchesPearson() throws IOException {
+        // ARRANGE
+        byte[][] outcomes = createOutcomes(300);
+        HistoryStore store = HistoryStore.open(dir, 64);
+        for (int a = 0; a < outcomes.length; a++) {
+            store.appendAsync(createRecord(a, outcomes[a]));
+        }
+        store.flush();
+        ItemAnalysisService analysis = new ItemAnalysisService(store);
+
+        // ACT
+        analysis.refresh();
+        ItemStats item = analysis.getItem("OOP", 2).orElseThrow();
+
+        // ASSERT
+        double[] x = new double[outcomes.length];
+        double[] rest = new double[outcomes.length];
+        int correct = 0;
+        for (int a = 0; a < outcomes.length; a++) {
+            int total = 0;
+            for (byte o : outcomes[a]) if (o == SessionState.OUTCOME_CORRECT) total++;
+            x[a] = outcomes[a][1] == SessionState.OUTCOME_CORRECT ? 1 : 0;
+            rest[a] = (total - x[a]) / (QUESTIONS - 1);
+            correct += (int) x[a];
+        }
+        assertEquals(300, item.getResponses());
+        assertEquals(correct / 300.0, item.getDifficulty(), 1e-12);
+        assertEquals(new PearsonsCorrelation().correlation(x, rest), item.getDiscrimination(), 1e-9);
+        assertTrue(item.getDiscrimination() > 0.2);
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Debe dar el mismo resultado de forma incremental que completo")
+    void testIncrementalRefresh() throws IOException {
+        // ARRANGE
+        byte[][] outcomes = createOutcomes(200);
+        HistoryStore store = HistoryStore.open(dir, 32);
+        ItemAnalysisService incremental = new ItemAnalysisService(store);
+
+        // ACT
+        for (int a = 0; a < outcomes.length; a++) {
+            store.appendAsync(createRecord(a, outcomes[a]));
+            if (a % 45 == 0) {
+                store.flush();
+                incremental.refresh();
+            }
+        }
+        store.flush();
+        incremental.refresh();
+        ItemAnalysisService full = new ItemAnalysisService(store);
+        full.refresh();
+
+        // ASSERT
+        assertEquals(200, incremental.getProcessedAttempts());
+        List<ItemStats> expected = full.getItems();
+        List<ItemStats> actual = incremental.getItems();
+        assertEquals(QUESTIONS, actual.size());
+        for (int i = 0; i < QUESTIONS; i++) {
+            assertEquals(expected.get(i).getResponses(), actual.get(i).getResponses());
+            assertEquals(expected.get(i).getDifficulty(), actual.get(i).getDifficulty(), 1e-12);
+            assertEquals(expected.get(i).getDiscrimination(), actual.get(i).getDiscrimination(), 1e-9);
+            assertEquals(expected.get(i).getTimeoutRate(), actual.get(i).getTimeoutRate(), 1e-12);
+        }
+        assertEquals(0, incremental.refresh());
+        store.close();
+    }
+}
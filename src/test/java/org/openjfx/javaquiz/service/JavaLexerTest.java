@@ -0,0 +1,83 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.fxmisc.richtext.model.StyleSpans;
+import org.openjfx.javaquiz.util.CodeDisplay;
+import org.openjfx.javaquiz.util.JavaLexer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tests del analizador léxico de Java y del resaltado cacheado.
+ *
+ * @author angel
+ */
+@DisplayName("JavaLexer Tests")
+public class JavaLexerTest {
+
+    private static List<String> tokens(String code) {
+        List<String> found = new ArrayList<>();
+        JavaLexer.lex(code, (token, start, end) -> found.add(token + ":" + code.substring(start, end)));
+        return found;
+    }
+
+    @Test
+    @DisplayName("Clasifica palabras clave, literales, cadenas, comentarios, anotaciones y números")
+    void testTokenClasses() {
+        // ARRANGE
+        String code = "@Override\n"
+                    + "public sealed interface Shape permits Circle { } // fin\n"
+                    + "String s = \"a \\\"b\\\" c\"; char c = '\\''; /* bloque */\n"
+                    + "var t = \"\"\"\n  texto \"\" \"\"\";\n"
+                    + "long n = 0xFF_FFL + 1.5e-3 + .5f; boolean b = x == null || true;";
+
+        // ACT
+        List<String> found = tokens(code);
+
+        // ASSERT
+        assertEquals(List.of(
+            "ANNOTATION:@Override",
+            "KEYWORD:public", "KEYWORD:sealed", "KEYWORD:interface", "KEYWORD:permits", "COMMENT:// fin",
+            "STRING:\"a \\\"b\\\" c\"", "KEYWORD:char", "STRING:'\\''", "COMMENT:/* bloque */",
+            "KEYWORD:var", "STRING:\"\"\"\n  texto \"\" \"\"\"",
+            "KEYWORD:long", "NUMBER:0xFF_FFL", "NUMBER:1.5e-3", "NUMBER:.5f",
+            "KEYWORD:boolean", "LITERAL:null", "LITERAL:true"), found);
+    }
+
+    @Test
+    @DisplayName("Las construcciones sin cerrar no rompen el análisis")
+    void testUnterminated() {
+        // ACT
+        List<String> string = tokens("String s = \"sin cerrar\nint x;");
+        List<String> comment = tokens("int a; /* sin cerrar");
+        List<String> member = tokens("int n = list.size() + 2.0;");
+
+        // ASSERT
+        assertEquals(List.of("STRING:\"sin cerrar", "KEYWORD:int"), string);
+        assertEquals(List.of("KEYWORD:int", "COMMENT:/* sin cerrar"), comment);
+        assertEquals(List.of("KEYWORD:int", "NUMBER:2.0"), member);
+    }
+
+    @Test
+    @DisplayName("Los estilos cubren todo el código y se reutilizan desde la caché")
+    void testCachedSpans() {
+        // ARRANGE
+        String code = "public class A { int x = 1; } // " + System.nanoTime();
+
+        // ACT
+        StyleSpans<Collection<String>> first = CodeDisplay.computeHighlighting(code);
+        CompletableFuture<StyleSpans<Collection<String>>> again = CodeDisplay.highlight(code, "java", Runnable::run);
+
+        // ASSERT
+        assertEquals(code.length(), first.length());
+        assertTrue(again.isDone());
+        assertSame(first, again.join());
+        assertEquals(List.of("keyword"), new ArrayList<>(first.getStyleSpan(0).getStyle()));
+    }
+}
@@ -0,0 +1,87 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.util.CodeLexer;
+import org.openjfx.javaquiz.util.LanguageRegistry;
+import org.openjfx.javaquiz.util.TableLexer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests del registro de lenguajes y de los analizadores por tablas.
+ *
+ * @author angel
+ */
+@DisplayName("LanguageRegistry Tests")
+public class LanguageRegistryTest {
+
+    private static List<String> tokens(String language, String code) {
+        List<String> found = new ArrayList<>();
+        LanguageRegistry.lexer(language).lex(code,
+            (token, start, end) -> found.add(token + ":" + code.substring(start, end)));
+        return found;
+    }
+
+    @Test
+    @DisplayName("SQL, JavaScript y shell resaltan sus propios tokens")
+    void testTableLexers() {
+        // ACT
+        List<String> sql = tokens("sql", "Select name FROM t WHERE id = @id AND x IS NULL -- fin\n'it''s'");
+        List<String> js = tokens("js", "const $el = `a\nb`; // c\nif (x === undefined) return 0x1F;");
+        List<String> shell = tokens("bash", "echo \"$HOME\" ${USER} $1 # nota\nif [ -f x ]; then exit 0; fi");
+
+        // ASSERT
+        assertEquals(List.of("KEYWORD:Select", "KEYWORD:FROM", "KEYWORD:WHERE", "ANNOTATION:@id",
+            "KEYWORD:AND", "KEYWORD:IS", "LITERAL:NULL", "COMMENT:-- fin", "STRING:'it'", "STRING:'s'"), sql);
+        assertEquals(List.of("KEYWORD:const", "STRING:`a\nb`", "COMMENT:// c", "KEYWORD:if",
+            "LITERAL:undefined", "KEYWORD:return", "NUMBER:0x1F"), js);
+        assertEquals(List.of("KEYWORD:echo", "STRING:\"$HOME\"", "ANNOTATION:${USER}", "ANNOTATION:$1",
+            "COMMENT:# nota", "KEYWORD:if", "KEYWORD:then", "KEYWORD:exit", "NUMBER:0", "KEYWORD:fi"), shell);
+    }
+
+    @Test
+    @DisplayName("XML solo resalta etiquetas, atributos, comentarios y entidades")
+    void testMarkup() {
+        // ACT
+        List<String> found = tokens("fxml",
+            "<!-- vista -->\n<Button fx:id=\"ok\" text='Go'/> it's a &lt; b\n</VBox>");
+
+        // ASSERT
+        assertEquals(List.of("COMMENT:<!-- vista -->", "KEYWORD:<Button", "ANNOTATION:fx:id",
+            "STRING:\"ok\"", "ANNOTATION:text", "STRING:'Go'", "LITERAL:&lt;", "KEYWORD:</VBox"), found);
+    }
+
+    @Test
+    @DisplayName("El lenguaje se declara o se deduce del tópico, y cada analizador se crea una vez")
+    void testInferenceAndLazyLoading() {
+        // ARRANGE
+        Question declared = new Question("¿?", List.of("a", "b"), "c", 1, "Streams", "x");
+        declared.setLanguage("FXML");
+        Question inferred = new Question("¿?", List.of("a", "b"), "c", 2, "SQL Joins", "x");
+        Question java = new Question("¿?", List.of("a", "b"), "c", 3, "Colecciones", "x");
+        AtomicInteger built = new AtomicInteger();
+
+        // ACT
+        LanguageRegistry.register("kotlin", () -> {
+            built.incrementAndGet();
+            return new TableLexer.Builder().keywords("fun", "val").build();
+        }, "kt");
+        CodeLexer first = LanguageRegistry.lexer("kt");
+        CodeLexer second = LanguageRegistry.lexer("Kotlin");
+
+        // ASSERT
+        assertEquals("xml", LanguageRegistry.languageOf(declared));
+        assertEquals("sql", LanguageRegistry.languageOf(inferred));
+        assertEquals("java", LanguageRegistry.languageOf(java));
+        assertEquals("java", LanguageRegistry.canonical("cobol"));
+        assertSame(first, second);
+        assertEquals(1, built.get());
+        assertEquals(List.of("KEYWORD:fun"), tokens("kotlin", "fun main()"));
+    }
+}
@@ -0,0 +1,131 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.exception.InvalidQuizDataException;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.util.AllocationMeter;
+import org.openjfx.javaquiz.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests unitarios para LatencyTracker y LatencyHistogram.
+ * Valida la precisión de los percentiles y la agregación por tópico.
+ *
+ * @author angel
+ */
+@DisplayName("LatencyTracker Tests")
+public class LatencyTrackerTest {
+
+    @Test
+    @DisplayName("Los percentiles deben tener error relativo menor al 12.5%")
+    void testPercentileAccuracy() {
+        // ARRANGE - 1..10000 ms
+        LatencyHistogram h = new LatencyHistogram();
+        for (int ms = 1; ms <= 10_000; ms++) {
+            h.recordMicros(ms * 1_000L);
+        }
+
+        // ASSERT
+        assertEquals(10_000, h.getCount());
+        assertEquals(5_000_000, h.percentileMicros(0.50), 5_000_000 * 0.125);
+        assertEquals(9_000_000, h.percentileMicros(0.90), 9_000_000 * 0.125);
+        assertEquals(9_900_000, h.percentileMicros(0.99), 9_900_000 * 0.125);
+        assertEquals(10_000_000, h.getMaxMicros());
+        assertTrue(h.percentileMicros(1.0) <= h.getMaxMicros(), "Ningún percentil supera el máximo");
+    }
+
+    @Test
+    @DisplayName("Un histograma vacío debe retornar 0")
+    void testEmptyHistogram() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.percentileMicros(0.5));
+        assertEquals(0, h.getMeanMicros());
+    }
+
+    @Test
+    @DisplayName("QuizService debe registrar tiempos por pregunta y por tópico")
+    void testQuizServiceRecordsLatency() throws InvalidQuizDataException {
+        List<Question> questions = new ArrayList<>();
+        questions.add(new Question("q1", Arrays.asList("a", "b", "c"), "ok", 1, "OOP", null));
+        questions.add(new Question("q2", Arrays.asList("a", "b", "c"), "ok", 2, "Streams", null));
+        QuizService quiz = new QuizService();
+        quiz.initialize(questions);
+
+        quiz.markQuestionShown();
+        quiz.registerAnswer(true);
+        quiz.goNext();
+        quiz.registerTimeout();
+
+        LatencyTracker tracker = quiz.getLatencyTracker();
+        assertEquals(2, tracker.getOverall().getCount());
+        assertEquals(1, tracker.getTopicHistograms().get("OOP").getCount());
+        assertEquals(1, tracker.getTopicHistograms().get("Streams").getCount());
+        assertEquals(1, tracker.getQuestionHistogram(1).getCount());
+
+        quiz.reset();
+        assertEquals(0, tracker.getOverall().getCount(), "reset() debe vaciar los tiempos");
+    }
+
+    @Test
+    @DisplayName("record() no debe asignar memoria, tampoco tras reset()")
+    void testRecordDoesNotAllocate() {
+        // ARRANGE - posición p con la pregunta 100 + p del banco
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            questions.add(new Question("q" + i, Arrays.asList("a", "b", "c"), "ok", i, "T" + (i % 3), null));
+        }
+        LatencyTracker tracker = new LatencyTracker(questions.size());
+        for (int p = 0; p < questions.size(); p++) {
+            tracker.assign(p, 100 + p, questions.get(p));
+        }
+        tracker.record(0, 1_000_000L); // calienta el JIT y las clases
+        tracker.reset();
+        for (int p = 0; p < questions.size(); p++) {
+            tracker.assign(p, 100 + p, questions.get(p));
+        }
+
+        // ACT
+        long start = AllocationMeter.currentThreadBytes();
+        for (int p = 0; p < questions.size(); p++) {
+            tracker.record(p, (p + 1) * 1_000_000L);
+        }
+        long allocated = AllocationMeter.currentThreadBytes() - start;
+
+        // ASSERT
+        assertEquals(50, tracker.getOverall().getCount());
+        assertEquals(1, tracker.getQuestionHistogram(149).getCount());
+        assertEquals(149, tracker.slowestQuestion());
+        if (AllocationMeter.isSupported()) {
+            assertTrue(allocated < 1_024, "Asignó " + allocated + " bytes");
+        }
+    }
+
+    @Test
+    @DisplayName("El tracker se dimensiona a la sesión sorteada, no al banco")
+    void testSizedToSession() throws InvalidQuizDataException {
+        // ARRANGE - 200 preguntas en el banco, 10 en la sesión
+        int[] exam = {150, 3, 77, 12, 199, 0, 45, 88, 120, 7};
+        QuizService quiz = new QuizService();
+        quiz.initializeExam(List.of(TestBanks.bank("OOP", 200)), exam);
+
+        // ACT
+        quiz.markQuestionShown();
+        quiz.registerAnswer(true);
+        quiz.goNext();
+        quiz.registerTimeout();
+
+        // ASSERT
+        LatencyTracker tracker = quiz.getLatencyTracker();
+        assertEquals(exam.length, tracker.capacity());
+        assertEquals(2, tracker.getOverall().getCount());
+        assertEquals(1, tracker.getQuestionHistogram(150).getCount());
+        assertEquals(1, tracker.getQuestionHistogram(3).getCount());
+        assertEquals(0, tracker.getQuestionHistogram(77).getCount());
+    }
+}
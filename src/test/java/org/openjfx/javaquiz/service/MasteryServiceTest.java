@@ -0,0 +1,66 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.MasteryEstimate;
+import org.openjfx.javaquiz.repository.MasteryStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tests unitarios para MasteryService y MasteryStore.
+ * Valida la posterior Beta, el estrechamiento del intervalo y la persistencia.
+ *
+ * @author angel
+ */
+@DisplayName("MasteryService Tests")
+public class MasteryServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Sin respuestas el dominio debe ser 50% con intervalo amplio")
+    void testPriorIsUniform() {
+        // ACT
+        MasteryEstimate estimate = new MasteryService(null, "ana").estimate("OOP");
+
+        // ASSERT
+        assertEquals(0.5, estimate.getMean(), 1e-12);
+        assertEquals(0.025, estimate.getLower(), 1e-9);
+        assertEquals(0.975, estimate.getUpper(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("El intervalo debe estrecharse con más respuestas y persistir por usuario")
+    void testIntervalNarrowsAndPersists() throws IOException {
+        // ARRANGE
+        Path file = dir.resolve("mastery.bin");
+        MasteryStore store = MasteryStore.open(file);
+        MasteryService ana = new MasteryService(store, "ana");
+        MasteryService luis = new MasteryService(store, "luis");
+
+        // ACT
+        for (int i = 0; i < 8; i++) ana.record("OOP", i < 6);
+        MasteryEstimate few = ana.estimate("OOP");
+        for (int i = 0; i < 192; i++) ana.record("OOP", i % 4 != 0);
+        luis.record("Streams", false);
+        store.close();
+        MasteryStore reopened = MasteryStore.open(file);
+        MasteryEstimate many = new MasteryService(reopened, "ana").estimate("OOP");
+
+        // ASSERT
+        assertEquals(150, many.getCorrect());
+        assertEquals(50, many.getWrong());
+        assertEquals(151.0 / 202.0, many.getMean(), 1e-12);
+        assertTrue(many.getUpper() - many.getLower() < few.getUpper() - few.getLower());
+        assertTrue(many.getLower() < 0.75 && 0.75 < many.getUpper());
+        assertArrayEquals(new int[] {0, 1}, reopened.counts("luis", "Streams"));
+        assertArrayEquals(new int[] {0, 0}, reopened.counts("luis", "OOP"));
+        reopened.close();
+    }
+}
@@ -0,0 +1,99 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.exception.InvalidQuizDataException;
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.util.WeightedSampler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Tests del muestreo ponderado de práctica.
+ *
+ * @author angel
+ */
+@DisplayName("PracticeSampler Tests")
+public class PracticeSamplerTest {
+
+    @Test
+    @DisplayName("Las frecuencias siguen los pesos y setWeight actualiza el total")
+    void testSamplingFollowsWeights() {
+        // ARRANGE
+        WeightedSampler sampler = new WeightedSampler(new double[] {1, 0, 3, 4});
+        SplittableRandom random = new SplittableRandom(7);
+        int[] hits = new int[4];
+
+        // ACT
+        for (int i = 0; i < 80_000; i++) {
+            hits[sampler.sample(random)]++;
+        }
+        sampler.setWeight(3, 0);
+
+        // ASSERT
+        assertEquals(0, hits[1]);
+        assertEquals(10_000, hits[0], 600);
+        assertEquals(30_000, hits[2], 900);
+        assertEquals(40_000, hits[3], 900);
+        assertEquals(4.0, sampler.total(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Sin reemplazo: cada pregunta sale una vez y los fallos suben el tópico")
+    void testDrawWithoutReplacementAndTopicBoost() {
+        // ARRANGE
+        List<Question> questions = new ArrayList<>(TestBanks.questions("Streams", 50));
+        questions.addAll(TestBanks.questions("OOP", 50));
+        PracticeSampler sampler = new PracticeSampler(questions, q -> 1.0, new SplittableRandom(3));
+
+        // ACT
+        double before = sampler.topicFactor(0);
+        sampler.recordOutcome(0, false);
+        sampler.recordOutcome(1, false);
+        double after = sampler.topicFactor(0);
+        Set<Integer> seen = new HashSet<>();
+        int id;
+        while ((id = sampler.next()) >= 0) {
+            assertTrue(seen.add(id), "Pregunta repetida: " + id);
+        }
+
+        // ASSERT
+        assertEquals(1.0, before, 1e-9);
+        assertTrue(after > before);
+        assertEquals(100, seen.size());
+        assertEquals(0, sampler.getRemaining());
+    }
+
+    @Test
+    @DisplayName("Una sesión de práctica tiene la longitud pedida y solo guarda las preguntas sorteadas")
+    void testPracticeSessionLength() throws InvalidQuizDataException {
+        // ARRANGE
+        QuizData data = TestBanks.bank("Streams", 500);
+        QuizService quizService = new QuizService();
+        quizService.initializePractice(List.of(data), 5, q -> 1.0);
+
+        // ACT
+        Set<Integer> positions = new HashSet<>();
+        while (!quizService.isFinished()) {
+            positions.add(quizService.getCurrentQuestion().getPosition());
+            quizService.registerAnswer(false);
+            quizService.goNext();
+        }
+        AttemptRecord record = HistoryService.toRecord(quizService, 0L);
+
+        // ASSERT
+        assertTrue(quizService.isPractice());
+        assertEquals(5, quizService.getTotalQuestions());
+        assertEquals(5, positions.size());
+        assertEquals(5, record.getQuestionCount());
+        assertEquals(5, record.getTotalWrong());
+    }
+}
@@ -404,4 +404,45 @@ public class QuizServiceTest {
         assertEquals(2, quizService.getWrongAnswers(), "Debe tener 2 incorrectas");
         assertEquals(3, quizService.getTotalQuestions(), "Total debe ser 3");
     }
-}
\ No newline at end of file
+    
+    // ========== TESTS DE PREPARACIÓN ==========
+    
+    @Test
+    @DisplayName("peekNext debe devolver la siguiente pregunta sin mover el cursor")
+    void testPeekNext() throws InvalidQuizDataException {
+        // ARRANGE
+        quizService.initialize(mockQuestions);
+        
+        // ACT
+        Question peeked = quizService.peekNext();
+        int indexAfterPeek = quizService.getCurrentIndex();
+        quizService.goNext();
+        quizService.goNext();
+        Question afterLast = quizService.peekNext();
+        
+        // ASSERT
+        assertEquals(0, indexAfterPeek, "Espiar no debe avanzar");
+        assertSame(quizService.getQuestions().get(1), peeked);
+        assertNull(afterLast, "No hay siguiente después de la última");
+    }
+    
+    @Test
+    @DisplayName("En práctica, goNext debe mostrar la pregunta elegida por peekNext")
+    void testPeekNextInPractice() throws InvalidQuizDataException {
+        // ARRANGE
+        QuizData data = new QuizData();
+        data.setQuestions(mockQuestions);
+        quizService.initializePractice(List.of(data), 3, q -> 1.0);
+        quizService.registerAnswer(true);
+        
+        // ACT
+        Question peeked = quizService.peekNext();
+        Question peekedAgain = quizService.peekNext();
+        quizService.goNext();
+        
+        // ASSERT
+        assertNotNull(peeked);
+        assertSame(peeked, peekedAgain, "Espiar dos veces no debe volver a elegir");
+        assertSame(peeked, quizService.getCurrentQuestion());
+    }
+}
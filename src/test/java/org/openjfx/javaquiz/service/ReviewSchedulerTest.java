@@ -0,0 +1,116 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.ReviewCard;
+import org.openjfx.javaquiz.repository.ReviewStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Tests del planificador de repaso espaciado y su cola persistida.
+ *
+ * @author angel
+ */
+@DisplayName("ReviewScheduler Tests")
+public class ReviewSchedulerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private static Clock clockAt(LocalDate day) {
+        return Clock.fixed(day.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("SM-2: intervalos 1, 6 y luego × facilidad; un fallo reinicia")
+    void testSm2Intervals() {
+        // ARRANGE
+        long today = TODAY.toEpochDay();
+        ReviewCard card = new ReviewCard("OOP", 1, (int) today, 0, ReviewCard.INITIAL_EASE, 0);
+
+        // ACT
+        ReviewCard first = ReviewScheduler.schedule(card, 5, today);
+        ReviewCard second = ReviewScheduler.schedule(first, 5, today);
+        ReviewCard third = ReviewScheduler.schedule(second, 5, today);
+        ReviewCard failed = ReviewScheduler.schedule(third, 1, today);
+
+        // ASSERT
+        assertEquals(1, first.getIntervalDays());
+        assertEquals(6, second.getIntervalDays());
+        assertEquals(Math.round(6 * second.getEase()), third.getIntervalDays());
+        assertEquals(today + third.getIntervalDays(), third.getDueDay());
+        assertEquals(0, failed.getRepetitions());
+        assertEquals(1, failed.getIntervalDays());
+        assertTrue(failed.getEase() < third.getEase());
+        assertTrue(failed.getEase() >= 1.3);
+    }
+
+    @Test
+    @DisplayName("La cola entrega las vencidas en orden y sobrevive a reabrir el archivo")
+    void testDueQueuePersists() throws IOException {
+        // ARRANGE
+        Path file = tempDir.resolve("reviews.bin");
+        long today = TODAY.toEpochDay();
+        SplittableRandom random = new SplittableRandom(1);
+        int expectedDue = 0;
+        try (ReviewStore store = ReviewStore.open(file)) {
+            for (int i = 0; i < 100_000; i++) {
+                int due = (int) today + random.nextInt(-30, 60);
+                if (due <= today) expectedDue++;
+                store.put("angel", new ReviewCard("T" + (i % 7), i, due, 1, 2.5, 1));
+            }
+            // Reprogramar una tarjeta la mueve en la cola
+            if (store.get("angel", "T0", 0).getDueDay() > today) expectedDue++;
+            store.put("angel", new ReviewCard("T0", 0, (int) today - 100, 1, 2.5, 1));
+            store.saveAsync();
+        }
+
+        // ACT
+        try (ReviewStore reopened = ReviewStore.open(file)) {
+            ReviewScheduler scheduler = new ReviewScheduler(reopened, "angel", clockAt(TODAY));
+            List<ReviewCard> head = scheduler.dueToday(500);
+
+            // ASSERT
+            assertEquals(100_000, reopened.size("angel"));
+            assertEquals(0, head.get(0).getPosition());
+            for (int i = 1; i < head.size(); i++) {
+                assertTrue(head.get(i - 1).getDueDay() <= head.get(i).getDueDay());
+            }
+            assertEquals(500, head.size());
+            assertEquals(expectedDue, scheduler.dueCount());
+            assertEquals(0, reopened.dueCount("otro", today));
+        }
+    }
+
+    @Test
+    @DisplayName("Responder reprograma la tarjeta y la saca del repaso de hoy")
+    void testRecordReschedules() throws IOException {
+        // ARRANGE
+        try (ReviewStore store = ReviewStore.open(tempDir.resolve("reviews.bin"))) {
+            ReviewScheduler scheduler = new ReviewScheduler(store, "angel", clockAt(TODAY));
+            ReviewScheduler tomorrow = new ReviewScheduler(store, "angel", clockAt(TODAY.plusDays(1)));
+
+            // ACT
+            scheduler.record("Streams", 3, true);
+            scheduler.record("Streams", 4, false);
+
+            // ASSERT
+            assertEquals(0, scheduler.dueCount());
+            assertEquals(2, tomorrow.dueCount());
+            assertEquals(1, store.get("angel", "Streams", 3).getRepetitions());
+            assertEquals(0, store.get("angel", "Streams", 4).getRepetitions());
+        }
+    }
+}
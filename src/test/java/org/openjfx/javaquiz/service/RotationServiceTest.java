@@ -0,0 +1,108 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.repository.SeenStore;
+import org.openjfx.javaquiz.util.CompactBitmap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests de la rotación sin repetición y sus bitmaps de preguntas vistas.
+ *
+ * @author angel
+ */
+@DisplayName("RotationService Tests")
+public class RotationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("El bitmap combina, se serializa compacto y se lee igual")
+    void testBitmapRoundTrip() throws IOException {
+        // ARRANGE
+        CompactBitmap dense = new CompactBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            dense.add(i);
+        }
+        CompactBitmap sparse = new CompactBitmap();
+        sparse.add(70_000);
+        sparse.add(5);
+        sparse.add(123_456);
+
+        // ACT
+        dense.or(sparse);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dense.writeTo(new DataOutputStream(bytes));
+        CompactBitmap read = CompactBitmap.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // ASSERT
+        assertEquals(10_002, dense.cardinality());
+        assertTrue(bytes.size() < 32, "Bytes: " + bytes.size());
+        assertEquals(10_002, read.cardinality());
+        assertTrue(read.contains(9_999));
+        assertTrue(read.contains(70_000));
+        assertTrue(read.contains(123_456));
+        assertFalse(read.contains(10_000));
+    }
+
+    @Test
+    @DisplayName("Las no vistas salen primero y al agotar el banco empieza un nuevo ciclo")
+    void testUnseenFirstAndCycle() throws IOException {
+        // ARRANGE
+        List<Question> questions = TestBanks.questions("Streams", 6);
+        try (SeenStore store = SeenStore.open(tempDir.resolve("seen.bin"))) {
+            RotationService rotation = new RotationService(store, "angel");
+            rotation.markSeen(questions.get(0));
+            rotation.markSeen(questions.get(2));
+
+            // ACT
+            int[] order = rotation.unseenFirst(questions);
+            for (Question q : questions) {
+                rotation.markSeen(q);
+            }
+            int[] cycled = rotation.unseenFirst(questions);
+
+            // ASSERT
+            assertArrayEquals(new int[] {1, 3, 4, 5, 0, 2}, order);
+            assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, cycled);
+            assertTrue(store.seen("angel", "Streams").isEmpty());
+            assertTrue(store.seen("otro", "Streams").isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Las preguntas vistas sobreviven a reabrir el archivo")
+    void testSeenPersists() throws IOException {
+        // ARRANGE
+        Path file = tempDir.resolve("seen.bin");
+        try (SeenStore store = SeenStore.open(file)) {
+            for (int user = 0; user < 1_000; user++) {
+                store.markSeen("u" + user, "OOP", user % 50);
+                store.markSeen("u" + user, "Streams", 3);
+            }
+            store.saveAsync();
+        }
+
+        // ACT
+        try (SeenStore reopened = SeenStore.open(file)) {
+
+            // ASSERT
+            assertTrue(reopened.seen("u7", "OOP").contains(7));
+            assertFalse(reopened.seen("u7", "OOP").contains(8));
+            assertTrue(reopened.seen("u999", "Streams").contains(3));
+            assertEquals(1, reopened.seen("u999", "OOP").cardinality());
+        }
+    }
+}
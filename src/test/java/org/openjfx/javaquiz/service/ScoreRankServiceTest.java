@@ -0,0 +1,87 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.repository.ScoreSketchStore;
+import org.openjfx.javaquiz.util.QuantileSketch;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests unitarios para QuantileSketch y ScoreRankService.
+ * Valida la precisión del sketch, la combinación y el rango percentil persistido.
+ *
+ * @author angel
+ */
+@DisplayName("ScoreRankService Tests")
+public class ScoreRankServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private AttemptRecord createRecord(int correctOop, int correctStreams) {
+        int[] questionTopic = new int[20];
+        Arrays.fill(questionTopic, 10, 20, 1);
+        return new AttemptRecord(0, 1, new String[] {"Streams", "OOP"},
+                                 new int[] {correctStreams, correctOop}, new int[] {10 - correctStreams, 10 - correctOop},
+                                 questionTopic, new int[20], new byte[20]);
+    }
+
+    @Test
+    @DisplayName("El sketch combinado debe mantener el error de rango acotado")
+    void testSketchAccuracyAndMerge() {
+        // ARRANGE
+        Random random = new Random(3);
+        QuantileSketch a = new QuantileSketch(200, 1);
+        QuantileSketch b = new QuantileSketch(200, 2);
+        double[] values = new double[200_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+            (i % 2 == 0 ? a : b).update(values[i]);
+        }
+
+        // ACT
+        a.merge(b);
+
+        // ASSERT
+        Arrays.sort(values);
+        assertEquals(values.length, a.getCount());
+        assertTrue(a.getRetained() < 1_000, "retenidos: " + a.getRetained());
+        for (double q : new double[] {0.05, 0.25, 0.5, 0.82, 0.99}) {
+            double value = values[(int) (q * values.length)];
+            assertEquals(q, a.rank(value), 0.02, "rango de q=" + q);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe calcular el rango antes de registrar y persistirlo")
+    void testRankAndRecordPersists() throws IOException {
+        // ARRANGE
+        Path file = dir.resolve("scores.sketch");
+        ScoreSketchStore store = ScoreSketchStore.open(file);
+        ScoreRankService ranks = new ScoreRankService(store);
+        for (int i = 0; i <= 10; i++) {
+            ranks.rankAndRecord(createRecord(i, 10 - i));
+        }
+        store.saveAsync();
+        store.close();
+
+        // ACT
+        ScoreSketchStore reopenedStore = ScoreSketchStore.open(file);
+        Map<String, Double> result = new ScoreRankService(reopenedStore).rankAndRecord(createRecord(8, 3));
+        reopenedStore.close();
+
+        // ASSERT
+        assertEquals(8 / 11.0, result.get("OOP"), 1e-9);
+        assertEquals(3 / 11.0, result.get("Streams"), 1e-9);
+        assertEquals(1.0, result.get("OOP + Streams"), 1e-9);
+    }
+}
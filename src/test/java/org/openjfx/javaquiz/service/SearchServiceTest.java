@@ -0,0 +1,112 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.QuizData;
+import org.openjfx.javaquiz.repository.SearchIndexStore;
+import org.openjfx.javaquiz.util.CompactBitmap;
+import org.openjfx.javaquiz.util.JavaTokenizer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests de la búsqueda de texto completo sobre las preguntas.
+ *
+ * @author angel
+ */
+@DisplayName("SearchService Tests")
+public class SearchServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static QuizData bank(String source, String... texts) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < texts.length; i++) {
+            questions.add(new Question(texts[i], List.of("Ninguna", "Todas"), "Depende", i, source, null));
+        }
+        QuizData data = new QuizData();
+        data.setSource(source);
+        data.setQuestions(questions);
+        return data;
+    }
+
+    private static List<QuizData> corpus() {
+        QuizData collections = bank("Collections",
+            "¿Qué hace HashMap.put con una clave repetida?",
+            "¿TreeMap permite claves null?",
+            "¿Es seguro iterar un ConcurrentHashMap mientras se modifica?");
+        QuizData concurrency = bank("Concurrency",
+            "¿Qué garantiza una variable volatile?",
+            "¿Para qué sirve synchronized?");
+        concurrency.getQuestions().get(1).setCode("Map<String, Integer> counts = new HashMap<>();\n"
+                                                 + "counts.computeIfAbsent(key, k -> 0);");
+        return List.of(collections, concurrency);
+    }
+
+    private static List<Integer> ids(CompactBitmap hits) {
+        List<Integer> ids = new ArrayList<>();
+        for (int rank = 0; rank < hits.cardinality(); rank++) {
+            ids.add(hits.select(rank));
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("El tokenizador separa camelCase y nombres con puntos")
+    void testTokenizer() {
+        // ARRANGE
+        List<String> terms = new ArrayList<>();
+
+        // ACT
+        JavaTokenizer.tokenize("java.util.HashMap MAX_VALUE HTTPServer", terms::add);
+
+        // ASSERT
+        assertTrue(terms.containsAll(List.of("java.util.hashmap", "java", "util", "hashmap", "hash", "map")),
+                   terms.toString());
+        assertTrue(terms.containsAll(List.of("max_value", "max", "value")), terms.toString());
+        assertTrue(terms.containsAll(List.of("httpserver", "http", "server")), terms.toString());
+    }
+
+    @Test
+    @DisplayName("Las consultas combinan términos, OR, exclusión y prefijos")
+    void testBooleanAndPrefixQueries() {
+        // ARRANGE
+        SearchService search = SearchService.build(corpus());
+
+        // ACT + ASSERT
+        assertEquals(List.of(0, 2, 4), ids(search.search("HashMap")));
+        assertEquals(List.of(0, 2, 3, 4), ids(search.search("hashmap OR volatile")));
+        assertEquals(List.of(0, 4), ids(search.search("HashMap -concurrent")));
+        assertEquals(List.of(4), ids(search.search("map computeIfAbsent")));
+        assertEquals(List.of(0, 1, 2, 4), ids(search.search("tree* OR hash*")));
+        assertEquals(List.of(1, 3), ids(search.search("NOT hashmap -concurrent")));
+        assertTrue(search.search("  ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("El índice guardado se reutiliza y se descarta si cambian los bancos")
+    void testPersistedIndex() {
+        // ARRANGE
+        SearchIndexStore store = new SearchIndexStore(tempDir.resolve("search-index.bin"));
+        List<QuizData> corpus = corpus();
+        SearchService.open(corpus, store);
+
+        // ACT
+        SearchService reopened = SearchService.open(corpus, store);
+        corpus.get(1).getQuestions().get(0).setQ("¿Qué garantiza AtomicInteger?");
+        SearchService rebuilt = SearchService.open(corpus, store);
+
+        // ASSERT
+        assertEquals(List.of(3), ids(reopened.search("volatile")));
+        assertTrue(rebuilt.search("volatile").isEmpty());
+        assertEquals(List.of(3), ids(rebuilt.search("atomic*")));
+        assertEquals(2, reopened.countBySource(reopened.search("hashmap")).get("Collections"));
+    }
+}
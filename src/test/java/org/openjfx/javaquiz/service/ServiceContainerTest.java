@@ -0,0 +1,128 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.AttemptRecord;
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.HistoryStore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Tests del contenedor de servicios compartidos.
+ *
+ * @author angel
+ */
+@DisplayName("ServiceContainer Tests")
+public class ServiceContainerTest {
+
+    @TempDir
+    Path tempDir;
+
+    public static class NeedsServices {
+        final ServiceContainer services;
+
+        public NeedsServices(ServiceContainer services) {
+            this.services = services;
+        }
+    }
+
+    public static class Plain {
+        public Plain() {
+        }
+    }
+
+    @Test
+    @DisplayName("Los almacenes se abren al pedirlos y se comparten")
+    void testLazyAndShared() {
+        // ARRANGE
+        ServiceContainer services = new ServiceContainer(tempDir);
+        assertFalse(Files.exists(tempDir.resolve("history")));
+
+        // ACT
+        HistoryStore store = services.getHistoryStore();
+
+        // ASSERT
+        assertNotNull(store);
+        assertTrue(Files.exists(tempDir.resolve("history")));
+        assertSame(store, services.getHistoryStore());
+        assertSame(services.getHistoryService(), services.getHistoryService());
+        assertSame(services.getTopicService(), services.getTopicService());
+        services.close();
+    }
+
+    @Test
+    @DisplayName("La fábrica de controladores inyecta el contenedor")
+    void testControllerFactory() {
+        // ARRANGE
+        ServiceContainer services = new ServiceContainer(tempDir);
+
+        // ACT
+        Object withServices = services.controllerFactory().call(NeedsServices.class);
+        Object plain = services.controllerFactory().call(Plain.class);
+
+        // ASSERT
+        assertSame(services, ((NeedsServices) withServices).services);
+        assertInstanceOf(Plain.class, plain);
+        services.close();
+    }
+
+    @Test
+    @DisplayName("Cerrar detiene las tareas y no abre más almacenes")
+    void testClose() {
+        // ARRANGE
+        ServiceContainer services = new ServiceContainer(tempDir);
+        services.getMasteryStore();
+        ExecutorService executor = services.getExecutor();
+
+        // ACT
+        services.close();
+        services.close();
+
+        // ASSERT
+        assertTrue(executor.isShutdown());
+        assertNull(services.getReviewStore());
+    }
+
+    @Test
+    @DisplayName("Si un almacén no se abre, los servicios siguen disponibles sin persistencia")
+    void testUnavailableStoreKeepsServices() throws Exception {
+        // ARRANGE - el directorio de datos es un archivo: ningún almacén se puede crear
+        Path blocked = Files.createFile(tempDir.resolve("blocked"));
+        ServiceContainer services = new ServiceContainer(blocked);
+
+        // ACT
+        HistoryStore store = services.getHistoryStore();
+
+        // ASSERT
+        assertNull(store);
+        assertNotNull(services.getHistoryService());
+        assertNotNull(services.getScoreRankService());
+        assertEquals(0, services.getReviewScheduler().dueCount());
+        services.close();
+    }
+
+    @Test
+    @DisplayName("El análisis de ítems compartido se pone al día en segundo plano")
+    void testItemAnalysisRefresh() {
+        // ARRANGE
+        ServiceContainer services = new ServiceContainer(tempDir);
+        ItemAnalysisService analysis = services.getItemAnalysisService();
+        services.getHistoryStore().appendAsync(new AttemptRecord(1000, 1, new String[] {"OOP"},
+            new int[] {1}, new int[1], new int[1], new int[] {1}, new byte[] {SessionState.OUTCOME_CORRECT}));
+
+        // ACT - el intento puede no estar escrito todavía: refresh espera al historial
+        services.refreshItemAnalysis().join();
+
+        // ASSERT
+        assertSame(analysis, services.getItemAnalysisService());
+        assertEquals(1, analysis.getProcessedAttempts());
+        assertEquals(1.0, analysis.getItem("OOP", 1).orElseThrow().getDifficulty());
+        services.close();
+    }
+}
@@ -0,0 +1,110 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.model.SessionState;
+import org.openjfx.javaquiz.repository.SessionSnapshotStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests unitarios para SessionSnapshotStore.
+ * Valida el guardado asíncrono, la lectura y el descarte de archivos corruptos.
+ *
+ * @author angel
+ */
+@DisplayName("SessionSnapshotStore Tests")
+public class SessionSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private SessionState createState(long id, int questions) {
+        SessionState state = new SessionState(id, List.of("OOP", "Streams"), questions);
+        int[] order = new int[questions];
+        for (int i = 0; i < questions; i++) {
+            order[i] = questions - 1 - i;
+        }
+        state.setOrder(order);
+        for (int slot = 0; slot < questions / 2; slot++) {
+            state.applyAnswer(order[slot], slot, slot % 3 == 0
+                ? SessionState.OUTCOME_CORRECT : SessionState.OUTCOME_WRONG);
+        }
+        state.setCursor(questions / 2);
+        state.setRemainingSeconds(7);
+        return state;
+    }
+
+    @Test
+    @DisplayName("Debe guardar y leer un snapshot de 1000 preguntas sin pérdidas")
+    void testRoundTrip() throws IOException {
+        // ARRANGE
+        SessionState original = createState(42L, 1000);
+        SessionSnapshotStore store = new SessionSnapshotStore(dir);
+
+        // ACT
+        store.saveAsync(original.copy());
+        store.close();
+        List<SessionState> loaded = new SessionSnapshotStore(dir).loadAll();
+
+        // ASSERT
+        assertEquals(1, loaded.size());
+        SessionState state = loaded.get(0);
+        assertEquals(42L, state.getSessionId());
+        assertEquals(original.getSources(), state.getSources());
+        assertArrayEquals(original.getOrder(), state.getOrder());
+        assertArrayEquals(original.getOutcomes(), state.getOutcomes());
+        assertEquals(original.getCorrect(), state.getCorrect());
+        assertEquals(original.getWrong(), state.getWrong());
+        assertEquals(500, state.getCursor());
+        assertEquals(7, state.getRemainingSeconds());
+        assertTrue(Files.size(dir.resolve("42.snap")) < 3_000, "El snapshot debe ser compacto");
+    }
+
+    @Test
+    @DisplayName("Debe ignorar snapshots corruptos y borrar los descartados")
+    void testCorruptAndDelete() throws IOException {
+        SessionSnapshotStore store = new SessionSnapshotStore(dir);
+        store.saveAsync(createState(1L, 10));
+        store.close();
+        Files.write(dir.resolve("3.snap"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+
+        SessionSnapshotStore reopened = new SessionSnapshotStore(dir);
+        List<SessionState> loaded = reopened.loadAll();
+        reopened.deleteAsync(1L);
+        reopened.close();
+
+        assertEquals(1, loaded.size(), "Solo debe quedar la sesión 1");
+        assertEquals(1L, loaded.get(0).getSessionId());
+        assertTrue(new SessionSnapshotStore(dir).loadAll().isEmpty(), "El descartado debe borrarse");
+    }
+
+    @Test
+    @DisplayName("Una sesión nueva reemplaza el snapshot anterior y al abrir queda solo el más nuevo")
+    void testOnlyLatestSessionKept() throws IOException {
+        // ARRANGE - snapshots acumulados por versiones anteriores
+        SessionSnapshotStore store = new SessionSnapshotStore(dir);
+        store.saveAsync(createState(1L, 10));
+        store.close();
+        for (int i = 0; i < 5; i++) {
+            Files.copy(dir.resolve("1.snap"), dir.resolve((100 + i) + ".snap"));
+        }
+
+        // ACT
+        SessionSnapshotStore reopened = new SessionSnapshotStore(dir);
+        reopened.saveAsync(createState(2L, 10));
+        reopened.saveAsync(createState(2L, 10));
+        reopened.close();
+
+        // ASSERT
+        List<SessionState> loaded = new SessionSnapshotStore(dir).loadAll();
+        assertEquals(1, loaded.size());
+        assertEquals(2L, loaded.get(0).getSessionId());
+    }
+}
@@ -0,0 +1,66 @@
+package org.openjfx.javaquiz.service;
+
+import org.openjfx.javaquiz.model.Question;
+import org.openjfx.javaquiz.model.QuizData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bancos de preguntas sintéticos para los tests: la pregunta {@code i} se
+ * llama "P" + i, tiene posición {@code i}, respuesta "a" y distractores
+ * "b", "c", "d".
+ *
+ * @author angel
+ */
+final class TestBanks {
+
+    private TestBanks() {
+    }
+
+    /**
+     * @param topic Tópico de todas las preguntas
+     * @param count Número de preguntas
+     * @return Preguntas sin código
+     */
+    static List<Question> questions(String topic, int count) {
+        return questions(topic, count, 0);
+    }
+
+    /**
+     * @param topic Tópico de todas las preguntas
+     * @param count Número de preguntas
+     * @param codeEvery Una de cada tantas preguntas lleva código (0 = ninguna)
+     * @return Preguntas del banco
+     */
+    static List<Question> questions(String topic, int count, int codeEvery) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String code = codeEvery > 0 && i % codeEvery == 0 ? "int x = " + i + ";" : null;
+            questions.add(new Question("P" + i, List.of("b", "c", "d"), "a", i, topic, code));
+        }
+        return questions;
+    }
+
+    /**
+     * @param topic Tópico y nombre del banco
+     * @param count Número de preguntas
+     * @return Banco sin código
+     */
+    static QuizData bank(String topic, int count) {
+        return bank(topic, count, 0);
+    }
+
+    /**
+     * @param topic Tópico y nombre del banco
+     * @param count Número de preguntas
+     * @param codeEvery Una de cada tantas preguntas lleva código (0 = ninguna)
+     * @return Banco con sus preguntas
+     */
+    static QuizData bank(String topic, int count, int codeEvery) {
+        QuizData data = new QuizData();
+        data.setName(topic);
+        data.setQuestions(questions(topic, count, codeEvery));
+        return data;
+    }
+}
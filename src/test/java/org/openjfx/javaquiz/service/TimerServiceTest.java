@@ -0,0 +1,129 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.openjfx.javaquiz.util.Constants;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests del temporizador con un reloj controlado (sin toolkit de JavaFX).
+ *
+ * @author angel
+ */
+@DisplayName("TimerService Tests")
+public class TimerServiceTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private long now;
+    private TimerService timer;
+    private AtomicInteger timeouts;
+
+    @BeforeEach
+    void setUp() {
+        now = 5 * SECOND;
+        timer = new TimerService(() -> now, false, null);
+        timeouts = new AtomicInteger();
+        timer.setOnTimeout(timeouts::incrementAndGet);
+    }
+
+    @Test
+    @DisplayName("La cuenta regresiva sigue al reloj con progreso continuo")
+    void testCountdownFollowsClock() {
+        // ARRANGE
+        timer.start(10);
+
+        // ACT
+        now += SECOND / 4;
+        pulse();
+        int secondsAfterQuarter = timer.getTimeSeconds();
+        double progressAfterQuarter = timer.getProgress();
+        now += 3 * SECOND;
+        pulse();
+
+        // ASSERT
+        assertEquals(10, secondsAfterQuarter, "Se redondea hacia arriba durante el primer segundo");
+        assertEquals(9.75 / Constants.TIMER_SECONDS, progressAfterQuarter, 1e-9);
+        assertEquals(7, timer.getTimeSeconds());
+        assertEquals(0, timeouts.get());
+    }
+
+    @Test
+    @DisplayName("Un hilo atrasado no estira la cuenta y el timeout se dispara una vez")
+    void testTimeoutUnderLoad() {
+        // ARRANGE
+        timer.start(3);
+
+        // ACT - un solo pulso tras 2,9 s de bloqueo y otro pasada la fecha límite
+        now += 2_900_000_000L;
+        pulse();
+        int secondsBeforeDeadline = timer.getTimeSeconds();
+        now += 200_000_000L;
+        pulse();
+        pulse();
+
+        // ASSERT
+        assertEquals(1, secondsBeforeDeadline);
+        assertEquals(1, timeouts.get());
+        assertEquals(0, timer.getTimeSeconds());
+        assertEquals(0.0, timer.getProgress());
+        assertFalse(timer.isRunning());
+    }
+
+    @Test
+    @DisplayName("Pausar congela el tiempo restante y reanudar lo conserva")
+    void testPauseResume() {
+        // ARRANGE
+        timer.start(10);
+        now += 4 * SECOND;
+        pulse();
+
+        // ACT
+        timer.pause();
+        now += 60 * SECOND;
+        pulse();
+        int whilePaused = timer.getTimeSeconds();
+        timer.resume();
+        now += 5 * SECOND;
+        pulse();
+
+        // ASSERT
+        assertEquals(6, whilePaused);
+        assertTrue(timer.isRunning());
+        assertEquals(1, timer.getTimeSeconds());
+        assertEquals(0, timeouts.get());
+    }
+
+    @Test
+    @DisplayName("Sin pulsos, el timeout lo dispara el programador de plazos")
+    void testHeadlessScheduler() {
+        // ARRANGE
+        FxTimeoutScheduler scheduler = new FxTimeoutScheduler(() -> now, false);
+        TimerService headless = new TimerService(() -> now, false, scheduler);
+        headless.setOnTimeout(timeouts::incrementAndGet);
+        headless.start(10);
+
+        // ACT
+        now += 4 * SECOND;
+        headless.pause();
+        headless.resume();
+        int pendingAfterResume = scheduler.pending();
+        now += 6 * SECOND;
+        scheduler.tick();
+
+        // ASSERT
+        assertEquals(1, pendingAfterResume, "Pausar cancela el plazo y reanudar programa uno nuevo");
+        assertEquals(1, timeouts.get());
+        assertEquals(0, headless.getTimeSeconds());
+        assertFalse(headless.isRunning());
+    }
+
+    /** Un frame de JavaFX */
+    private void pulse() {
+        timer.tick();
+    }
+}
@@ -0,0 +1,113 @@
+package org.openjfx.javaquiz.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests de la rueda de tiempo jerárquica: con un reloj controlado (ticks a
+ * mano) y con su hilo real bajo carga.
+ *
+ * @author angel
+ */
+@DisplayName("TimingWheel Tests")
+public class TimingWheelTest {
+
+    private static final long TICK = 1_000_000L;
+
+    private long now;
+
+    @Test
+    @DisplayName("Cada plazo vence en su tick exacto, también tras bajar de nivel")
+    void testFiresOnExactTickAcrossLevels() {
+        // ARRANGE - plazos en los cuatro niveles y en los bordes de cada rueda
+        TimingWheel wheel = new TimingWheel(TICK, Runnable::run, () -> now, false);
+        long[] delays = {1, 255, 256, 300, 65_535, 65_536, 70_000, (1L << 24) + 5};
+        long[] firedAt = new long[delays.length];
+        for (int i = 0; i < delays.length; i++) {
+            int index = i;
+            wheel.schedule(() -> firedAt[index] = now / TICK, delays[i] * TICK, TimeUnit.NANOSECONDS);
+        }
+
+        // ACT
+        for (now = 0; wheel.pending() > 0; now += TICK) {
+            wheel.advanceTo(now);
+        }
+
+        // ASSERT
+        assertArrayEquals(delays, firedAt);
+    }
+
+    @Test
+    @DisplayName("Un plazo cancelado no se ejecuta y cancelar dos veces no cuenta")
+    void testCancel() {
+        // ARRANGE
+        TimingWheel wheel = new TimingWheel(TICK, Runnable::run, () -> now, false);
+        AtomicInteger fired = new AtomicInteger();
+        TimeoutScheduler.Timeout cancelled = wheel.schedule(fired::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+        TimeoutScheduler.Timeout kept = wheel.schedule(fired::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+
+        // ACT
+        boolean first = cancelled.cancel();
+        boolean second = cancelled.cancel();
+        now = 20 * TICK;
+        wheel.advanceTo(now);
+
+        // ASSERT
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(cancelled.isCancelled());
+        assertTrue(kept.isExpired());
+        assertFalse(kept.cancel(), "Ya vencido no se puede cancelar");
+        assertEquals(1, fired.get());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    @DisplayName("100.000 plazos concurrentes: vencen solo los no cancelados y a tiempo")
+    void testManyTimeoutsUnderLoad() throws InterruptedException {
+        // ARRANGE
+        int count = 100_000;
+        Random random = new Random(42);
+        AtomicInteger fired = new AtomicInteger();
+        AtomicBoolean early = new AtomicBoolean();
+        AtomicLong maxLateNanos = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(count / 2);
+
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, Runnable::run)) {
+            // ACT
+            int cancelled = 0;
+            for (int i = 0; i < count; i++) {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50 + random.nextInt(150));
+                TimeoutScheduler.Timeout timeout = wheel.schedule(() -> {
+                    long late = System.nanoTime() - deadline;
+                    if (late < 0) early.set(true);
+                    maxLateNanos.accumulateAndGet(late, Math::max);
+                    fired.incrementAndGet();
+                    done.countDown();
+                }, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (i % 2 == 0 && timeout.cancel()) {
+                    cancelled++;
+                }
+            }
+            boolean finished = done.await(10, TimeUnit.SECONDS);
+            Thread.sleep(50);
+
+            // ASSERT
+            assertEquals(count / 2, cancelled);
+            assertTrue(finished, "Vencieron " + fired.get() + " de " + count / 2);
+            assertEquals(count / 2, fired.get(), "Ningún cancelado se ejecuta");
+            assertFalse(early.get(), "Ningún plazo vence antes de tiempo");
+            assertTrue(maxLateNanos.get() < TimeUnit.SECONDS.toNanos(1),
+                "Retraso máximo: " + maxLateNanos.get() / 1_000_000 + " ms");
+            assertEquals(0, wheel.pending());
+        }
+    }
+}